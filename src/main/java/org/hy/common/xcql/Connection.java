@@ -1,7 +1,13 @@
 package org.hy.common.xcql;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.hy.common.xml.log.Logger;
 import org.neo4j.driver.Bookmark;
@@ -14,6 +20,7 @@ import org.neo4j.driver.TransactionCallback;
 import org.neo4j.driver.TransactionConfig;
 import org.neo4j.driver.TransactionWork;
 import org.neo4j.driver.Value;
+import org.neo4j.driver.summary.ResultSummary;
 
 
 
@@ -28,6 +35,12 @@ import org.neo4j.driver.Value;
  * @author      ZhengWei(HY)
  * @createDate  2017-07-13
  * @version     v1.0
+ *              v2.0  2026-10-18  添加：关闭时记录非事务会话的用时，用于负载数据库的选择策略
+ *              v3.0  2026-10-18  添加：识别连接类的异常，关闭时将会话的结果计入数据库的熔断器
+ *                                修改：lastBookmarks() 递归调用自己的问题
+ *              v4.0  2026-10-18  修改：关闭时统一由 DataSourceCQL.sessionClosed() 处理，与异步会话共用
+ *              v5.0  2026-10-18  修正：流式读取（迭代器、流）的会话的用时取决于调用者的消费速度，不计入会话用时，也不判定慢调用
+ *              v6.0  2026-10-18  修正：显式事务的执行、提交、回滚，及结果集的遍历中的连接类异常，也计入数据库的熔断器及异常标记
  */
 public class Connection implements Session
 {
@@ -44,16 +57,69 @@ public class Connection implements Session
     /** 第三方的连接开启的事务 */
     private Transaction         transaction;
     
+    /** 是否开启过事务。事务会话的用时取决于业务，不计入数据库的会话用时 */
+    private boolean             isTransaction;
+    
+    /** 是否为流式读取（迭代器、流）的会话。用时取决于调用者消费结果集的速度，不计入数据库的会话用时 */
+    private boolean             isStreaming;
+    
+    /** 是否出现过连接类的异常（见 XCQLCircuitBreaker.isFailure()） */
+    private volatile boolean    isFailure;
+    
+    /** 创建时间（纳秒） */
+    private final long          createTime;
+    
     
     
     public Connection(final Session i_Connection ,final DataSourceCQL i_DataSourceCQL)
     {
         this.conn          = i_Connection;
         this.dataSourceCQL = i_DataSourceCQL;
+        this.isTransaction = false;
+        this.isStreaming   = false;
+        this.isFailure     = false;
+        this.createTime    = System.nanoTime();
+    }
+    
+    
+    
+    /**
+     * 识别连接类的异常，并原样返回异常
+     * 
+     * 会话、显式事务（ConnectionTransaction）及结果集（ConnectionResult）的异常均经过本方法
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Exce
+     * @return
+     */
+    RuntimeException failing(RuntimeException i_Exce)
+    {
+        if ( XCQLCircuitBreaker.isFailure(i_Exce) )
+        {
+            this.isFailure = true;
+        }
+        return i_Exce;
     }
     
 
     
+    /**
+     * 设置：是否为流式读取（迭代器、流）的会话。
+     * 
+     * 与事务会话一样，关闭时不记录会话的用时，不影响负载数据库的选择策略，也不判定为慢调用（见 XCQLResultPublisher 的响应式会话）
+     * 
+     * @param i_IsStreaming
+     */
+    void setStreaming(boolean i_IsStreaming)
+    {
+        this.isStreaming = i_IsStreaming;
+    }
+    
+    
+    
     /**
      * 获取：所属的数据库连接信息
      */
@@ -107,7 +173,7 @@ public class Connection implements Session
         
         if ( this.dataSourceCQL != null )
         {
-            this.dataSourceCQL.connClosed();
+            this.dataSourceCQL.sessionClosed(this.isFailure ,this.isTransaction || this.isStreaming ? -1D : (System.nanoTime() - this.createTime) / 1000000D);
         }
     }
 
@@ -124,7 +190,14 @@ public class Connection implements Session
     @Override
     public Result run(String query ,Value parameters)
     {
-        return this.conn.run(query ,parameters);
+        try
+        {
+            return new ConnectionResult(this.conn.run(query ,parameters) ,this);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -132,7 +205,14 @@ public class Connection implements Session
     @Override
     public Result run(String query ,Map<String ,Object> parameters)
     {
-        return this.conn.run(query ,parameters);
+        try
+        {
+            return new ConnectionResult(this.conn.run(query ,parameters) ,this);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -140,7 +220,14 @@ public class Connection implements Session
     @Override
     public Result run(String query ,Record parameters)
     {
-        return this.conn.run(query ,parameters);
+        try
+        {
+            return new ConnectionResult(this.conn.run(query ,parameters) ,this);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -148,7 +235,14 @@ public class Connection implements Session
     @Override
     public Result run(String query)
     {
-        return this.conn.run(query);
+        try
+        {
+            return new ConnectionResult(this.conn.run(query) ,this);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -156,7 +250,14 @@ public class Connection implements Session
     @Override
     public Result run(Query query)
     {
-        return this.conn.run(query);
+        try
+        {
+            return new ConnectionResult(this.conn.run(query) ,this);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -164,16 +265,25 @@ public class Connection implements Session
     @Override
     public synchronized Transaction beginTransaction()
     {
-        if ( this.transaction != null )
+        this.isTransaction = true;
+        
+        try
         {
-            if ( !this.transaction.isOpen() )
+            if ( this.transaction != null )
             {
-                this.transaction = this.conn.beginTransaction();
+                if ( !this.transaction.isOpen() )
+                {
+                    this.transaction = new ConnectionTransaction(this.conn.beginTransaction() ,this);
+                }
+            }
+            else
+            {
+                this.transaction = new ConnectionTransaction(this.conn.beginTransaction() ,this);
             }
         }
-        else
+        catch (RuntimeException exce)
         {
-            this.transaction = this.conn.beginTransaction();
+            throw this.failing(exce);
         }
         return this.transaction;
     }
@@ -183,16 +293,25 @@ public class Connection implements Session
     @Override
     public synchronized Transaction beginTransaction(TransactionConfig config)
     {
-        if ( this.transaction != null )
+        this.isTransaction = true;
+        
+        try
         {
-            if ( !this.transaction.isOpen() )
+            if ( this.transaction != null )
             {
-                this.transaction = this.conn.beginTransaction(config);
+                if ( !this.transaction.isOpen() )
+                {
+                    this.transaction = new ConnectionTransaction(this.conn.beginTransaction(config) ,this);
+                }
+            }
+            else
+            {
+                this.transaction = new ConnectionTransaction(this.conn.beginTransaction(config) ,this);
             }
         }
-        else
+        catch (RuntimeException exce)
         {
-            this.transaction = this.conn.beginTransaction(config);
+            throw this.failing(exce);
         }
         return this.transaction;
     }
@@ -203,7 +322,14 @@ public class Connection implements Session
     @Override
     public <T> T readTransaction(TransactionWork<T> work)
     {
-        return this.conn.readTransaction(work);
+        try
+        {
+            return this.conn.readTransaction(work);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -212,7 +338,14 @@ public class Connection implements Session
     @Override
     public <T> T readTransaction(TransactionWork<T> work ,TransactionConfig config)
     {
-        return this.conn.readTransaction(work ,config);
+        try
+        {
+            return this.conn.readTransaction(work ,config);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -221,7 +354,14 @@ public class Connection implements Session
     @Override
     public <T> T writeTransaction(TransactionWork<T> work)
     {
-        return this.conn.writeTransaction(work);
+        try
+        {
+            return this.conn.writeTransaction(work);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -230,7 +370,14 @@ public class Connection implements Session
     @Override
     public <T> T writeTransaction(TransactionWork<T> work ,TransactionConfig config)
     {
-        return this.conn.writeTransaction(work ,config);
+        try
+        {
+            return this.conn.writeTransaction(work ,config);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -238,7 +385,14 @@ public class Connection implements Session
     @Override
     public Result run(String query ,TransactionConfig config)
     {
-        return this.conn.run(query ,config);
+        try
+        {
+            return new ConnectionResult(this.conn.run(query ,config) ,this);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -246,7 +400,14 @@ public class Connection implements Session
     @Override
     public Result run(String query ,Map<String ,Object> parameters ,TransactionConfig config)
     {
-        return this.conn.run(query ,parameters ,config);
+        try
+        {
+            return new ConnectionResult(this.conn.run(query ,parameters ,config) ,this);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -254,7 +415,14 @@ public class Connection implements Session
     @Override
     public Result run(Query query ,TransactionConfig config)
     {
-        return this.conn.run(query ,config);
+        try
+        {
+            return new ConnectionResult(this.conn.run(query ,config) ,this);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -271,7 +439,14 @@ public class Connection implements Session
     @Override
     public <T> T executeRead(TransactionCallback<T> callback ,TransactionConfig config)
     {
-        return this.conn.executeRead(callback ,config);
+        try
+        {
+            return this.conn.executeRead(callback ,config);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -279,7 +454,14 @@ public class Connection implements Session
     @Override
     public <T> T executeWrite(TransactionCallback<T> callback ,TransactionConfig config)
     {
-        return this.conn.executeWrite(callback ,config);
+        try
+        {
+            return this.conn.executeWrite(callback ,config);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.failing(exce);
+        }
     }
 
 
@@ -287,7 +469,334 @@ public class Connection implements Session
     @Override
     public Set<Bookmark> lastBookmarks()
     {
-        return this.lastBookmarks();
+        return this.conn.lastBookmarks();
+    }
+    
+}
+
+
+
+
+
+/**
+ * 显式事务的二次封装。执行、提交、回滚时的连接类异常计入所属的连接（见 Connection.failing()）
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+final class ConnectionTransaction implements Transaction
+{
+    
+    /** 第三方的事务 */
+    private final Transaction transaction;
+    
+    /** 所属的连接 */
+    private final Connection  conn;
+    
+    
+    
+    ConnectionTransaction(Transaction i_Transaction ,Connection i_Conn)
+    {
+        this.transaction = i_Transaction;
+        this.conn        = i_Conn;
+    }
+    
+    
+    
+    @Override
+    public Result run(String query ,Value parameters)
+    {
+        try
+        {
+            return new ConnectionResult(this.transaction.run(query ,parameters) ,this.conn);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public Result run(String query ,Map<String ,Object> parameters)
+    {
+        try
+        {
+            return new ConnectionResult(this.transaction.run(query ,parameters) ,this.conn);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public Result run(String query ,Record parameters)
+    {
+        try
+        {
+            return new ConnectionResult(this.transaction.run(query ,parameters) ,this.conn);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public Result run(String query)
+    {
+        try
+        {
+            return new ConnectionResult(this.transaction.run(query) ,this.conn);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public Result run(Query query)
+    {
+        try
+        {
+            return new ConnectionResult(this.transaction.run(query) ,this.conn);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public void commit()
+    {
+        try
+        {
+            this.transaction.commit();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public void rollback()
+    {
+        try
+        {
+            this.transaction.rollback();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public boolean isOpen()
+    {
+        return this.transaction.isOpen();
+    }
+    
+    
+    
+    @Override
+    public void close()
+    {
+        try
+        {
+            this.transaction.close();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+}
+
+
+
+
+
+/**
+ * 结果集的二次封装。遍历结果集时（驱动按批次从数据库拉取记录）的连接类异常计入所属的连接（见 Connection.failing()）
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+final class ConnectionResult implements Result
+{
+    
+    /** 第三方的结果集 */
+    private final Result     result;
+    
+    /** 所属的连接 */
+    private final Connection conn;
+    
+    
+    
+    ConnectionResult(Result i_Result ,Connection i_Conn)
+    {
+        this.result = i_Result;
+        this.conn   = i_Conn;
+    }
+    
+    
+    
+    @Override
+    public List<String> keys()
+    {
+        try
+        {
+            return this.result.keys();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public boolean hasNext()
+    {
+        try
+        {
+            return this.result.hasNext();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public Record next()
+    {
+        try
+        {
+            return this.result.next();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public Record single()
+    {
+        try
+        {
+            return this.result.single();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public Record peek()
+    {
+        try
+        {
+            return this.result.peek();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    /**
+     * 按本类的 hasNext()、next() 遍历，流中的异常也计入所属的连接
+     */
+    @Override
+    public Stream<Record> stream()
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this ,Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL) ,false);
+    }
+    
+    
+    
+    @Override
+    public List<Record> list()
+    {
+        try
+        {
+            return this.result.list();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public <T> List<T> list(Function<Record ,T> mapFunction)
+    {
+        try
+        {
+            return this.result.list(mapFunction);
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public ResultSummary consume()
+    {
+        try
+        {
+            return this.result.consume();
+        }
+        catch (RuntimeException exce)
+        {
+            throw this.conn.failing(exce);
+        }
+    }
+    
+    
+    
+    @Override
+    public boolean isOpen()
+    {
+        return this.result.isOpen();
     }
     
 }
@@ -1,7 +1,17 @@
 package org.hy.common.xcql;
 
 import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -18,6 +28,7 @@ import org.hy.common.SplitSegment;
 import org.hy.common.SplitSegment.InfoType;
 import org.hy.common.StringHelp;
 import org.hy.common.xml.log.Logger;
+import org.neo4j.driver.Query;
 
 
 
@@ -48,9 +59,25 @@ import org.hy.common.xml.log.Logger;
  *               不可能为 null 值的情况。即，此占位符在可执行CQL中是必须存在。
  *               如果想其可变，须使用 Integer、Double 类型的返回值类型。
  * 
+ * 参数化模式（parameterized=true）：
+ *            引号中的占位符（如上例的 '#tableName'、"#orderBy"）不再拼接到CQL中，而是编译为Neo4j的参数引用 $tableName、$orderBy，
+ *            占位符的值通过参数Map传递给Neo4j。这样不同的数值生成的是同一CQL文本，Neo4j可复用已缓存的执行计划，同时也避免了CQL注入。
+ *            不在引号中的占位符（如标签、ORDER BY等结构性的内容）仍按拼接方式填充。
+ * 
  * @author      ZhengWei(HY)
  * @createDate  2023-05-24
  * @version     v1.0
+ *              v2.0  2026-10-18  添加：参数化模式 parameterized
+ *              v3.0  2026-10-18  添加：批量执行时，参数化的CQL转为 UNWIND 语句 toUnwindQuery()
+ *              v4.0  2026-10-18  添加：预编译的填充指令 compiled 。getCQL(Map ,...) 一次遍历填充所有占位符
+ *                                优化：whereDynamic() 使用预编译的正则表达式
+ *              v5.0  2026-10-18  优化：Java Bean的占位符通过缓存的访问器 DBCQLAccessor 取值，不再每次反射解释Getter方法链
+ *              v6.0  2026-10-18  添加：识别CQL中涉及的节点标签及关系类型 getLabels() ，用于查询结果缓存的失效判定
+ *              v7.0  2026-10-18  添加：合并语法 MERGE 的类型 $DBCQL_TYPE_MERGE 。之前识别为未知语法，或以MATCH开头时识别为查询语法
+ *              v8.0  2026-10-18  修正：参数化模式下，不在引号中、处于值位置的占位符也编译为参数，且参数值保持Java类型 toParamValue()。
+ *                                      之前只有引号中的占位符为参数，数值、布尔等类型的占位符仍为拼接，各行的CQL文本不同
+ *                                修正：parserLabels() 有没有标签的节点模式时，视为涉及所有标签
+ *              v9.0  2026-10-18  添加：CQL是否可转为 UNWIND 语句批量执行的判定 isUnwindable()
  */
 public class DBCQL implements Serializable
 {
@@ -79,6 +106,9 @@ public class DBCQL implements Serializable
     /** 删除语法 */
     public final static int                  $DBCQL_TYPE_DELETE          = 4;
     
+    /** 合并语法（不存在时创建） */
+    public final static int                  $DBCQL_TYPE_MERGE           = 5;
+    
     /** 定义语法 */
     public final static int                  $DBCQL_TYPE_DDL             = 6;
     
@@ -92,6 +122,9 @@ public class DBCQL implements Serializable
                                                                         
     /** 匹配 CREATE */
     private final static String              $CQL_Find_Create           = "( )*[Cc][Rr][Ee][Aa][Tt][Ee][ ]+";
+    
+    /** 匹配 MERGE */
+    private final static String              $CQL_Find_Merge            = "(^|[ ])[Mm][Ee][Rr][Gg][Ee][ ]*\\(";
                                                                         
     /** 匹配 CREATE INDEX */
     private final static String              $CQL_Find_CreateIndex      = "^( )*[Cc][Rr][Ee][Aa][Tt][Ee][ ]+[Ii][Nn][Dd][Ee][Xx][ ]+";
@@ -114,6 +147,24 @@ public class DBCQL implements Serializable
     /** 匹配 REMOVE */
     private final static String              $CQL_Find_Remove           = "[ ]+[Rr][Ee][Mm][Oo][Vv][Ee][ ]+";
     
+    /** 匹配节点、关系模式中的标签及类型，如 (n:User:`管理员` {...}) 、 [r:KNOWS|LIKES] */
+    private final static Pattern             $Pattern_PatternLabels     = Pattern.compile("[(\\[]\\s*[\\p{L}\\p{N}_]*\\s*((?:[:|&]\\s*(?:`[^`]+`|[\\p{L}\\p{N}_#]+)\\s*)+)");
+    
+    /** 匹配 SET 、 REMOVE 子句中的标签，如 SET n:Active */
+    private final static Pattern             $Pattern_SetLabels         = Pattern.compile("(?i)\\b(?:SET|REMOVE)\\s+[\\p{L}\\p{N}_]+\\s*((?::\\s*(?:`[^`]+`|[\\p{L}\\p{N}_#]+)\\s*)+)");
+    
+    /** 匹配没有标签的节点模式（如 (b) 、 (b {...}) 、 () ），及没有类型的关系模式（如 -[r]- 、 -[*1..3]- 、 --> ）。排除函数调用，如 count(n) */
+    private final static Pattern             $Pattern_Unlabeled         = Pattern.compile("(?<![\\p{L}\\p{N}_`])\\(\\s*[\\p{L}\\p{N}_]*\\s*[){]|-\\[\\s*[\\p{L}\\p{N}_]*\\s*[\\]{*]|\\)\\s*<?--");
+    
+    /** 匹配单个标签或类型的名称 */
+    private final static Pattern             $Pattern_Label             = Pattern.compile("`([^`]+)`|([\\p{L}\\p{N}_#]+)");
+    
+    /** 匹配跨行生效的子句及聚合函数，如 RETURN 、 LIMIT 、 ORDER BY 、 count(...) 。含有它们的CQL转为 UNWIND 后，作用于所有行，而不是每一行 */
+    private final static Pattern             $Pattern_RowSpanning       = Pattern.compile("(?i)\\b(?:RETURN|LIMIT|SKIP|UNION|DISTINCT|ORDER\\s+BY)\\b|\\b(?:COUNT|SUM|AVG|MIN|MAX|COLLECT|STDEV|STDEVP|PERCENTILECONT|PERCENTILEDISC)\\s*\\(");
+    
+    /** 匹配可能与关键字同名的占位符、参数及属性，如 #limit 、 $skip 、 n.count */
+    private final static Pattern             $Pattern_NamedToken        = Pattern.compile("[#$.]\\s*[\\p{L}\\p{N}_]+");
+    
     
     
     /** 匹配 WHERE <[ */
@@ -142,6 +193,27 @@ public class DBCQL implements Serializable
     
     /** 替换 WHERE Return */
     private final static String              $CQL_R_WhereReturn         = "( )*[Ww][Hh][Ee][Rr][Ee][ ]+[Rr][Ee][Tt][Uu][Rr][Nn][ ]+";
+    
+    /** 预编译的正则：替换 WHERE AND */
+    private final static Pattern             $Pattern_WhereAnd          = Pattern.compile($CQL_R_WhereAnd);
+    
+    /** 预编译的正则：替换 WHERE OR */
+    private final static Pattern             $Pattern_WhereOr           = Pattern.compile($CQL_R_WhereOr);
+    
+    /** 预编译的正则：替换 WHERE Create */
+    private final static Pattern             $Pattern_WhereCreate       = Pattern.compile($CQL_R_WhereCreate);
+    
+    /** 预编译的正则：替换 WHERE Delete */
+    private final static Pattern             $Pattern_WhereDelete       = Pattern.compile($CQL_R_WhereDelete);
+    
+    /** 预编译的正则：替换 WHERE Remove */
+    private final static Pattern             $Pattern_WhereRemove       = Pattern.compile($CQL_R_WhereRemove);
+    
+    /** 预编译的正则：替换 WHERE Set */
+    private final static Pattern             $Pattern_WhereSet          = Pattern.compile($CQL_R_WhereSet);
+    
+    /** 预编译的正则：替换 WHERE Return */
+    private final static Pattern             $Pattern_WhereReturn       = Pattern.compile($CQL_R_WhereReturn);
        
     
     
@@ -170,6 +242,11 @@ public class DBCQL implements Serializable
     /** CQL类型 */
     private int                       cqlType;
     
+    /**
+     * CQL中涉及的节点标签及关系类型。为空集合时，表示无法识别（如无标签的模式、标签为占位符），视为涉及所有标签
+     */
+    private Set<String>               labels;
+    
     /** 替换数据库关键字。如，单引号替换成【\'】。默认为：true，即替换 */
     private boolean                   keyReplace;
     
@@ -202,6 +279,25 @@ public class DBCQL implements Serializable
      */
     private boolean                   defaultNull;
     
+    /**
+     * 是否为参数化模式。
+     * 
+     * 参数化模式下，引号中的占位符编译为Neo4j的参数引用，通过 getQuery() 生成常量CQL文本及参数Map。
+     * 
+     * 默认为：false。
+     */
+    private boolean                   parameterized;
+    
+    /**
+     * 是否使用预编译的填充指令。
+     * 
+     * 为真时，getCQL(Map ,...) 按分段预编译的指令一次遍历填充所有占位符，生成的CQL与逐个占位符替换的相同。
+     * 当占位符的值为动态占位符（MethodReflect）或含有 # $ \ 等字符时，自动回退为逐个占位符替换的方式。
+     * 
+     * 默认为：true。
+     */
+    private boolean                   compiled;
+    
     
     
     /**
@@ -211,10 +307,13 @@ public class DBCQL implements Serializable
     {
         this.cqlText          = "";
         this.cqlType          = $DBCQL_TYPE_UNKNOWN;
+        this.labels           = new HashSet<String>();
         this.haveWhereDynamic = false;
         this.segments         = new ArrayList<DBCQL_Split>();
         this.conditions       = new HashMap<String ,DBConditions>();
         this.defaultNull      = false;
+        this.parameterized    = false;
+        this.compiled         = true;
         this.setNotPlaceholders("MI,SS,mi,ss");
         this.setKeyReplace(true);
     }
@@ -248,9 +347,11 @@ public class DBCQL implements Serializable
         
         this.parser_CQLType();
         this.parser_WhereDynamic();
+        this.labels = parserLabels(this.cqlText);
         
         // 匹配 <[ ... ]> 的字符串
         List<SplitSegment> v_Segments = StringHelp.Split($CQL_Find_Dynamic ,this.cqlText);
+        Deque<Character>   v_Brackets = new ArrayDeque<Character>();
         for (SplitSegment v_SplitSegment : v_Segments)
         {
             DBCQL_Split v_DBCQL_Segment = new DBCQL_Split(v_SplitSegment);
@@ -260,7 +361,7 @@ public class DBCQL implements Serializable
             v_Info = v_Info.replaceFirst("\\]>" ,"");
             
             v_DBCQL_Segment.setInfo(v_Info);
-            v_DBCQL_Segment.parsePlaceholders();
+            v_DBCQL_Segment.parsePlaceholders(v_Brackets);
             
             this.segments.add(v_DBCQL_Segment);
         }
@@ -340,6 +441,14 @@ public class DBCQL implements Serializable
             return;
         }
         
+        v_Pattern = Pattern.compile($CQL_Find_Merge);
+        v_Matcher = v_Pattern.matcher(this.cqlText);
+        if ( v_Matcher.find() )
+        {
+            this.cqlType = $DBCQL_TYPE_MERGE;
+            return;
+        }
+        
         v_Pattern = Pattern.compile($CQL_Find_Match);
         v_Matcher = v_Pattern.matcher(this.cqlText);
         if ( v_Matcher.find() )
@@ -351,6 +460,57 @@ public class DBCQL implements Serializable
     
     
     
+    /**
+     * 识别CQL中涉及的节点标签及关系类型
+     * 
+     * 只识别节点、关系模式中的标签及类型，及 SET 、 REMOVE 子句中的标签。
+     * 标签为占位符（如 :#label）时，无法确定具体的标签，返回空集合，表示涉及所有标签。
+     * 有没有标签的节点模式（或没有类型的关系模式）时，它可匹配任意标签，也返回空集合。
+     *   如 MATCH (a:User)-[:OWNS]->(b) DETACH DELETE b 中的 b 。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修正：有没有标签的节点模式时，视为涉及所有标签
+     * 
+     * @param i_CQL  CQL语句
+     * @return       空集合时，表示无法识别，视为涉及所有标签
+     */
+    public static Set<String> parserLabels(String i_CQL)
+    {
+        Set<String> v_Labels = new HashSet<String>();
+        
+        if ( Help.isNull(i_CQL) || $Pattern_Unlabeled.matcher(i_CQL).find() )
+        {
+            return v_Labels;
+        }
+        
+        for (Pattern v_Pattern : new Pattern[] {$Pattern_PatternLabels ,$Pattern_SetLabels})
+        {
+            Matcher v_Matcher = v_Pattern.matcher(i_CQL);
+            while ( v_Matcher.find() )
+            {
+                Matcher v_LabelMatcher = $Pattern_Label.matcher(v_Matcher.group(1));
+                while ( v_LabelMatcher.find() )
+                {
+                    String v_Label = v_LabelMatcher.group(1) != null ? v_LabelMatcher.group(1) : v_LabelMatcher.group(2);
+                    
+                    if ( v_Label.contains($Placeholder) )
+                    {
+                        v_Labels.clear();
+                        return v_Labels;
+                    }
+                    
+                    v_Labels.add(v_Label);
+                }
+            }
+        }
+        
+        return v_Labels;
+    }
+    
+    
+    
     /**
      * 是否有WHERE条件后直接跟动态CQL的情况，如 WHERE <[ ... ]>
      * 
@@ -444,54 +604,54 @@ public class DBCQL implements Serializable
         Pattern v_Pattern = null;
         Matcher v_Matcher = null;
         
-        if ( v_CQL.toUpperCase().endsWith(" WHERE") )
+        if ( v_CQL.regionMatches(true ,v_CQL.length() - 6 ," WHERE" ,0 ,6) )
         {
             v_CQL = v_CQL.substring(0 ,v_CQL.length() - 6);
         }
         
-        v_Pattern = Pattern.compile($CQL_R_WhereAnd);
+        v_Pattern = $Pattern_WhereAnd;
         v_Matcher = v_Pattern.matcher(v_CQL);
         if ( v_Matcher.find() )
         {
             v_CQL = v_Matcher.replaceAll(" WHERE ");
         }
         
-        v_Pattern = Pattern.compile($CQL_R_WhereOr);
+        v_Pattern = $Pattern_WhereOr;
         v_Matcher = v_Pattern.matcher(v_CQL);
         if ( v_Matcher.find() )
         {
             v_CQL = v_Matcher.replaceAll(" WHERE ");
         }
         
-        v_Pattern = Pattern.compile($CQL_R_WhereCreate);
+        v_Pattern = $Pattern_WhereCreate;
         v_Matcher = v_Pattern.matcher(v_CQL);
         if ( v_Matcher.find() )
         {
             v_CQL = v_Matcher.replaceAll(" CREATE ");
         }
         
-        v_Pattern = Pattern.compile($CQL_R_WhereDelete);
+        v_Pattern = $Pattern_WhereDelete;
         v_Matcher = v_Pattern.matcher(v_CQL);
         if ( v_Matcher.find() )
         {
             v_CQL = v_Matcher.replaceAll(" DELETE ");
         }
         
-        v_Pattern = Pattern.compile($CQL_R_WhereRemove);
+        v_Pattern = $Pattern_WhereRemove;
         v_Matcher = v_Pattern.matcher(v_CQL);
         if ( v_Matcher.find() )
         {
             v_CQL = v_Matcher.replaceAll(" REMOVE ");
         }
         
-        v_Pattern = Pattern.compile($CQL_R_WhereSet);
+        v_Pattern = $Pattern_WhereSet;
         v_Matcher = v_Pattern.matcher(v_CQL);
         if ( v_Matcher.find() )
         {
             v_CQL = v_Matcher.replaceAll(" SET ");
         }
         
-        v_Pattern = Pattern.compile($CQL_R_WhereReturn);
+        v_Pattern = $Pattern_WhereReturn;
         v_Matcher = v_Pattern.matcher(v_CQL);
         if ( v_Matcher.find() )
         {
@@ -636,15 +796,21 @@ public class DBCQL implements Serializable
                     Method v_Method = MethodReflect.getGetMethod(i_Obj.getClass() ,v_PlaceHolder ,true);
                     */
                     
+                    // 按（Java类，占位符路径）缓存的访问器，只解释一次Getter方法链  ZhengWei(HY) Add 2026-10-18
+                    DBCQLAccessor v_Accessor = DBCQLAccessor.getAccessor(i_Obj.getClass() ,v_PlaceHolder);
+                    
                     // 可实现xxx.yyy.www(或getXxx.getYyy.getWww)全路径的解释  ZhengWei(HY) Add 2015-12-10
-                    try
-                    {
-                        v_MethodReflect = new MethodReflect(i_Obj ,v_PlaceHolder ,true ,MethodReflect.$NormType_Getter);
-                    }
-                    catch (Exception exce)
+                    if ( v_Accessor == null )
                     {
-                        // 有些:xx占位符可能找到对应Java的Getter方法，所以忽略。 ZhengWei(HY) Add 2-16-09-29
-                        // Nothing.
+                        try
+                        {
+                            v_MethodReflect = new MethodReflect(i_Obj ,v_PlaceHolder ,true ,MethodReflect.$NormType_Getter);
+                        }
+                        catch (Exception exce)
+                        {
+                            // 有些:xx占位符可能找到对应Java的Getter方法，所以忽略。 ZhengWei(HY) Add 2-16-09-29
+                            // Nothing.
+                        }
                     }
                     
                     Object       v_GetterValue    = null;
@@ -652,7 +818,7 @@ public class DBCQL implements Serializable
                     boolean      v_IsCValue       = false;
                     try
                     {
-                        if ( v_MethodReflect != null )
+                        if ( v_Accessor != null || v_MethodReflect != null )
                         {
                             v_ConditionGroup = Help.getValueIgnoreCase(this.conditions ,v_PlaceHolder);
                             if ( v_ConditionGroup != null )
@@ -661,6 +827,10 @@ public class DBCQL implements Serializable
                                 v_GetterValue = v_ConditionGroup.getValue(i_Obj ,false);
                                 v_IsCValue    = true;
                             }
+                            else if ( v_Accessor != null )
+                            {
+                                v_GetterValue = v_Accessor.getValue(i_Obj);
+                            }
                             else
                             {
                                 v_GetterValue = v_MethodReflect.invoke();
@@ -744,14 +914,14 @@ public class DBCQL implements Serializable
                                 v_Value = $NULL;
                                 v_Info  = this.dbCQLFill.fillAllMark(v_Info ,v_PlaceHolder ,v_Value ,v_DBType);
                             }
-                            else if ( v_MethodReflect == null )
+                            else if ( v_Accessor == null && v_MethodReflect == null )
                             {
                                 v_Value = $NULL;
                                 v_Info  = this.dbCQLFill.fillAllMark(v_Info ,v_PlaceHolder ,v_Value ,v_DBType);
                             }
                             else
                             {
-                                Class<?> v_ReturnType = v_MethodReflect.getReturnType();
+                                Class<?> v_ReturnType = v_Accessor != null ? v_Accessor.getReturnType() : v_MethodReflect.getReturnType();
                                 if ( v_ReturnType == null ||  v_ReturnType == String.class )
                                 {
                                     v_Value = "";
@@ -854,6 +1024,15 @@ public class DBCQL implements Serializable
             return this.cqlText;
         }
         
+        if ( this.compiled )
+        {
+            String v_CQLRet = this.getCQLByTemplate(i_Values);
+            if ( v_CQLRet != null )
+            {
+                return v_CQLRet;
+            }
+        }
+        
         String                v_DBType  = null;
         StringBuilder         v_CQL     = new StringBuilder();
         Iterator<DBCQL_Split> v_Ierator = this.segments.iterator();
@@ -1047,6 +1226,235 @@ public class DBCQL implements Serializable
     
     
     
+    /**
+     * 按预编译的填充指令，一次遍历填充所有占位符，生成可执行的CQL语句。
+     * 
+     * 每个占位符只取值一次，值的填充规则（关键字替换、defaultNull、占位符取值条件、可选分段的舍弃）与 getCQL(Map ,...) 逐个占位符替换的相同。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Values  占位符CQL的填充集合。
+     * @return          不能按预编译的指令填充时返回NULL，由调用者回退为逐个占位符替换的方式
+     */
+    private String getCQLByTemplate(Map<String ,?> i_Values)
+    {
+        Map<String ,String> v_Fills   = new HashMap<String ,String>();     // 占位符的填充值
+        Set<String>         v_Marks   = new HashSet<String>();             // 连同单引号一起替换为NULL的占位符
+        Set<String>         v_Counts  = new HashSet<String>();             // 计入替换数量的占位符
+        boolean []          v_Appends = new boolean[this.segments.size()];
+        int                 v_Size    = 0;
+        
+        for (int v_SIndex=0; v_SIndex<this.segments.size(); v_SIndex++)
+        {
+            DBCQL_Split v_DBCQL_Segment = this.segments.get(v_SIndex);
+            String []   v_Texts         = v_DBCQL_Segment.getTemplateTexts();
+            byte []     v_Kinds         = v_DBCQL_Segment.getTemplateKinds();
+            int         v_ReplaceCount  = 0;
+            
+            if ( v_Texts == null )
+            {
+                return null;
+            }
+            
+            if ( Help.isNull(v_DBCQL_Segment.getPlaceholders()) )
+            {
+                v_Appends[v_SIndex] = true;
+                v_Size += v_DBCQL_Segment.getTemplateLength();
+                continue;
+            }
+            
+            for (String v_PlaceHolder : v_DBCQL_Segment.getPlaceholders().keySet())
+            {
+                if ( this.notPlaceholders.contains(v_PlaceHolder) )
+                {
+                    // 逐个替换时，较短的占位符会替换掉非占位符的前半部分，这种情况不按预编译的指令填充
+                    for (String v_Other : v_DBCQL_Segment.getPlaceholders().keySet())
+                    {
+                        if ( v_Other.length() < v_PlaceHolder.length() && v_PlaceHolder.startsWith(v_Other) && !this.notPlaceholders.contains(v_Other) )
+                        {
+                            return null;
+                        }
+                    }
+                    v_ReplaceCount++;
+                    continue;
+                }
+                
+                if ( !v_Fills.containsKey(v_PlaceHolder) )
+                {
+                    if ( !this.fillByTemplate(i_Values ,v_PlaceHolder ,v_Fills ,v_Marks ,v_Counts) )
+                    {
+                        return null;
+                    }
+                }
+                
+                if ( v_Counts.contains(v_PlaceHolder) )
+                {
+                    v_ReplaceCount++;
+                }
+            }
+            
+            if ( InfoType.$TextInfo == v_DBCQL_Segment.getInfoType() || v_ReplaceCount == v_DBCQL_Segment.getPlaceholderSize() )
+            {
+                v_Appends[v_SIndex] = true;
+                v_Size += v_DBCQL_Segment.getTemplateLength();
+                
+                for (int i=0; i<v_Kinds.length; i++)
+                {
+                    if ( v_Kinds[i] != DBCQL_Split.$Template_Text )
+                    {
+                        String v_Fill = v_Fills.get(v_Texts[i]);
+                        v_Size += (v_Fill == null ? v_Texts[i].length() + 1 : v_Fill.length()) + 2;
+                    }
+                }
+            }
+        }
+        
+        StringBuilder v_CQL = new StringBuilder(v_Size);
+        
+        for (int v_SIndex=0; v_SIndex<this.segments.size(); v_SIndex++)
+        {
+            if ( !v_Appends[v_SIndex] )
+            {
+                continue;
+            }
+            
+            DBCQL_Split v_DBCQL_Segment = this.segments.get(v_SIndex);
+            String []   v_Texts         = v_DBCQL_Segment.getTemplateTexts();
+            byte []     v_Kinds         = v_DBCQL_Segment.getTemplateKinds();
+            
+            for (int i=0; i<v_Kinds.length; i++)
+            {
+                if ( v_Kinds[i] == DBCQL_Split.$Template_Text )
+                {
+                    v_CQL.append(v_Texts[i]);
+                    continue;
+                }
+                
+                String  v_Fill   = v_Fills.get(v_Texts[i]);
+                boolean v_IsMark = v_Kinds[i] == DBCQL_Split.$Template_SlotMark;
+                
+                if ( v_Fill == null )
+                {
+                    // 不是占位符的，保持原样
+                    if ( v_IsMark )
+                    {
+                        v_CQL.append('\'').append($Placeholder).append(v_Texts[i]).append('\'');
+                    }
+                    else
+                    {
+                        v_CQL.append($Placeholder).append(v_Texts[i]);
+                    }
+                }
+                else if ( v_IsMark && !v_Marks.contains(v_Texts[i]) )
+                {
+                    v_CQL.append('\'').append(v_Fill).append('\'');
+                }
+                else
+                {
+                    v_CQL.append(v_Fill);
+                }
+            }
+        }
+        
+        return whereDynamic(v_CQL.toString());
+    }
+    
+    
+    
+    /**
+     * 按 getCQL(Map ,...) 的填充规则，计算一个占位符的填充值
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Values       占位符CQL的填充集合。
+     * @param i_PlaceHolder  占位符。前缀不包含#符号
+     * @param io_Fills       占位符的填充值
+     * @param io_Marks       连同单引号一起替换为NULL的占位符
+     * @param io_Counts      计入替换数量的占位符
+     * @return               不能按预编译的指令填充时返回false
+     */
+    private boolean fillByTemplate(Map<String ,?> i_Values ,String i_PlaceHolder ,Map<String ,String> io_Fills ,Set<String> io_Marks ,Set<String> io_Counts)
+    {
+        Object       v_MapValue       = null;
+        DBConditions v_ConditionGroup = Help.getValueIgnoreCase(this.conditions ,i_PlaceHolder);
+        
+        try
+        {
+            if ( v_ConditionGroup != null )
+            {
+                v_MapValue = v_ConditionGroup.getValue(i_Values ,false);
+            }
+            else
+            {
+                v_MapValue = MethodReflect.getMapValue(i_Values ,i_PlaceHolder);
+            }
+        }
+        catch (Exception exce)
+        {
+            // 由逐个占位符替换的方式记录异常
+            return false;
+        }
+        
+        if ( v_MapValue == null )
+        {
+            v_MapValue = Help.getValueIgnoreCase(DBCQLStaticParams.getInstance() ,i_PlaceHolder);
+        }
+        
+        String v_Fill = null;
+        if ( v_MapValue != null )
+        {
+            if ( MethodReflect.class.equals(v_MapValue.getClass()) )
+            {
+                // 动态占位符每次填充的值可能不同
+                return false;
+            }
+            
+            if ( v_ConditionGroup != null )
+            {
+                v_Fill = v_MapValue.toString();
+            }
+            else
+            {
+                v_Fill = this.dbCQLFill.fillValue(i_PlaceHolder ,v_MapValue.toString());
+            }
+            io_Counts.add(i_PlaceHolder);
+        }
+        else
+        {
+            if ( v_ConditionGroup != null || this.defaultNull )
+            {
+                // 可实现NULL值写入到数据库的功能
+                v_Fill = $NULL;
+                io_Marks.add(i_PlaceHolder);
+            }
+            else
+            {
+                v_Fill = "";
+            }
+            
+            // 对于没有<[ ]>可选分段的CQL
+            if ( 1 == this.segments.size() )
+            {
+                io_Counts.add(i_PlaceHolder);
+            }
+        }
+        
+        // 逐个替换时，值中的占位符会被再次替换，值中的 $ \ 会被当作正则表达式的引用
+        if ( v_Fill.indexOf($Placeholder) >= 0 || v_Fill.indexOf('$') >= 0 || v_Fill.indexOf('\\') >= 0 )
+        {
+            return false;
+        }
+        
+        io_Fills.put(i_PlaceHolder ,v_Fill);
+        return true;
+    }
+    
+    
+    
     /**
      * 获取可执行的CQL语句，无填充项的情况。
      * 
@@ -1172,60 +1580,750 @@ public class DBCQL implements Serializable
     
     
     
-    public int getCQLType()
-    {
-        return cqlType;
-    }
-    
-    
-    
-    /**
-     * 获取：替换数据库关键字。如，单引号替换成两个单引号。默认为：true，即替换
-     */
-    public boolean isKeyReplace()
-    {
-        return keyReplace;
-    }
-
-
-    
     /**
-     * 设置：替换数据库关键字。如，单引号替换成两个单引号。默认为：true，即替换
+     * 获取可执行的Neo4j查询（CQL语句及参数），并按 i_Obj 填充有数值。
      * 
-     * 采用类似工厂方法构造 DBCQLFill，惟一的目的就是为了生成CQL时，减少IF判断，提高速度。
+     * 非参数化模式时，与 getCQL(Object ,DataSourceCQL) 生成的CQL语句相同，并且无参数。
      * 
-     * @param i_KeyReplace
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Obj
+     * @param i_DSCQL  数据库连接信息。可为空或NULL
+     * @return         生成的CQL为空时，返回NULL
      */
-    public void setKeyReplace(boolean i_KeyReplace)
+    public Query getQuery(Object i_Obj ,DataSourceCQL i_DSCQL)
     {
-        if ( i_KeyReplace )
+        if ( i_Obj == null )
         {
-            this.dbCQLFill = DBCQLFillKeyReplace.getInstance(this.notKeyReplace);
+            return null;
         }
-        else
+        
+        if ( !this.parameterized )
         {
-            this.dbCQLFill = DBCQLFillDefault.getInstance();
+            return toQuery(this.getCQL(i_Obj ,i_DSCQL));
         }
         
-        this.keyReplace = i_KeyReplace;
+        return this.getQueryParameterized(i_Obj ,i_DSCQL);
     }
     
     
     
     /**
-     * 获取：不是占位符的关键字的排除过滤。区分大小字。前缀无须冒号
+     * 获取可执行的Neo4j查询（CQL语句及参数），并按 Map<String ,Object> 填充有数值。
+     * 
+     * 非参数化模式时，与 getCQL(Map ,DataSourceCQL) 生成的CQL语句相同，并且无参数。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Values
+     * @param i_DSCQL  数据库连接信息。可为空或NULL
+     * @return         生成的CQL为空时，返回NULL
      */
-    public Set<String> getNotPlaceholderSet()
+    public Query getQuery(Map<String ,?> i_Values ,DataSourceCQL i_DSCQL)
     {
-        return notPlaceholders;
+        if ( i_Values == null )
+        {
+            return null;
+        }
+        
+        if ( !this.parameterized )
+        {
+            return toQuery(this.getCQL(i_Values ,i_DSCQL));
+        }
+        
+        return this.getQueryParameterized(i_Values ,i_DSCQL);
     }
     
     
     
     /**
-     * 获取：不是占位符的关键字的排除过滤。区分大小字。前缀无须冒号
+     * 获取可执行的Neo4j查询（CQL语句及参数），无填充项的情况。
      * 
-     * @param i_NotPlaceholders
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_DSCQL  数据库连接信息。可为空或NULL
+     * @return         生成的CQL为空时，返回NULL
+     */
+    public Query getQuery(DataSourceCQL i_DSCQL)
+    {
+        if ( !this.parameterized )
+        {
+            return toQuery(this.getCQL(i_DSCQL));
+        }
+        
+        return this.getQueryParameterized(null ,i_DSCQL);
+    }
+    
+    
+    
+    /**
+     * 获取参数化的Neo4j查询。与参数化模式（parameterized）的开关无关，总是生成参数化的CQL文本及参数。
+     * 
+     * 主用于批量执行时，将同一CQL文本的多组参数合并为一条 UNWIND 语句执行。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Obj    填充对象。可以是Map、Java Bean
+     * @param i_DSCQL  数据库连接信息。可为空或NULL
+     * @return         生成的CQL为空时，返回NULL
+     */
+    public Query getParamQuery(Object i_Obj ,DataSourceCQL i_DSCQL)
+    {
+        if ( i_Obj == null )
+        {
+            return null;
+        }
+        
+        return this.getQueryParameterized(i_Obj ,i_DSCQL);
+    }
+    
+    
+    
+    /**
+     * 本CQL模板是否可转为 UNWIND 语句批量执行（见 isUnwindable(String)）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @return
+     */
+    public boolean isUnwindable()
+    {
+        return isUnwindable(this.getCqlText());
+    }
+    
+    
+    
+    /**
+     * CQL是否可转为 UNWIND 语句批量执行。
+     * 
+     * 含有 RETURN 、 LIMIT 、 SKIP 、 ORDER BY 、 UNION 、 DISTINCT 或聚合函数（count()、sum()、collect()等）的CQL，
+     * 转为 UNWIND $XCQL_Rows AS XCQL_Row ... 后，限制、排序及聚合作用于所有行，而不是每一行，执行的效果不同，所以不可转换。
+     * 字符串、反引号、注释中的内容，及与关键字同名的占位符、参数、属性不作判定。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_CQL  CQL模板或参数化的CQL文本
+     * @return
+     */
+    public static boolean isUnwindable(String i_CQL)
+    {
+        if ( Help.isNull(i_CQL) )
+        {
+            return false;
+        }
+        
+        int           v_Len    = i_CQL.length();
+        StringBuilder v_Buffer = new StringBuilder(v_Len);
+        
+        for (int i=0; i<v_Len; i++)
+        {
+            char v_Char = i_CQL.charAt(i);
+            
+            if ( v_Char == '\'' || v_Char == '"' || v_Char == '`' )
+            {
+                // 字符串及反引号：替换为空格
+                int v_End = i + 1;
+                while ( v_End < v_Len && i_CQL.charAt(v_End) != v_Char )
+                {
+                    if ( i_CQL.charAt(v_End) == '\\' && v_Char != '`' )
+                    {
+                        v_End++;
+                    }
+                    v_End++;
+                }
+                v_Buffer.append(' ');
+                i = v_End;
+            }
+            else if ( v_Char == '/' && i + 1 < v_Len && (i_CQL.charAt(i + 1) == '/' || i_CQL.charAt(i + 1) == '*') )
+            {
+                // 注释：替换为空格
+                boolean v_IsLine = i_CQL.charAt(i + 1) == '/';
+                int     v_End    = v_IsLine ? i_CQL.indexOf('\n' ,i) : i_CQL.indexOf("*/" ,i + 2);
+                if ( v_End < 0 )
+                {
+                    v_End = v_Len;
+                }
+                else if ( !v_IsLine )
+                {
+                    v_End += 1;
+                }
+                v_Buffer.append(' ');
+                i = v_End;
+            }
+            else
+            {
+                v_Buffer.append(v_Char);
+            }
+        }
+        
+        String v_Code = $Pattern_NamedToken.matcher(v_Buffer).replaceAll(" ");
+        return !$Pattern_RowSpanning.matcher(v_Code).find();
+    }
+    
+    
+    
+    /**
+     * 将参数化的CQL转为 UNWIND 语句，即一次执行多组参数。
+     * 
+     * 如：CREATE (n:User {name: $name})
+     * 转为：UNWIND $XCQL_Rows AS XCQL_Row
+     *      CREATE (n:User {name: XCQL_Row.name})
+     * 
+     * 字符串、反引号及注释中的 $ 不作转换。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修正：含有跨行生效的子句及聚合函数时（见 isUnwindable()），不转换
+     *
+     * @param i_CQL       参数化的CQL文本
+     * @param i_RowsName  UNWIND的参数名称（参数值为多组参数的列表）
+     * @param i_RowAlias  UNWIND后每组参数的别名
+     * @return            含有多条语句、跨行生效的子句等无法转换的情况时，返回NULL
+     */
+    public static String toUnwindCQL(String i_CQL ,String i_RowsName ,String i_RowAlias)
+    {
+        if ( Help.isNull(i_CQL) )
+        {
+            return null;
+        }
+        
+        if ( !isUnwindable(i_CQL) )
+        {
+            return null;
+        }
+        
+        String        v_CQL    = i_CQL.trim();
+        int           v_Len    = v_CQL.length();
+        StringBuilder v_Buffer = new StringBuilder(v_Len + 64);
+        
+        v_Buffer.append("UNWIND $").append(i_RowsName).append(" AS ").append(i_RowAlias).append("\n");
+        
+        for (int i=0; i<v_Len; i++)
+        {
+            char v_Char = v_CQL.charAt(i);
+            
+            if ( v_Char == '\'' || v_Char == '"' || v_Char == '`' )
+            {
+                // 字符串及反引号：原样保留至结束的引号
+                int v_End = i + 1;
+                while ( v_End < v_Len && v_CQL.charAt(v_End) != v_Char )
+                {
+                    if ( v_CQL.charAt(v_End) == '\\' && v_Char != '`' )
+                    {
+                        v_End++;
+                    }
+                    v_End++;
+                }
+                if ( v_End >= v_Len )
+                {
+                    return null;
+                }
+                v_Buffer.append(v_CQL ,i ,v_End + 1);
+                i = v_End;
+            }
+            else if ( v_Char == '/' && i + 1 < v_Len && (v_CQL.charAt(i + 1) == '/' || v_CQL.charAt(i + 1) == '*') )
+            {
+                // 注释：原样保留
+                boolean v_IsLine = v_CQL.charAt(i + 1) == '/';
+                int     v_End    = v_IsLine ? v_CQL.indexOf('\n' ,i) : v_CQL.indexOf("*/" ,i + 2);
+                if ( v_End < 0 )
+                {
+                    if ( !v_IsLine )
+                    {
+                        return null;
+                    }
+                    v_End = v_Len;
+                }
+                else if ( !v_IsLine )
+                {
+                    v_End += 2;
+                }
+                v_Buffer.append(v_CQL ,i ,v_End);
+                i = v_End - 1;
+            }
+            else if ( v_Char == '$' )
+            {
+                int v_End = i + 1;
+                while ( v_End < v_Len && (Character.isLetterOrDigit(v_CQL.charAt(v_End)) || v_CQL.charAt(v_End) == '_') )
+                {
+                    v_End++;
+                }
+                if ( v_End == i + 1 || Character.isDigit(v_CQL.charAt(i + 1)) )
+                {
+                    return null;
+                }
+                v_Buffer.append(i_RowAlias).append('.').append(v_CQL ,i + 1 ,v_End);
+                i = v_End - 1;
+            }
+            else if ( v_Char == ';' )
+            {
+                // 只允许在末尾
+                if ( !Help.isNull(v_CQL.substring(i + 1).trim()) )
+                {
+                    return null;
+                }
+                break;
+            }
+            else
+            {
+                v_Buffer.append(v_Char);
+            }
+        }
+        
+        return v_Buffer.toString();
+    }
+    
+    
+    
+    /**
+     * 常规CQL语句转为Neo4j查询（无参数的）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_CQL
+     * @return       CQL为空时，返回NULL
+     */
+    public static Query toQuery(String i_CQL)
+    {
+        if ( Help.isNull(i_CQL) )
+        {
+            return null;
+        }
+        
+        return new Query(i_CQL);
+    }
+    
+    
+    
+    /**
+     * 参数化模式：生成常量CQL文本及参数Map。
+     * 
+     * 占位符的取值规则（取值条件、全局占位符、动态占位符、NULL值的处理及 <[ ]> 动态分段的取舍）与 getCQL() 系列方法相同。
+     * 区别是：
+     *   1. 引号中的占位符的值，均以字符串类型作为参数值（与拼接时的语义相同），无须再替换数据库关键字；
+     *   2. 不在引号中、处于值位置的占位符（如 n.port = #port 、 {id: #id}），参数值保持Java类型（见 toParamValue()），
+     *      数值、布尔、时间等类型的属性不会因参数化而变为字符串；
+     *   3. 动态占位符（值为MethodReflect的）只执行一次，同一占位符的多处引用为同一参数值。
+     * 
+     * 注：只用于查询及增、删、改。DDL（索引、约束等）不支持$参数，仍用 getCQL() 系列方法内联后执行。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  添加：值位置的占位符的参数值保持Java类型
+     *              v3.0  2026-10-18  修正：数据库类型固定为Neo4j，不再总为NULL
+     *
+     * @param i_Values  填充对象。可以是Map、Java Bean，为NULL时表示无填充项的情况（只取全局占位符）
+     * @param i_DSCQL   数据库连接信息。可为空或NULL
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private Query getQueryParameterized(Object i_Values ,DataSourceCQL i_DSCQL)
+    {
+        if ( Help.isNull(this.segments) )
+        {
+            return toQuery(this.cqlText);
+        }
+        
+        String                v_DBType  = DataSourceCQL.$DBType_Neo4j;   // 不用 i_DSCQL.getDbProductType()，它在首次获取时会访问数据库
+        boolean               v_IsMap   = i_Values instanceof Map;
+        StringBuilder         v_CQL     = new StringBuilder();
+        Map<String ,Object>   v_Params  = new HashMap<String ,Object>();
+        Iterator<DBCQL_Split> v_Ierator = this.segments.iterator();
+        
+        while ( v_Ierator.hasNext() )
+        {
+            DBCQL_Split                   v_DBCQL_Segment = v_Ierator.next();
+            PartitionMap<String ,Integer> v_Placeholders  = v_DBCQL_Segment.getPlaceholders();
+            
+            if ( Help.isNull(v_Placeholders) )
+            {
+                v_CQL.append(v_DBCQL_Segment.getInfo());
+                continue;
+            }
+            
+            Iterator<String>    v_IterPlaceholders = v_Placeholders.keySet().iterator();
+            String              v_Info             = v_DBCQL_Segment.getParamInfo();
+            Map<String ,String> v_ParamNames       = v_DBCQL_Segment.getParamNames();
+            Map<String ,String> v_ValueNames       = v_DBCQL_Segment.getValueNames();
+            Set<String>         v_Inlines          = v_DBCQL_Segment.getInlinePlaceholders();
+            Map<String ,Object> v_SegmentParams    = new HashMap<String ,Object>();
+            int                 v_ReplaceCount     = 0;
+            
+            while ( v_IterPlaceholders.hasNext() )
+            {
+                String v_PlaceHolder = v_IterPlaceholders.next();
+                String v_ParamName   = v_ParamNames.get(v_PlaceHolder);
+                String v_ValueName   = v_ValueNames.get(v_PlaceHolder);
+                
+                // 排除不是占位符的变量，但它的形式可能是占位符的形式。
+                if ( this.notPlaceholders.contains(v_PlaceHolder) )
+                {
+                    if ( v_ParamName != null )
+                    {
+                        v_SegmentParams.put(v_ParamName ,$Placeholder + v_PlaceHolder);
+                    }
+                    if ( v_ValueName != null )
+                    {
+                        v_SegmentParams.put(v_ValueName ,$Placeholder + v_PlaceHolder);
+                    }
+                    v_ReplaceCount++;
+                    continue;
+                }
+                
+                MethodReflect v_MethodReflect  = null;
+                Object        v_Value          = null;
+                DBConditions  v_ConditionGroup = null;
+                Class<?>      v_ReturnType     = null;
+                
+                try
+                {
+                    if ( i_Values == null )
+                    {
+                        v_Value = Help.getValueIgnoreCase(DBCQLStaticParams.getInstance() ,v_PlaceHolder);
+                    }
+                    else if ( v_IsMap )
+                    {
+                        v_ConditionGroup = Help.getValueIgnoreCase(this.conditions ,v_PlaceHolder);
+                        if ( v_ConditionGroup != null )
+                        {
+                            v_Value = v_ConditionGroup.getValue((Map<String ,?>)i_Values ,false);
+                        }
+                        else
+                        {
+                            v_Value = MethodReflect.getMapValue((Map<String ,?>)i_Values ,v_PlaceHolder);
+                        }
+                        
+                        if ( v_Value == null )
+                        {
+                            v_Value = Help.getValueIgnoreCase(DBCQLStaticParams.getInstance() ,v_PlaceHolder);
+                        }
+                    }
+                    else
+                    {
+                        DBCQLAccessor v_Accessor = DBCQLAccessor.getAccessor(i_Values.getClass() ,v_PlaceHolder);
+                        
+                        if ( v_Accessor == null )
+                        {
+                            try
+                            {
+                                v_MethodReflect = new MethodReflect(i_Values ,v_PlaceHolder ,true ,MethodReflect.$NormType_Getter);
+                            }
+                            catch (Exception exce)
+                            {
+                                // 有些#xx占位符可能找不到对应Java的Getter方法，所以忽略。
+                            }
+                        }
+                        
+                        if ( v_Accessor != null || v_MethodReflect != null )
+                        {
+                            v_ReturnType     = v_Accessor != null ? v_Accessor.getReturnType() : v_MethodReflect.getReturnType();
+                            v_ConditionGroup = Help.getValueIgnoreCase(this.conditions ,v_PlaceHolder);
+                            if ( v_ConditionGroup != null )
+                            {
+                                v_Value = v_ConditionGroup.getValue(i_Values ,false);
+                            }
+                            else if ( v_Accessor != null )
+                            {
+                                v_Value = v_Accessor.getValue(i_Values);
+                            }
+                            else
+                            {
+                                v_Value = v_MethodReflect.invoke();
+                            }
+                        }
+                        else
+                        {
+                            v_Value = Help.getValueIgnoreCase(DBCQLStaticParams.getInstance() ,v_PlaceHolder);
+                        }
+                    }
+                    
+                    // 动态占位符：通过Java动态(或有业务时间逻辑的)填充值
+                    if ( v_Value != null && MethodReflect.class.equals(v_Value.getClass()) )
+                    {
+                        v_ReturnType = ((MethodReflect)v_Value).getReturnType();
+                        v_Value      = ((MethodReflect)v_Value).invoke();
+                    }
+                }
+                catch (Exception exce)
+                {
+                    $Logger.error(exce);
+                    throw new RuntimeException(exce.getMessage());
+                }
+                finally
+                {
+                    if ( v_MethodReflect != null )
+                    {
+                        v_MethodReflect.clearDestroy();
+                        v_MethodReflect = null;
+                    }
+                }
+                
+                try
+                {
+                    if ( v_Value != null )
+                    {
+                        String v_ValueString = v_Value.toString();
+                        
+                        if ( v_ParamName != null )
+                        {
+                            v_SegmentParams.put(v_ParamName ,v_ValueString);
+                        }
+                        if ( v_ValueName != null )
+                        {
+                            v_SegmentParams.put(v_ValueName ,toParamValue(v_Value));
+                        }
+                        
+                        if ( v_Inlines.contains(v_PlaceHolder) )
+                        {
+                            if ( v_ConditionGroup != null )
+                            {
+                                v_Info = this.dbCQLFill.onlyFillAll(v_Info ,v_PlaceHolder ,v_ValueString ,v_DBType);
+                            }
+                            else
+                            {
+                                v_Info = this.dbCQLFill.fillAll(v_Info ,v_PlaceHolder ,v_ValueString ,v_DBType);
+                            }
+                        }
+                        
+                        v_ReplaceCount++;
+                    }
+                    else if ( i_Values == null )
+                    {
+                        // 因为没有执行参数，所以不做任何替换（与 getCQL(DataSourceCQL) 相同，保留占位符的原文）
+                        if ( v_ParamName != null )
+                        {
+                            v_SegmentParams.put(v_ParamName ,$Placeholder + v_PlaceHolder);
+                        }
+                        if ( v_ValueName != null )
+                        {
+                            v_SegmentParams.put(v_ValueName ,$Placeholder + v_PlaceHolder);
+                        }
+                    }
+                    // 当占位符对应属性值为NULL时的处理
+                    else
+                    {
+                        boolean v_IsNull = v_ConditionGroup != null || this.defaultNull;
+                        if ( !v_IsNull && !v_IsMap )
+                        {
+                            v_IsNull = v_ReturnType != null && v_ReturnType != String.class;
+                        }
+                        
+                        if ( v_ParamName != null )
+                        {
+                            v_SegmentParams.put(v_ParamName ,v_IsNull ? null : "");
+                        }
+                        if ( v_ValueName != null )
+                        {
+                            v_SegmentParams.put(v_ValueName ,null);
+                        }
+                        
+                        if ( v_Inlines.contains(v_PlaceHolder) )
+                        {
+                            v_Info = this.dbCQLFill.fillAll(v_Info ,v_PlaceHolder ,v_IsNull ? $NULL : "" ,v_DBType);
+                        }
+                        
+                        // 对于没有<[ ]>可选分段的CQL
+                        if ( v_IsMap && 1 == this.segments.size() )
+                        {
+                            v_ReplaceCount++;
+                        }
+                    }
+                }
+                catch (Exception exce)
+                {
+                    $Logger.error(exce);
+                }
+            }
+            
+            if ( InfoType.$TextInfo == v_DBCQL_Segment.getInfoType()
+              || v_ReplaceCount == v_DBCQL_Segment.getPlaceholderSize() )
+            {
+                v_CQL.append(v_Info);
+                v_Params.putAll(v_SegmentParams);
+            }
+        }
+        
+        String v_CQLRet = whereDynamic(v_CQL.toString());
+        if ( Help.isNull(v_CQLRet) )
+        {
+            return null;
+        }
+        
+        return new Query(v_CQLRet ,v_Params);
+    }
+    
+    
+    
+    /**
+     * 参数化模式：值位置的占位符的值转为Neo4j参数值，保持原有的类型。
+     * 
+     * Neo4j驱动直接支持的类型（数值、布尔、字符串、java.time 的时间类型等）原样返回；
+     * 驱动不支持的类型转换如下：
+     *   1. java.sql.Date 转为 LocalDate，其它 java.util.Date（含 Timestamp 及 org.hy.common.Date）转为 LocalDateTime；
+     *   2. BigDecimal 转为 Double，BigInteger 转为 Long；
+     *   3. 枚举转为枚举名称；
+     *   4. 集合、数组转为List，Map的值逐一转换；
+     *   5. 其它类型（如Java Bean）转为 toString() 的字符串，与拼接时的值相同。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Value
+     * @return
+     */
+    public static Object toParamValue(Object i_Value)
+    {
+        if ( i_Value == null
+          || i_Value instanceof String
+          || i_Value instanceof Boolean
+          || i_Value instanceof Long
+          || i_Value instanceof Integer
+          || i_Value instanceof Short
+          || i_Value instanceof Byte
+          || i_Value instanceof Double
+          || i_Value instanceof Float
+          || i_Value instanceof Character
+          || i_Value instanceof byte []
+          || i_Value instanceof TemporalAccessor
+          || i_Value instanceof TemporalAmount )
+        {
+            return i_Value;
+        }
+        else if ( i_Value instanceof java.sql.Date )
+        {
+            return ((java.sql.Date)i_Value).toLocalDate();
+        }
+        else if ( i_Value instanceof java.util.Date )
+        {
+            return LocalDateTime.ofInstant(((java.util.Date)i_Value).toInstant() ,ZoneId.systemDefault());
+        }
+        else if ( i_Value instanceof BigInteger )
+        {
+            return ((BigInteger)i_Value).longValue();
+        }
+        else if ( i_Value instanceof BigDecimal )
+        {
+            return ((BigDecimal)i_Value).doubleValue();
+        }
+        else if ( i_Value instanceof Enum )
+        {
+            return ((Enum<?>)i_Value).name();
+        }
+        else if ( i_Value instanceof Collection )
+        {
+            List<Object> v_List = new ArrayList<Object>(((Collection<?>)i_Value).size());
+            for (Object v_Item : (Collection<?>)i_Value)
+            {
+                v_List.add(toParamValue(v_Item));
+            }
+            return v_List;
+        }
+        else if ( i_Value.getClass().isArray() )
+        {
+            int          v_Len  = Array.getLength(i_Value);
+            List<Object> v_List = new ArrayList<Object>(v_Len);
+            for (int i=0; i<v_Len; i++)
+            {
+                v_List.add(toParamValue(Array.get(i_Value ,i)));
+            }
+            return v_List;
+        }
+        else if ( i_Value instanceof Map )
+        {
+            Map<String ,Object> v_Map = new HashMap<String ,Object>();
+            for (Map.Entry<?, ?> v_Item : ((Map<?, ?>)i_Value).entrySet())
+            {
+                v_Map.put(String.valueOf(v_Item.getKey()) ,toParamValue(v_Item.getValue()));
+            }
+            return v_Map;
+        }
+        
+        return i_Value.toString();
+    }
+    
+    
+    
+    public int getCQLType()
+    {
+        return cqlType;
+    }
+    
+    
+    
+    /**
+     * 获取：CQL中涉及的节点标签及关系类型。为空集合时，表示无法识别，视为涉及所有标签
+     */
+    public Set<String> getLabels()
+    {
+        return labels;
+    }
+    
+    
+    
+    /**
+     * 获取：替换数据库关键字。如，单引号替换成两个单引号。默认为：true，即替换
+     */
+    public boolean isKeyReplace()
+    {
+        return keyReplace;
+    }
+
+
+    
+    /**
+     * 设置：替换数据库关键字。如，单引号替换成两个单引号。默认为：true，即替换
+     * 
+     * 采用类似工厂方法构造 DBCQLFill，惟一的目的就是为了生成CQL时，减少IF判断，提高速度。
+     * 
+     * @param i_KeyReplace
+     */
+    public void setKeyReplace(boolean i_KeyReplace)
+    {
+        if ( i_KeyReplace )
+        {
+            this.dbCQLFill = DBCQLFillKeyReplace.getInstance(this.notKeyReplace);
+        }
+        else
+        {
+            this.dbCQLFill = DBCQLFillDefault.getInstance();
+        }
+        
+        this.keyReplace = i_KeyReplace;
+    }
+    
+    
+    
+    /**
+     * 获取：不是占位符的关键字的排除过滤。区分大小字。前缀无须冒号
+     */
+    public Set<String> getNotPlaceholderSet()
+    {
+        return notPlaceholders;
+    }
+    
+    
+    
+    /**
+     * 获取：不是占位符的关键字的排除过滤。区分大小字。前缀无须冒号
+     * 
+     * @param i_NotPlaceholders
      */
     public void setNotPlaceholderSet(Set<String> i_NotPlaceholders)
     {
@@ -1433,6 +2531,60 @@ public class DBCQL implements Serializable
     
     
     
+    /**
+     * 获取：是否为参数化模式。
+     * 
+     * 参数化模式下，引号中的占位符编译为Neo4j的参数引用，通过 getQuery() 生成常量CQL文本及参数Map。
+     * 
+     * 默认为：false。
+     */
+    public boolean isParameterized()
+    {
+        return parameterized;
+    }
+    
+    
+    
+    /**
+     * 设置：是否为参数化模式。
+     * 
+     * 参数化模式下，引号中的占位符编译为Neo4j的参数引用，通过 getQuery() 生成常量CQL文本及参数Map。
+     * 
+     * 默认为：false。
+     * 
+     * @param i_Parameterized
+     */
+    public void setParameterized(boolean i_Parameterized)
+    {
+        this.parameterized = i_Parameterized;
+    }
+    
+    
+    
+    /**
+     * 获取：是否使用预编译的填充指令。默认为：true。
+     */
+    public boolean isCompiled()
+    {
+        return compiled;
+    }
+    
+    
+    
+    /**
+     * 设置：是否使用预编译的填充指令。默认为：true。
+     * 
+     * 为真时，getCQL(Map ,...) 按分段预编译的指令一次遍历填充所有占位符，生成的CQL与逐个占位符替换的相同。
+     * 
+     * @param i_Compiled
+     */
+    public void setCompiled(boolean i_Compiled)
+    {
+        this.compiled = i_Compiled;
+    }
+    
+    
+    
     /**
      * 获取：数据库连接信息
      */
@@ -1605,6 +2757,21 @@ interface DBCQLFill
      */
     public String fillSpace(String i_Info ,String i_PlaceHolder);
     
+    
+    
+    /**
+     * 获取 fillAll() 填充到占位符位置上的文本，即替换特殊字符后的数值（不执行替换占位符的动作）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_PlaceHolder
+     * @param i_Value
+     * @return
+     */
+    public String fillValue(String i_PlaceHolder ,String i_Value);
+    
 }
 
 
@@ -1823,6 +2990,25 @@ class DBCQLFillDefault implements DBCQLFill ,Serializable
         return StringHelp.replaceAll(i_Info ,DBCQL.$Placeholder + i_PlaceHolder ,"");
     }
     
+    
+    
+    /**
+     * 获取 fillAll() 填充到占位符位置上的文本，即替换特殊字符后的数值（不执行替换占位符的动作）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_PlaceHolder
+     * @param i_Value
+     * @return
+     */
+    @Override
+    public String fillValue(String i_PlaceHolder ,String i_Value)
+    {
+        return i_Value;
+    }
+    
 }
 
 
@@ -2131,6 +3317,32 @@ class DBCQLFillKeyReplace implements DBCQLFill ,Serializable
     
     
     
+    /**
+     * 获取 fillAll() 填充到占位符位置上的文本，即替换特殊字符后的数值（不执行替换占位符的动作）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_PlaceHolder
+     * @param i_Value
+     * @return
+     */
+    @Override
+    public String fillValue(String i_PlaceHolder ,String i_Value)
+    {
+        if ( (this.notKeyReplace == null || !this.notKeyReplace.contains(i_PlaceHolder)) && this.isAllowReplace(i_Value) )
+        {
+            return StringHelp.replaceAll(i_Value ,$FillReplace ,$FillReplaceBy);
+        }
+        else
+        {
+            return i_Value;
+        }
+    }
+    
+    
+    
     /**
      * 是否允许替换字符串。防止如：'A' ,'B' ,'C' ... ,'Z'  这样格式的字符串被替换
      * 
@@ -0,0 +1,345 @@
+package org.hy.common.xcql;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hy.common.Help;
+import org.hy.common.MethodReflect;
+
+
+
+
+
+/**
+ * 占位符取值的访问器。按（Java类，占位符路径）解释一次Getter方法链，之后通过 MethodHandle 直接取值。
+ * 
+ * 作用范围：可作用于所有XCQL对象、DBCQL对象、DBCondition对象。
+ * 
+ * 作用功能：替代每次填充时 new MethodReflect(...) 的反射解释，用于大批量Java Bean填充CQL语句的场景。
+ * 
+ * 约定1：占位符支持xxx.yyy.www(或getXxx.getYyy.getWww)全路径，不区分大小写，与 MethodReflect 的解释相同。
+ * 
+ * 约定2：不能确定与 MethodReflect 解释相同的，均不生成访问器（返回NULL），由调用者继续使用 MethodReflect。
+ *        如，路径中有Map、集合类型的，Getter方法有歧义的，方法不可访问的等。
+ * 
+ * 约定3：取值过程中，路径中间的属性值为NULL时，回退为 MethodReflect 取值。
+ * 
+ * 约定4：Getter方法的返回值为 MethodReflect 时（函数型占位符），原样返回，由调用者执行。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public final class DBCQLAccessor
+{
+    
+    /** 不能生成访问器的标记 */
+    private static final DBCQLAccessor                            $None      = new DBCQLAccessor(null ,null ,null);
+    
+    /** 访问器的缓存。Map.key为Java类，Map.value.key为占位符路径 */
+    private static final Map<Class<?> ,Map<String ,DBCQLAccessor>> $Accessors = new ConcurrentHashMap<Class<?> ,Map<String ,DBCQLAccessor>>();
+    
+    /** 统一的MethodHandle调用类型 */
+    private static final MethodType                               $Type      = MethodType.methodType(Object.class ,Object.class);
+    
+    
+    
+    /** 占位符路径。前缀不包含#符号 */
+    private final String          placeholder;
+    
+    /** 路径上各级的Getter方法 */
+    private final MethodHandle [] getters;
+    
+    /** 最后一级Getter方法的返回类型 */
+    private final Class<?>        returnType;
+    
+    
+    
+    /**
+     * 获取占位符取值的访问器。同一（Java类，占位符路径）只解释一次
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Class        Java类
+     * @param i_Placeholder  占位符。前缀不包含#符号
+     * @return               不能生成访问器时返回NULL，由调用者继续使用 MethodReflect
+     */
+    public static DBCQLAccessor getAccessor(Class<?> i_Class ,String i_Placeholder)
+    {
+        if ( i_Class == null || Help.isNull(i_Placeholder) )
+        {
+            return null;
+        }
+        
+        DBCQLAccessor v_Accessor = $Accessors.computeIfAbsent(i_Class ,k -> new ConcurrentHashMap<String ,DBCQLAccessor>())
+                                             .computeIfAbsent(i_Placeholder ,k -> newAccessor(i_Class ,i_Placeholder));
+        
+        return v_Accessor == $None ? null : v_Accessor;
+    }
+    
+    
+    
+    /**
+     * 清空访问器的缓存。一般用于热加载Java类后
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     */
+    public static void clear()
+    {
+        $Accessors.clear();
+    }
+    
+    
+    
+    /**
+     * 解释Getter方法链，生成访问器
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Class        Java类
+     * @param i_Placeholder  占位符。前缀不包含#符号
+     * @return               不能生成访问器时返回 $None
+     */
+    private static DBCQLAccessor newAccessor(Class<?> i_Class ,String i_Placeholder)
+    {
+        String []       v_Names   = i_Placeholder.split("\\.");
+        MethodHandle [] v_Getters = new MethodHandle[v_Names.length];
+        Class<?>        v_Class   = i_Class;
+        
+        for (int i=0; i<v_Names.length; i++)
+        {
+            if ( v_Class.isArray() || v_Class.isPrimitive() || Map.class.isAssignableFrom(v_Class) || Collection.class.isAssignableFrom(v_Class) )
+            {
+                return $None;
+            }
+            
+            Method v_Method = findGetter(v_Class ,v_Names[i]);
+            if ( v_Method == null )
+            {
+                return $None;
+            }
+            
+            try
+            {
+                v_Getters[i] = toMethodHandle(v_Method).asType($Type);
+            }
+            catch (Exception exce)
+            {
+                return $None;
+            }
+            
+            v_Class = v_Method.getReturnType();
+        }
+        
+        return new DBCQLAccessor(i_Placeholder ,v_Getters ,v_Class);
+    }
+    
+    
+    
+    /**
+     * 查找属性的Getter方法。按 getXxx()、isXxx()、xxx() 的顺序，先区分大小写，再不区分大小写
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Class  Java类
+     * @param i_Name   属性名称或Getter方法名称
+     * @return         未找到或有歧义时返回NULL
+     */
+    private static Method findGetter(Class<?> i_Class ,String i_Name)
+    {
+        if ( Help.isNull(i_Name) )
+        {
+            return null;
+        }
+        
+        String    v_Upper = i_Name.substring(0 ,1).toUpperCase() + i_Name.substring(1);
+        String [] v_Names = {"get" + v_Upper ,"is" + v_Upper ,i_Name};
+        
+        for (int v_IgnoreCase=0; v_IgnoreCase<=1; v_IgnoreCase++)
+        {
+            for (int v_NIndex=0; v_NIndex<v_Names.length; v_NIndex++)
+            {
+                String v_Name = v_Names[v_NIndex];
+                
+                // 方法名称形式的，只限 getXxx、isXxx
+                if ( v_NIndex == 2 && !i_Name.regionMatches(true ,0 ,"get" ,0 ,3) && !i_Name.regionMatches(true ,0 ,"is" ,0 ,2) )
+                {
+                    continue;
+                }
+                
+                Method v_Found = null;
+                for (Method v_Method : i_Class.getMethods())
+                {
+                    if ( v_Method.getParameterCount() != 0
+                      || v_Method.getReturnType() == void.class
+                      || v_Method.isBridge()
+                      || Modifier.isStatic(v_Method.getModifiers())
+                      || v_Method.getDeclaringClass() == Object.class )
+                    {
+                        continue;
+                    }
+                    
+                    boolean v_IsMatch = v_IgnoreCase == 0 ? v_Method.getName().equals(v_Name) : v_Method.getName().equalsIgnoreCase(v_Name);
+                    if ( !v_IsMatch )
+                    {
+                        continue;
+                    }
+                    
+                    if ( v_Found != null && !v_Found.getName().equals(v_Method.getName()) )
+                    {
+                        // 不区分大小写时有多个方法，有歧义
+                        return null;
+                    }
+                    v_Found = v_Method;
+                }
+                
+                if ( v_Found != null )
+                {
+                    return v_Found;
+                }
+            }
+        }
+        
+        return null;
+    }
+    
+    
+    
+    /**
+     * Getter方法转为MethodHandle。非公开类的公开方法，尝试放开访问权限
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Method  Getter方法
+     * @return
+     * @throws IllegalAccessException
+     */
+    private static MethodHandle toMethodHandle(Method i_Method) throws IllegalAccessException
+    {
+        try
+        {
+            return MethodHandles.publicLookup().unreflect(i_Method);
+        }
+        catch (IllegalAccessException exce)
+        {
+            i_Method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(i_Method);
+        }
+    }
+    
+    
+    
+    private DBCQLAccessor(String i_Placeholder ,MethodHandle [] i_Getters ,Class<?> i_ReturnType)
+    {
+        this.placeholder = i_Placeholder;
+        this.getters     = i_Getters;
+        this.returnType  = i_ReturnType;
+    }
+    
+    
+    
+    /**
+     * 获取占位符的值
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Obj  填充对象。须是生成访问器时的Java类（或其子类）的实例
+     * @return       Getter方法的返回值。可能是 MethodReflect（函数型占位符）
+     * @throws Exception
+     */
+    public Object getValue(Object i_Obj) throws Exception
+    {
+        Object v_Value = i_Obj;
+        
+        try
+        {
+            for (int i=0; i<this.getters.length; i++)
+            {
+                if ( v_Value == null )
+                {
+                    return this.getValueByReflect(i_Obj);
+                }
+                
+                v_Value = this.getters[i].invokeExact(v_Value);
+            }
+        }
+        catch (Exception | Error exce)
+        {
+            throw exce;
+        }
+        catch (Throwable exce)
+        {
+            throw new RuntimeException(exce);
+        }
+        
+        return v_Value;
+    }
+    
+    
+    
+    /**
+     * 路径中间的属性值为NULL时，按 MethodReflect 的解释取值
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Obj  填充对象
+     * @return
+     * @throws Exception
+     */
+    private Object getValueByReflect(Object i_Obj) throws Exception
+    {
+        MethodReflect v_MethodReflect = new MethodReflect(i_Obj ,this.placeholder ,true ,MethodReflect.$NormType_Getter);
+        
+        try
+        {
+            return v_MethodReflect.invoke();
+        }
+        finally
+        {
+            v_MethodReflect.clearDestroy();
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：占位符路径。前缀不包含#符号
+     */
+    public String getPlaceholder()
+    {
+        return placeholder;
+    }
+    
+    
+    
+    /**
+     * 获取：最后一级Getter方法的返回类型
+     */
+    public Class<?> getReturnType()
+    {
+        return returnType;
+    }
+    
+}
+    
\ No newline at end of file
@@ -1,5 +1,15 @@
 package org.hy.common.xcql;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.hy.common.Help;
 import org.hy.common.PartitionMap;
 import org.hy.common.SplitSegment;
@@ -19,12 +29,25 @@ import org.hy.common.StringHelp;
  * @author      ZhengWei(HY)
  * @createDate  2023-05-25
  * @version     v1.0
+ *              v2.0  2026-10-18  添加：参数化模式的预编译。引号中的占位符编译为 $参数名 的Neo4j参数引用
+ *              v3.0  2026-10-18  添加：填充指令的预编译。分段CQL编译为文本常量与占位符槽位交替的指令序列
+ *              v4.0  2026-10-18  添加：参数化模式下，不在引号中、处于值位置的占位符（如 n.port = #port 、 {id: #id}）也编译为Neo4j参数，
+ *                                      参数值保持Java类型
  */
 public class DBCQL_Split extends SplitSegment
 {
     
     private static final long serialVersionUID = -7322548589241813089L;
     
+    /** 填充指令的类型：文本常量 */
+    public  static final byte $Template_Text     = 0;
+    
+    /** 填充指令的类型：占位符槽位，如 #name */
+    public  static final byte $Template_Slot     = 1;
+    
+    /** 填充指令的类型：前后带单引号的占位符槽位，如 '#name' 。值为NULL时连同单引号一起被替换 */
+    public  static final byte $Template_SlotMark = 2;
+    
     
 
     /**
@@ -46,6 +69,49 @@ public class DBCQL_Split extends SplitSegment
      */
     private PartitionMap<String ,Integer> placeholdersSequence;
     
+    /**
+     * 参数化模式下的分段CQL。
+     * 
+     * 引号中的占位符被编译为 $参数名 的Neo4j参数引用，如 '#name' 编译为 $name；
+     * 引号中还有其它文字时，编译为字符串拼接，如 '%#name%' 编译为 ('%' + coalesce($name ,'') + '%')；
+     * 不在引号中、处于值位置的占位符也编译为参数引用，如 n.port = #port 编译为 n.port = $port（见 isValuePosition()）；
+     * 其它位置的占位符（如标签、关系类型、ORDER BY等结构性的位置）保持 #占位符 的原样，仍按拼接方式填充。
+     */
+    private String                        paramInfo;
+    
+    /**
+     * 参数化模式下，引号中的占位符与Neo4j参数名称的对应关系。参数值为字符串（与拼接时的语义相同）
+     * 
+     * Map.key    为占位符。前缀不包含#符号
+     * Map.Value  为Neo4j参数名称。前缀不包含$符号
+     */
+    private Map<String ,String>           paramNames;
+    
+    /**
+     * 参数化模式下，不在引号中、处于值位置的占位符与Neo4j参数名称的对应关系。参数值保持Java类型（见 DBCQL.toParamValue()）
+     * 
+     * Map.key    为占位符。前缀不包含#符号
+     * Map.Value  为Neo4j参数名称。前缀不包含$符号
+     */
+    private Map<String ,String>           valueNames;
+    
+    /** 参数化模式下仍须按拼接方式填充的占位符。前缀不包含#符号 */
+    private Set<String>                   inlinePlaceholders;
+    
+    /**
+     * 预编译的填充指令。与 templateKinds 一一对应。
+     * 
+     * 文本常量的指令为文本内容；占位符槽位的指令为占位符名称，前缀不包含#符号。
+     * 为NULL时表示本分段不能预编译（如两个占位符之间的文本过短，逐个替换的结果依赖替换顺序），只能按逐个替换的方式填充。
+     */
+    private String []                     templateTexts;
+    
+    /** 预编译的填充指令的类型。见 $Template_ 前缀的系列常量 */
+    private byte []                       templateKinds;
+    
+    /** 预编译的填充指令中文本常量的总长度 */
+    private int                           templateLength;
+    
     
     
     public DBCQL_Split(SplitSegment i_SplitSegment)
@@ -88,6 +154,23 @@ public class DBCQL_Split extends SplitSegment
      * 解释占位符
      */
     public synchronized void parsePlaceholders()
+    {
+        this.parsePlaceholders(new ArrayDeque<Character>());
+    }
+    
+    
+    
+    /**
+     * 解释占位符
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param io_Brackets  本分段之前（前面的分段中）未闭合的括号，栈顶为最内层的括号。解释后为本分段之后未闭合的括号。
+     *                     用于判定 : 号之后的占位符是属性值（如 {id: #id}），还是标签（如 (n:#label)）
+     */
+    public synchronized void parsePlaceholders(Deque<Character> io_Brackets)
     {
         if ( Help.isNull(this.info) )
         {
@@ -96,6 +179,650 @@ public class DBCQL_Split extends SplitSegment
         
         this.placeholdersSequence = StringHelp.parsePlaceholdersSequence(DBCQL.$Placeholder ,this.info ,true);
         this.placeholders         = Help.toReverse(this.placeholdersSequence);
+        
+        this.parseParameters(io_Brackets);
+        this.parseTemplate();
+    }
+    
+    
+    
+    /**
+     * 填充指令的预编译。
+     * 
+     * 按最长匹配将分段CQL切分为文本常量与占位符槽位，与按降序逐个占位符 replaceAll 的结果相同。
+     * 但以下情况的结果依赖替换的先后顺序，不做预编译：
+     *   1. 两个占位符之间的文本少于2个字符，如 #A#B 、 '#A'#B' ；
+     *   2. 占位符名称含有字母、数字、下划线及点以外的字符。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     */
+    private void parseTemplate()
+    {
+        this.templateTexts  = null;
+        this.templateKinds  = null;
+        this.templateLength = 0;
+        
+        List<String> v_Texts  = new ArrayList<String>();
+        List<Byte>   v_Kinds  = new ArrayList<Byte>();
+        int          v_Len    = this.info.length();
+        int          v_Start  = 0;
+        boolean      v_IsSlot = false;
+        int          v_Index  = Help.isNull(this.placeholders) ? -1 : this.info.indexOf(DBCQL.$Placeholder);
+        
+        while ( v_Index >= 0 )
+        {
+            String v_PlaceHolder = this.findPlaceholder(this.info ,v_Index + 1);
+            if ( v_PlaceHolder == null )
+            {
+                v_Index = this.info.indexOf(DBCQL.$Placeholder ,v_Index + 1);
+                continue;
+            }
+            
+            for (int i=0; i<v_PlaceHolder.length(); i++)
+            {
+                char v_Char = v_PlaceHolder.charAt(i);
+                if ( !Character.isLetterOrDigit(v_Char) && v_Char != '_' && v_Char != '.' )
+                {
+                    return;
+                }
+            }
+            
+            int     v_End    = v_Index + 1 + v_PlaceHolder.length();
+            boolean v_IsMark = v_Index > v_Start && this.info.charAt(v_Index - 1) == '\'' && v_End < v_Len && this.info.charAt(v_End) == '\'';
+            int     v_From   = v_IsMark ? v_Index - 1 : v_Index;
+            
+            if ( v_IsSlot && v_From - v_Start < 2 )
+            {
+                return;
+            }
+            
+            if ( v_From > v_Start )
+            {
+                v_Texts.add(this.info.substring(v_Start ,v_From));
+                v_Kinds.add($Template_Text);
+                this.templateLength += v_From - v_Start;
+            }
+            
+            v_Texts.add(v_PlaceHolder);
+            v_Kinds.add(v_IsMark ? $Template_SlotMark : $Template_Slot);
+            
+            v_Start  = v_IsMark ? v_End + 1 : v_End;
+            v_IsSlot = true;
+            v_Index  = this.info.indexOf(DBCQL.$Placeholder ,v_Start);
+        }
+        
+        if ( v_Start < v_Len )
+        {
+            v_Texts.add(this.info.substring(v_Start));
+            v_Kinds.add($Template_Text);
+            this.templateLength += v_Len - v_Start;
+        }
+        
+        this.templateTexts = v_Texts.toArray(new String[v_Texts.size()]);
+        this.templateKinds = new byte[v_Kinds.size()];
+        for (int i=0; i<this.templateKinds.length; i++)
+        {
+            this.templateKinds[i] = v_Kinds.get(i);
+        }
+    }
+    
+    
+    
+    /**
+     * 参数化模式的预编译。
+     * 
+     * 引号中的占位符编译为字符串的Neo4j参数，因为它们原本就是字符串常量的值，改为参数后语义不变。
+     * 不在引号中、处于值位置的占位符编译为保持Java类型的Neo4j参数。
+     * 反引号中的、及其它位置的占位符，可能是标签、属性名、ORDER BY等结构性的内容，保持拼接方式。
+     * 
+     * 同一占位符既在引号中、又在值位置时，值位置的参数名称附加 _v 后缀，两者的参数值类型不同。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  添加：不在引号中、处于值位置的占位符也编译为Neo4j参数
+     * 
+     * @param io_Brackets  本分段之前未闭合的括号。解释后为本分段之后未闭合的括号
+     */
+    private void parseParameters(Deque<Character> io_Brackets)
+    {
+        Deque<Character> v_Brackets = new ArrayDeque<Character>(io_Brackets);
+        
+        this.parseParameters(io_Brackets ,Collections.emptySet());
+        
+        Set<String> v_Conflicts = new HashSet<String>(this.paramNames.keySet());
+        v_Conflicts.retainAll(this.valueNames.keySet());
+        
+        if ( !v_Conflicts.isEmpty() )
+        {
+            io_Brackets.clear();
+            io_Brackets.addAll(v_Brackets);
+            this.parseParameters(io_Brackets ,v_Conflicts);
+        }
+    }
+    
+    
+    
+    /**
+     * 参数化模式的预编译
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param io_Brackets  本分段之前未闭合的括号。解释后为本分段之后未闭合的括号
+     * @param i_Conflicts  既在引号中、又在值位置的占位符
+     */
+    private void parseParameters(Deque<Character> io_Brackets ,Set<String> i_Conflicts)
+    {
+        this.paramNames         = new LinkedHashMap<String ,String>();
+        this.valueNames         = new LinkedHashMap<String ,String>();
+        this.inlinePlaceholders = new HashSet<String>();
+        
+        if ( Help.isNull(this.placeholders) )
+        {
+            this.paramInfo = this.info;
+            return;
+        }
+        
+        StringBuilder v_Buffer = new StringBuilder(this.info.length() + 16);
+        int           v_Len    = this.info.length();
+        int           v_Index  = 0;
+        
+        while ( v_Index < v_Len )
+        {
+            char v_Char = this.info.charAt(v_Index);
+            
+            if ( v_Char == '\'' || v_Char == '"' )
+            {
+                int v_End = v_Index + 1;
+                while ( v_End < v_Len )
+                {
+                    char v_EndChar = this.info.charAt(v_End);
+                    if ( v_EndChar == '\\' )
+                    {
+                        v_End += 2;
+                        continue;
+                    }
+                    else if ( v_EndChar == v_Char )
+                    {
+                        break;
+                    }
+                    v_End++;
+                }
+                
+                if ( v_End >= v_Len )
+                {
+                    // 引号不成对时，不做参数化，全部按拼接方式填充
+                    v_Buffer.append(this.parseInline(this.info.substring(v_Index)));
+                    break;
+                }
+                
+                v_Buffer.append(this.parseLiteral(v_Char ,this.info.substring(v_Index + 1 ,v_End)));
+                v_Index = v_End + 1;
+            }
+            else if ( v_Char == '`' )
+            {
+                int v_End = this.info.indexOf('`' ,v_Index + 1);
+                if ( v_End < 0 )
+                {
+                    v_End = v_Len - 1;
+                }
+                
+                v_Buffer.append(this.parseInline(this.info.substring(v_Index ,v_End + 1)));
+                v_Index = v_End + 1;
+            }
+            else
+            {
+                int v_End = v_Index + 1;
+                while ( v_End < v_Len )
+                {
+                    char v_EndChar = this.info.charAt(v_End);
+                    if ( v_EndChar == '\'' || v_EndChar == '"' || v_EndChar == '`' )
+                    {
+                        break;
+                    }
+                    v_End++;
+                }
+                
+                v_Buffer.append(this.parseUnquoted(this.info.substring(v_Index ,v_End) ,io_Brackets ,i_Conflicts));
+                v_Index = v_End;
+            }
+        }
+        
+        this.paramInfo = v_Buffer.toString();
+    }
+    
+    
+    
+    /**
+     * 将不在引号中的文本中、处于值位置的占位符编译为参数引用，其它占位符按拼接方式填充。同时跟踪括号的嵌套
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Text       不在引号中的文本
+     * @param io_Brackets  未闭合的括号
+     * @param i_Conflicts  既在引号中、又在值位置的占位符
+     * @return
+     */
+    private String parseUnquoted(String i_Text ,Deque<Character> io_Brackets ,Set<String> i_Conflicts)
+    {
+        StringBuilder v_Buffer = new StringBuilder(i_Text.length() + 16);
+        int           v_Len    = i_Text.length();
+        int           v_Start  = 0;
+        
+        for (int i=0; i<v_Len; i++)
+        {
+            char v_Char = i_Text.charAt(i);
+            
+            if ( v_Char == '(' || v_Char == '[' || v_Char == '{' )
+            {
+                io_Brackets.push(v_Char);
+            }
+            else if ( v_Char == ')' || v_Char == ']' || v_Char == '}' )
+            {
+                if ( !io_Brackets.isEmpty() )
+                {
+                    io_Brackets.pop();
+                }
+            }
+            else if ( v_Char == DBCQL.$Placeholder.charAt(0) )
+            {
+                String v_PlaceHolder = this.findPlaceholder(i_Text ,i + 1);
+                if ( v_PlaceHolder == null )
+                {
+                    continue;
+                }
+                
+                int v_End = i + 1 + v_PlaceHolder.length();
+                if ( isValuePosition(i_Text ,i ,v_End ,io_Brackets) )
+                {
+                    v_Buffer.append(i_Text ,v_Start ,i).append('$').append(this.toValueName(v_PlaceHolder ,i_Conflicts));
+                }
+                else
+                {
+                    this.inlinePlaceholders.add(v_PlaceHolder);
+                    v_Buffer.append(i_Text ,v_Start ,v_End);
+                }
+                
+                v_Start = v_End;
+                i       = v_End - 1;
+            }
+        }
+        
+        if ( v_Start < v_Len )
+        {
+            v_Buffer.append(i_Text ,v_Start ,v_Len);
+        }
+        
+        return v_Buffer.toString();
+    }
+    
+    
+    
+    /**
+     * 不在引号中的占位符是否处于值位置。只识别以下确定是值的位置，其它位置保持拼接方式：
+     *   1. 比较、赋值及加号之后，如 n.port = #port 、 n.age >= #age 、 SET n += #props 、 'a' + #b ；
+     *   2. Map常量中键名的冒号之后，如 {id: #id} 。节点、关系模式中的冒号之后为标签、关系类型，如 (n:#label) ；
+     *   3. 关键字 IN 、 SKIP 、 LIMIT 之后，如 n.id IN #ids 。
+     * 
+     * 占位符之后紧跟字母、数字、下划线、点、井号或左括号时（如 #a#b 、 #fn() 等拼接的情况），不是值位置。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Text      不在引号中的文本
+     * @param i_Index     占位符#井号的位置
+     * @param i_End       占位符之后的位置
+     * @param i_Brackets  未闭合的括号
+     * @return
+     */
+    private static boolean isValuePosition(String i_Text ,int i_Index ,int i_End ,Deque<Character> i_Brackets)
+    {
+        if ( i_End < i_Text.length() )
+        {
+            char v_Next = i_Text.charAt(i_End);
+            if ( Character.isLetterOrDigit(v_Next) || v_Next == '_' || v_Next == '.' || v_Next == '(' || v_Next == '$' || v_Next == DBCQL.$Placeholder.charAt(0) )
+            {
+                return false;
+            }
+        }
+        
+        int v_Prev = i_Index - 1;
+        while ( v_Prev >= 0 && Character.isWhitespace(i_Text.charAt(v_Prev)) )
+        {
+            v_Prev--;
+        }
+        if ( v_Prev < 0 )
+        {
+            return false;
+        }
+        
+        char v_Char = i_Text.charAt(v_Prev);
+        if ( v_Char == '=' || v_Char == '<' || v_Char == '>' || v_Char == '+' )
+        {
+            return true;
+        }
+        else if ( v_Char == ':' )
+        {
+            return !i_Brackets.isEmpty() && i_Brackets.peek() == '{';
+        }
+        else if ( Character.isLetter(v_Char) )
+        {
+            int v_WordStart = v_Prev;
+            while ( v_WordStart > 0 && Character.isLetterOrDigit(i_Text.charAt(v_WordStart - 1)) )
+            {
+                v_WordStart--;
+            }
+            if ( v_WordStart > 0 && (i_Text.charAt(v_WordStart - 1) == '_' || i_Text.charAt(v_WordStart - 1) == '.' || i_Text.charAt(v_WordStart - 1) == '$') )
+            {
+                return false;
+            }
+            
+            String v_Word = i_Text.substring(v_WordStart ,v_Prev + 1);
+            return "IN".equalsIgnoreCase(v_Word) || "SKIP".equalsIgnoreCase(v_Word) || "LIMIT".equalsIgnoreCase(v_Word);
+        }
+        
+        return false;
+    }
+    
+    
+    
+    /**
+     * 记录按拼接方式填充的占位符，文本保持原样
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Text
+     * @return
+     */
+    private String parseInline(String i_Text)
+    {
+        int v_Index = i_Text.indexOf(DBCQL.$Placeholder);
+        
+        while ( v_Index >= 0 )
+        {
+            String v_PlaceHolder = this.findPlaceholder(i_Text ,v_Index + 1);
+            
+            if ( v_PlaceHolder != null )
+            {
+                this.inlinePlaceholders.add(v_PlaceHolder);
+                v_Index = i_Text.indexOf(DBCQL.$Placeholder ,v_Index + 1 + v_PlaceHolder.length());
+            }
+            else
+            {
+                v_Index = i_Text.indexOf(DBCQL.$Placeholder ,v_Index + 1);
+            }
+        }
+        
+        return i_Text;
+    }
+    
+    
+    
+    /**
+     * 将引号中的字符串常量编译为参数引用，或字符串常量与参数引用的拼接表达式
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Quote  引号
+     * @param i_Text   引号中的内容（不含引号）
+     * @return
+     */
+    private String parseLiteral(char i_Quote ,String i_Text)
+    {
+        StringBuilder v_Buffer = new StringBuilder();
+        int           v_Pieces = 0;
+        int           v_Start  = 0;
+        int           v_Index  = i_Text.indexOf(DBCQL.$Placeholder);
+        String        v_Param  = null;
+        
+        while ( v_Index >= 0 )
+        {
+            String v_PlaceHolder = this.findPlaceholder(i_Text ,v_Index + 1);
+            
+            if ( v_PlaceHolder == null )
+            {
+                v_Index = i_Text.indexOf(DBCQL.$Placeholder ,v_Index + 1);
+                continue;
+            }
+            
+            if ( v_Index > v_Start )
+            {
+                v_Buffer.append(v_Pieces++ > 0 ? " + " : "").append(i_Quote).append(i_Text ,v_Start ,v_Index).append(i_Quote);
+            }
+            
+            v_Param = this.toParamName(v_PlaceHolder);
+            v_Buffer.append(v_Pieces++ > 0 ? " + " : "").append("coalesce($").append(v_Param).append(" ,'')");
+            
+            v_Start = v_Index + 1 + v_PlaceHolder.length();
+            v_Index = i_Text.indexOf(DBCQL.$Placeholder ,v_Start);
+        }
+        
+        if ( v_Param == null )
+        {
+            // 没有占位符的字符串常量，保持原样
+            return i_Quote + i_Text + i_Quote;
+        }
+        else if ( v_Pieces == 1 && v_Start >= i_Text.length() )
+        {
+            // 引号中仅有一个占位符，如 '#name'
+            return "$" + v_Param;
+        }
+        
+        if ( v_Start < i_Text.length() )
+        {
+            v_Buffer.append(" + ").append(i_Quote).append(i_Text.substring(v_Start)).append(i_Quote);
+        }
+        
+        return "(" + v_Buffer.toString() + ")";
+    }
+    
+    
+    
+    /**
+     * 在指定位置上查找最长匹配的占位符。this.placeholders 是降序排列的，所以先匹配的即为最长的。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Text
+     * @param i_Offset  占位符名称的开始位置（#井号之后）
+     * @return          未找到时返回NULL
+     */
+    private String findPlaceholder(String i_Text ,int i_Offset)
+    {
+        for (String v_PlaceHolder : this.placeholders.keySet())
+        {
+            if ( i_Text.startsWith(v_PlaceHolder ,i_Offset) )
+            {
+                return v_PlaceHolder;
+            }
+        }
+        
+        return null;
+    }
+    
+    
+    
+    /**
+     * 占位符转为Neo4j参数名称。一一对应的编码，不同的占位符不会转为相同的参数名称：
+     *   1. 字母、数字保持原样；
+     *   2. 下划线转为两个下划线；
+     *   3. 其它字符（如 xxx.yyy 中的点）转为 _十六进制编码_ ，如点转为 _2e_
+     * 
+     * 如 #a.b 转为 a_2e_b ，#a_b 转为 a__b 。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修改：非字母、数字的字符均转为下划线时，#a.b 与 #a_b 会转为相同的参数名称
+     *
+     * @param i_PlaceHolder
+     * @return
+     */
+    private String toParamName(String i_PlaceHolder)
+    {
+        String v_ParamName = this.paramNames.get(i_PlaceHolder);
+        
+        if ( v_ParamName == null )
+        {
+            v_ParamName = encodeParamName(i_PlaceHolder);
+            this.paramNames.put(i_PlaceHolder ,v_ParamName);
+        }
+        
+        return v_ParamName;
+    }
+    
+    
+    
+    /**
+     * 值位置的占位符转为Neo4j参数名称。编码规则同 toParamName() 。
+     * 
+     * 同一占位符也在引号中时，附加 _v 后缀。编码结果中单个下划线之后只能是十六进制编码，所以 _v 后缀不会与其它占位符的参数名称相同。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_PlaceHolder
+     * @param i_Conflicts    既在引号中、又在值位置的占位符
+     * @return
+     */
+    private String toValueName(String i_PlaceHolder ,Set<String> i_Conflicts)
+    {
+        String v_ValueName = this.valueNames.get(i_PlaceHolder);
+        
+        if ( v_ValueName == null )
+        {
+            v_ValueName = encodeParamName(i_PlaceHolder);
+            if ( i_Conflicts.contains(i_PlaceHolder) )
+            {
+                v_ValueName += "_v";
+            }
+            this.valueNames.put(i_PlaceHolder ,v_ValueName);
+        }
+        
+        return v_ValueName;
+    }
+    
+    
+    
+    /**
+     * 占位符编码为Neo4j参数名称（规则见 toParamName()）
+     * 
+     * @param i_PlaceHolder
+     * @return
+     */
+    private static String encodeParamName(String i_PlaceHolder)
+    {
+        StringBuilder v_Buffer = new StringBuilder(i_PlaceHolder.length());
+        for (int i=0; i<i_PlaceHolder.length(); i++)
+        {
+            char v_Char = i_PlaceHolder.charAt(i);
+            
+            if ( v_Char == '_' )
+            {
+                v_Buffer.append("__");
+            }
+            else if ( Character.isLetterOrDigit(v_Char) )
+            {
+                v_Buffer.append(v_Char);
+            }
+            else
+            {
+                v_Buffer.append('_').append(Integer.toHexString(v_Char)).append('_');
+            }
+        }
+        
+        return v_Buffer.toString();
+    }
+    
+    
+    
+    /**
+     * 获取：参数化模式下的分段CQL
+     */
+    public String getParamInfo()
+    {
+        return this.paramInfo == null ? this.info : this.paramInfo;
+    }
+    
+    
+    
+    /**
+     * 获取：参数化模式下，引号中的占位符与Neo4j参数名称的对应关系。参数值为字符串
+     * 
+     * Map.key    为占位符。前缀不包含#符号
+     * Map.Value  为Neo4j参数名称。前缀不包含$符号
+     */
+    public Map<String ,String> getParamNames()
+    {
+        return this.paramNames;
+    }
+    
+    
+    
+    /**
+     * 获取：参数化模式下，不在引号中、处于值位置的占位符与Neo4j参数名称的对应关系。参数值保持Java类型
+     * 
+     * Map.key    为占位符。前缀不包含#符号
+     * Map.Value  为Neo4j参数名称。前缀不包含$符号
+     */
+    public Map<String ,String> getValueNames()
+    {
+        return this.valueNames;
+    }
+    
+    
+    
+    /**
+     * 获取：参数化模式下仍须按拼接方式填充的占位符。前缀不包含#符号
+     */
+    public Set<String> getInlinePlaceholders()
+    {
+        return this.inlinePlaceholders;
+    }
+    
+    
+    
+    /**
+     * 获取：预编译的填充指令。为NULL时表示本分段不能预编译
+     */
+    public String [] getTemplateTexts()
+    {
+        return this.templateTexts;
+    }
+    
+    
+    
+    /**
+     * 获取：预编译的填充指令的类型。见 $Template_ 前缀的系列常量
+     */
+    public byte [] getTemplateKinds()
+    {
+        return this.templateKinds;
+    }
+    
+    
+    
+    /**
+     * 获取：预编译的填充指令中文本常量的总长度
+     */
+    public int getTemplateLength()
+    {
+        return this.templateLength;
     }
     
     
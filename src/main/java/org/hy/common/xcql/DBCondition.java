@@ -10,10 +10,12 @@ import org.hy.common.PartitionMap;
 import org.hy.common.StringHelp;
 import org.hy.common.xml.log.Logger;
 
+import com.greenpineyu.fel.Expression;
 import com.greenpineyu.fel.FelEngine;
 import com.greenpineyu.fel.FelEngineImpl;
 import com.greenpineyu.fel.context.FelContext;
 import com.greenpineyu.fel.context.MapContext;
+import com.greenpineyu.fel.context.Var;
 
 
 
@@ -37,6 +39,9 @@ import com.greenpineyu.fel.context.MapContext;
  * 
  * @author      ZhengWei(HY)
  * @createDate  2023-06-03
+ * @version     v1.0
+ *              v2.0  2026-10-18  优化：Java Bean的占位符通过缓存的访问器 DBCQLAccessor 取值
+ *              v3.0  2026-10-18  优化：Fel条件在 setCondition() 时预解释为语法树，占位符在Fel中的名称也预先计算，判定时不再重复解释
  */
 public class DBCondition implements Serializable
 {
@@ -95,6 +100,15 @@ public class DBCondition implements Serializable
      */
     private PartitionMap<String ,Integer> placeholders;
     
+    /** 预解释的Fel条件（语法树）。为NULL时按 this.conditionFel 每次解释执行 */
+    private transient Expression          conditionExpression;
+    
+    /** 占位符的名称。与 this.placeholders.keySet() 的顺序相同 */
+    private transient String []           placeholderNames;
+    
+    /** 占位符在Fel条件中的名称。与 this.placeholderNames 一一对应。最后赋值，用于判定是否已预解释 */
+    private transient volatile String []  placeholderFelNames;
+    
     /** 条件满足时的真值。也可以是另一个占位符，但必须以冒号开头。不区分大小写 */
     private String                        trueValue;
     
@@ -426,19 +440,16 @@ public class DBCondition implements Serializable
         String v_Placeholder = null;
         try
         {
-            FelContext v_FelContext = new MapContext();
+            this.compile();
             
-            for (String v_Key : this.placeholders.keySet())
+            Object [] v_Values = new Object[this.placeholderNames.length];
+            for (int i=0; i<v_Values.length; i++)
             {
-                v_Placeholder = v_Key;
-                Object v_Value = getValueByMap(v_Placeholder ,i_ConditionValues ,true);
-                
-                v_Placeholder = StringHelp.replaceAll(v_Placeholder ,"." ,"_"); // "点" 原本就是Fel关键字，所以要替换 ZhengWei(HY) Add 2017-05-23
-                
-                v_FelContext.set(v_Placeholder ,v_Value);
+                v_Placeholder = this.placeholderNames[i];
+                v_Values[i]   = getValueByMap(v_Placeholder ,i_ConditionValues ,true);
             }
             
-            return (Boolean) $FelEngine.eval(this.conditionFel ,v_FelContext);
+            return this.eval(v_Values);
         }
         catch (Exception exce)
         {
@@ -479,19 +490,16 @@ public class DBCondition implements Serializable
         String v_Placeholder = null;
         try
         {
-            FelContext v_FelContext = new MapContext();
+            this.compile();
             
-            for (String v_Key : this.placeholders.keySet())
+            Object [] v_Values = new Object[this.placeholderNames.length];
+            for (int i=0; i<v_Values.length; i++)
             {
-                v_Placeholder = v_Key;
-                Object v_Value = getValueByObject(v_Placeholder ,i_ConditionValues ,true);
-                
-                v_Placeholder = StringHelp.replaceAll(v_Placeholder ,"." ,"_"); // "点" 原本就是Fel关键字，所以要替换 ZhengWei(HY) Add 2017-05-23
-                
-                v_FelContext.set(v_Placeholder ,v_Value);
+                v_Placeholder = this.placeholderNames[i];
+                v_Values[i]   = getValueByObject(v_Placeholder ,i_ConditionValues ,true);
             }
             
-            return (Boolean) $FelEngine.eval(this.conditionFel ,v_FelContext);
+            return this.eval(v_Values);
         }
         catch (Exception exce)
         {
@@ -501,6 +509,77 @@ public class DBCondition implements Serializable
     
     
     
+    /**
+     * 预解释Fel条件，并预先计算占位符在Fel条件中的名称。
+     * 
+     * 反序列化后或并发首次访问时，会再次执行，结果相同。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     */
+    private void compile()
+    {
+        if ( this.placeholderFelNames != null )
+        {
+            return;
+        }
+        
+        String [] v_Names    = new String[this.placeholders.size()];
+        String [] v_FelNames = new String[v_Names.length];
+        int       v_Index    = 0;
+        
+        for (String v_Key : this.placeholders.keySet())
+        {
+            v_Names   [v_Index] = v_Key;
+            v_FelNames[v_Index] = StringHelp.replaceAll(v_Key ,"." ,"_"); // "点" 原本就是Fel关键字，所以要替换 ZhengWei(HY) Add 2017-05-23
+            v_Index++;
+        }
+        
+        try
+        {
+            this.conditionExpression = $FelEngine.parse(this.conditionFel);
+        }
+        catch (Exception exce)
+        {
+            // 解释异常时，在判定时按原方式解释执行，异常信息与原来相同
+            this.conditionExpression = null;
+        }
+        
+        this.placeholderNames    = v_Names;
+        this.placeholderFelNames = v_FelNames;
+    }
+    
+    
+    
+    /**
+     * 执行Fel条件
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Values  占位符的值。与 this.placeholderNames 一一对应
+     * @return
+     */
+    private boolean eval(Object [] i_Values)
+    {
+        FelContext v_FelContext = new DBConditionContext(this.placeholderFelNames ,i_Values);
+        Expression v_Expression = this.conditionExpression;
+        
+        if ( v_Expression != null )
+        {
+            return (Boolean) v_Expression.eval(v_FelContext);
+        }
+        else
+        {
+            return (Boolean) $FelEngine.eval(this.conditionFel ,v_FelContext);
+        }
+    }
+    
+    
+    
     /**
      * 获取某一占位符对应的数值
      * 
@@ -556,6 +635,35 @@ public class DBCondition implements Serializable
      */
     private Object getValueByObject(String i_Placeholder ,Object i_ConditionValues ,boolean i_IsPlaceholderFunction) throws IllegalArgumentException, IllegalAccessException, InvocationTargetException
     {
+        Object        v_Value    = null;
+        DBCQLAccessor v_Accessor = DBCQLAccessor.getAccessor(i_ConditionValues.getClass() ,i_Placeholder);
+        
+        if ( v_Accessor != null )
+        {
+            try
+            {
+                v_Value = v_Accessor.getValue(i_ConditionValues);
+            }
+            catch (IllegalAccessException | InvocationTargetException | RuntimeException exce)
+            {
+                throw exce;
+            }
+            catch (Exception exce)
+            {
+                throw new InvocationTargetException(exce);
+            }
+            
+            if ( i_IsPlaceholderFunction && v_Value != null )
+            {
+                if ( MethodReflect.class.equals(v_Value.getClass()) )
+                {
+                    v_Value = ((MethodReflect)v_Value).invoke();
+                }
+            }
+            
+            return v_Value;
+        }
+        
         MethodReflect v_MethodReflect = null;
         
         try
@@ -568,8 +676,6 @@ public class DBCondition implements Serializable
             // Nothing.
         }
         
-        Object v_Value = null;
-        
         if ( v_MethodReflect != null )
         {
             v_Value = v_MethodReflect.invoke();
@@ -680,9 +786,12 @@ public class DBCondition implements Serializable
      */
     public void setCondition(String i_Condition)
     {
-        this.condition    = i_Condition;
-        this.conditionFel = i_Condition;
-        this.placeholders = null;
+        this.condition           = i_Condition;
+        this.conditionFel        = i_Condition;
+        this.placeholders        = null;
+        this.conditionExpression = null;
+        this.placeholderNames    = null;
+        this.placeholderFelNames = null;
         
         if ( !Help.isNull(this.condition) )
         {
@@ -703,6 +812,11 @@ public class DBCondition implements Serializable
             }
             
             this.conditionFel = StringHelp.replaceAll(this.conditionFel ,$Fel_BlockingUp ,new String[]{""});
+            
+            if ( !Help.isNull(this.conditionFel) && !Help.isNull(this.placeholders) )
+            {
+                this.compile();
+            }
         }
     }
     
@@ -815,3 +929,109 @@ public class DBCondition implements Serializable
     }
     
 }
+
+    
+    
+    
+    
+/**
+ * Fel条件判定时的上下文。占位符在Fel条件中的名称是预先计算的，只须按下标填充值，无须每次构建 MapContext 。
+ * 
+ * 与 MapContext 相同：不存在的变量返回NULL；同名变量以后填充的为准。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+class DBConditionContext implements FelContext
+{
+    
+    /** 变量名称 */
+    private final String [] names;
+    
+    /** 变量值。与 this.names 一一对应 */
+    private final Object [] values;
+    
+    /** Fel执行过程中新增的变量 */
+    private MapContext      others;
+    
+    
+    
+    public DBConditionContext(String [] i_Names ,Object [] i_Values)
+    {
+        this.names  = i_Names;
+        this.values = i_Values;
+    }
+    
+    
+    
+    private int indexOf(String i_Name)
+    {
+        for (int i=this.names.length-1; i>=0; i--)
+        {
+            if ( this.names[i].equals(i_Name) )
+            {
+                return i;
+            }
+        }
+        
+        return -1;
+    }
+    
+    
+    
+    @Override
+    public Object get(String i_Name)
+    {
+        int v_Index = this.indexOf(i_Name);
+        if ( v_Index >= 0 )
+        {
+            return this.values[v_Index];
+        }
+        
+        return this.others == null ? null : this.others.get(i_Name);
+    }
+    
+    
+    
+    @Override
+    public void set(String i_Name ,Object i_Value)
+    {
+        int v_Index = this.indexOf(i_Name);
+        if ( v_Index >= 0 )
+        {
+            this.values[v_Index] = i_Value;
+            return;
+        }
+        
+        if ( this.others == null )
+        {
+            this.others = new MapContext();
+        }
+        this.others.set(i_Name ,i_Value);
+    }
+    
+    
+    
+    @Override
+    public Var getVar(String i_Name)
+    {
+        int v_Index = this.indexOf(i_Name);
+        if ( v_Index >= 0 )
+        {
+            return new Var(i_Name ,this.values[v_Index]);
+        }
+        
+        return this.others == null ? null : this.others.getVar(i_Name);
+    }
+    
+    
+    
+    @Override
+    public void setVar(Var i_Var)
+    {
+        this.set(i_Var.getName() ,i_Var.getValue());
+    }
+    
+}
+    
\ No newline at end of file
@@ -1,7 +1,8 @@
 package org.hy.common.xcql;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 
@@ -24,22 +25,33 @@ import java.util.Map;
  * @author      ZhengWei(HY)
  * @createDate  2023-06-02
  * @version     v1.0
+ *              v2.0  2026-10-18  添加：共享的列下标（按原始的字段名称），供紧凑的行级对象 XCQLRowMap 使用
+ *              v3.0  2026-10-18  修正：字段信息改为并发Map。结果集解释的快照发布后，运行时解释的新属性仍会追加字段，
+ *                                      读取（如 XCQLData.getMetaData().getColumnSize()）与追加可同时进行，无须加锁
  */
 public class DBTableMetaData
 {
     
-    /** Map.key = 格式化后的字段名称      Map.value = 原始的字段名称  */
+    /** Map.key = 格式化后的字段名称      Map.value = 原始的字段名称。只增不减（clear()除外），追加与读取可同时进行 */
     private Map<String  ,String>    col_ByName;
     
     /** 字段名称的样式 */
     private DBNameStyle             col_NameStyle;
     
+    /** 列下标。Map.key = 原始的字段名称      Map.value = 下标。只增不减，同一结果集解释的所有行级对象共享 */
+    private Map<String ,Integer>    col_Indexes;
+    
+    /** 列下标对应的原始的字段名称。追加时整体替换 */
+    private volatile String []      col_Names;
+    
     
     
     public DBTableMetaData(DBNameStyle i_ColNameStyle)
     {
-        this.col_ByName    = new HashMap<String ,String>();
+        this.col_ByName    = new ConcurrentHashMap<String ,String>();
         this.col_NameStyle = i_ColNameStyle;
+        this.col_Indexes   = new ConcurrentHashMap<String ,Integer>();
+        this.col_Names     = new String[0];
     }
     
     
@@ -72,6 +84,101 @@ public class DBTableMetaData
     
     
     
+    /**
+     * 获取字段的列下标
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_ColName  原始的字段名称（区分大小写）
+     * @return           没有时返回 -1
+     */
+    public int getColumnIndex(Object i_ColName)
+    {
+        if ( i_ColName == null )
+        {
+            return -1;
+        }
+        
+        Integer v_Index = this.col_Indexes.get(i_ColName);
+        return v_Index == null ? -1 : v_Index.intValue();
+    }
+    
+    
+    
+    /**
+     * 获取（或分配）字段的列下标。已有的直接返回，没有时追加到最后
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_ColName  原始的字段名称（区分大小写）
+     * @return
+     */
+    public int addColumnIndex(String i_ColName)
+    {
+        Integer v_Index = this.col_Indexes.get(i_ColName);
+        if ( v_Index != null )
+        {
+            return v_Index.intValue();
+        }
+        
+        synchronized ( this.col_Indexes )
+        {
+            v_Index = this.col_Indexes.get(i_ColName);
+            if ( v_Index != null )
+            {
+                return v_Index.intValue();
+            }
+            
+            String [] v_Names = Arrays.copyOf(this.col_Names ,this.col_Names.length + 1);
+            v_Names[v_Names.length - 1] = i_ColName;
+            
+            // 先发布字段名称，再发布列下标。能获取到列下标的，一定能获取到字段名称
+            this.col_Names = v_Names;
+            this.col_Indexes.put(i_ColName ,v_Names.length - 1);
+            
+            return v_Names.length - 1;
+        }
+    }
+    
+    
+    
+    /**
+     * 获取列下标对应的原始的字段名称
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Index  列下标
+     * @return
+     */
+    public String getColumnName(int i_Index)
+    {
+        return this.col_Names[i_Index];
+    }
+    
+    
+    
+    /**
+     * 返回已分配列下标的字段个数
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return
+     */
+    public int getColumnIndexSize()
+    {
+        return this.col_Names.length;
+    }
+    
+    
+    
     /**
      * 返回字段个数
      * 
@@ -86,6 +193,8 @@ public class DBTableMetaData
     
     /**
      * 清除集合数据
+     * 
+     * 注：不清除列下标，已生成的行级对象 XCQLRowMap 仍按列下标访问
      */
     public void clear()
     {
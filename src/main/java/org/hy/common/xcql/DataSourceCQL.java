@@ -1,6 +1,9 @@
 package org.hy.common.xcql;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hy.common.Date;
 import org.hy.common.Help;
@@ -8,11 +11,16 @@ import org.hy.common.StringHelp;
 import org.hy.common.XJavaID;
 import org.hy.common.xml.log.Logger;
 import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.BaseSession;
+import org.neo4j.driver.Config;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.reactive.ReactiveSession;
 
 
 
@@ -24,6 +32,21 @@ import org.neo4j.driver.SessionConfig;
  * @author      ZhengWei(HY)
  * @createDate  2023-05-31
  * @version     v1.0
+ *              v2.0  2026-10-18  添加：获取异步会话 getAsyncSession()
+ *              v3.0  2026-10-18  添加：获取响应式会话 getReactiveSession()
+ *              v4.0  2026-10-18  添加：负载权重 weight、会话用时的指数加权移动平均 latencyEWMA 及剔除截止时间 ejectedUntil ，用于负载数据库的选择策略
+ *              v5.0  2026-10-18  添加：熔断器 circuitBreaker、后台健康检查 healthCheckInterval 及连接超时 connectTimeout 。
+ *                                修改：isValid() 按熔断器的状态判定是否可用
+ *              v6.0  2026-10-18  修改：获取连接、关闭连接时不再加锁。活动连接数量、连接使用峰值改为原子计数，
+ *                                      最后一次正常连接的时间改为毫秒数，连接驱动改为双重检查的一次性初始化
+ *              v7.0  2026-10-18  添加：会话关闭时的统一处理 sessionClosed() ，异步会话关闭时也记录用时及熔断器的结果
+ *              v8.0  2026-10-18  修正：获取会话时不再清除异常标记，防止被剔除的数据库未经探测就恢复。改为请求结束时按结果设置
+ *              v9.0  2026-10-18  添加：关闭方法 close() ，取消后台健康检查并关闭连接驱动。
+ *                                修正：熔断器可序列化；后台健康检查跳过未使用过的数据库
+ *              v10.0 2026-10-18  修正：连接驱动及会话配置整体发布为一个对象，获取会话时只读取一次，防止与 close() 并发时读到已置空的驱动
+ *              v11.0 2026-10-18  修正：默认不再开启熔断器，须通过配置 <circuitBreaker> 开启，不改变已有数据库连接信息的行为
+ *              v12.0 2026-10-18  添加：打开同步会话的 openSession() 方法，可由子类重写
+ *              v13.0 2026-10-18  添加：打开异步、响应式会话的 openSession(Class) 方法，可由子类重写
  */
 public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serializable
 {
@@ -33,6 +56,12 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
     
     public static  final String $DBType_Neo4j    = "NEO4J";
     
+    /** 健康检查的探测CQL */
+    private static final String $HealthCheckCQL  = "RETURN 1";
+    
+    /** 会话用时的指数加权移动平均的平滑系数 */
+    private static final double $LatencyAlpha    = 0.2D;
+    
     
     
     /** 唯一标示，主用于对比等操作 */
@@ -65,33 +94,57 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
     /** 连接的数据库实例名称 */
     private String             database;
     
-    /** 连接驱动 */
-    private Driver             driver;
+    /** 连接驱动及会话配置。整体发布，不为空时表示连接驱动已初始化完成。不序列化，反序列化后再次使用时重新初始化 */
+    private transient volatile DataSourceCQLDriver driverConfig;
     
-    /** 连接会话配置，如配置连接哪个数据库实例 */
-    private SessionConfig      config;
+    /** 是否出现异常。为最近一次请求的结果，连接类的异常（见 XCQLCircuitBreaker.isFailure()）或获取会话异常时为true */
+    private volatile boolean   isException;
     
-    /** 是否出现异常。非连接断连异常也会为true */
-    private boolean            isException;
-    
-    /** 最后一次正常连接的时间 */
-    private Date               connLastTime;
+    /** 最后一次正常连接的时间（毫秒数）。为0时表示未连接过。为墙上时间，只用于展示，系统时间调整时可能回退，不用于判定先后或计算用时（用时按 System.nanoTime() 计算） */
+    private volatile long      connLastTime;
     
     /** 活动连接数量（不包括连接池中预先初始化的连接数量） */
-    private long               connActiveCount;
+    private final AtomicLong   connActiveCount;
     
     /** 连接使用峰值（不包括连接池中预先初始化的连接数量） */
-    private long               connMaxUseCount;
+    private final AtomicLong   connMaxUseCount;
+    
+    /** 负载权重。用于多个负载数据库按权重选择（见 org.hy.common.xcql.selector.WeightedSelector）。默认为：1 */
+    private int                weight;
+    
+    /** 会话用时的指数加权移动平均值（单位：毫秒）。未使用过时为0。按 Double.doubleToRawLongBits() 保存，以便无锁更新 */
+    private final AtomicLong   latencyEWMA;
+    
+    /** 被负载数据库的选择策略剔除的截止时间（毫秒数）。为0时表示未被剔除 */
+    private volatile long      ejectedUntil;
+    
+    /** 熔断器。为空时不熔断。默认为：空（须通过配置 <circuitBreaker> 开启） */
+    private XCQLCircuitBreaker circuitBreaker;
+    
+    /** 后台健康检查的间隔（单位：毫秒）。小于等于0时不检查。默认为：0 */
+    private long               healthCheckInterval;
+    
+    /** 健康检查探测CQL的执行超时时长（单位：毫秒）。默认为：3秒 */
+    private long               healthCheckTimeout;
+    
+    /** 建立网络连接的超时时长（单位：毫秒）。小于等于0时，使用驱动的默认值 */
+    private long               connectTimeout;
     
     
     
     public DataSourceCQL()
     {
-        this.uuid            = StringHelp.getUUID();
-        this.isException     = false;
-        this.connLastTime    = null;
-        this.connActiveCount = 0;
-        this.connMaxUseCount = 0;
+        this.uuid                = StringHelp.getUUID();
+        this.isException         = false;
+        this.connLastTime        = 0L;
+        this.connActiveCount     = new AtomicLong(0L);
+        this.connMaxUseCount     = new AtomicLong(0L);
+        this.weight              = 1;
+        this.latencyEWMA         = new AtomicLong(Double.doubleToRawLongBits(0D));
+        this.ejectedUntil        = 0L;
+        this.healthCheckInterval = 0L;
+        this.healthCheckTimeout  = 3 * 1000L;
+        this.connectTimeout      = 0L;
     }
     
     
@@ -102,9 +155,11 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
      * @author      ZhengWei(HY)
      * @createDate  2023-05-31
      * @version     v1.0
+     *              v2.0  2026-10-18  修改：返回连接驱动及会话配置，由调用者整体发布
      *
+     * @return
      */
-    private void initConnection()
+    private DataSourceCQLDriver initConnection()
     {
         if ( Help.isNull(this.url) )
         {
@@ -130,16 +185,25 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
         
         try
         {
-            if ( Help.isNull(this.database) )
+            Driver v_Driver = null;
+            if ( this.connectTimeout > 0L )
             {
-                this.config = SessionConfig.defaultConfig();
+                Config v_Config = Config.builder().withConnectionTimeout(this.connectTimeout ,TimeUnit.MILLISECONDS).build();
+                v_Driver = GraphDatabase.driver(this.url ,AuthTokens.basic(this.username, this.password) ,v_Config);
             }
             else
             {
-                this.config = SessionConfig.forDatabase(this.database);
+                v_Driver = GraphDatabase.driver(this.url ,AuthTokens.basic(this.username, this.password));
             }
             
-            this.driver = GraphDatabase.driver(this.url ,AuthTokens.basic(this.username, this.password));
+            if ( Help.isNull(this.database) )
+            {
+                return new DataSourceCQLDriver(v_Driver ,SessionConfig.defaultConfig());
+            }
+            else
+            {
+                return new DataSourceCQLDriver(v_Driver ,SessionConfig.forDatabase(this.database));
+            }
         }
         catch (Exception exce)
         {
@@ -151,59 +215,285 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
     
     
     
+    /**
+     * 确保连接驱动已初始化。双重检查，只在首次初始化时加锁
+     * 
+     * 调用者须使用返回的连接驱动及会话配置，不再读取成员属性，防止与 close() 并发时读到已置空的值
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修改：返回连接驱动及会话配置的快照
+     * 
+     * @return
+     */
+    private DataSourceCQLDriver ensureConnection()
+    {
+        DataSourceCQLDriver v_DriverConfig = this.driverConfig;
+        
+        if ( v_DriverConfig == null )
+        {
+            synchronized ( this )
+            {
+                v_DriverConfig = this.driverConfig;
+                
+                if ( v_DriverConfig == null )
+                {
+                    v_DriverConfig    = this.initConnection();
+                    this.driverConfig = v_DriverConfig;
+                }
+            }
+        }
+        
+        return v_DriverConfig;
+    }
+    
+    
+    
+    /**
+     * 连接驱动是否已初始化。未使用过的数据库为false
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return
+     */
+    protected boolean isInitialized()
+    {
+        return this.driverConfig != null;
+    }
+    
+    
+    
+    /**
+     * 关闭数据库连接信息：取消后台健康检查，并关闭连接驱动（及驱动的连接池）。
+     * 
+     * 关闭后再获取会话时，会重新初始化连接驱动。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     */
+    public void close()
+    {
+        XCQLHealthChecker.unregister(this);
+        
+        DataSourceCQLDriver v_DriverConfig = null;
+        synchronized ( this )
+        {
+            // 置空后，其它线程再获取会话时重新初始化
+            v_DriverConfig    = this.driverConfig;
+            this.driverConfig = null;
+        }
+        
+        if ( v_DriverConfig != null )
+        {
+            try
+            {
+                v_DriverConfig.getDriver().close();
+            }
+            catch (Exception exce)
+            {
+                $Logger.error(exce);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 获取到一个会话时的计数。无锁
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     */
+    private void connOpened()
+    {
+        long v_Active = this.connActiveCount.incrementAndGet();
+        long v_Max    = this.connMaxUseCount.get();
+        
+        while ( v_Active > v_Max && !this.connMaxUseCount.compareAndSet(v_Max ,v_Active) )
+        {
+            v_Max = this.connMaxUseCount.get();
+        }
+        
+        long v_Now = System.currentTimeMillis();
+        if ( v_Now != this.connLastTime )
+        {
+            this.connLastTime = v_Now;
+        }
+    }
+    
+    
+    
     /**
      * 获取数据库连接。
      * 
      * @author      ZhengWei(HY)
      * @createDate  2023-05-31
      * @version     v1.0
+     *              v2.0  2026-10-18  修改：不再加锁
+     *              v3.0  2026-10-18  修改：打开会话分离为 openSession() 方法
      *
      * @return
      */
-    public synchronized Connection getConnection()
+    public Connection getConnection()
     {
-        if ( this.config == null )
+        if ( this.circuitBreaker != null && !this.circuitBreaker.allowRequest() )
         {
-            this.initConnection();
+            throw new RuntimeException("DataSourceCQL[" + this.getXJavaID() + "] circuit breaker is open.");
         }
         
-        Session v_Session = null;
+        Session v_Session = this.openSession();
+        
+        if ( v_Session != null )
+        {
+            this.connOpened();
+            return new Connection(v_Session ,this);
+        }
+        
+        return null;
+    }
+    
+    
+    
+    /**
+     * 打开一个同步的数据库会话。
+     * 
+     * 熔断器的判定、活动连接的计数及会话关闭时的处理均在 getConnection() 中，子类重写本方法时（如不连接数据库的测试）仍然有效
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @return
+     */
+    protected Session openSession()
+    {
+        DataSourceCQLDriver v_DriverConfig = this.ensureConnection();
         
         try
         {
-            v_Session = this.driver.session(this.config);
-            
-            if ( v_Session != null )
-            {
-                this.connActiveCount++;
-                if ( this.connActiveCount > this.connMaxUseCount )
-                {
-                    this.connMaxUseCount = this.connActiveCount;
-                }
-                this.isException  = false;
-                this.connLastTime = new Date();
-                
-                return new Connection(v_Session ,this);
-            }
+            return v_DriverConfig.getDriver().session(v_DriverConfig.getConfig());
         }
         catch (Exception exce)
         {
+            this.requestFinished(XCQLCircuitBreaker.isFailure(exce) ,-1L);
             this.isException = true;
             $Logger.error(exce);
             throw exce;
         }
+    }
+    
+    
+    
+    /**
+     * 获取数据库的异步会话。
+     * 
+     * 与 getConnection() 一样计入活动连接数量，会话关闭后须调用 sessionClosed() 记录会话的结果并释放计数。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @return
+     */
+    public AsyncSession getAsyncSession()
+    {
+        return this.getSession(AsyncSession.class);
+    }
+    
+    
+    
+    /**
+     * 获取数据库的响应式会话。
+     * 
+     * 与 getConnection() 一样计入活动连接数量，会话关闭后须调用 sessionClosed() 记录会话的结果并释放计数。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @return
+     */
+    public ReactiveSession getReactiveSession()
+    {
+        return this.getSession(ReactiveSession.class);
+    }
+    
+    
+    
+    /**
+     * 获取指定类型的数据库会话（异步、响应式）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_SessionClass  会话的类型
+     * @return
+     */
+    private <T extends BaseSession> T getSession(Class<T> i_SessionClass)
+    {
+        if ( !this.isValid() )
+        {
+            throw new RuntimeException("DataSourceCQL[" + this.getXJavaID() + "] circuit breaker is open.");
+        }
+        
+        T v_Session = this.openSession(i_SessionClass);
+        
+        if ( v_Session != null )
+        {
+            this.connOpened();
+            return v_Session;
+        }
         
         return null;
     }
     
     
     
+    /**
+     * 打开一个指定类型的数据库会话（异步、响应式）。
+     * 
+     * 熔断器的判定及活动连接的计数均在 getSession() 中，子类重写本方法时（如不连接数据库的测试）仍然有效
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_SessionClass  会话的类型
+     * @return
+     */
+    protected <T extends BaseSession> T openSession(Class<T> i_SessionClass)
+    {
+        DataSourceCQLDriver v_DriverConfig = this.ensureConnection();
+        
+        try
+        {
+            return v_DriverConfig.getDriver().session(i_SessionClass ,v_DriverConfig.getConfig());
+        }
+        catch (Exception exce)
+        {
+            this.isException = true;
+            $Logger.error(exce);
+            throw exce;
+        }
+    }
+    
+    
+    
     /**
      * 获取：最后一次正常连接的时间
      */
     public Date getConnLastTime()
     {
-        return connLastTime;
+        long v_ConnLastTime = this.connLastTime;
+        return v_ConnLastTime <= 0L ? null : new Date(v_ConnLastTime);
     }
     
     
@@ -213,7 +503,7 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
      */
     public long getConnActiveCount()
     {
-        return this.connActiveCount;
+        return this.connActiveCount.get();
     }
     
     
@@ -223,38 +513,362 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
      * @author      ZhengWei(HY)
      * @createDate  2017-07-13
      * @version     v1.0
+     *              v2.0  2026-10-18  修改：不再加锁
      *
      */
-    protected synchronized void connClosed()
+    protected void connClosed()
+    {
+        this.connActiveCount.decrementAndGet();
+    }
+    
+    
+    
+    /**
+     * 一个会话关闭时触发：记录会话的用时、将会话的结果计入熔断器，并释放活动连接的计数
+     * 
+     * 同步的 Connection 、异步会话关闭时均调用此方法。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_IsFailure  是否出现过连接类的异常（见 XCQLCircuitBreaker.isFailure()）
+     * @param i_TimeLen    会话的用时（单位：毫秒）。小于0时（如事务会话）不记录用时，也不判定慢调用
+     */
+    protected void sessionClosed(boolean i_IsFailure ,double i_TimeLen)
+    {
+        try
+        {
+            if ( i_TimeLen >= 0D )
+            {
+                this.recordLatency(i_TimeLen);
+            }
+            this.requestFinished(i_IsFailure ,i_TimeLen >= 0D ? (long) i_TimeLen : -1L);
+        }
+        finally
+        {
+            this.connClosed();
+        }
+    }
+    
+    
+    
+    /**
+     * 一次请求（会话）结束时触发，将请求的结果计入熔断器，并按请求的结果设置异常标记。
+     * 
+     * 异常标记驱动负载数据库的选择策略剔除、恢复数据库（见 org.hy.common.xcql.selector.AbstractSelector），
+     * 所以只按真正执行了请求的数据库的结果设置，获取会话时不再清除。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  添加：按请求的结果设置异常标记
+     * 
+     * @param i_IsFailure  是否失败（连接类的异常）
+     * @param i_TimeLen    请求的用时（单位：毫秒）。小于0时不判定慢调用
+     */
+    protected void requestFinished(boolean i_IsFailure ,long i_TimeLen)
+    {
+        // 值未变化时不写，减少多线程间共享变量的写竞争
+        if ( this.isException != i_IsFailure )
+        {
+            this.isException = i_IsFailure;
+        }
+        
+        XCQLCircuitBreaker v_CircuitBreaker = this.circuitBreaker;
+        
+        if ( v_CircuitBreaker == null )
+        {
+            return;
+        }
+        
+        if ( i_IsFailure )
+        {
+            v_CircuitBreaker.onFailure();
+        }
+        else
+        {
+            v_CircuitBreaker.onSuccess(i_TimeLen);
+        }
+    }
+    
+    
+    
+    /**
+     * 健康检查。执行一次轻量的探测CQL，探测结果驱动熔断器的状态。
+     * 
+     * 由后台健康检查（见 XCQLHealthChecker）定时调用，也可以主动调用。
+     * 探测不占用熔断器的试探机会，也不计入活动连接数量。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return  是否健康
+     */
+    public boolean healthCheck()
     {
-        this.connActiveCount--;
+        boolean v_IsHealthy = false;
+        Session v_Session   = null;
+        
+        try
+        {
+            DataSourceCQLDriver v_DriverConfig = this.ensureConnection();
+            
+            v_Session = v_DriverConfig.getDriver().session(v_DriverConfig.getConfig());
+            v_Session.run($HealthCheckCQL ,TransactionConfig.builder().withTimeout(Duration.ofMillis(this.healthCheckTimeout)).build()).consume();
+            v_IsHealthy = true;
+        }
+        catch (Exception exce)
+        {
+            if ( this.isValid() )
+            {
+                // 只在由可用转为不可用时记录日志，防止数据库宕机期间重复记录
+                $Logger.error(exce);
+            }
+        }
+        finally
+        {
+            if ( v_Session != null )
+            {
+                try
+                {
+                    v_Session.close();
+                }
+                catch (Exception exce)
+                {
+                    // Nothing.
+                }
+            }
+        }
+        
+        this.isException = !v_IsHealthy;
+        
+        if ( this.circuitBreaker != null )
+        {
+            this.circuitBreaker.onProbe(v_IsHealthy);
+        }
+        
+        return v_IsHealthy;
     }
 
     
+    /**
+     * 记录一次会话的用时，计入指数加权移动平均值。
+     * 
+     * 近期的用时权重为 $LatencyAlpha ，即越近的用时影响越大，慢下来的数据库能很快被识别出来。
+     * 
+     * 按CAS无锁更新，每个会话关闭时都会调用，不应成为多线程的竞争点。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_TimeLen  会话的用时（单位：毫秒）
+     */
+    public void recordLatency(double i_TimeLen)
+    {
+        long v_Old = 0L;
+        long v_New = 0L;
+        
+        do
+        {
+            v_Old = this.latencyEWMA.get();
+            
+            double v_EWMA = Double.longBitsToDouble(v_Old);
+            if ( v_EWMA <= 0D )
+            {
+                v_EWMA = i_TimeLen;
+            }
+            else
+            {
+                v_EWMA = v_EWMA + $LatencyAlpha * (i_TimeLen - v_EWMA);
+            }
+            
+            v_New = Double.doubleToRawLongBits(v_EWMA);
+        }
+        while ( !this.latencyEWMA.compareAndSet(v_Old ,v_New) );
+    }
+    
+    
+    
+    /**
+     * 获取：会话用时的指数加权移动平均值（单位：毫秒）。未使用过时为0
+     */
+    public double getLatencyEWMA()
+    {
+        return Double.longBitsToDouble(this.latencyEWMA.get());
+    }
+    
+    
+    
+    /**
+     * 获取：负载权重。默认为：1
+     */
+    public int getWeight()
+    {
+        return weight;
+    }
+    
+    
+    
+    /**
+     * 设置：负载权重。默认为：1
+     * 
+     * @param i_Weight
+     */
+    public void setWeight(int i_Weight)
+    {
+        this.weight = i_Weight;
+    }
+    
+    
+    
+    /**
+     * 获取：被负载数据库的选择策略剔除的截止时间（毫秒数）。为0时表示未被剔除
+     */
+    public long getEjectedUntil()
+    {
+        return ejectedUntil;
+    }
+    
+    
+    
+    /**
+     * 设置：被负载数据库的选择策略剔除的截止时间（毫秒数）。为0时表示未被剔除
+     * 
+     * @param i_EjectedUntil
+     */
+    public void setEjectedUntil(long i_EjectedUntil)
+    {
+        this.ejectedUntil = i_EjectedUntil;
+    }
+    
+    
+    
     /**
      * 获取：连接使用峰值（不包括连接池中预先初始化的连接数量）
      */
     public long getConnMaxUseCount()
     {
-        return connMaxUseCount;
+        return this.connMaxUseCount.get();
     }
     
     
     
     /**
-     * 数据库连接池组中，是否有可用的数据库池
+     * 数据库连接池组中，是否有可用的数据库池。
+     * 
+     * 熔断器为打开状态时不可用，业务请求应快速失败，不再等待驱动的连接超时
      * 
      * @return
      */
     public boolean isValid()
     {
-        return true;
+        XCQLCircuitBreaker v_CircuitBreaker = this.circuitBreaker;
+        
+        return v_CircuitBreaker == null || v_CircuitBreaker.isAvailable();
+    }
+    
+    
+    
+    /**
+     * 获取：熔断器。为空时不熔断
+     */
+    public XCQLCircuitBreaker getCircuitBreaker()
+    {
+        return circuitBreaker;
+    }
+    
+    
+    
+    /**
+     * 设置：熔断器。为空时不熔断
+     * 
+     * @param i_CircuitBreaker
+     */
+    public void setCircuitBreaker(XCQLCircuitBreaker i_CircuitBreaker)
+    {
+        if ( i_CircuitBreaker != null )
+        {
+            i_CircuitBreaker.setName(Help.NVL(this.xjavaID ,this.uuid));
+        }
+        this.circuitBreaker = i_CircuitBreaker;
+    }
+    
+    
+    
+    /**
+     * 获取：后台健康检查的间隔（单位：毫秒）。小于等于0时不检查。默认为：0
+     */
+    public long getHealthCheckInterval()
+    {
+        return healthCheckInterval;
+    }
+    
+    
+    
+    /**
+     * 设置：后台健康检查的间隔（单位：毫秒）。小于等于0时不检查，并取消已有的检查。默认为：0
+     * 
+     * @param i_HealthCheckInterval
+     */
+    public void setHealthCheckInterval(long i_HealthCheckInterval)
+    {
+        this.healthCheckInterval = i_HealthCheckInterval;
+        XCQLHealthChecker.register(this ,i_HealthCheckInterval);
     }
     
     
     
     /**
-     * 获取：是否出现异常。非连接断连异常也会为true
+     * 获取：健康检查探测CQL的执行超时时长（单位：毫秒）。默认为：3秒
+     */
+    public long getHealthCheckTimeout()
+    {
+        return healthCheckTimeout;
+    }
+    
+    
+    
+    /**
+     * 设置：健康检查探测CQL的执行超时时长（单位：毫秒）。默认为：3秒
+     * 
+     * @param i_HealthCheckTimeout
+     */
+    public void setHealthCheckTimeout(long i_HealthCheckTimeout)
+    {
+        this.healthCheckTimeout = i_HealthCheckTimeout;
+    }
+    
+    
+    
+    /**
+     * 获取：建立网络连接的超时时长（单位：毫秒）。小于等于0时，使用驱动的默认值
+     */
+    public long getConnectTimeout()
+    {
+        return connectTimeout;
+    }
+    
+    
+    
+    /**
+     * 设置：建立网络连接的超时时长（单位：毫秒）。小于等于0时，使用驱动的默认值。
+     * 
+     * 须在首次获取数据库连接之前设置
+     * 
+     * @param i_ConnectTimeout
+     */
+    public void setConnectTimeout(long i_ConnectTimeout)
+    {
+        this.connectTimeout = i_ConnectTimeout;
+    }
+    
+    
+    
+    /**
+     * 获取：是否出现异常。为最近一次请求的结果，连接类的异常或获取会话异常时为true
      */
     public boolean isException()
     {
@@ -264,7 +878,7 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
     
     
     /**
-     * 设置：是否出现异常。非连接断连异常也会为true
+     * 设置：是否出现异常。为最近一次请求的结果，连接类的异常或获取会话异常时为true
      * 
      * @param isException
      */
@@ -469,6 +1083,11 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
     public void setXJavaID(String i_XJavaID)
     {
         this.xjavaID = i_XJavaID;
+        
+        if ( this.circuitBreaker != null )
+        {
+            this.circuitBreaker.setName(Help.NVL(i_XJavaID ,this.uuid));
+        }
     }
     
     
@@ -561,3 +1180,49 @@ public class DataSourceCQL implements Comparable<DataSourceCQL> ,XJavaID ,Serial
     }
     
 }
+    
+    
+    
+    
+    
+/**
+ * 连接驱动及会话配置。两者整体发布、整体置空
+ */
+final class DataSourceCQLDriver
+{
+    
+    /** 连接驱动 */
+    private final Driver        driver;
+    
+    /** 连接会话配置，如配置连接哪个数据库实例 */
+    private final SessionConfig config;
+    
+    
+    
+    public DataSourceCQLDriver(Driver i_Driver ,SessionConfig i_Config)
+    {
+        this.driver = i_Driver;
+        this.config = i_Config;
+    }
+    
+    
+    
+    /**
+     * 获取：连接驱动
+     */
+    public Driver getDriver()
+    {
+        return driver;
+    }
+    
+    
+    
+    /**
+     * 获取：连接会话配置
+     */
+    public SessionConfig getConfig()
+    {
+        return config;
+    }
+    
+}
@@ -6,6 +6,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import org.hy.common.AnalyseTotal;
 import org.hy.common.Busway;
@@ -17,8 +21,14 @@ import org.hy.common.StaticReflect;
 import org.hy.common.StringHelp;
 import org.hy.common.TablePartitionBusway;
 import org.hy.common.XJavaID;
+import org.hy.common.xcql.selector.EWMASelector;
+import org.hy.common.xcql.selector.LeastActiveSelector;
+import org.hy.common.xcql.selector.PowerOfTwoSelector;
+import org.hy.common.xcql.selector.RoundRobinSelector;
+import org.hy.common.xcql.selector.WeightedSelector;
 import org.hy.common.xml.log.Logger;
 import org.hy.common.xml.plugins.XRule;
+import org.neo4j.driver.Query;
 import org.neo4j.driver.Result;
 
 
@@ -49,6 +59,20 @@ import org.neo4j.driver.Result;
  *              v2.0 2023-10-18  添加：是否附加触发额外参数 triggerParams
  *              v3.0 2025-11-24  优化：生成分页对象时，设置XJavaID
  *                               添加：对外提删除克隆生成的分页对象
+ *              v4.0 2026-10-18  添加：参数化模式 parameterized，执行时以Neo4j参数的形式传递引号中的占位符的值
+ *              v5.0 2026-10-18  添加：流式查询 queryIterator()、queryStream()
+ *              v6.0 2026-10-18  添加：分页查询下推为 SKIP/LIMIT 的开关 pagingPushdown，及分页方式的统计
+ *              v7.0 2026-10-18  添加：游标分页（Keyset Pagination）的排序键 pagingKey 及 queryPage()
+ *              v8.0 2026-10-18  添加：基于异步会话的 queryAsync()、executeInsertAsync()、executeUpdateAsync()
+ *              v9.0 2026-10-18  添加：基于响应式会话的 queryPublisher()
+ *              v10.0 2026-10-18 添加：批量写入的 UNWIND 模式 batchUnwind
+ *              v11.0 2026-10-18 添加：批量写入的并行模式 parallel 及分区键 parallelKey
+ *              v12.0 2026-10-18 添加：查询结果的缓存 cacheSize、cacheTTL ，写操作成功后按节点标签失效
+ *              v13.0 2026-10-18 添加：相同查询的并发合并 singleFlight
+ *              v14.0 2026-10-18 添加：多个负载数据库的选择策略 dataSourceSelector
+ *              v15.0 2026-10-18 修改：多个负载数据库时，跳过熔断器为打开状态的数据库
+ *              v16.0 2026-10-18 修正：MERGE 写操作执行后，也失效查询结果的缓存
+ *              v17.0 2026-10-18 修正：执行异常时不再标记选择策略重新选出的数据库为异常，由真正执行请求的数据库按会话的结果标记
  */
 public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaID
 {
@@ -141,6 +165,13 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
      */
     private CycleNextList<DataSourceCQL>   dataSourceCQLs;
     
+    /**
+     * 多个负载数据库的选择策略。为空时，按轮询的方式选择（默认值）
+     * 
+     * 可配置为 org.hy.common.xcql.selector 包中的策略，也可自行实现 XCQLDataSourceSelector 接口。
+     */
+    private XCQLDataSourceSelector         dataSourceSelector;
+    
     /**
      * 数据库连接的域。
      * 
@@ -195,6 +226,33 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
      */
     private int                            batchCommit;
     
+    /**
+     * 批量执行 executeInserts(...)、executeUpdates(...) 时，是否按 UNWIND 模式执行。默认为：false
+     * 
+     * 为真时，将CQL文本相同的多组参数合并为一条 UNWIND $XCQL_Rows AS XCQL_Row ... 语句，每 batchCommit 组执行一次
+     * （batchCommit<=0时，每1000组执行一次），将逐行的网络往返减少为逐批的。
+     * 引号中的及值位置的占位符（如 '#name' 、 n.port = #port）均参数化，后者保持Java类型；
+     * 标签、关系类型等结构性位置的占位符及 <[ ]> 动态分段取值不同时，CQL文本不同，无法合并为一批（将记录警告日志）。
+     * 只支持单一CQL语句。executeUpdates(...) 只对Create\Set\Delete类型的CQL生效。
+     */
+    private boolean                        batchUnwind;
+    
+    /**
+     * 批量执行 executeInserts(...)、executeUpdates(...) 时的并行度。默认为：0，即不并行
+     * 
+     * 当>=2时，将批量执行的集合拆分为多个分区，每个分区独占一个线程及一个数据库连接，按 batchCommit 分批提交。
+     * 各分区独立提交，异常时已提交的分批不会回滚。外部传入数据库连接的批量执行不并行。
+     */
+    private int                            parallel;
+    
+    /**
+     * 并行模式的分区键。为填充对象的属性名称（或Map的Key），支持xxx.yyy.www全路径。
+     * 
+     * 分区键相同的数据在同一分区中按原顺序执行，可用于避免不同分区对同一节点加锁而产生死锁。
+     * 为空时，按顺序平均拆分。
+     */
+    private String                         parallelKey;
+    
     /**
      * 是否允许或支持execute()方法中执行多条CQL语句，即$Executes_Split = ";/"分割符是否生效。
      * 默认情况下，通过XCQL模板自动判定$Executes_Split分割符是否生效的。
@@ -204,6 +262,52 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
      */
     private boolean                        allowExecutesSplit;
     
+    /**
+     * 分页查询 query(... ,i_StartRow ,i_PagePerSize) 时，是否将分页下推到CQL中，即在CQL末尾追加 SKIP $XCQL_Skip LIMIT $XCQL_Limit 。
+     * 
+     * 下推后，被跳过的记录不再经网络传输和解码。当CQL无法安全改写时（如已有SKIP/LIMIT、UNION、多条语句等），自动回退为客户端游标跳行。
+     * 
+     * 默认为：true
+     */
+    private boolean                        pagingPushdown;
+    
+    /** 统计：分页查询下推到CQL中执行的次数 */
+    private final AtomicLong               pagingPushdownCount;
+    
+    /** 统计：分页查询回退为客户端游标跳行的次数 */
+    private final AtomicLong               pagingClientSkipCount;
+    
+    /**
+     * 游标分页 queryPage(...) 的排序键。为Cypher表达式，如 n.id 、 id(n) 、 n.createTime 。
+     * 
+     * 排序键的值须唯一、非空且可排序（整数、浮点数、字符串、日期时间），并建议创建索引。
+     * 相同的键值跨页、或键值为NULL时，queryPage(...) 将抛出异常，防止跳过记录。
+     */
+    private String                         pagingKey;
+    
+    /**
+     * 查询结果缓存的最大条数。大于0时才启用缓存（见 XCQLCache）。默认为：0，即不缓存
+     * 
+     * 建议只用于对变化频率低的参考数据，以相同的CQL及参数高频查询的场景。
+     */
+    private int                            cacheSize;
+    
+    /** 查询结果缓存的有效时长（单位：毫秒）。小于等于0时，不按时长过期，只在写操作时失效。默认为：0 */
+    private long                           cacheTTL;
+    
+    /** 查询结果的缓存。cacheSize大于0时才有值 */
+    private XCQLCache                      cache;
+    
+    /**
+     * 是否合并并发的相同查询（Single-Flight）。默认为：false
+     * 
+     * 为真时，相同数据库连接池组、相同的可执行CQL及参数的查询并发执行时，只执行一次，其它线程共享查询结果（见 XCQLSingleFlight）。
+     */
+    private boolean                        singleFlight;
+    
+    /** 执行中的相同查询的合并。singleFlight为真时才有值 */
+    private XCQLSingleFlight               singleFlights;
+    
     /** 唯一标示，主用于对比等操作 */
     private String                         uuid;
     
@@ -236,19 +340,32 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
     
     public XCQL()
     {
-        this.dataSourceCQLs     = new CycleNextList<DataSourceCQL>(1);
-        this.domain             = null;
-        this.content            = new DBCQL();
-        this.result             = new XCQLResult();
-        this.trigger            = null;
-        this.triggerParams      = false;
-        this.type               = $Type_NormalCQL;
-        this.allowExecutesSplit = false;
-        this.uuid               = StringHelp.getUUID();
-        this.comment            = null;
-        this.beforeRule         = null;
-        this.afterRule          = null;
-        this.error              = (XCQLError) xjavaGetObject($XCQLErrors);
+        this.dataSourceCQLs        = new CycleNextList<DataSourceCQL>(1);
+        this.dataSourceSelector    = null;
+        this.domain                = null;
+        this.content               = new DBCQL();
+        this.result                = new XCQLResult();
+        this.trigger               = null;
+        this.triggerParams         = false;
+        this.type                  = $Type_NormalCQL;
+        this.allowExecutesSplit    = false;
+        this.batchUnwind           = false;
+        this.parallel              = 0;
+        this.parallelKey           = null;
+        this.pagingPushdown        = true;
+        this.pagingPushdownCount   = new AtomicLong(0L);
+        this.pagingClientSkipCount = new AtomicLong(0L);
+        this.pagingKey             = null;
+        this.cacheSize             = 0;
+        this.cacheTTL              = 0L;
+        this.cache                 = null;
+        this.singleFlight          = false;
+        this.singleFlights         = null;
+        this.uuid                  = StringHelp.getUUID();
+        this.comment               = null;
+        this.beforeRule            = null;
+        this.afterRule             = null;
+        this.error                 = (XCQLError) xjavaGetObject($XCQLErrors);
     }
     
     
@@ -393,6 +510,37 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
     protected void success(Date i_ExecuteTime ,double i_TimeLen ,int i_SumCount ,long i_IORowCount)
     {
         super.success(i_ExecuteTime ,i_TimeLen ,i_SumCount ,i_IORowCount);
+        this.invalidateCaches();
+    }
+    
+    
+    
+    /**
+     * 写操作（CQL类型为 SET、CREATE、DELETE、MERGE）执行后，失效所有缓存中涉及相同节点标签的查询结果
+     * 
+     * 执行异常时也须失效，因为分批提交时，异常前的分批可能已提交。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修正：MERGE 也是写操作
+     * 
+     */
+    protected void invalidateCaches()
+    {
+        if ( this.content == null )
+        {
+            return;
+        }
+        
+        int v_CQLType = this.content.getCQLType();
+        if ( v_CQLType == DBCQL.$DBCQL_TYPE_SET
+          || v_CQLType == DBCQL.$DBCQL_TYPE_CREATE
+          || v_CQLType == DBCQL.$DBCQL_TYPE_DELETE
+          || v_CQLType == DBCQL.$DBCQL_TYPE_MERGE )
+        {
+            XCQLCache.invalidates(this.content.getLabels());
+        }
     }
     
     
@@ -883,438 +1031,922 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
     
     
     /**
-     * 占位符CQL的查询。 -- 无填充值的
+     * 占位符CQL的流式查询。 -- 无填充值的
+     * 
+     * 逐行读取并转化数据库结果集，内存中只保留当前行。返回的迭代器用完后须关闭（可用 try-with-resources ）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
      * @return
      */
-    public XCQLData queryXCQLData()
+    public <R> XCQLResultIterator<R> queryIterator()
     {
-        return XCQLOPQuery.queryXCQLData(this);
+        return XCQLOPQuery.queryIterator(this);
     }
     
     
     
     /**
-     * 占位符CQL的查询。 -- 无填充值的
+     * 占位符CQL的流式查询。按集合 Map<String ,Object> 填充占位符CQL
+     * 
+     * 逐行读取并转化数据库结果集，内存中只保留当前行。返回的迭代器用完后须关闭（可用 try-with-resources ）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * @param i_Conn
+     * @param i_Values           占位符CQL的填充集合。
      * @return
      */
-    public XCQLData queryXCQLData(Connection i_Conn)
+    public <R> XCQLResultIterator<R> queryIterator(Map<String ,?> i_Values)
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_Conn);
+        return XCQLOPQuery.queryIterator(this ,i_Values);
     }
     
     
     
     /**
-     * 占位符CQL的查询。游标的分页查询（可通用于所有数据库）。 -- 无填充值的
+     * 占位符CQL的流式查询。按对象 i_Obj 填充占位符CQL
+     * 
+     * 逐行读取并转化数据库结果集，内存中只保留当前行。返回的迭代器用完后须关闭（可用 try-with-resources ）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * @param i_StartRow         开始读取的行号。下标从0开始。
-     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
+     * @param i_Obj              占位符CQL的填充对象。
      * @return
      */
-    public XCQLData queryXCQLData(int i_StartRow ,int i_PagePerSize)
+    public <R> XCQLResultIterator<R> queryIterator(Object i_Obj)
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_StartRow ,i_PagePerSize);
+        return XCQLOPQuery.queryIterator(this ,i_Obj);
     }
     
     
     
     /**
-     * 占位符CQL的查询。
+     * 常规CQL的流式查询。
      * 
-     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 逐行读取并转化数据库结果集，内存中只保留当前行。返回的迭代器用完后须关闭（可用 try-with-resources ）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * @param i_Values           占位符CQL的填充集合。
+     * @param i_CQL              常规CQL语句
      * @return
      */
-    public XCQLData queryXCQLData(Map<String ,?> i_Values)
+    public <R> XCQLResultIterator<R> queryIterator(String i_CQL)
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_Values);
+        return XCQLOPQuery.queryIterator(this ,i_CQL);
     }
     
     
     
     /**
-     * 占位符CQL的查询。（内部不再关闭数据库连接）
+     * 占位符CQL的流式查询。 -- 无填充值的
      * 
-     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 返回的Java流用完后须关闭（可用 try-with-resources ），流关闭时释放数据库连接。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * @param i_Values           占位符CQL的填充集合。
-     * @param i_Conn
      * @return
      */
-    public XCQLData queryXCQLData(Map<String ,?> i_Values ,Connection i_Conn)
+    public <R> Stream<R> queryStream()
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_Values ,i_Conn);
+        return XCQLOPQuery.<R>queryIterator(this).stream();
     }
     
     
     
     /**
-     * 占位符CQL的查询。游标的分页查询（可通用于所有数据库）。
+     * 占位符CQL的流式查询。按集合 Map<String ,Object> 填充占位符CQL
      * 
-     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 返回的Java流用完后须关闭（可用 try-with-resources ），流关闭时释放数据库连接。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
      * @param i_Values           占位符CQL的填充集合。
-     * @param i_StartRow         开始读取的行号。下标从0开始。
-     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
      * @return
      */
-    public XCQLData queryXCQLData(Map<String ,?> i_Values ,int i_StartRow ,int i_PagePerSize)
+    public <R> Stream<R> queryStream(Map<String ,?> i_Values)
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_Values ,i_StartRow ,i_PagePerSize);
+        return XCQLOPQuery.<R>queryIterator(this ,i_Values).stream();
     }
     
     
     
     /**
-     * 占位符CQL的查询。
+     * 占位符CQL的流式查询。按对象 i_Obj 填充占位符CQL
      * 
-     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 返回的Java流用完后须关闭（可用 try-with-resources ），流关闭时释放数据库连接。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
      * @param i_Obj              占位符CQL的填充对象。
      * @return
      */
-    public XCQLData queryXCQLData(Object i_Obj)
+    public <R> Stream<R> queryStream(Object i_Obj)
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_Obj);
+        return XCQLOPQuery.<R>queryIterator(this ,i_Obj).stream();
     }
     
     
     
     /**
-     * 占位符CQL的查询。（内部不再关闭数据库连接）
+     * 常规CQL的流式查询。
      * 
-     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 返回的Java流用完后须关闭（可用 try-with-resources ），流关闭时释放数据库连接。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * @param i_Obj              占位符CQL的填充对象。
-     * @param i_Conn
+     * @param i_CQL              常规CQL语句
      * @return
      */
-    public XCQLData queryXCQLData(Object i_Obj ,Connection i_Conn)
+    public <R> Stream<R> queryStream(String i_CQL)
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_Obj ,i_Conn);
+        return XCQLOPQuery.<R>queryIterator(this ,i_CQL).stream();
     }
     
     
     
     /**
-     * 占位符CQL的查询。游标的分页查询（可通用于所有数据库）。
+     * 占位符CQL的MATCH语句的查询（异步）。 -- 无填充值的
      * 
-     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 执行期间不占用调用者的线程。结果集转化、规则及触发器在 XCQLOPAsync.getExecutor() 中执行。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * @param i_Obj              占位符CQL的填充对象。
-     * @param i_StartRow         开始读取的行号。下标从0开始。
-     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
      * @return
      */
-    public XCQLData queryXCQLData(Object i_Obj ,int i_StartRow ,int i_PagePerSize)
+    public CompletionStage<XCQLData> queryAsync()
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_Obj ,i_StartRow ,i_PagePerSize);
+        return XCQLOPAsync.queryAsync(this);
     }
     
     
     
     /**
-     * 常规CQL的查询。
-     * 
-     * 1. 提交数据库执行 i_CQL ，将数据库结果集转化为Java实例对象返回
+     * 占位符CQL的MATCH语句的查询（异步）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * @param i_CQL              常规CQL语句
+     * @param i_Values           占位符CQL的填充集合。
      * @return
      */
-    public XCQLData queryXCQLData(String i_CQL)
+    public CompletionStage<XCQLData> queryAsync(Map<String ,?> i_Values)
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_CQL);
+        return XCQLOPAsync.queryAsync(this ,i_Values);
     }
     
     
     
     /**
-     * 常规CQL的查询。（内部不再关闭数据库连接）
-     * 
-     * 1. 提交数据库执行 i_CQL ，将数据库结果集转化为Java实例对象返回
+     * 占位符CQL的MATCH语句的查询（异步）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * @param i_CQL              常规CQL语句
+     * @param i_Obj              占位符CQL的填充对象。
      * @return
      */
-    public XCQLData queryXCQLData(String i_CQL ,Connection i_Conn)
+    public CompletionStage<XCQLData> queryAsync(Object i_Obj)
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_CQL ,i_Conn);
+        return XCQLOPAsync.queryAsync(this ,i_Obj);
     }
     
     
     
     /**
-     * 常规CQL的查询。游标的分页查询（可通用于所有数据库）。
-     * 
-     * 1. 提交数据库执行 i_CQL ，将数据库结果集转化为Java实例对象返回
+     * 常规MATCH语句的查询（异步）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
-     *
+     * 
      * @param i_CQL              常规CQL语句
-     * @param i_StartRow         开始读取的行号。下标从0开始。
-     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
      * @return
      */
-    public XCQLData queryXCQLData(String i_CQL ,int i_StartRow ,int i_PagePerSize)
+    public CompletionStage<XCQLData> queryAsync(String i_CQL)
     {
-        return XCQLOPQuery.queryXCQLData(this ,i_CQL ,i_StartRow ,i_PagePerSize);
+        return XCQLOPAsync.queryAsync(this ,i_CQL);
     }
     
-
+    
     
     /**
-     * 查询返回第一行第一列上的数值。常用于查询返回一个字符串
+     * 占位符CQL的Create语句的执行（异步）。 -- 无填充值的
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2023-03-07
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * @return
+     */
+    public CompletionStage<XCQLData> executeInsertAsync()
+    {
+        return XCQLOPAsync.executeInsertAsync(this);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的Create语句的执行（异步）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
      * 
      * @param i_Values           占位符CQL的填充集合。
      * @return
      */
-    public Object queryCQLValue(Map<String ,?> i_Values)
+    public CompletionStage<XCQLData> executeInsertAsync(Map<String ,?> i_Values)
     {
-        return XCQLOPQuery.queryCQLValue(this ,i_Values);
+        return XCQLOPAsync.executeInsertAsync(this ,i_Values);
     }
     
     
     
     /**
-     * 查询返回第一行第一列上的数值。常用于查询返回一个字符串
+     * 占位符CQL的Create语句的执行（异步）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2023-03-07
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
-     * 
      * @param i_Obj              占位符CQL的填充对象。
      * @return
      */
-    public Object queryCQLValue(Object i_Obj)
+    public CompletionStage<XCQLData> executeInsertAsync(Object i_Obj)
     {
-        return XCQLOPQuery.queryCQLValue(this ,i_Obj);
+        return XCQLOPAsync.executeInsertAsync(this ,i_Obj);
     }
     
     
     
     /**
-     * 查询返回第一行第一列上的数值。常用于查询返回一个字符串
+     * 常规Create语句的执行（异步）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2023-03-07
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
+     * @param i_CQL              常规CQL语句
      * @return
      */
-    public Object queryCQLValue()
+    public CompletionStage<XCQLData> executeInsertAsync(String i_CQL)
     {
-        return XCQLOPQuery.queryCQLValue(this);
+        return XCQLOPAsync.executeInsertAsync(this ,i_CQL);
     }
     
     
     
     /**
-     * 查询返回第一行第一列上的数值。常用于查询返回一个字符串
+     * 占位符CQL的Create\Set\Delete语句的执行（异步）。 -- 无填充值的
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2023-03-07
+     * @createDate  2026-10-18
      * @version     v1.0
      * 
-     * @param i_CQL  查询CQL
      * @return
      */
-    public Object queryCQLValue(String i_CQL)
+    public CompletionStage<XCQLData> executeUpdateAsync()
     {
-        return XCQLOPQuery.queryCQLValue(this ,i_CQL);
+        return XCQLOPAsync.executeUpdateAsync(this);
     }
     
     
     
     /**
-     * 统计记录数据：占位符CQL的查询。
+     * 占位符CQL的Create\Set\Delete语句的执行（异步）。
      * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
-     * 
-     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
      * 
      * @param i_Values           占位符CQL的填充集合。
      * @return
      */
-    public long queryCQLCount(Map<String ,?> i_Values)
+    public CompletionStage<XCQLData> executeUpdateAsync(Map<String ,?> i_Values)
     {
-        return XCQLOPQuery.queryCQLCount(this ,i_Values);
+        return XCQLOPAsync.executeUpdateAsync(this ,i_Values);
     }
     
     
     
     /**
-     * 统计记录数据：占位符CQL的查询。
-     * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 占位符CQL的Create\Set\Delete语句的执行（异步）。
      * 
-     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
      * 
      * @param i_Obj              占位符CQL的填充对象。
      * @return
      */
-    public long queryCQLCount(Object i_Obj)
+    public CompletionStage<XCQLData> executeUpdateAsync(Object i_Obj)
     {
-        return XCQLOPQuery.queryCQLCount(this ,i_Obj);
+        return XCQLOPAsync.executeUpdateAsync(this ,i_Obj);
     }
     
     
     
     /**
-     * 查询记录总数
+     * 常规Create\Set\Delete语句的执行（异步）。
      * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
      * 
+     * @param i_CQL              常规CQL语句
      * @return
      */
-    public long queryCQLCount()
+    public CompletionStage<XCQLData> executeUpdateAsync(String i_CQL)
     {
-        return XCQLOPQuery.queryCQLCount(this);
+        return XCQLOPAsync.executeUpdateAsync(this ,i_CQL);
     }
     
     
     
     /**
-     * 查询记录总数
+     * 占位符CQL的响应式查询。 -- 无填充值的
      * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 订阅者通过 request(n) 控制需求量，结果集逐行转化后发布，不在内存中积压。
      * 
-     * @param i_CQL
-     * @return
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return                   只允许被订阅一次
      */
-    public long queryCQLCount(String i_CQL)
+    public <R> Flow.Publisher<R> queryPublisher()
     {
-        return XCQLOPQuery.queryCQLCount(this ,i_CQL);
+        return XCQLOPAsync.<R>queryPublisher(this);
     }
     
     
     
     /**
-     * 统计记录数据：占位符CQL的查询。
-     * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 占位符CQL的响应式查询。
      * 
-     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
      * 
      * @param i_Values           占位符CQL的填充集合。
-     * @return
+     * @return                   只允许被订阅一次
      */
-    public long getCQLCount(Map<String ,?> i_Values)
+    public <R> Flow.Publisher<R> queryPublisher(Map<String ,?> i_Values)
     {
-        return XCQLOPQuery.queryCQLCount(this ,i_Values);
+        return XCQLOPAsync.<R>queryPublisher(this ,i_Values);
     }
     
     
     
     /**
-     * 统计记录数据：占位符CQL的查询。
+     * 占位符CQL的响应式查询。
      * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
-     * 
-     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
      * 
      * @param i_Obj              占位符CQL的填充对象。
-     * @return
+     * @return                   只允许被订阅一次
      */
-    public long getCQLCount(Object i_Obj)
+    public <R> Flow.Publisher<R> queryPublisher(Object i_Obj)
     {
-        return XCQLOPQuery.queryCQLCount(this ,i_Obj);
+        return XCQLOPAsync.<R>queryPublisher(this ,i_Obj);
     }
     
     
     
     /**
-     * 查询记录总数
+     * 常规CQL的响应式查询。
      * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
      * 
-     * @param i_CQL
-     * @return
+     * @param i_CQL              常规CQL语句
+     * @return                   只允许被订阅一次
      */
-    public long getCQLCount(String i_CQL)
+    public <R> Flow.Publisher<R> queryPublisher(String i_CQL)
     {
-        return XCQLOPQuery.queryCQLCount(this ,i_CQL);
+        return XCQLOPAsync.<R>queryPublisher(this ,i_CQL);
     }
     
     
     
     /**
-     * 占位符CQL的Insert语句的执行。 -- 无填充值的
+     * 占位符CQL的游标分页查询。 -- 无填充值的
+     * 
+     * 按排序键 pagingKey 翻页，翻页的性能与页数的深度无关。首页的游标为NULL，之后传入上一页的 XCQLPage.getNextCursor() 。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2022-05-23
-     * @version     v3.0
+     * @createDate  2026-10-18
+     * @version     v1.0
      * 
-     * @param i_XCQL
+     * @param i_Cursor           游标。为空时表示第一页
+     * @param i_PageSize         每页显示多少条数据
+     * @return
+     */
+    public XCQLPage queryPage(String i_Cursor ,int i_PageSize)
+    {
+        return XCQLOPQuery.queryPage(this ,i_Cursor ,i_PageSize);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的游标分页查询。
+     * 
+     * 按排序键 pagingKey 翻页，翻页的性能与页数的深度无关。首页的游标为NULL，之后传入上一页的 XCQLPage.getNextCursor() 。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Values           占位符CQL的填充集合。
+     * @param i_Cursor           游标。为空时表示第一页
+     * @param i_PageSize         每页显示多少条数据
+     * @return
+     */
+    public XCQLPage queryPage(Map<String ,?> i_Values ,String i_Cursor ,int i_PageSize)
+    {
+        return XCQLOPQuery.queryPage(this ,i_Values ,i_Cursor ,i_PageSize);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的游标分页查询。
+     * 
+     * 按排序键 pagingKey 翻页，翻页的性能与页数的深度无关。首页的游标为NULL，之后传入上一页的 XCQLPage.getNextCursor() 。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Obj              占位符CQL的填充对象。
+     * @param i_Cursor           游标。为空时表示第一页
+     * @param i_PageSize         每页显示多少条数据
+     * @return
+     */
+    public XCQLPage queryPage(Object i_Obj ,String i_Cursor ,int i_PageSize)
+    {
+        return XCQLOPQuery.queryPage(this ,i_Obj ,i_Cursor ,i_PageSize);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的查询。 -- 无填充值的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @return
+     */
+    public XCQLData queryXCQLData()
+    {
+        return XCQLOPQuery.queryXCQLData(this);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的查询。 -- 无填充值的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_Conn
+     * @return
+     */
+    public XCQLData queryXCQLData(Connection i_Conn)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_Conn);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的查询。游标的分页查询（可通用于所有数据库）。 -- 无填充值的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_StartRow         开始读取的行号。下标从0开始。
+     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
+     * @return
+     */
+    public XCQLData queryXCQLData(int i_StartRow ,int i_PagePerSize)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_StartRow ,i_PagePerSize);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的查询。
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_Values           占位符CQL的填充集合。
+     * @return
+     */
+    public XCQLData queryXCQLData(Map<String ,?> i_Values)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_Values);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的查询。（内部不再关闭数据库连接）
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_Values           占位符CQL的填充集合。
+     * @param i_Conn
+     * @return
+     */
+    public XCQLData queryXCQLData(Map<String ,?> i_Values ,Connection i_Conn)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_Values ,i_Conn);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的查询。游标的分页查询（可通用于所有数据库）。
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_Values           占位符CQL的填充集合。
+     * @param i_StartRow         开始读取的行号。下标从0开始。
+     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
+     * @return
+     */
+    public XCQLData queryXCQLData(Map<String ,?> i_Values ,int i_StartRow ,int i_PagePerSize)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_Values ,i_StartRow ,i_PagePerSize);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的查询。
+     * 
+     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_Obj              占位符CQL的填充对象。
+     * @return
+     */
+    public XCQLData queryXCQLData(Object i_Obj)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_Obj);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的查询。（内部不再关闭数据库连接）
+     * 
+     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_Obj              占位符CQL的填充对象。
+     * @param i_Conn
+     * @return
+     */
+    public XCQLData queryXCQLData(Object i_Obj ,Connection i_Conn)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_Obj ,i_Conn);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的查询。游标的分页查询（可通用于所有数据库）。
+     * 
+     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_Obj              占位符CQL的填充对象。
+     * @param i_StartRow         开始读取的行号。下标从0开始。
+     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
+     * @return
+     */
+    public XCQLData queryXCQLData(Object i_Obj ,int i_StartRow ,int i_PagePerSize)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_Obj ,i_StartRow ,i_PagePerSize);
+    }
+    
+    
+    
+    /**
+     * 常规CQL的查询。
+     * 
+     * 1. 提交数据库执行 i_CQL ，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_CQL              常规CQL语句
+     * @return
+     */
+    public XCQLData queryXCQLData(String i_CQL)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_CQL);
+    }
+    
+    
+    
+    /**
+     * 常规CQL的查询。（内部不再关闭数据库连接）
+     * 
+     * 1. 提交数据库执行 i_CQL ，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_CQL              常规CQL语句
+     * @return
+     */
+    public XCQLData queryXCQLData(String i_CQL ,Connection i_Conn)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_CQL ,i_Conn);
+    }
+    
+    
+    
+    /**
+     * 常规CQL的查询。游标的分页查询（可通用于所有数据库）。
+     * 
+     * 1. 提交数据库执行 i_CQL ，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     *
+     * @param i_CQL              常规CQL语句
+     * @param i_StartRow         开始读取的行号。下标从0开始。
+     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
+     * @return
+     */
+    public XCQLData queryXCQLData(String i_CQL ,int i_StartRow ,int i_PagePerSize)
+    {
+        return XCQLOPQuery.queryXCQLData(this ,i_CQL ,i_StartRow ,i_PagePerSize);
+    }
+    
+
+    
+    /**
+     * 查询返回第一行第一列上的数值。常用于查询返回一个字符串
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2023-03-07
+     * @version     v1.0
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @param i_Values           占位符CQL的填充集合。
+     * @return
+     */
+    public Object queryCQLValue(Map<String ,?> i_Values)
+    {
+        return XCQLOPQuery.queryCQLValue(this ,i_Values);
+    }
+    
+    
+    
+    /**
+     * 查询返回第一行第一列上的数值。常用于查询返回一个字符串
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2023-03-07
+     * @version     v1.0
+     * 
+     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @param i_Obj              占位符CQL的填充对象。
+     * @return
+     */
+    public Object queryCQLValue(Object i_Obj)
+    {
+        return XCQLOPQuery.queryCQLValue(this ,i_Obj);
+    }
+    
+    
+    
+    /**
+     * 查询返回第一行第一列上的数值。常用于查询返回一个字符串
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2023-03-07
+     * @version     v1.0
+     * 
+     * @return
+     */
+    public Object queryCQLValue()
+    {
+        return XCQLOPQuery.queryCQLValue(this);
+    }
+    
+    
+    
+    /**
+     * 查询返回第一行第一列上的数值。常用于查询返回一个字符串
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2023-03-07
+     * @version     v1.0
+     * 
+     * @param i_CQL  查询CQL
+     * @return
+     */
+    public Object queryCQLValue(String i_CQL)
+    {
+        return XCQLOPQuery.queryCQLValue(this ,i_CQL);
+    }
+    
+    
+    
+    /**
+     * 统计记录数据：占位符CQL的查询。
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @param i_Values           占位符CQL的填充集合。
+     * @return
+     */
+    public long queryCQLCount(Map<String ,?> i_Values)
+    {
+        return XCQLOPQuery.queryCQLCount(this ,i_Values);
+    }
+    
+    
+    
+    /**
+     * 统计记录数据：占位符CQL的查询。
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @param i_Obj              占位符CQL的填充对象。
+     * @return
+     */
+    public long queryCQLCount(Object i_Obj)
+    {
+        return XCQLOPQuery.queryCQLCount(this ,i_Obj);
+    }
+    
+    
+    
+    /**
+     * 查询记录总数
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * @return
+     */
+    public long queryCQLCount()
+    {
+        return XCQLOPQuery.queryCQLCount(this);
+    }
+    
+    
+    
+    /**
+     * 查询记录总数
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * @param i_CQL
+     * @return
+     */
+    public long queryCQLCount(String i_CQL)
+    {
+        return XCQLOPQuery.queryCQLCount(this ,i_CQL);
+    }
+    
+    
+    
+    /**
+     * 统计记录数据：占位符CQL的查询。
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @param i_Values           占位符CQL的填充集合。
+     * @return
+     */
+    public long getCQLCount(Map<String ,?> i_Values)
+    {
+        return XCQLOPQuery.queryCQLCount(this ,i_Values);
+    }
+    
+    
+    
+    /**
+     * 统计记录数据：占位符CQL的查询。
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @param i_Obj              占位符CQL的填充对象。
+     * @return
+     */
+    public long getCQLCount(Object i_Obj)
+    {
+        return XCQLOPQuery.queryCQLCount(this ,i_Obj);
+    }
+    
+    
+    
+    /**
+     * 查询记录总数
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * @param i_CQL
+     * @return
+     */
+    public long getCQLCount(String i_CQL)
+    {
+        return XCQLOPQuery.queryCQLCount(this ,i_CQL);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的Insert语句的执行。 -- 无填充值的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2022-05-23
+     * @version     v3.0
+     * 
+     * @param i_XCQL
      * @return        返回语句影响的记录数及自增长ID。
      */
     public XCQLData executeInsert()
@@ -1933,136 +2565,376 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
     
     public XCQLResult getResult()
     {
-        return result;
+        return result;
+    }
+    
+    
+    
+    public void setResult(XCQLResult i_Result)
+    {
+        this.result = i_Result;
+        
+        if ( this.beforeRule != null )
+        {
+            this.setBeforeRule(this.beforeRule);
+        }
+        
+        if ( this.afterRule != null )
+        {
+            this.setAfterRule(this.afterRule);
+        }
+    }
+    
+    
+    
+    public DBCQL getContent()
+    {
+        return this.content;
+    }
+    
+    
+    
+    public void setContent(String i_CQLText)
+    {
+        this.content.setCqlText(i_CQLText);
+        this.isAllowExecutesSplit(i_CQLText);
+    }
+    
+    
+    
+    /**
+     * 占位符X有条件的取值。占位符在满足条件时取值A，否则取值B。
+     * 取值A、B，可以是占位符X、NULL值，另一个占位符Y或常量字符。
+     * 
+     * 类似于Mybatis IF条件功能
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2018-08-10
+     * @version     v1.0
+     *              v2.0  2019-01-20  添加：升级来条件组，用于实现Java编程语言中的 if .. else if ... else ... 的多条件复杂判定
+     *
+     * @param i_ConditionGroup
+     */
+    public void setCondition(DBConditions i_ConditionGroup)
+    {
+        this.content.addCondition(i_ConditionGroup);
+    }
+    
+    
+    
+    /**
+     * 获取：是否为参数化模式。
+     * 
+     * 参数化模式下，引号中的及值位置的占位符编译为Neo4j的参数引用（如 '#name' 编译为 $name ， n.port = #port 编译为 n.port = $port），
+     * 生成的CQL文本不随参数值变化，Neo4j可复用已缓存的执行计划。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     */
+    public boolean isParameterized()
+    {
+        return this.content.isParameterized();
+    }
+    
+    
+    
+    /**
+     * 设置：是否为参数化模式。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Parameterized
+     */
+    public void setParameterized(boolean i_Parameterized)
+    {
+        this.content.setParameterized(i_Parameterized);
+    }
+    
+    
+    
+    public DBCQL getContentDB()
+    {
+        return this.content;
+    }
+    
+    
+    
+    public void setContentDB(DBCQL i_DBCQL)
+    {
+        this.content = i_DBCQL;
+        
+        if ( this.content != null )
+        {
+            this.isAllowExecutesSplit(this.content.getCqlText());
+        }
+    }
+    
+    
+    
+    /**
+     * 默认情况下，通过XCQL模板自动判定$Executes_Split分割符是否生效的。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2018-06-24
+     * @version     v1.0
+     *
+     * @param i_CQLText
+     */
+    private void isAllowExecutesSplit(String i_CQLText)
+    {
+        if ( !Help.isNull(i_CQLText) )
+        {
+            if ( i_CQLText.split($Executes_Split).length >= 2 )
+            {
+                this.allowExecutesSplit = true;
+            }
+            else
+            {
+                this.allowExecutesSplit = false;
+            }
+        }
+        else
+        {
+            this.allowExecutesSplit = false;
+        }
+    }
+    
+    
+    
+    /**
+     * 是否允许或支持execute()方法中执行多条CQL语句，即$Executes_Split = ";/"分割符是否生效。
+     * 默认情况下，通过XCQL模板自动判定$Executes_Split分割符是否生效的。
+     * 
+     * 但特殊情况下，允许外界通过本属性启用或关闭execute()方法中执行多条CQL语句的功能。
+     * 如，CQL语句中就包含;/文本字符的情况，不是分割符是意思。
+     */
+    public boolean isAllowExecutesSplit()
+    {
+        return allowExecutesSplit;
+    }
+
+    
+
+    /**
+     * 是否允许或支持execute()方法中执行多条CQL语句，即$Executes_Split = ";/"分割符是否生效。
+     * 默认情况下，通过XCQL模板自动判定$Executes_Split分割符是否生效的。
+     * 
+     * 但特殊情况下，允许外界通过本属性启用或关闭execute()方法中执行多条CQL语句的功能。
+     * 如，CQL语句中就包含;/文本字符的情况，不是分割符是意思。
+     */
+    public void setAllowExecutesSplit(boolean allowExecutesSplit)
+    {
+        this.allowExecutesSplit = allowExecutesSplit;
+    }
+    
+    
+    
+    /**
+     * 获取：分页查询时，是否将分页下推到CQL中（SKIP/LIMIT）。默认为：true
+     */
+    public boolean isPagingPushdown()
+    {
+        return pagingPushdown;
+    }
+    
+    
+    
+    /**
+     * 设置：分页查询时，是否将分页下推到CQL中（SKIP/LIMIT）。默认为：true
+     * 
+     * @param i_PagingPushdown
+     */
+    public void setPagingPushdown(boolean i_PagingPushdown)
+    {
+        this.pagingPushdown = i_PagingPushdown;
+    }
+    
+    
+    
+    /**
+     * 获取：游标分页 queryPage(...) 的排序键。为Cypher表达式，如 n.id 、 id(n) 、 n.createTime
+     */
+    public String getPagingKey()
+    {
+        return pagingKey;
+    }
+    
+    
+    
+    /**
+     * 设置：游标分页 queryPage(...) 的排序键。为Cypher表达式，如 n.id 、 id(n) 、 n.createTime
+     * 
+     * @param i_PagingKey
+     */
+    public void setPagingKey(String i_PagingKey)
+    {
+        this.pagingKey = i_PagingKey;
+    }
+    
+    
+    
+    /**
+     * 获取：查询结果缓存的最大条数。大于0时才启用缓存
+     */
+    public int getCacheSize()
+    {
+        return cacheSize;
     }
     
     
     
-    public void setResult(XCQLResult i_Result)
+    /**
+     * 设置：查询结果缓存的最大条数。大于0时才启用缓存
+     * 
+     * @param i_CacheSize
+     */
+    public synchronized void setCacheSize(int i_CacheSize)
     {
-        this.result = i_Result;
-        
-        if ( this.beforeRule != null )
-        {
-            this.setBeforeRule(this.beforeRule);
-        }
-        
-        if ( this.afterRule != null )
-        {
-            this.setAfterRule(this.afterRule);
-        }
+        this.cacheSize = i_CacheSize;
+        this.cache     = this.cacheSize > 0 ? new XCQLCache(this.cacheSize ,this.cacheTTL) : null;
     }
     
     
     
-    public DBCQL getContent()
+    /**
+     * 获取：查询结果缓存的有效时长（单位：毫秒）。小于等于0时，不按时长过期
+     */
+    public long getCacheTTL()
     {
-        return this.content;
+        return cacheTTL;
     }
     
     
     
-    public void setContent(String i_CQLText)
+    /**
+     * 设置：查询结果缓存的有效时长（单位：毫秒）。小于等于0时，不按时长过期
+     * 
+     * @param i_CacheTTL
+     */
+    public synchronized void setCacheTTL(long i_CacheTTL)
     {
-        this.content.setCqlText(i_CQLText);
-        this.isAllowExecutesSplit(i_CQLText);
+        this.cacheTTL = i_CacheTTL;
+        this.cache    = this.cacheSize > 0 ? new XCQLCache(this.cacheSize ,this.cacheTTL) : null;
     }
     
     
     
     /**
-     * 占位符X有条件的取值。占位符在满足条件时取值A，否则取值B。
-     * 取值A、B，可以是占位符X、NULL值，另一个占位符Y或常量字符。
-     * 
-     * 类似于Mybatis IF条件功能
-     * 
-     * @author      ZhengWei(HY)
-     * @createDate  2018-08-10
-     * @version     v1.0
-     *              v2.0  2019-01-20  添加：升级来条件组，用于实现Java编程语言中的 if .. else if ... else ... 的多条件复杂判定
-     *
-     * @param i_ConditionGroup
+     * 获取：查询结果的缓存。未启用缓存时返回NULL
      */
-    public void setCondition(DBConditions i_ConditionGroup)
+    public XCQLCache getCache()
     {
-        this.content.addCondition(i_ConditionGroup);
+        return cache;
     }
     
     
     
-    public DBCQL getContentDB()
+    /**
+     * 获取：是否合并并发的相同查询（Single-Flight）。默认为：false
+     */
+    public boolean isSingleFlight()
     {
-        return this.content;
+        return singleFlight;
     }
     
     
     
-    public void setContentDB(DBCQL i_DBCQL)
+    /**
+     * 设置：是否合并并发的相同查询（Single-Flight）。默认为：false
+     * 
+     * @param i_SingleFlight
+     */
+    public synchronized void setSingleFlight(boolean i_SingleFlight)
     {
-        this.content = i_DBCQL;
+        this.singleFlight = i_SingleFlight;
         
-        if ( this.content != null )
+        if ( this.singleFlight )
         {
-            this.isAllowExecutesSplit(this.content.getCqlText());
+            if ( this.singleFlights == null )
+            {
+                this.singleFlights = new XCQLSingleFlight();
+            }
+        }
+        else
+        {
+            this.singleFlights = null;
         }
     }
     
     
     
     /**
-     * 默认情况下，通过XCQL模板自动判定$Executes_Split分割符是否生效的。
+     * 获取：执行中的相同查询的合并，及其合并率的统计。未启用时返回NULL
+     */
+    public XCQLSingleFlight getSingleFlights()
+    {
+        return singleFlights;
+    }
+    
+    
+    
+    /**
+     * 清空查询结果的缓存
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2018-06-24
+     * @createDate  2026-10-18
      * @version     v1.0
-     *
-     * @param i_CQLText
+     * 
      */
-    private void isAllowExecutesSplit(String i_CQLText)
+    public void clearCache()
     {
-        if ( !Help.isNull(i_CQLText) )
-        {
-            if ( i_CQLText.split($Executes_Split).length >= 2 )
-            {
-                this.allowExecutesSplit = true;
-            }
-            else
-            {
-                this.allowExecutesSplit = false;
-            }
-        }
-        else
+        XCQLCache v_Cache = this.cache;
+        
+        if ( v_Cache != null )
         {
-            this.allowExecutesSplit = false;
+            v_Cache.clear();
         }
     }
     
     
     
     /**
-     * 是否允许或支持execute()方法中执行多条CQL语句，即$Executes_Split = ";/"分割符是否生效。
-     * 默认情况下，通过XCQL模板自动判定$Executes_Split分割符是否生效的。
-     * 
-     * 但特殊情况下，允许外界通过本属性启用或关闭execute()方法中执行多条CQL语句的功能。
-     * 如，CQL语句中就包含;/文本字符的情况，不是分割符是意思。
+     * 获取：统计：分页查询下推到CQL中执行的次数
      */
-    public boolean isAllowExecutesSplit()
+    public long getPagingPushdownCount()
     {
-        return allowExecutesSplit;
+        return this.pagingPushdownCount.get();
     }
-
     
-
+    
+    
     /**
-     * 是否允许或支持execute()方法中执行多条CQL语句，即$Executes_Split = ";/"分割符是否生效。
-     * 默认情况下，通过XCQL模板自动判定$Executes_Split分割符是否生效的。
+     * 获取：统计：分页查询回退为客户端游标跳行的次数
+     */
+    public long getPagingClientSkipCount()
+    {
+        return this.pagingClientSkipCount.get();
+    }
+    
+    
+    
+    /**
+     * 分页方式的统计
      * 
-     * 但特殊情况下，允许外界通过本属性启用或关闭execute()方法中执行多条CQL语句的功能。
-     * 如，CQL语句中就包含;/文本字符的情况，不是分割符是意思。
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_IsPushdown  是否下推到CQL中执行
      */
-    public void setAllowExecutesSplit(boolean allowExecutesSplit)
+    protected void pagingCount(boolean i_IsPushdown)
     {
-        this.allowExecutesSplit = allowExecutesSplit;
+        if ( i_IsPushdown )
+        {
+            this.pagingPushdownCount.incrementAndGet();
+        }
+        else
+        {
+            this.pagingClientSkipCount.incrementAndGet();
+        }
     }
     
     
@@ -2222,6 +3094,8 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
      * 获取：数据库连接池组
      * 
      * 当"域"存在时，使用域的数据库连接池组。其它情况，使用默认的数据库连接池组。
+     * 
+     * 多个负载数据库时，跳过不可用（熔断器为打开状态）的数据库。均不可用时，返回轮询到的首个数据库（请求将快速失败）。
      */
     public DataSourceCQL getDataSourceCQL()
     {
@@ -2243,6 +3117,32 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
             }
         }
         
+        if ( this.dataSourceSelector != null && this.dataSourceCQLs.size() >= 2 )
+        {
+            return this.dataSourceSelector.select(this.dataSourceCQLs);
+        }
+        
+        int v_Size = this.dataSourceCQLs.size();
+        if ( v_Size >= 2 )
+        {
+            DataSourceCQL v_First = this.dataSourceCQLs.next();
+            if ( v_First.isValid() )
+            {
+                return v_First;
+            }
+            
+            for (int x=1; x<v_Size; x++)
+            {
+                DataSourceCQL v_DSCQL = this.dataSourceCQLs.next();
+                if ( v_DSCQL.isValid() )
+                {
+                    return v_DSCQL;
+                }
+            }
+            
+            return v_First;
+        }
+        
         return this.dataSourceCQLs.next();
     }
 
@@ -2266,6 +3166,75 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
     
     
     
+    /**
+     * 获取：多个负载数据库的选择策略。为空时，按轮询的方式选择
+     */
+    public XCQLDataSourceSelector getDataSourceSelector()
+    {
+        return dataSourceSelector;
+    }
+    
+    
+    
+    /**
+     * 设置：多个负载数据库的选择策略。为空时，按轮询的方式选择
+     * 
+     * @param i_DataSourceSelector
+     */
+    public void setDataSourceSelector(XCQLDataSourceSelector i_DataSourceSelector)
+    {
+        this.dataSourceSelector = i_DataSourceSelector;
+    }
+    
+    
+    
+    /**
+     * 设置：按名称设置多个负载数据库的选择策略（不区分大小写）
+     * 
+     *   RoundRobin   轮询，并自动剔除异常的数据库
+     *   LeastActive  最少活动连接数
+     *   EWMA         会话用时的指数加权移动平均值最小
+     *   P2C          随机选择两个，取负载低的（Power of Two Choices）
+     *   Weighted     按权重随机
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Strategy  策略名称。为空时，按轮询的方式选择（不剔除异常的数据库）
+     */
+    public void setDataSourceStrategy(String i_Strategy)
+    {
+        if ( Help.isNull(i_Strategy) )
+        {
+            this.dataSourceSelector = null;
+            return;
+        }
+        
+        switch ( i_Strategy.trim().toUpperCase() )
+        {
+            case "ROUNDROBIN":
+                this.dataSourceSelector = new RoundRobinSelector();
+                break;
+            case "LEASTACTIVE":
+                this.dataSourceSelector = new LeastActiveSelector();
+                break;
+            case "EWMA":
+                this.dataSourceSelector = new EWMASelector();
+                break;
+            case "P2C":
+                this.dataSourceSelector = new PowerOfTwoSelector();
+                break;
+            case "WEIGHTED":
+                this.dataSourceSelector = new WeightedSelector();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown data source strategy[" + i_Strategy + "] of XCQL[" + Help.NVL(this.xjavaID) + "].");
+        }
+    }
+    
+    
+    
     /**
      * 获取：数据库连接的域
      * 
@@ -2566,6 +3535,78 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
     
     
     
+    /**
+     * 获取：批量执行 executeInserts(...)、executeUpdates(...) 时，是否按 UNWIND 模式执行。默认为：false
+     */
+    public boolean isBatchUnwind()
+    {
+        return batchUnwind;
+    }
+    
+    
+    
+    /**
+     * 设置：批量执行 executeInserts(...)、executeUpdates(...) 时，是否按 UNWIND 模式执行。默认为：false
+     * 
+     * 为真时，将CQL文本相同的多组参数合并为一条 UNWIND 语句，每 batchCommit 组执行一次（batchCommit<=0时，每1000组执行一次）。
+     * 仅对Create\Set\Delete\Merge类型、且没有 RETURN 、 LIMIT 、 ORDER BY 、 count() 等跨行生效的子句及聚合函数的CQL有效，
+     * 其它CQL仍逐条执行（见 DBCQL.isUnwindable()）。
+     * 
+     * @param i_BatchUnwind
+     */
+    public void setBatchUnwind(boolean i_BatchUnwind)
+    {
+        this.batchUnwind = i_BatchUnwind;
+    }
+    
+    
+    
+    /**
+     * 获取：批量执行 executeInserts(...)、executeUpdates(...) 时的并行度。默认为：0，即不并行
+     */
+    public int getParallel()
+    {
+        return parallel;
+    }
+    
+    
+    
+    /**
+     * 设置：批量执行 executeInserts(...)、executeUpdates(...) 时的并行度。默认为：0，即不并行
+     * 
+     * 当>=2时，每个分区独占一个线程及一个数据库连接。
+     * 
+     * @param i_Parallel
+     */
+    public void setParallel(int i_Parallel)
+    {
+        this.parallel = i_Parallel;
+    }
+    
+    
+    
+    /**
+     * 获取：并行模式的分区键。为填充对象的属性名称（或Map的Key）
+     */
+    public String getParallelKey()
+    {
+        return parallelKey;
+    }
+    
+    
+    
+    /**
+     * 设置：并行模式的分区键。为填充对象的属性名称（或Map的Key）
+     * 
+     * @param i_ParallelKey
+     */
+    public void setParallelKey(String i_ParallelKey)
+    {
+        this.parallelKey = i_ParallelKey;
+    }
+    
+    
+    
     /**
      * 获取：注释。可用于日志的输出等帮助性的信息
      */
@@ -2613,12 +3654,34 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
     
     
     
+    /**
+     * 执行CQL异常时的统一处理方法（参数化的CQL）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Query
+     * @param i_Exce
+     * @param i_XCQL
+     */
+    protected static void erroring(Query i_Query ,Exception i_Exce ,XCQL i_XCQL)
+    {
+        erroring(toCQL(i_Query) ,i_Exce ,i_XCQL);
+    }
+    
+    
+    
     /**
      * 执行CQL异常时的统一处理方法
      * 
+     * 数据库的异常标记不在此设置：多个负载数据库时，getDataSourceCQL() 会重新选择一个数据库，不一定是出现异常的数据库。
+     * 改由真正执行请求的会话关闭时，按会话的结果设置（见 DataSourceCQL.requestFinished()）。
+     * 
      * @author      ZhengWei(HY)
      * @createDate  2017-01-04
      * @version     v1.0
+     *              v2.0  2026-10-18  修正：不再标记 getDataSourceCQL() 选择出的任意数据库为异常
      *
      * @param i_CQL
      * @param i_Exce
@@ -2637,11 +3700,7 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
         if ( i_XCQL != null )
         {
             v_XJavaID = Help.NVL(i_XCQL.getXJavaID());
-            
-            if ( i_XCQL.getDataSourceCQL() != null )
-            {
-                i_XCQL.getDataSourceCQL().setException(true);
-            }
+            i_XCQL.invalidateCaches();
         }
         
         $Logger.error("\n-- Error time:    " + Date.getNowTime().getFull()
@@ -2675,6 +3734,49 @@ public final class XCQL extends AnalyseTotal implements Comparable<XCQL> ,XJavaI
     
     
     
+    /**
+     * 获取用于日志、异常信息的CQL文本。有参数时，在CQL文本后附加参数信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Query
+     * @return
+     */
+    public static String toCQL(Query i_Query)
+    {
+        if ( i_Query == null )
+        {
+            return null;
+        }
+        
+        if ( i_Query.parameters().isEmpty() )
+        {
+            return i_Query.text();
+        }
+        
+        return i_Query.text() + "\n-- Params: " + i_Query.parameters().asMap();
+    }
+    
+    
+    
+    /**
+     * 执行之后的日志。（参数化的CQL）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Query
+     */
+    protected void log(Query i_Query)
+    {
+        this.log(toCQL(i_Query));
+    }
+    
+    
+    
     /**
      * 执行之后的日志。（在CQL语法成功执行之后，在this.result.getDatas(...)方法之前执行）
      * 
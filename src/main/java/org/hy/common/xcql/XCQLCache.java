@@ -0,0 +1,470 @@
+package org.hy.common.xcql;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.driver.Query;
+
+
+
+
+
+/**
+ * 查询结果的缓存。用于对变化频率低的参考数据，以相同的CQL及参数高频查询的场景。
+ * 
+ * 用法：XCQL的配置中
+ *   <cacheSize>1000</cacheSize>        缓存的最大条数。大于0时才启用缓存
+ *   <cacheTTL>600000</cacheTTL>        缓存的有效时长（单位：毫秒）。小于等于0时，不按时长过期
+ * 
+ * 缓存规则：
+ *   1. 缓存的Key为（数据库连接池组、可执行的CQL及参数、分页的开始行号及每页条数）；
+ *   2. 超过最大条数时，淘汰最久未被访问的（LRU）；
+ *   3. 任一XCQL的CQL类型为 SET、CREATE、DELETE、MERGE 时，执行成功（或异常）后，所有缓存中涉及相同节点标签（或关系类型）的均失效。
+ *      标签无法识别时（见 DBCQL.parserLabels()），视为涉及所有标签；
+ *   4. 查询执行期间有失效发生时，本次的查询结果不写入缓存，防止将失效前的数据缓存下来；
+ *   5. 写入及命中时均为查询结果的浅拷贝（见 XCQLData.shallowCopy()），调用者增删表级对象的元素时，不影响缓存及其它调用者；
+ *   6. 缓存的是执行 afterRule 之后的查询结果，命中缓存时不再重复执行 afterRule。
+ * 
+ * 约定1：只缓存通过数据库连接池组执行的查询。外部传入数据库连接（如事务中）的查询不经过缓存。
+ * 约定2：只能识别本进程内XCQL的写操作。其它进程或直接在数据库中的修改，只能等待缓存的有效时长过期。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class XCQLCache
+{
+    
+    /** 所有的缓存。用于写操作时统一失效。弱引用，XCQL被回收时缓存也随之回收 */
+    private static final Map<XCQLCache ,Boolean> $Caches = Collections.synchronizedMap(new WeakHashMap<XCQLCache ,Boolean>());
+    
+    
+    
+    /** 缓存的最大条数 */
+    private final int                                     maxSize;
+    
+    /** 缓存的有效时长（单位：毫秒）。小于等于0时，不按时长过期 */
+    private final long                                    ttl;
+    
+    /** 缓存数据。按访问顺序排列，首个为最久未被访问的 */
+    private final LinkedHashMap<XCQLCacheKey ,XCQLCacheValue> datas;
+    
+    /** 失效版本号。每次失效时加1 */
+    private final AtomicLong                              version;
+    
+    /** 统计：命中次数 */
+    private final AtomicLong                              hitCount;
+    
+    /** 统计：未命中次数 */
+    private final AtomicLong                              missCount;
+    
+    /** 统计：失效次数 */
+    private final AtomicLong                              invalidCount;
+    
+    
+    
+    /**
+     * 失效所有缓存中，涉及相同节点标签（或关系类型）的缓存
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Labels  写操作涉及的节点标签及关系类型。为空时，失效所有缓存
+     */
+    public static void invalidates(Set<String> i_Labels)
+    {
+        XCQLCache [] v_Caches = null;
+        
+        synchronized ( $Caches )
+        {
+            if ( $Caches.isEmpty() )
+            {
+                return;
+            }
+            v_Caches = $Caches.keySet().toArray(new XCQLCache[0]);
+        }
+        
+        for (XCQLCache v_Cache : v_Caches)
+        {
+            v_Cache.invalidate(i_Labels);
+        }
+    }
+    
+    
+    
+    /**
+     * 构造器
+     * 
+     * @param i_MaxSize  缓存的最大条数
+     * @param i_TTL      缓存的有效时长（单位：毫秒）。小于等于0时，不按时长过期
+     */
+    public XCQLCache(int i_MaxSize ,long i_TTL)
+    {
+        this.maxSize      = i_MaxSize;
+        this.ttl          = i_TTL;
+        this.datas        = new LinkedHashMap<XCQLCacheKey ,XCQLCacheValue>(16 ,0.75f ,true);
+        this.version      = new AtomicLong(0L);
+        this.hitCount     = new AtomicLong(0L);
+        this.missCount    = new AtomicLong(0L);
+        this.invalidCount = new AtomicLong(0L);
+        
+        $Caches.put(this ,Boolean.TRUE);
+    }
+    
+    
+    
+    /**
+     * 生成缓存的Key
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_DSCQL        数据库连接池组
+     * @param i_Query        可执行的CQL及参数
+     * @param i_StartRow     开始读取的行号
+     * @param i_PagePerSize  每页显示多少条数据
+     * @return
+     */
+    XCQLCacheKey newKey(DataSourceCQL i_DSCQL ,Query i_Query ,int i_StartRow ,int i_PagePerSize)
+    {
+        return new XCQLCacheKey(i_DSCQL ,i_Query ,i_StartRow ,i_PagePerSize ,this.version.get());
+    }
+    
+    
+    
+    /**
+     * 获取缓存的查询结果
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Key  缓存的Key
+     * @return       缓存的浅拷贝。未命中或已过期时返回NULL
+     */
+    XCQLData get(XCQLCacheKey i_Key)
+    {
+        XCQLCacheValue v_Value = null;
+        
+        synchronized ( this.datas )
+        {
+            v_Value = this.datas.get(i_Key);
+            
+            if ( v_Value != null && this.ttl > 0 && System.currentTimeMillis() - v_Value.getCreateTime() > this.ttl )
+            {
+                this.datas.remove(i_Key);
+                v_Value = null;
+            }
+        }
+        
+        if ( v_Value == null )
+        {
+            this.missCount.incrementAndGet();
+            return null;
+        }
+        
+        this.hitCount.incrementAndGet();
+        return v_Value.getData().shallowCopy();
+    }
+    
+    
+    
+    /**
+     * 写入缓存（写入的是查询结果的浅拷贝）。生成Key之后有失效发生时，不写入
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Key     缓存的Key。须在执行查询之前生成
+     * @param i_Data    查询结果
+     * @param i_Labels  查询涉及的节点标签及关系类型
+     */
+    void put(XCQLCacheKey i_Key ,XCQLData i_Data ,Set<String> i_Labels)
+    {
+        synchronized ( this.datas )
+        {
+            if ( i_Key.getVersion() != this.version.get() )
+            {
+                return;
+            }
+            
+            this.datas.put(i_Key ,new XCQLCacheValue(i_Data.shallowCopy() ,i_Labels));
+            
+            if ( this.datas.size() > this.maxSize )
+            {
+                Iterator<XCQLCacheKey> v_Iter = this.datas.keySet().iterator();
+                v_Iter.next();
+                v_Iter.remove();
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 失效涉及相同节点标签（或关系类型）的缓存
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Labels  写操作涉及的节点标签及关系类型。为空时，失效所有缓存
+     */
+    public void invalidate(Set<String> i_Labels)
+    {
+        synchronized ( this.datas )
+        {
+            this.version.incrementAndGet();
+            
+            Iterator<XCQLCacheValue> v_Iter = this.datas.values().iterator();
+            while ( v_Iter.hasNext() )
+            {
+                if ( v_Iter.next().isInvalid(i_Labels) )
+                {
+                    v_Iter.remove();
+                    this.invalidCount.incrementAndGet();
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 清空缓存
+     */
+    public void clear()
+    {
+        synchronized ( this.datas )
+        {
+            this.version.incrementAndGet();
+            this.datas.clear();
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：缓存的条数
+     */
+    public int size()
+    {
+        synchronized ( this.datas )
+        {
+            return this.datas.size();
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：缓存的最大条数
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+    
+    
+    
+    /**
+     * 获取：缓存的有效时长（单位：毫秒）
+     */
+    public long getTTL()
+    {
+        return ttl;
+    }
+    
+    
+    
+    /**
+     * 获取：统计：命中次数
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：未命中次数
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：失效次数
+     */
+    public long getInvalidCount()
+    {
+        return invalidCount.get();
+    }
+    
+}
+    
+    
+    
+    
+    
+/**
+ * 查询结果缓存的Key。也用作相同查询并发合并（XCQLSingleFlight）的Key
+ */
+final class XCQLCacheKey
+{
+    
+    /** 数据库连接池组。按实例比较 */
+    private final DataSourceCQL dsCQL;
+    
+    /** 可执行的CQL及参数 */
+    private final Query         query;
+    
+    /** 开始读取的行号 */
+    private final int           startRow;
+    
+    /** 每页显示多少条数据 */
+    private final int           pagePerSize;
+    
+    /** 生成Key时缓存的失效版本号。不参与比较 */
+    private final long          version;
+    
+    
+    
+    public XCQLCacheKey(DataSourceCQL i_DSCQL ,Query i_Query ,int i_StartRow ,int i_PagePerSize ,long i_Version)
+    {
+        this.dsCQL       = i_DSCQL;
+        this.query       = i_Query;
+        this.startRow    = i_StartRow;
+        this.pagePerSize = i_PagePerSize;
+        this.version     = i_Version;
+    }
+    
+    
+    
+    /**
+     * 获取：生成Key时缓存的失效版本号
+     */
+    public long getVersion()
+    {
+        return version;
+    }
+    
+    
+    
+    @Override
+    public int hashCode()
+    {
+        return (System.identityHashCode(this.dsCQL) * 31 + this.query.hashCode()) * 31 + this.startRow * 31 + this.pagePerSize;
+    }
+    
+    
+    
+    @Override
+    public boolean equals(Object i_Other)
+    {
+        if ( this == i_Other )
+        {
+            return true;
+        }
+        else if ( !(i_Other instanceof XCQLCacheKey) )
+        {
+            return false;
+        }
+        
+        XCQLCacheKey v_Other = (XCQLCacheKey) i_Other;
+        return this.dsCQL       == v_Other.dsCQL
+            && this.startRow    == v_Other.startRow
+            && this.pagePerSize == v_Other.pagePerSize
+            && this.query.equals(v_Other.query);
+    }
+    
+}
+    
+    
+    
+    
+    
+/**
+ * 查询结果缓存的值
+ */
+final class XCQLCacheValue
+{
+    
+    /** 查询结果 */
+    private final XCQLData    data;
+    
+    /** 查询涉及的节点标签及关系类型。为空时，视为涉及所有标签 */
+    private final Set<String> labels;
+    
+    /** 写入缓存的时间 */
+    private final long        createTime;
+    
+    
+    
+    public XCQLCacheValue(XCQLData i_Data ,Set<String> i_Labels)
+    {
+        this.data       = i_Data;
+        this.labels     = i_Labels;
+        this.createTime = System.currentTimeMillis();
+    }
+    
+    
+    
+    /**
+     * 写操作涉及的节点标签（或关系类型）是否使本缓存失效
+     * 
+     * @param i_Labels  写操作涉及的节点标签及关系类型。为空时，失效所有缓存
+     * @return
+     */
+    public boolean isInvalid(Set<String> i_Labels)
+    {
+        if ( i_Labels == null || i_Labels.isEmpty() || this.labels == null || this.labels.isEmpty() )
+        {
+            return true;
+        }
+        
+        for (String v_Label : i_Labels)
+        {
+            if ( this.labels.contains(v_Label) )
+            {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    
+    
+    /**
+     * 获取：查询结果
+     */
+    public XCQLData getData()
+    {
+        return data;
+    }
+    
+    
+    
+    /**
+     * 获取：写入缓存的时间
+     */
+    public long getCreateTime()
+    {
+        return createTime;
+    }
+    
+}
+    
\ No newline at end of file
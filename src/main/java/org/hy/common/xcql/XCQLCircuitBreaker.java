@@ -0,0 +1,559 @@
+package org.hy.common.xcql;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
+import org.hy.common.xml.log.Logger;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.exceptions.SessionExpiredException;
+
+
+
+
+
+/**
+ * 数据库连接信息（DataSourceCQL）的熔断器。
+ * 
+ * 数据库宕机时，不再让每个请求都等待驱动的连接超时，而是快速失败。
+ * 
+ * 三种状态：
+ *   Closed   ：关闭（正常）。按最近 windowSize 次请求统计失败率，请求数不少于 minRequests 且失败率不小于 errorRate 时，转为打开状态
+ *   Open     ：打开（熔断）。所有请求快速失败。openTime 毫秒后，转为半开状态
+ *   HalfOpen ：半开（试探）。只放行一次试探请求，成功则转为关闭状态，失败则重新转为打开状态。
+ *              试探请求超过 openTime 毫秒仍无结果时，再放行一次试探请求
+ * 
+ * 失败的判定：
+ *   1. 连接类的异常（数据库不可用、会话过期、网络I/O异常）。CQL语法、约束等业务类的异常不计为失败；
+ *      瞬时错误（如死锁、获取锁超时）是正常的写竞争，由重试处理，也不计为失败，防止健康的数据库被熔断；
+ *   2. 非事务会话的用时超过 slowCallTime 毫秒时，计为失败（慢调用）。slowCallTime 小于等于0时不判定慢调用。
+ * 
+ * 另外，健康检查（见 XCQLHealthChecker）的探测结果直接转换状态：探测失败转为打开状态，探测成功转为关闭状态。
+ * 
+ * 用法：数据库连接信息的配置中
+ *   <circuitBreaker class="org.hy.common.xcql.XCQLCircuitBreaker">
+ *       <errorRate>0.5</errorRate>
+ *       <openTime>30000</openTime>
+ *   </circuitBreaker>
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  添加：关闭状态且请求窗口已满、无失败时，记录成功的请求不再加锁
+ *              v3.0  2026-10-18  修正：可序列化，与所属的 DataSourceCQL 一同序列化。反序列化后重置为关闭状态
+ *              v4.0  2026-10-18  修正：只有连接类的异常计为失败，瞬时错误（TransientException）等可重试的异常不再计为失败
+ */
+public class XCQLCircuitBreaker implements Serializable
+{
+    
+    private static final long   serialVersionUID = 2318649504728716405L;
+    
+    private static final Logger $Logger          = new Logger(XCQLCircuitBreaker.class ,true);
+    
+    /** 状态：关闭（正常） */
+    public  static final String $State_Closed    = "Closed";
+    
+    /** 状态：打开（熔断） */
+    public  static final String $State_Open      = "Open";
+    
+    /** 状态：半开（试探） */
+    public  static final String $State_HalfOpen  = "HalfOpen";
+    
+    
+    
+    /** 统计失败率的请求窗口大小（最近多少次请求）。默认为：20 */
+    private int             windowSize;
+    
+    /** 统计失败率的最少请求数。窗口内的请求数少于此值时，不会打开。默认为：10 */
+    private int             minRequests;
+    
+    /** 打开熔断的失败率，取值范围(0 ,1]。默认为：0.5 */
+    private double          errorRate;
+    
+    /** 慢调用的时长（单位：毫秒）。小于等于0时不判定慢调用。默认为：0 */
+    private long            slowCallTime;
+    
+    /** 打开状态的持续时长（单位：毫秒）。默认为：30秒 */
+    private long            openTime;
+    
+    /** 数据库的名称。用于日志 */
+    private String          name;
+    
+    /** 当前状态 */
+    private volatile String state;
+    
+    /** 打开（或半开试探）的截止时间（毫秒数） */
+    private volatile long   openUntil;
+    
+    /** 请求窗口。true表示失败 */
+    private boolean []      window;
+    
+    /** 请求窗口的下一个写入位置 */
+    private int             windowIndex;
+    
+    /** 请求窗口内的请求数 */
+    private volatile int    windowCount;
+    
+    /** 请求窗口内的失败数 */
+    private volatile int    windowFailCount;
+    
+    /** 统计：打开的次数 */
+    private long            openCount;
+    
+    
+    
+    /**
+     * 是否为计入失败的异常（连接类的异常）
+     * 
+     * 只有数据库不可用（含连接读取超时）、会话过期及网络I/O异常（含异常原因）计为失败。
+     * 瞬时错误（TransientException，如死锁、获取锁超时）不计为失败。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修正：可重试的异常（RetryableException）不再都计为失败
+     * 
+     * @param i_Exce
+     * @return
+     */
+    public static boolean isFailure(Throwable i_Exce)
+    {
+        Throwable v_Exce = i_Exce;
+        
+        for (int x=0; x<8 && v_Exce != null; x++)
+        {
+            if ( v_Exce instanceof ServiceUnavailableException
+              || v_Exce instanceof SessionExpiredException
+              || v_Exce instanceof IOException )
+            {
+                return true;
+            }
+            v_Exce = v_Exce.getCause();
+        }
+        
+        return false;
+    }
+    
+    
+    
+    public XCQLCircuitBreaker()
+    {
+        this.minRequests  = 10;
+        this.errorRate    = 0.5D;
+        this.slowCallTime = 0L;
+        this.openTime     = 30 * 1000L;
+        this.name         = "";
+        this.state        = $State_Closed;
+        this.openUntil    = 0L;
+        this.openCount    = 0L;
+        this.setWindowSize(20);
+    }
+    
+    
+    
+    /**
+     * 是否可用。关闭状态，或打开（半开）状态已到期可放行试探请求时为可用。不占用半开状态的试探机会
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return
+     */
+    public boolean isAvailable()
+    {
+        return this.state == $State_Closed || System.currentTimeMillis() >= this.openUntil;
+    }
+    
+    
+    
+    /**
+     * 申请执行一次请求。半开状态时，只有一个请求能申请成功（试探请求）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return  返回false时，请求应快速失败
+     */
+    public boolean allowRequest()
+    {
+        if ( this.state == $State_Closed )
+        {
+            return true;
+        }
+        
+        synchronized ( this )
+        {
+            if ( this.state == $State_Closed )
+            {
+                return true;
+            }
+            
+            long v_Now = System.currentTimeMillis();
+            if ( v_Now < this.openUntil )
+            {
+                return false;
+            }
+            
+            // 打开状态到期，或上次的试探请求超时无结果，放行本次试探请求
+            this.state     = $State_HalfOpen;
+            this.openUntil = v_Now + this.openTime;
+            return true;
+        }
+    }
+    
+    
+    
+    /**
+     * 记录一次成功的请求
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_TimeLen  请求的用时（单位：毫秒）。小于0时不判定慢调用
+     */
+    public void onSuccess(long i_TimeLen)
+    {
+        if ( this.slowCallTime > 0L && i_TimeLen > this.slowCallTime )
+        {
+            this.onFailure();
+            return;
+        }
+        
+        // 正常运行时的快速路径：窗口已满且全是成功的请求，再记录一次成功不改变窗口的统计结果
+        if ( this.state == $State_Closed && this.windowFailCount == 0 && this.windowCount >= this.windowSize )
+        {
+            return;
+        }
+        
+        synchronized ( this )
+        {
+            if ( this.state == $State_HalfOpen )
+            {
+                this.toClosed();
+            }
+            else
+            {
+                this.record(false);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 记录一次失败的请求
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     */
+    public void onFailure()
+    {
+        synchronized ( this )
+        {
+            if ( this.state == $State_HalfOpen )
+            {
+                this.toOpen();
+            }
+            else if ( this.state == $State_Closed )
+            {
+                this.record(true);
+                
+                if ( this.windowCount >= this.minRequests && this.windowFailCount >= this.windowCount * this.errorRate )
+                {
+                    this.toOpen();
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 健康检查的探测结果
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_IsHealthy  是否健康
+     */
+    public synchronized void onProbe(boolean i_IsHealthy)
+    {
+        if ( i_IsHealthy )
+        {
+            if ( this.state != $State_Closed )
+            {
+                this.toClosed();
+            }
+        }
+        else if ( this.state != $State_Open )
+        {
+            this.toOpen();
+        }
+        else
+        {
+            // 已打开时，顺延打开状态的截止时间，不放行注定失败的试探请求
+            this.openUntil = System.currentTimeMillis() + this.openTime;
+        }
+    }
+    
+    
+    
+    /**
+     * 重置为关闭状态，并清空请求窗口
+     */
+    public synchronized void reset()
+    {
+        this.state     = $State_Closed;
+        this.openUntil = 0L;
+        this.clearWindow();
+    }
+    
+    
+    
+    /**
+     * 反序列化。只恢复配置，状态重置为关闭状态。
+     * 
+     * 状态按常量的引用判定，且打开的截止时间只对原进程有效，所以不沿用序列化前的状态
+     * 
+     * @param i_Input
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream i_Input) throws IOException ,ClassNotFoundException
+    {
+        i_Input.defaultReadObject();
+        this.reset();
+    }
+    
+    
+    
+    /**
+     * 转为打开状态
+     */
+    private void toOpen()
+    {
+        this.state     = $State_Open;
+        this.openUntil = System.currentTimeMillis() + this.openTime;
+        this.openCount++;
+        this.clearWindow();
+        
+        $Logger.warn("DataSourceCQL[" + this.name + "] circuit breaker is open, fail fast in " + this.openTime + "ms.");
+    }
+    
+    
+    
+    /**
+     * 转为关闭状态
+     */
+    private void toClosed()
+    {
+        this.state     = $State_Closed;
+        this.openUntil = 0L;
+        this.clearWindow();
+        
+        $Logger.info("DataSourceCQL[" + this.name + "] circuit breaker is closed.");
+    }
+    
+    
+    
+    /**
+     * 记录到请求窗口中
+     * 
+     * @param i_IsFailure  是否失败
+     */
+    private void record(boolean i_IsFailure)
+    {
+        if ( this.windowCount >= this.window.length )
+        {
+            if ( this.window[this.windowIndex] )
+            {
+                this.windowFailCount--;
+            }
+        }
+        else
+        {
+            this.windowCount++;
+        }
+        
+        this.window[this.windowIndex] = i_IsFailure;
+        if ( i_IsFailure )
+        {
+            this.windowFailCount++;
+        }
+        
+        this.windowIndex = (this.windowIndex + 1) % this.window.length;
+    }
+    
+    
+    
+    /**
+     * 清空请求窗口
+     */
+    private void clearWindow()
+    {
+        this.windowIndex     = 0;
+        this.windowCount     = 0;
+        this.windowFailCount = 0;
+    }
+    
+    
+    
+    /**
+     * 获取：当前状态
+     */
+    public String getState()
+    {
+        return state;
+    }
+    
+    
+    
+    /**
+     * 获取：统计：打开的次数
+     */
+    public synchronized long getOpenCount()
+    {
+        return openCount;
+    }
+    
+    
+    
+    /**
+     * 获取：统计失败率的请求窗口大小（最近多少次请求）。默认为：20
+     */
+    public int getWindowSize()
+    {
+        return windowSize;
+    }
+    
+    
+    
+    /**
+     * 设置：统计失败率的请求窗口大小（最近多少次请求）。默认为：20
+     * 
+     * @param i_WindowSize
+     */
+    public synchronized void setWindowSize(int i_WindowSize)
+    {
+        if ( i_WindowSize <= 0 )
+        {
+            throw new IllegalArgumentException("WindowSize[" + i_WindowSize + "] must be greater than 0.");
+        }
+        
+        this.windowSize = i_WindowSize;
+        this.window     = new boolean[i_WindowSize];
+        this.clearWindow();
+    }
+    
+    
+    
+    /**
+     * 获取：统计失败率的最少请求数。默认为：10
+     */
+    public int getMinRequests()
+    {
+        return minRequests;
+    }
+    
+    
+    
+    /**
+     * 设置：统计失败率的最少请求数。默认为：10
+     * 
+     * @param i_MinRequests
+     */
+    public void setMinRequests(int i_MinRequests)
+    {
+        this.minRequests = i_MinRequests;
+    }
+    
+    
+    
+    /**
+     * 获取：打开熔断的失败率，取值范围(0 ,1]。默认为：0.5
+     */
+    public double getErrorRate()
+    {
+        return errorRate;
+    }
+    
+    
+    
+    /**
+     * 设置：打开熔断的失败率，取值范围(0 ,1]。默认为：0.5
+     * 
+     * @param i_ErrorRate
+     */
+    public void setErrorRate(double i_ErrorRate)
+    {
+        if ( i_ErrorRate <= 0D || i_ErrorRate > 1D )
+        {
+            throw new IllegalArgumentException("ErrorRate[" + i_ErrorRate + "] must be in (0 ,1].");
+        }
+        
+        this.errorRate = i_ErrorRate;
+    }
+    
+    
+    
+    /**
+     * 获取：慢调用的时长（单位：毫秒）。小于等于0时不判定慢调用。默认为：0
+     */
+    public long getSlowCallTime()
+    {
+        return slowCallTime;
+    }
+    
+    
+    
+    /**
+     * 设置：慢调用的时长（单位：毫秒）。小于等于0时不判定慢调用。默认为：0
+     * 
+     * @param i_SlowCallTime
+     */
+    public void setSlowCallTime(long i_SlowCallTime)
+    {
+        this.slowCallTime = i_SlowCallTime;
+    }
+    
+    
+    
+    /**
+     * 获取：打开状态的持续时长（单位：毫秒）。默认为：30秒
+     */
+    public long getOpenTime()
+    {
+        return openTime;
+    }
+    
+    
+    
+    /**
+     * 设置：打开状态的持续时长（单位：毫秒）。默认为：30秒
+     * 
+     * @param i_OpenTime
+     */
+    public void setOpenTime(long i_OpenTime)
+    {
+        this.openTime = i_OpenTime;
+    }
+    
+    
+    
+    /**
+     * 设置：数据库的名称。用于日志
+     * 
+     * @param i_Name
+     */
+    void setName(String i_Name)
+    {
+        this.name = i_Name;
+    }
+    
+}
+    
\ No newline at end of file
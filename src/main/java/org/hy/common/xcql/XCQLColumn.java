@@ -0,0 +1,611 @@
+package org.hy.common.xcql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.types.Type;
+
+
+
+
+
+/**
+ * 列式结果集中的一列。按列的数据类型保存在基本类型的数组中，不装箱。
+ * 
+ * 列的数据类型由第一个非NULL值决定：
+ *   1. Neo4j的 INTEGER 保存在 long[] 中；
+ *   2. Neo4j的 FLOAT   保存在 double[] 中；
+ *   3. Neo4j的 BOOLEAN 保存在 boolean[] 中；
+ *   4. Neo4j的 STRING  按字典编码，保存字典下标的 int[] 及去重后的字典；
+ *   5. 其它类型保存在 Object[] 中，值同 XCQLMethod.getValue(Value) 。
+ * 
+ * 之后出现其它类型的值时：INTEGER 与 FLOAT 混合时为 FLOAT 列，其它情况转为 Object[] 列。
+ * 
+ * NULL值单独记录，基本类型数组中对应的位置为默认值。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class XCQLColumn
+{
+    
+    /** 列的数据类型：全部为NULL值 */
+    public static final int $Type_Null    = 0;
+    
+    /** 列的数据类型：long[] */
+    public static final int $Type_Long    = 1;
+    
+    /** 列的数据类型：double[] */
+    public static final int $Type_Double  = 2;
+    
+    /** 列的数据类型：boolean[] */
+    public static final int $Type_Boolean = 3;
+    
+    /** 列的数据类型：字典编码的字符串 int[] */
+    public static final int $Type_String  = 4;
+    
+    /** 列的数据类型：Object[] */
+    public static final int $Type_Object  = 5;
+    
+    /** 数组的初始容量 */
+    private static final int $InitCapacity = 16;
+    
+    
+    
+    /** 列名称 */
+    private final String           name;
+    
+    /** 列的数据类型 */
+    private int                    type;
+    
+    /** 已填充的行数 */
+    private int                    size;
+    
+    /** 值为NULL的行 */
+    private final BitSet           nulls;
+    
+    /** $Type_Long 时的值 */
+    private long []                longs;
+    
+    /** $Type_Double 时的值 */
+    private double []              doubles;
+    
+    /** $Type_Boolean 时的值 */
+    private boolean []             booleans;
+    
+    /** $Type_String 时的值，为字典下标 */
+    private int []                 codes;
+    
+    /** $Type_String 时的字典 */
+    private List<String>           dictionary;
+    
+    /** $Type_String 时的字典下标。Map.key为字符串，Map.value为字典下标 */
+    private Map<String ,Integer>   dictionaryIndexes;
+    
+    /** $Type_Object 时的值 */
+    private Object []              objects;
+    
+    
+    
+    public XCQLColumn(String i_Name)
+    {
+        this.name  = i_Name;
+        this.type  = $Type_Null;
+        this.size  = 0;
+        this.nulls = new BitSet();
+    }
+    
+    
+    
+    /**
+     * 填充一行的值。行号之前未填充的行补为NULL值。同一行号重复填充时，以后填充的为准
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_RowNo  行号。下标从0开始
+     * @param i_Value  Neo4j的值
+     */
+    public void set(int i_RowNo ,Value i_Value)
+    {
+        if ( this.size > i_RowNo )
+        {
+            // 同一行号重复填充（如 RETURN n1 ,n2 时两个节点有同名属性）
+            this.size = i_RowNo;
+            this.nulls.clear(i_RowNo);
+        }
+        
+        this.fill(i_RowNo);
+        this.append(i_Value);
+    }
+    
+    
+    
+    /**
+     * 补齐NULL值到指定的行数
+     * 
+     * @param i_Size  行数
+     */
+    public void fill(int i_Size)
+    {
+        if ( this.size < i_Size )
+        {
+            this.ensureCapacity(i_Size);
+            this.nulls.set(this.size ,i_Size);
+            this.size = i_Size;
+        }
+    }
+    
+    
+    
+    /**
+     * 追加一个值
+     * 
+     * @param i_Value  Neo4j的值
+     */
+    private void append(Value i_Value)
+    {
+        Type v_ValueType = i_Value.type();
+        int  v_Type      = toType(v_ValueType);
+        
+        if ( v_Type == $Type_Null )
+        {
+            this.ensureCapacity(this.size + 1);
+            this.nulls.set(this.size++);
+            return;
+        }
+        
+        if ( this.type != v_Type )
+        {
+            this.changeType(v_Type);
+        }
+        
+        this.ensureCapacity(this.size + 1);
+        
+        switch ( this.type )
+        {
+            case $Type_Long:
+                this.longs[this.size] = i_Value.asLong();
+                break;
+            case $Type_Double:
+                this.doubles[this.size] = v_Type == $Type_Long ? i_Value.asLong() : i_Value.asDouble();
+                break;
+            case $Type_Boolean:
+                this.booleans[this.size] = i_Value.asBoolean();
+                break;
+            case $Type_String:
+                this.codes[this.size] = this.encode(i_Value.asString());
+                break;
+            default:
+                this.objects[this.size] = toObject(v_Type ,i_Value);
+                break;
+        }
+        
+        this.size++;
+    }
+    
+    
+    
+    /**
+     * Neo4j的数据类型转为列的数据类型
+     * 
+     * @param i_ValueType  Neo4j的数据类型
+     * @return
+     */
+    private static int toType(Type i_ValueType)
+    {
+        if ( InternalTypeSystem.TYPE_SYSTEM.INTEGER().equals(i_ValueType) )
+        {
+            return $Type_Long;
+        }
+        else if ( InternalTypeSystem.TYPE_SYSTEM.FLOAT().equals(i_ValueType) )
+        {
+            return $Type_Double;
+        }
+        else if ( InternalTypeSystem.TYPE_SYSTEM.STRING().equals(i_ValueType) )
+        {
+            return $Type_String;
+        }
+        else if ( InternalTypeSystem.TYPE_SYSTEM.BOOLEAN().equals(i_ValueType) )
+        {
+            return $Type_Boolean;
+        }
+        else if ( InternalTypeSystem.TYPE_SYSTEM.NULL().equals(i_ValueType) )
+        {
+            return $Type_Null;
+        }
+        else
+        {
+            return $Type_Object;
+        }
+    }
+    
+    
+    
+    /**
+     * Object[] 列中保存的值
+     * 
+     * @param i_Type   值的数据类型
+     * @param i_Value  Neo4j的值
+     * @return
+     */
+    private static Object toObject(int i_Type ,Value i_Value)
+    {
+        switch ( i_Type )
+        {
+            case $Type_Long:
+                return i_Value.asLong();
+            case $Type_Double:
+                return i_Value.asDouble();
+            default:
+                return XCQLMethod.getValue(i_Value);
+        }
+    }
+    
+    
+    
+    /**
+     * 字符串的字典编码
+     * 
+     * @param i_Value  字符串
+     * @return         字典下标
+     */
+    private int encode(String i_Value)
+    {
+        Integer v_Code = this.dictionaryIndexes.get(i_Value);
+        
+        if ( v_Code == null )
+        {
+            v_Code = this.dictionary.size();
+            this.dictionary.add(i_Value);
+            this.dictionaryIndexes.put(i_Value ,v_Code);
+        }
+        
+        return v_Code.intValue();
+    }
+    
+    
+    
+    /**
+     * 列的数据类型变化时，转换已填充的值
+     * 
+     * @param i_ValueType  新值的数据类型
+     */
+    private void changeType(int i_ValueType)
+    {
+        int v_Capacity = Math.max($InitCapacity ,this.size);
+        
+        if ( this.type == $Type_Null )
+        {
+            this.type = i_ValueType;
+            
+            switch ( this.type )
+            {
+                case $Type_Long:
+                    this.longs = new long[v_Capacity];
+                    break;
+                case $Type_Double:
+                    this.doubles = new double[v_Capacity];
+                    break;
+                case $Type_Boolean:
+                    this.booleans = new boolean[v_Capacity];
+                    break;
+                case $Type_String:
+                    this.codes             = new int[v_Capacity];
+                    this.dictionary        = new ArrayList<String>();
+                    this.dictionaryIndexes = new HashMap<String ,Integer>();
+                    break;
+                default:
+                    this.objects = new Object[v_Capacity];
+                    break;
+            }
+        }
+        else if ( this.type == $Type_Long && i_ValueType == $Type_Double )
+        {
+            this.doubles = new double[this.longs.length];
+            for (int i=0; i<this.size; i++)
+            {
+                this.doubles[i] = this.longs[i];
+            }
+            this.longs = null;
+            this.type  = $Type_Double;
+        }
+        else if ( this.type == $Type_Double && i_ValueType == $Type_Long )
+        {
+            // Nothing. 整数值按浮点数保存
+        }
+        else if ( this.type != $Type_Object )
+        {
+            Object [] v_Objects = new Object[v_Capacity];
+            for (int i=0; i<this.size; i++)
+            {
+                v_Objects[i] = this.isNull(i) ? null : this.getObject(i);
+            }
+            this.longs             = null;
+            this.doubles           = null;
+            this.booleans          = null;
+            this.codes             = null;
+            this.dictionary        = null;
+            this.dictionaryIndexes = null;
+            this.objects           = v_Objects;
+            this.type              = $Type_Object;
+        }
+    }
+    
+    
+    
+    /**
+     * 确保数组的容量
+     * 
+     * @param i_Capacity  最小容量
+     */
+    private void ensureCapacity(int i_Capacity)
+    {
+        int v_Length = this.capacity();
+        
+        if ( v_Length >= i_Capacity || this.type == $Type_Null )
+        {
+            return;
+        }
+        
+        int v_NewLength = Math.max(i_Capacity ,v_Length + (v_Length >> 1));
+        
+        switch ( this.type )
+        {
+            case $Type_Long:
+                this.longs = Arrays.copyOf(this.longs ,v_NewLength);
+                break;
+            case $Type_Double:
+                this.doubles = Arrays.copyOf(this.doubles ,v_NewLength);
+                break;
+            case $Type_Boolean:
+                this.booleans = Arrays.copyOf(this.booleans ,v_NewLength);
+                break;
+            case $Type_String:
+                this.codes = Arrays.copyOf(this.codes ,v_NewLength);
+                break;
+            default:
+                this.objects = Arrays.copyOf(this.objects ,v_NewLength);
+                break;
+        }
+    }
+    
+    
+    
+    private int capacity()
+    {
+        switch ( this.type )
+        {
+            case $Type_Long:
+                return this.longs.length;
+            case $Type_Double:
+                return this.doubles.length;
+            case $Type_Boolean:
+                return this.booleans.length;
+            case $Type_String:
+                return this.codes.length;
+            case $Type_Object:
+                return this.objects.length;
+            default:
+                return 0;
+        }
+    }
+    
+    
+    
+    /**
+     * 填充完成后，数组裁剪为实际的行数
+     */
+    public void trim()
+    {
+        switch ( this.type )
+        {
+            case $Type_Long:
+                this.longs = Arrays.copyOf(this.longs ,this.size);
+                break;
+            case $Type_Double:
+                this.doubles = Arrays.copyOf(this.doubles ,this.size);
+                break;
+            case $Type_Boolean:
+                this.booleans = Arrays.copyOf(this.booleans ,this.size);
+                break;
+            case $Type_String:
+                this.codes = Arrays.copyOf(this.codes ,this.size);
+                break;
+            case $Type_Object:
+                this.objects = Arrays.copyOf(this.objects ,this.size);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：列名称
+     */
+    public String getName()
+    {
+        return name;
+    }
+    
+    
+    
+    /**
+     * 获取：列的数据类型。如 $Type_Long
+     */
+    public int getType()
+    {
+        return type;
+    }
+    
+    
+    
+    /**
+     * 获取：行数
+     */
+    public int size()
+    {
+        return size;
+    }
+    
+    
+    
+    /**
+     * 是否为NULL值
+     * 
+     * @param i_RowNo  行号。下标从0开始
+     */
+    public boolean isNull(int i_RowNo)
+    {
+        return this.type == $Type_Null || this.nulls.get(i_RowNo);
+    }
+    
+    
+    
+    /**
+     * 获取 $Type_Long 列的值。NULL值时为0
+     * 
+     * @param i_RowNo  行号。下标从0开始
+     */
+    public long getLong(int i_RowNo)
+    {
+        return this.longs[i_RowNo];
+    }
+    
+    
+    
+    /**
+     * 获取 $Type_Long 或 $Type_Double 列的值。NULL值时为0
+     * 
+     * @param i_RowNo  行号。下标从0开始
+     */
+    public double getDouble(int i_RowNo)
+    {
+        return this.type == $Type_Long ? this.longs[i_RowNo] : this.doubles[i_RowNo];
+    }
+    
+    
+    
+    /**
+     * 获取 $Type_Boolean 列的值。NULL值时为false
+     * 
+     * @param i_RowNo  行号。下标从0开始
+     */
+    public boolean getBoolean(int i_RowNo)
+    {
+        return this.booleans[i_RowNo];
+    }
+    
+    
+    
+    /**
+     * 获取 $Type_String 列的值
+     * 
+     * @param i_RowNo  行号。下标从0开始
+     */
+    public String getString(int i_RowNo)
+    {
+        return this.isNull(i_RowNo) ? null : this.dictionary.get(this.codes[i_RowNo]);
+    }
+    
+    
+    
+    /**
+     * 获取任意类型列的值（装箱的）。仅用于少量访问，大量访问时请按列的数据类型访问
+     * 
+     * @param i_RowNo  行号。下标从0开始
+     */
+    public Object getObject(int i_RowNo)
+    {
+        if ( this.isNull(i_RowNo) )
+        {
+            return null;
+        }
+        
+        switch ( this.type )
+        {
+            case $Type_Long:
+                return this.longs[i_RowNo];
+            case $Type_Double:
+                return this.doubles[i_RowNo];
+            case $Type_Boolean:
+                return this.booleans[i_RowNo];
+            case $Type_String:
+                return this.dictionary.get(this.codes[i_RowNo]);
+            default:
+                return this.objects[i_RowNo];
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：$Type_Long 时的值。填充完成后，数组长度等于行数
+     */
+    public long [] getLongs()
+    {
+        return longs;
+    }
+    
+    
+    
+    /**
+     * 获取：$Type_Double 时的值。填充完成后，数组长度等于行数
+     */
+    public double [] getDoubles()
+    {
+        return doubles;
+    }
+    
+    
+    
+    /**
+     * 获取：$Type_Boolean 时的值。填充完成后，数组长度等于行数
+     */
+    public boolean [] getBooleans()
+    {
+        return booleans;
+    }
+    
+    
+    
+    /**
+     * 获取：$Type_String 时的值，为字典下标。填充完成后，数组长度等于行数
+     */
+    public int [] getCodes()
+    {
+        return codes;
+    }
+    
+    
+    
+    /**
+     * 获取：$Type_String 时的字典
+     */
+    public List<String> getDictionary()
+    {
+        return dictionary;
+    }
+    
+    
+    
+    /**
+     * 获取：$Type_Object 时的值。填充完成后，数组长度等于行数
+     */
+    public Object [] getObjects()
+    {
+        return objects;
+    }
+    
+}
+    
\ No newline at end of file
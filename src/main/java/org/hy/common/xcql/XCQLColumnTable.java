@@ -0,0 +1,158 @@
+package org.hy.common.xcql;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+
+
+
+/**
+ * 列式结果集。用于聚合分析类的查询，如 MATCH (n) RETURN n.ts ,n.value 返回大量的数值点。
+ * 
+ * 每列的值按数据类型保存在基本类型的数组中（见 XCQLColumn），不为每个值装箱，也不为每行创建行级对象。
+ * 
+ * 用法：XCQL的结果集解释中配置
+ *   <table>org.hy.common.xcql.XCQLColumnTable</table>
+ * 
+ * 此时 row、fill、cfill 不生效。列名称的识别规则与 cfill 的固定方法相同：
+ *   1. RETURN n.ts ,n.value AS v 时，列名称为 ts 和 v ；
+ *   2. RETURN n 时，列名称为节点的属性名称。节点没有的属性为NULL值。
+ * 
+ * 通过 XCQLData.getDatas() 返回本类的实例。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class XCQLColumnTable
+{
+    
+    /** 所有列。按列首次出现的顺序 */
+    private final List<XCQLColumn>        columns;
+    
+    /** 列名称与列的映射 */
+    private final Map<String ,XCQLColumn> columnByName;
+    
+    /** 行数 */
+    private int                           rowCount;
+    
+    
+    
+    public XCQLColumnTable()
+    {
+        this.columns      = new ArrayList<XCQLColumn>();
+        this.columnByName = new HashMap<String ,XCQLColumn>();
+        this.rowCount     = 0;
+    }
+    
+    
+    
+    /**
+     * 获取（或添加）列
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Name  列名称
+     * @return
+     */
+    public XCQLColumn addColumn(String i_Name)
+    {
+        XCQLColumn v_Column = this.columnByName.get(i_Name);
+        
+        if ( v_Column == null )
+        {
+            v_Column = new XCQLColumn(i_Name);
+            this.columns.add(v_Column);
+            this.columnByName.put(i_Name ,v_Column);
+        }
+        
+        return v_Column;
+    }
+    
+    
+    
+    /**
+     * 一行填充完成
+     */
+    public void nextRow()
+    {
+        this.rowCount++;
+    }
+    
+    
+    
+    /**
+     * 所有行填充完成。所有列补齐NULL值到相同的行数，并裁剪数组
+     */
+    public void finish()
+    {
+        for (XCQLColumn v_Column : this.columns)
+        {
+            v_Column.fill(this.rowCount);
+            v_Column.trim();
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：行数
+     */
+    public int getRowCount()
+    {
+        return rowCount;
+    }
+    
+    
+    
+    /**
+     * 获取：列数
+     */
+    public int getColumnCount()
+    {
+        return this.columns.size();
+    }
+    
+    
+    
+    /**
+     * 获取列
+     * 
+     * @param i_Index  列下标。按列首次出现的顺序，下标从0开始
+     * @return
+     */
+    public XCQLColumn getColumn(int i_Index)
+    {
+        return this.columns.get(i_Index);
+    }
+    
+    
+    
+    /**
+     * 获取列
+     * 
+     * @param i_Name  列名称（区分大小写）
+     * @return        没有此列时返回NULL
+     */
+    public XCQLColumn getColumn(String i_Name)
+    {
+        return this.columnByName.get(i_Name);
+    }
+    
+    
+    
+    /**
+     * 获取：所有列。按列首次出现的顺序
+     */
+    public List<XCQLColumn> getColumns()
+    {
+        return columns;
+    }
+    
+}
+    
\ No newline at end of file
@@ -1,5 +1,13 @@
 package org.hy.common.xcql;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 
 
 
@@ -12,6 +20,8 @@ package org.hy.common.xcql;
  * @author      ZhengWei(HY)
  * @createDate  2023-06-02
  * @version     v1.0
+ *              v2.0  2026-10-18  添加：并行批量执行时各分区的用时时长
+ *              v3.0  2026-10-18  添加：浅拷贝 shallowCopy() ，用于相同查询的并发合并时，各线程获得独立的表级对象
  */
 public class XCQLData
 {
@@ -34,6 +44,9 @@ public class XCQLData
     /** 结果集的字段结构 */
     private DBTableMetaData metaData;
     
+    /** 并行批量执行时，各分区的用时时长(单位：毫秒)。非并行执行时为NULL */
+    private long []         partitionTimeLens;
+    
     
     
     public XCQLData(Object i_Datas ,long i_RowCount ,int i_ColCount ,long i_RelCount,long i_TimeLen ,DBTableMetaData i_MetaData)
@@ -118,4 +131,97 @@ public class XCQLData
         this.relCount = i_RelCount;
     }
     
+    
+    
+    /**
+     * 获取：并行批量执行时，各分区的用时时长(单位：毫秒)。非并行执行时为NULL
+     */
+    public long [] getPartitionTimeLens()
+    {
+        return partitionTimeLens;
+    }
+
+    
+    
+    /**
+     * 设置：并行批量执行时，各分区的用时时长(单位：毫秒)。非并行执行时为NULL
+     * 
+     * @param i_PartitionTimeLens 各分区的用时时长
+     */
+    public void setPartitionTimeLens(long [] i_PartitionTimeLens)
+    {
+        this.partitionTimeLens = i_PartitionTimeLens;
+    }
+    
+    
+    
+    /**
+     * 浅拷贝。
+     * 
+     * 表级对象为集合、Map时，复制为新的实例（优先用其公开的 clone() 方法，保持同一类型），元素仍是同一实例；
+     * 其它类型的表级对象（如 XCQLColumnTable、XCQLGraph）原样共享。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return
+     */
+    public XCQLData shallowCopy()
+    {
+        XCQLData v_Copy = new XCQLData(copyDatas(this.datas) ,this.rowCount ,this.colCount ,this.relCount ,this.timeLen ,this.metaData);
+        
+        if ( this.partitionTimeLens != null )
+        {
+            v_Copy.partitionTimeLens = this.partitionTimeLens.clone();
+        }
+        
+        return v_Copy;
+    }
+    
+    
+    
+    /**
+     * 复制集合、Map类型的表级对象。其它类型原样返回
+     * 
+     * @param i_Datas  表级对象
+     * @return
+     */
+    private static Object copyDatas(Object i_Datas)
+    {
+        if ( !(i_Datas instanceof Collection) && !(i_Datas instanceof Map) )
+        {
+            return i_Datas;
+        }
+        
+        if ( i_Datas instanceof Cloneable )
+        {
+            try
+            {
+                return i_Datas.getClass().getMethod("clone").invoke(i_Datas);
+            }
+            catch (Exception exce)
+            {
+                // 没有可访问的 clone() 方法时，按接口类型复制
+            }
+        }
+        
+        if ( i_Datas instanceof List )
+        {
+            return new ArrayList<Object>((List<?>) i_Datas);
+        }
+        else if ( i_Datas instanceof Set )
+        {
+            return new LinkedHashSet<Object>((Set<?>) i_Datas);
+        }
+        else if ( i_Datas instanceof Map )
+        {
+            return new LinkedHashMap<Object ,Object>((Map<? ,?>) i_Datas);
+        }
+        else
+        {
+            return new ArrayList<Object>((Collection<?>) i_Datas);
+        }
+    }
+    
 }
@@ -0,0 +1,41 @@
+package org.hy.common.xcql;
+
+import java.util.List;
+
+
+
+
+
+/**
+ * 多个负载数据库（XCQL.setDataSourceCQL() 添加的多个数据库连接池组）的选择策略接口
+ * 
+ * 已实现的策略见 org.hy.common.xcql.selector 包：
+ *   1. RoundRobinSelector   轮询
+ *   2. LeastActiveSelector  最少活动连接数
+ *   3. EWMASelector         会话用时的指数加权移动平均值最小
+ *   4. PowerOfTwoSelector   随机选择两个，取负载低的（Power of Two Choices）
+ *   5. WeightedSelector     按权重随机
+ * 
+ * 上述策略均会自动剔除出现异常的数据库，并在剔除时长后放行一次探测请求，探测成功后恢复。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public interface XCQLDataSourceSelector
+{
+    
+    /**
+     * 从多个负载数据库中选择一个
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_DataSourceCQLs  多个负载数据库。至少有一个元素
+     * @return                  不返回NULL
+     */
+    public DataSourceCQL select(List<DataSourceCQL> i_DataSourceCQLs);
+    
+}
+    
\ No newline at end of file
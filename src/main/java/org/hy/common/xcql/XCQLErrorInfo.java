@@ -3,6 +3,8 @@ package org.hy.common.xcql;
 import java.util.List;
 import java.util.Map;
 
+import org.neo4j.driver.Query;
+
 
 
 
@@ -13,6 +15,7 @@ import java.util.Map;
  * @author      ZhengWei(HY)
  * @createDate  2023-06-03
  * @version     v1.0
+ *              v2.0  2026-10-18  添加：参数化CQL的构造器
  */
 public class XCQLErrorInfo
 {
@@ -55,6 +58,13 @@ public class XCQLErrorInfo
         this.exce = i_Exce;
         this.xcql = i_XCQL;
     }
+    
+    
+    
+    public XCQLErrorInfo(Query i_Query ,Exception i_Exce ,XCQL i_XCQL)
+    {
+        this(XCQL.toCQL(i_Query) ,i_Exce ,i_XCQL);
+    }
 
     
     /**
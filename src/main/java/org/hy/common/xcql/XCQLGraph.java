@@ -0,0 +1,667 @@
+package org.hy.common.xcql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.types.Node;
+import org.neo4j.driver.types.Path;
+import org.neo4j.driver.types.Relationship;
+import org.neo4j.driver.types.Type;
+
+
+
+
+
+/**
+ * 内存中的紧凑图结构。保留查询返回的节点、关系、路径的拓扑结构，可在客户端反复遍历，而不用再次查询。
+ * 
+ * 用法：XCQL的结果集解释中配置
+ *   <table>org.hy.common.xcql.XCQLGraph</table>
+ * 
+ * 此时 row、fill、cfill 不生效。结果集中的节点、关系、路径（及它们的集合）均加入图中，其它类型的值忽略。
+ * 
+ * 存储结构：
+ *   1. 节点、关系均按首次出现的顺序编号（下标从0开始），通过 elementId 去重；
+ *   2. 出边、入边均为CSR（Compressed Sparse Row）结构的 int[] 数组；
+ *   3. 节点标签、关系类型均字符串驻留，保存为字典下标；
+ *   4. 节点属性、关系属性均为列式结构 XCQLColumnTable ，行号即为节点、关系的编号；
+ *   5. 只在关系中出现（未返回节点本身）的端点节点，没有标签及属性。
+ * 
+ * 通过 XCQLData.getDatas() 返回本类的实例。填充完成后只读，可多线程同时遍历。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class XCQLGraph
+{
+    
+    /** 遍历方向：出边 */
+    public static final int $Direction_Out  = 1;
+    
+    /** 遍历方向：入边 */
+    public static final int $Direction_In   = 2;
+    
+    /** 遍历方向：出边及入边 */
+    public static final int $Direction_Both = 3;
+    
+    
+    
+    /** 节点编号。Map.key为节点的elementId，Map.value为节点编号 */
+    private Map<String ,Integer>      nodeIndexes;
+    
+    /** 节点的elementId。下标为节点编号 */
+    private List<String>              nodeElementIds;
+    
+    /** 填充过程中的节点。只在关系中出现的端点节点为NULL。填充完成后释放 */
+    private List<Node>                nodes;
+    
+    /** 节点的标签。下标为节点编号，元素为标签字典的下标 */
+    private int [][]                  nodeLabels;
+    
+    /** 标签字典 */
+    private final List<String>        labels;
+    
+    /** 标签字典的下标 */
+    private final Map<String ,Integer> labelIndexes;
+    
+    /** 关系编号。Map.key为关系的elementId，Map.value为关系编号 */
+    private Map<String ,Integer>      relIndexes;
+    
+    /** 填充过程中的关系。填充完成后释放 */
+    private List<Relationship>        rels;
+    
+    /** 关系的elementId。下标为关系编号 */
+    private String []                 relElementIds;
+    
+    /** 关系的起始节点编号。下标为关系编号 */
+    private int []                    relStarts;
+    
+    /** 关系的结束节点编号。下标为关系编号 */
+    private int []                    relEnds;
+    
+    /** 关系的类型。下标为关系编号，元素为类型字典的下标 */
+    private int []                    relTypes;
+    
+    /** 关系类型字典 */
+    private final List<String>        types;
+    
+    /** 关系类型字典的下标 */
+    private final Map<String ,Integer> typeIndexes;
+    
+    /** 出边的CSR偏移量。节点i的出边为 outRels[outOffsets[i] ,outOffsets[i+1]) */
+    private int []                    outOffsets;
+    
+    /** 出边的关系编号 */
+    private int []                    outRels;
+    
+    /** 入边的CSR偏移量。节点i的入边为 inRels[inOffsets[i] ,inOffsets[i+1]) */
+    private int []                    inOffsets;
+    
+    /** 入边的关系编号 */
+    private int []                    inRels;
+    
+    /** 节点属性。行号为节点编号 */
+    private XCQLColumnTable           nodeProperties;
+    
+    /** 关系属性。行号为关系编号 */
+    private XCQLColumnTable           relProperties;
+    
+    
+    
+    public XCQLGraph()
+    {
+        this.nodeIndexes    = new HashMap<String ,Integer>();
+        this.nodeElementIds = new ArrayList<String>();
+        this.nodes          = new ArrayList<Node>();
+        this.labels         = new ArrayList<String>();
+        this.labelIndexes   = new HashMap<String ,Integer>();
+        this.relIndexes     = new HashMap<String ,Integer>();
+        this.rels           = new ArrayList<Relationship>();
+        this.types          = new ArrayList<String>();
+        this.typeIndexes    = new HashMap<String ,Integer>();
+    }
+    
+    
+    
+    /**
+     * 添加结果集中的一个值。节点、关系、路径及它们的集合加入图中，其它类型的值忽略
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Value  Neo4j的值
+     */
+    public void add(Value i_Value)
+    {
+        Type v_Type = i_Value.type();
+        
+        if ( InternalTypeSystem.TYPE_SYSTEM.NODE().equals(v_Type) )
+        {
+            this.addNode(i_Value.asNode());
+        }
+        else if ( InternalTypeSystem.TYPE_SYSTEM.RELATIONSHIP().equals(v_Type) )
+        {
+            this.addRelationship(i_Value.asRelationship());
+        }
+        else if ( InternalTypeSystem.TYPE_SYSTEM.PATH().equals(v_Type) )
+        {
+            Path v_Path = i_Value.asPath();
+            
+            for (Node v_Node : v_Path.nodes())
+            {
+                this.addNode(v_Node);
+            }
+            for (Relationship v_Rel : v_Path.relationships())
+            {
+                this.addRelationship(v_Rel);
+            }
+        }
+        else if ( InternalTypeSystem.TYPE_SYSTEM.LIST().equals(v_Type) )
+        {
+            for (Value v_Item : i_Value.values())
+            {
+                this.add(v_Item);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 添加节点
+     * 
+     * @param i_Node  节点
+     * @return        节点编号
+     */
+    private int addNode(Node i_Node)
+    {
+        int v_Index = this.addNodeIndex(i_Node.elementId());
+        
+        if ( this.nodes.get(v_Index) == null )
+        {
+            this.nodes.set(v_Index ,i_Node);
+        }
+        
+        return v_Index;
+    }
+    
+    
+    
+    /**
+     * 获取（或分配）节点编号
+     * 
+     * @param i_ElementId  节点的elementId
+     * @return             节点编号
+     */
+    private int addNodeIndex(String i_ElementId)
+    {
+        Integer v_Index = this.nodeIndexes.get(i_ElementId);
+        
+        if ( v_Index == null )
+        {
+            v_Index = this.nodeElementIds.size();
+            this.nodeIndexes.put(i_ElementId ,v_Index);
+            this.nodeElementIds.add(i_ElementId);
+            this.nodes.add(null);
+        }
+        
+        return v_Index.intValue();
+    }
+    
+    
+    
+    /**
+     * 添加关系。端点节点未添加时，先分配节点编号
+     * 
+     * @param i_Rel  关系
+     */
+    private void addRelationship(Relationship i_Rel)
+    {
+        if ( !this.relIndexes.containsKey(i_Rel.elementId()) )
+        {
+            this.relIndexes.put(i_Rel.elementId() ,this.rels.size());
+            this.rels.add(i_Rel);
+            this.addNodeIndex(i_Rel.startNodeElementId());
+            this.addNodeIndex(i_Rel.endNodeElementId());
+        }
+    }
+    
+    
+    
+    /**
+     * 字符串驻留
+     * 
+     * @param i_Value       字符串
+     * @param io_Dictionary 字典
+     * @param io_Indexes    字典的下标
+     * @return              字典的下标
+     */
+    private static int intern(String i_Value ,List<String> io_Dictionary ,Map<String ,Integer> io_Indexes)
+    {
+        Integer v_Index = io_Indexes.get(i_Value);
+        
+        if ( v_Index == null )
+        {
+            v_Index = io_Dictionary.size();
+            io_Dictionary.add(i_Value);
+            io_Indexes.put(i_Value ,v_Index);
+        }
+        
+        return v_Index.intValue();
+    }
+    
+    
+    
+    /**
+     * 所有值添加完成。生成CSR结构、标签、属性，并释放填充过程中的节点及关系
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     */
+    public void finish()
+    {
+        int v_NodeCount = this.nodeElementIds.size();
+        int v_RelCount  = this.rels.size();
+        
+        // 节点的标签及属性
+        this.nodeLabels     = new int[v_NodeCount][];
+        this.nodeProperties = new XCQLColumnTable();
+        for (int v_NIndex=0; v_NIndex<v_NodeCount; v_NIndex++)
+        {
+            Node v_Node = this.nodes.get(v_NIndex);
+            
+            if ( v_Node != null )
+            {
+                List<Integer> v_LabelIndexes = new ArrayList<Integer>();
+                for (String v_Label : v_Node.labels())
+                {
+                    v_LabelIndexes.add(intern(v_Label ,this.labels ,this.labelIndexes));
+                }
+                this.nodeLabels[v_NIndex] = v_LabelIndexes.stream().mapToInt(Integer::intValue).toArray();
+                
+                for (String v_Key : v_Node.keys())
+                {
+                    this.nodeProperties.addColumn(v_Key).set(v_NIndex ,v_Node.get(v_Key));
+                }
+            }
+            else
+            {
+                this.nodeLabels[v_NIndex] = new int[0];
+            }
+            
+            this.nodeProperties.nextRow();
+        }
+        this.nodeProperties.finish();
+        
+        // 关系的端点、类型及属性
+        this.relElementIds = new String[v_RelCount];
+        this.relStarts     = new int   [v_RelCount];
+        this.relEnds       = new int   [v_RelCount];
+        this.relTypes      = new int   [v_RelCount];
+        this.relProperties = new XCQLColumnTable();
+        for (int v_RIndex=0; v_RIndex<v_RelCount; v_RIndex++)
+        {
+            Relationship v_Rel = this.rels.get(v_RIndex);
+            
+            this.relElementIds[v_RIndex] = v_Rel.elementId();
+            this.relStarts    [v_RIndex] = this.nodeIndexes.get(v_Rel.startNodeElementId());
+            this.relEnds      [v_RIndex] = this.nodeIndexes.get(v_Rel.endNodeElementId());
+            this.relTypes     [v_RIndex] = intern(v_Rel.type() ,this.types ,this.typeIndexes);
+            
+            for (String v_Key : v_Rel.keys())
+            {
+                this.relProperties.addColumn(v_Key).set(v_RIndex ,v_Rel.get(v_Key));
+            }
+            this.relProperties.nextRow();
+        }
+        this.relProperties.finish();
+        
+        // CSR结构的出边及入边
+        this.outOffsets = new int[v_NodeCount + 1];
+        this.inOffsets  = new int[v_NodeCount + 1];
+        this.outRels    = new int[v_RelCount];
+        this.inRels     = new int[v_RelCount];
+        this.toCSR(this.relStarts ,this.outOffsets ,this.outRels);
+        this.toCSR(this.relEnds   ,this.inOffsets  ,this.inRels);
+        
+        this.nodes      = null;
+        this.rels       = null;
+        this.relIndexes = null;
+    }
+    
+    
+    
+    /**
+     * 按关系的端点节点编号，生成CSR结构
+     * 
+     * @param i_Ends      关系的端点节点编号。下标为关系编号
+     * @param io_Offsets  CSR偏移量。长度为节点数+1
+     * @param io_Rels     CSR中的关系编号
+     */
+    private void toCSR(int [] i_Ends ,int [] io_Offsets ,int [] io_Rels)
+    {
+        for (int v_RIndex=0; v_RIndex<i_Ends.length; v_RIndex++)
+        {
+            io_Offsets[i_Ends[v_RIndex] + 1]++;
+        }
+        
+        for (int i=1; i<io_Offsets.length; i++)
+        {
+            io_Offsets[i] += io_Offsets[i - 1];
+        }
+        
+        int [] v_Next = Arrays.copyOf(io_Offsets ,io_Offsets.length - 1);
+        for (int v_RIndex=0; v_RIndex<i_Ends.length; v_RIndex++)
+        {
+            io_Rels[v_Next[i_Ends[v_RIndex]]++] = v_RIndex;
+        }
+    }
+    
+    
+    
+    /**
+     * 获取节点的邻居节点编号。同一邻居有多条关系时重复出现
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Node       节点编号
+     * @param i_Direction  遍历方向。如 $Direction_Out
+     * @return
+     */
+    public int [] getNeighbors(int i_Node ,int i_Direction)
+    {
+        int v_OutSize = (i_Direction & $Direction_Out) != 0 ? this.outOffsets[i_Node + 1] - this.outOffsets[i_Node] : 0;
+        int v_InSize  = (i_Direction & $Direction_In)  != 0 ? this.inOffsets [i_Node + 1] - this.inOffsets [i_Node] : 0;
+        int [] v_Ret  = new int[v_OutSize + v_InSize];
+        int v_Index   = 0;
+        
+        for (int i=0; i<v_OutSize; i++)
+        {
+            v_Ret[v_Index++] = this.relEnds[this.outRels[this.outOffsets[i_Node] + i]];
+        }
+        for (int i=0; i<v_InSize; i++)
+        {
+            v_Ret[v_Index++] = this.relStarts[this.inRels[this.inOffsets[i_Node] + i]];
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 广度优先遍历
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Start      起始节点编号
+     * @param i_MaxDepth   最大深度。起始节点的深度为0。小于0时不限深度
+     * @param i_Direction  遍历方向。如 $Direction_Out
+     * @return             按遍历顺序的节点编号（含起始节点）
+     */
+    public int [] bfs(int i_Start ,int i_MaxDepth ,int i_Direction)
+    {
+        int      v_NodeCount = this.getNodeCount();
+        int []   v_Depths    = new int[v_NodeCount];
+        int []   v_Queue     = new int[v_NodeCount];
+        int      v_Head      = 0;
+        int      v_Tail      = 0;
+        
+        Arrays.fill(v_Depths ,-1);
+        v_Depths[i_Start]  = 0;
+        v_Queue[v_Tail++]  = i_Start;
+        
+        while ( v_Head < v_Tail )
+        {
+            int v_Node = v_Queue[v_Head++];
+            
+            if ( i_MaxDepth >= 0 && v_Depths[v_Node] >= i_MaxDepth )
+            {
+                continue;
+            }
+            
+            if ( (i_Direction & $Direction_Out) != 0 )
+            {
+                for (int i=this.outOffsets[v_Node]; i<this.outOffsets[v_Node + 1]; i++)
+                {
+                    int v_Next = this.relEnds[this.outRels[i]];
+                    if ( v_Depths[v_Next] < 0 )
+                    {
+                        v_Depths[v_Next]  = v_Depths[v_Node] + 1;
+                        v_Queue[v_Tail++] = v_Next;
+                    }
+                }
+            }
+            
+            if ( (i_Direction & $Direction_In) != 0 )
+            {
+                for (int i=this.inOffsets[v_Node]; i<this.inOffsets[v_Node + 1]; i++)
+                {
+                    int v_Next = this.relStarts[this.inRels[i]];
+                    if ( v_Depths[v_Next] < 0 )
+                    {
+                        v_Depths[v_Next]  = v_Depths[v_Node] + 1;
+                        v_Queue[v_Tail++] = v_Next;
+                    }
+                }
+            }
+        }
+        
+        return Arrays.copyOf(v_Queue ,v_Tail);
+    }
+    
+    
+    
+    /**
+     * 获取节点编号
+     * 
+     * @param i_ElementId  节点的elementId
+     * @return             图中没有此节点时返回 -1
+     */
+    public int indexOfNode(String i_ElementId)
+    {
+        Integer v_Index = this.nodeIndexes.get(i_ElementId);
+        return v_Index == null ? -1 : v_Index.intValue();
+    }
+    
+    
+    
+    /**
+     * 获取：节点数
+     */
+    public int getNodeCount()
+    {
+        return this.nodeElementIds.size();
+    }
+    
+    
+    
+    /**
+     * 获取：关系数
+     */
+    public int getRelationshipCount()
+    {
+        return this.relStarts.length;
+    }
+    
+    
+    
+    /**
+     * 获取节点的elementId
+     * 
+     * @param i_Node  节点编号
+     */
+    public String getNodeElementId(int i_Node)
+    {
+        return this.nodeElementIds.get(i_Node);
+    }
+    
+    
+    
+    /**
+     * 获取节点的标签
+     * 
+     * @param i_Node  节点编号
+     */
+    public String [] getNodeLabels(int i_Node)
+    {
+        int []    v_LabelIndexes = this.nodeLabels[i_Node];
+        String [] v_Labels       = new String[v_LabelIndexes.length];
+        
+        for (int i=0; i<v_LabelIndexes.length; i++)
+        {
+            v_Labels[i] = this.labels.get(v_LabelIndexes[i]);
+        }
+        
+        return v_Labels;
+    }
+    
+    
+    
+    /**
+     * 节点是否有此标签
+     * 
+     * @param i_Node   节点编号
+     * @param i_Label  标签
+     */
+    public boolean hasLabel(int i_Node ,String i_Label)
+    {
+        Integer v_LabelIndex = this.labelIndexes.get(i_Label);
+        
+        if ( v_LabelIndex != null )
+        {
+            for (int v_Index : this.nodeLabels[i_Node])
+            {
+                if ( v_Index == v_LabelIndex.intValue() )
+                {
+                    return true;
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    
+    
+    /**
+     * 获取关系的elementId
+     * 
+     * @param i_Rel  关系编号
+     */
+    public String getRelationshipElementId(int i_Rel)
+    {
+        return this.relElementIds[i_Rel];
+    }
+    
+    
+    
+    /**
+     * 获取关系的类型
+     * 
+     * @param i_Rel  关系编号
+     */
+    public String getRelationshipType(int i_Rel)
+    {
+        return this.types.get(this.relTypes[i_Rel]);
+    }
+    
+    
+    
+    /**
+     * 获取关系的起始节点编号
+     * 
+     * @param i_Rel  关系编号
+     */
+    public int getStartNode(int i_Rel)
+    {
+        return this.relStarts[i_Rel];
+    }
+    
+    
+    
+    /**
+     * 获取关系的结束节点编号
+     * 
+     * @param i_Rel  关系编号
+     */
+    public int getEndNode(int i_Rel)
+    {
+        return this.relEnds[i_Rel];
+    }
+    
+    
+    
+    /**
+     * 获取：出边的CSR偏移量。节点i的出边为 getOutRelationships()[getOutOffsets()[i] ,getOutOffsets()[i+1])
+     */
+    public int [] getOutOffsets()
+    {
+        return outOffsets;
+    }
+    
+    
+    
+    /**
+     * 获取：出边的关系编号
+     */
+    public int [] getOutRelationships()
+    {
+        return outRels;
+    }
+    
+    
+    
+    /**
+     * 获取：入边的CSR偏移量。节点i的入边为 getInRelationships()[getInOffsets()[i] ,getInOffsets()[i+1])
+     */
+    public int [] getInOffsets()
+    {
+        return inOffsets;
+    }
+    
+    
+    
+    /**
+     * 获取：入边的关系编号
+     */
+    public int [] getInRelationships()
+    {
+        return inRels;
+    }
+    
+    
+    
+    /**
+     * 获取：节点属性。行号为节点编号
+     */
+    public XCQLColumnTable getNodeProperties()
+    {
+        return nodeProperties;
+    }
+    
+    
+    
+    /**
+     * 获取：关系属性。行号为关系编号
+     */
+    public XCQLColumnTable getRelationshipProperties()
+    {
+        return relProperties;
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,197 @@
+package org.hy.common.xcql;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hy.common.xml.log.Logger;
+
+
+
+
+
+/**
+ * 数据库连接信息（DataSourceCQL）的后台健康检查。
+ * 
+ * 按数据库各自的检查间隔，在后台线程中执行轻量的探测CQL（见 DataSourceCQL.healthCheck()），
+ * 探测结果驱动数据库的熔断器（见 XCQLCircuitBreaker）：
+ *   1. 探测失败，熔断器转为打开状态，业务请求快速失败，多个负载数据库时不再选择它；
+ *   2. 探测成功，熔断器转为关闭状态，恢复正常。
+ * 
+ * 探测在后台线程中执行，数据库宕机时只有后台线程等待连接超时，业务请求不等待。
+ * 
+ * 用法：数据库连接信息的配置中
+ *   <healthCheckInterval>10000</healthCheckInterval>    检查间隔（单位：毫秒）。大于0时才启用
+ * 
+ * 数据库不再使用时，应调用 DataSourceCQL.close() 取消检查。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修正：跳过未使用过的数据库；所有检查均取消后关闭后台线程
+ */
+public final class XCQLHealthChecker
+{
+    
+    private static final Logger                                  $Logger    = new Logger(XCQLHealthChecker.class ,true);
+    
+    /** 后台检查的线程数 */
+    private static final int                                     $PoolSize  = 2;
+    
+    /** 所有被检查的数据库。Map.value为定时任务 */
+    private static final Map<DataSourceCQL ,ScheduledFuture<?>> $Checks    = new HashMap<DataSourceCQL ,ScheduledFuture<?>>();
+    
+    /** 后台检查的定时线程池。首次注册时创建 */
+    private static ScheduledThreadPoolExecutor                   $Scheduler = null;
+    
+    
+    
+    /**
+     * 注册（或修改检查间隔）一个被检查的数据库
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_DSCQL     数据库连接信息
+     * @param i_Interval  检查间隔（单位：毫秒）。小于等于0时，取消检查
+     */
+    public static synchronized void register(DataSourceCQL i_DSCQL ,long i_Interval)
+    {
+        unregister(i_DSCQL);
+        
+        if ( i_Interval <= 0L )
+        {
+            return;
+        }
+        
+        if ( $Scheduler == null )
+        {
+            $Scheduler = new ScheduledThreadPoolExecutor($PoolSize ,newThreadFactory());
+            $Scheduler.setRemoveOnCancelPolicy(true);
+        }
+        
+        $Checks.put(i_DSCQL ,$Scheduler.scheduleWithFixedDelay(() -> check(i_DSCQL) ,i_Interval ,i_Interval ,TimeUnit.MILLISECONDS));
+    }
+    
+    
+    
+    /**
+     * 取消一个数据库的检查。所有检查均取消后，关闭后台线程
+     * 
+     * 数据库关闭（DataSourceCQL.close()）或检查间隔设置为0时调用，释放对数据库的引用
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  添加：所有检查均取消后，关闭后台线程
+     * 
+     * @param i_DSCQL  数据库连接信息
+     */
+    public static synchronized void unregister(DataSourceCQL i_DSCQL)
+    {
+        ScheduledFuture<?> v_Check = $Checks.remove(i_DSCQL);
+        
+        if ( v_Check != null )
+        {
+            v_Check.cancel(false);
+        }
+        
+        if ( $Checks.isEmpty() && $Scheduler != null )
+        {
+            $Scheduler.shutdown();
+            $Scheduler = null;
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：被检查的数据库数量
+     */
+    public static synchronized int size()
+    {
+        return $Checks.size();
+    }
+    
+    
+    
+    /**
+     * 取消所有检查，并关闭后台线程
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     */
+    public static synchronized void shutdown()
+    {
+        $Checks.clear();
+        
+        if ( $Scheduler != null )
+        {
+            $Scheduler.shutdownNow();
+            $Scheduler = null;
+        }
+    }
+    
+    
+    
+    /**
+     * 执行一次检查。异常不向外抛出，防止定时任务被终止
+     * 
+     * 未使用过的数据库（连接驱动未初始化）不检查，不为它创建连接驱动
+     * 
+     * @param i_DSCQL  数据库连接信息
+     */
+    private static void check(DataSourceCQL i_DSCQL)
+    {
+        if ( !i_DSCQL.isInitialized() )
+        {
+            return;
+        }
+        
+        try
+        {
+            i_DSCQL.healthCheck();
+        }
+        catch (Throwable exce)
+        {
+            $Logger.error(exce);
+        }
+    }
+    
+    
+    
+    /**
+     * 后台检查的线程工厂。守护线程，不阻止进程的退出
+     * 
+     * @return
+     */
+    private static ThreadFactory newThreadFactory()
+    {
+        final ThreadFactory v_Default = Executors.defaultThreadFactory();
+        final AtomicInteger v_No      = new AtomicInteger(0);
+        
+        return (i_Runnable) ->
+        {
+            Thread v_Thread = v_Default.newThread(i_Runnable);
+            v_Thread.setName("XCQLHealthChecker-" + v_No.incrementAndGet());
+            v_Thread.setDaemon(true);
+            return v_Thread;
+        };
+    }
+    
+    
+    
+    private XCQLHealthChecker()
+    {
+    
+    }
+    
+}
+    
\ No newline at end of file
@@ -1,11 +1,21 @@
 package org.hy.common.xcql;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.hy.common.Date;
 import org.hy.common.Help;
@@ -28,12 +38,31 @@ import org.neo4j.driver.types.Type;
  * @author      ZhengWei(HY)
  * @createDate  2023-06-03
  * @version     v1.0
+ *              v2.0  2026-10-18  优化：单入参的填充方法，通过 LambdaMetafactory 生成直接调用的 BiConsumer ，替代 Method.invoke() 反射调用
+ *                                优化：按图数据库的值类型获取字段值的方法，由 resultSet_Getter 反射调用改为函数直接调用
+ *              v3.0  2026-10-18  优化：时间、集合、Map、字节数组、图对象等类型，按转换矩阵 XCQLValueConverter 直接转为Setter方法的入参类型，不再经过字符串中转
+ *              v4.0  2026-10-18  修正：直接调用Setter方法异常 ClassCastException 时，不再重试反射调用（会重复执行Setter方法，并吞掉Setter方法内部的异常）
  */
 public final class XCQLMethod
 {
+    
+    /** 生成失败时的标记 */
+    private static final BiConsumer<Object ,Object>                $NoSetter = (i_Obj ,i_Value) -> {};
+    
+    /** 单入参方法生成的直接调用函数。多个XCQL共享。Map.key为方法，Map.value为直接调用的函数，生成失败时为 $NoSetter */
+    private static final Map<Method ,BiConsumer<Object ,Object>>   $Setters  = new ConcurrentHashMap<Method ,BiConsumer<Object ,Object>>();
+    
+    
+    
     /** 调用的方法 */
     private Method                               call;
     
+    /** 单入参的 call 方法生成的直接调用函数。为NULL时，通过反射调用 call 方法 */
+    private BiConsumer<Object ,Object>           callSetter;
+    
+    /** callSetter 的入参类型（基本类型时为其包装类型）。入参值是此类型的实例时，才直接调用 */
+    private Class<?>                             callSetterType;
+    
     /** 调用方法的入参信息 */
     private List<XCQLMethodParam>                paramList;
     
@@ -51,6 +80,9 @@ public final class XCQLMethod
      */
     private Method                               resultSet_Getter;
     
+    /** 与 resultSet_Getter 的功能相同，是它的直接调用函数 */
+    private Function<Value ,Object>              resultSetValue;
+    
     /**
      * 加工 Result.getXXX(int i_ColNo) 返回值。
      * 
@@ -101,8 +133,11 @@ public final class XCQLMethod
     public XCQLMethod()
     {
         this.call                = null;
+        this.callSetter          = null;
+        this.callSetterType      = null;
         this.paramList           = new ArrayList<XCQLMethodParam>();
         this.resultSet_Getter    = null;
+        this.resultSetValue      = null;
         this.machiningValue      = null;
         this.getInstanceOfMethod = null;
         this.setInstanceOfMethod = null;
@@ -215,7 +250,7 @@ public final class XCQLMethod
                     
                     if ( v_CollectionElementTemp != null )
                     {
-                        this.call.invoke(v_CollectionElementTemp ,v_Values);
+                        this.call(v_CollectionElementTemp ,v_Values);
                     }
                 }
                 else if ( this.collection == Set.class )
@@ -240,17 +275,17 @@ public final class XCQLMethod
                     
                     if ( v_CollectionElementTemp != null )
                     {
-                        this.call.invoke(v_CollectionElementTemp ,v_Values);
+                        this.call(v_CollectionElementTemp ,v_Values);
                     }
                 }
                 else
                 {
-                    this.call.invoke(v_FatherTemp ,v_Values);
+                    this.call(v_FatherTemp ,v_Values);
                 }
             }
             else
             {
-                this.call.invoke(i_Father ,v_Values);
+                this.call(i_Father ,v_Values);
             }
         }
         catch (Exception exce)
@@ -266,6 +301,167 @@ public final class XCQLMethod
     
     
     
+    /**
+     * 执行 call 方法。单入参并且入参值的类型匹配的直接调用，否则反射调用。
+     * 
+     * 反射调用支持基本类型的拓宽转换（如 Integer 填充到 float 入参），直接调用不支持。
+     * 所以调用前判定类型，而不是在直接调用异常后再反射调用（那时Setter方法可能已执行过，并且会吞掉Setter方法内部的异常）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修正：直接调用前判定入参值的类型，不再捕获 ClassCastException 后重试反射调用
+     * 
+     * @param i_Obj     call 方法的实例对象
+     * @param i_Values  call 方法的入参
+     * @throws Exception
+     */
+    private void call(Object i_Obj ,Object [] i_Values) throws Exception
+    {
+        if ( this.callSetter != null && i_Values.length == 1 && this.callSetterType.isInstance(i_Values[0]) )
+        {
+            this.callSetter.accept(i_Obj ,i_Values[0]);
+            return;
+        }
+        
+        this.call.invoke(i_Obj ,i_Values);
+    }
+    
+    
+    
+    /**
+     * 生成单入参方法的直接调用函数。同一方法只生成一次。
+     * 
+     * 通过 LambdaMetafactory 生成 BiConsumer 的实现类，JIT可内联其中对方法的直接调用。
+     * 方法的返回值被忽略（如 List.add(...) 方法）；入参为基本类型时自动拆箱。
+     * 
+     * 以下情况不生成（返回NULL），仍用反射调用：
+     *   1. 不是单入参的方法、静态方法；
+     *   2. 方法所在的类不是公开的；
+     *   3. 方法所在的类、入参的类，不能被本类的类加载器加载到（如：Web容器的子类加载器加载的类）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Method  方法
+     * @return
+     */
+    private static BiConsumer<Object ,Object> toSetter(Method i_Method)
+    {
+        if ( i_Method == null
+          || i_Method.getParameterCount() != 1
+          || Modifier.isStatic(i_Method.getModifiers()) )
+        {
+            return null;
+        }
+        
+        BiConsumer<Object ,Object> v_Setter = $Setters.computeIfAbsent(i_Method ,XCQLMethod::newSetter);
+        return v_Setter == $NoSetter ? null : v_Setter;
+    }
+    
+    
+    
+    /**
+     * 生成单入参方法的直接调用函数
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Method  方法
+     * @return          生成失败时返回 $NoSetter
+     */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object ,Object> newSetter(Method i_Method)
+    {
+        Class<?> v_Class      = i_Method.getDeclaringClass();
+        Class<?> v_ParamClass = i_Method.getParameterTypes()[0];
+        
+        try
+        {
+            if ( !Modifier.isPublic(v_Class.getModifiers())
+              || !Modifier.isPublic(i_Method.getModifiers())
+              || !isVisible(v_Class)
+              || !isVisible(v_ParamClass) )
+            {
+                return $NoSetter;
+            }
+            
+            MethodHandles.Lookup v_Lookup = MethodHandles.lookup();
+            MethodHandle         v_Handle = v_Lookup.unreflect(i_Method);
+            Class<?>             v_Param  = v_ParamClass.isPrimitive() ? MethodType.methodType(v_ParamClass).wrap().returnType() : v_ParamClass;
+            CallSite             v_Site   = LambdaMetafactory.metafactory(v_Lookup
+                                                                         ,"accept"
+                                                                         ,MethodType.methodType(BiConsumer.class)
+                                                                         ,MethodType.methodType(void.class ,Object.class ,Object.class)
+                                                                         ,v_Handle
+                                                                         ,MethodType.methodType(void.class ,v_Class ,v_Param));
+            
+            return (BiConsumer<Object ,Object>) v_Site.getTarget().invoke();
+        }
+        catch (Throwable exce)
+        {
+            return $NoSetter;
+        }
+    }
+    
+    
+    
+    /**
+     * 类是否能被本类的类加载器加载到，并且是同一个类
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Class
+     * @return
+     */
+    private static boolean isVisible(Class<?> i_Class)
+    {
+        if ( i_Class.isPrimitive() )
+        {
+            return true;
+        }
+        
+        try
+        {
+            return Class.forName(i_Class.getName() ,false ,XCQLMethod.class.getClassLoader()) == i_Class;
+        }
+        catch (Throwable exce)
+        {
+            return false;
+        }
+    }
+    
+    
+    
+    /**
+     * 按 resultSet_Getter 获取字段值
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Value  图数据库的值
+     * @return
+     * @throws Exception
+     */
+    public Object getResultSetValue(Value i_Value) throws Exception
+    {
+        if ( this.resultSetValue != null )
+        {
+            return this.resultSetValue.apply(i_Value);
+        }
+        else
+        {
+            return this.resultSet_Getter.invoke(i_Value);
+        }
+    }
+    
+    
+    
     /**
      * 添加解释后的方法的参数信息
      * 
@@ -291,6 +487,7 @@ public final class XCQLMethod
      * @author      ZhengWei(HY)
      * @createDate  2023-06-25
      * @version     v1.0
+     *              v2.0  2026-10-18  修正：超出 Integer 范围的整数返回 Long ，不再抛出异常
      *
      * @param i_Value
      * @return
@@ -305,7 +502,12 @@ public final class XCQLMethod
         }
         else if ( InternalTypeSystem.TYPE_SYSTEM.INTEGER().equals(v_ValueType) )
         {
-            return i_Value.asInt();
+            long v_Long = i_Value.asLong();
+            if ( v_Long >= Integer.MIN_VALUE && v_Long <= Integer.MAX_VALUE )
+            {
+                return (int) v_Long;
+            }
+            return v_Long;
         }
         else if ( InternalTypeSystem.TYPE_SYSTEM.FLOAT().equals(v_ValueType) )
         {
@@ -331,6 +533,7 @@ public final class XCQLMethod
      * @author      ZhengWei(HY)
      * @createDate  2023-06-07
      * @version     v1.0
+     *              v2.0  2026-10-18  添加：先按转换矩阵 XCQLValueConverter 查找直接转换的方法，没有时再按原有的取值方法及加工类
      *
      * @param i_Neo4jFieldType   Neo4j的属性类型。这里假设：同一属性的类型是一致的哈
      */
@@ -343,13 +546,22 @@ public final class XCQLMethod
         }
         
         
-        Class<?> v_SetterParamClass = this.call.getParameterTypes()[0];
+        Class<?>                v_SetterParamClass = this.call.getParameterTypes()[0];
+        Function<Value ,Object> v_Converter        = XCQLValueConverter.getConverter(i_Neo4jFieldType ,v_SetterParamClass);
         
         try
         {
-            if ( InternalTypeSystem.TYPE_SYSTEM.STRING().equals(i_Neo4jFieldType) )
+            if ( v_Converter != null )
+            {
+                // 按转换矩阵直接转换。resultSet_Getter 仅作参考，取值以 resultSetValue 为准
+                this.resultSet_Getter = Value.class.getDeclaredMethod("asObject");
+                this.resultSetValue   = v_Converter;
+                this.machiningValue   = MachiningDefault.$MachiningDefault;
+            }
+            else if ( InternalTypeSystem.TYPE_SYSTEM.STRING().equals(i_Neo4jFieldType) )
             {
                 this.resultSet_Getter = Value.class.getDeclaredMethod("asString");
+                this.resultSetValue   = Value::asString;
                 
                 if ( v_SetterParamClass == String.class )
                 {
@@ -414,6 +626,7 @@ public final class XCQLMethod
             else if ( InternalTypeSystem.TYPE_SYSTEM.INTEGER().equals(i_Neo4jFieldType) )
             {
                 this.resultSet_Getter = Value.class.getDeclaredMethod("asInt");
+                this.resultSetValue   = Value::asInt;
                 
                 if ( v_SetterParamClass == int.class
                   || v_SetterParamClass == Integer.class )
@@ -456,6 +669,7 @@ public final class XCQLMethod
             else if ( InternalTypeSystem.TYPE_SYSTEM.FLOAT().equals(i_Neo4jFieldType) )
             {
                 this.resultSet_Getter = Value.class.getDeclaredMethod("asDouble");
+                this.resultSetValue   = Value::asDouble;
                 this.machiningValue   = MachiningDefault.$MachiningDefault;
                 
                 if ( v_SetterParamClass == double.class
@@ -479,6 +693,7 @@ public final class XCQLMethod
             else if ( InternalTypeSystem.TYPE_SYSTEM.BOOLEAN().equals(i_Neo4jFieldType) )
             {
                 this.resultSet_Getter = Value.class.getDeclaredMethod("asBoolean");
+                this.resultSetValue   = Value::asBoolean;
                 
                 if ( v_SetterParamClass == boolean.class
                   || v_SetterParamClass == Boolean.class )
@@ -502,6 +717,7 @@ public final class XCQLMethod
             else
             {
                 this.resultSet_Getter = Value.class.getDeclaredMethod("toString");
+                this.resultSetValue   = Value::toString;
                 this.machiningValue   = MachiningDefault.$MachiningDefault;
             }
         }
@@ -522,7 +738,9 @@ public final class XCQLMethod
     
     public void setCall(Method i_Call)
     {
-        this.call = i_Call;
+        this.call           = i_Call;
+        this.callSetter     = toSetter(i_Call);
+        this.callSetterType = this.callSetter == null ? null : MethodType.methodType(i_Call.getParameterTypes()[0]).wrap().returnType();
     }
     
     
@@ -537,6 +755,7 @@ public final class XCQLMethod
     public void setResultSet_Getter(Method resultSet_Getter)
     {
         this.resultSet_Getter = resultSet_Getter;
+        this.resultSetValue   = null;
     }
     
     
@@ -667,7 +886,10 @@ public final class XCQLMethod
     public void clear()
     {
         this.call                = null;
+        this.callSetter          = null;
+        this.callSetterType      = null;
         this.resultSet_Getter    = null;
+        this.resultSetValue      = null;
         this.getInstanceOfMethod = null;
         this.setInstanceOfMethod = null;
         this.collection          = null;
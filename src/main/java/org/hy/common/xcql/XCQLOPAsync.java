@@ -0,0 +1,1136 @@
+package org.hy.common.xcql;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hy.common.Date;
+import org.hy.common.Help;
+import org.hy.common.xml.log.Logger;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
+import org.neo4j.driver.summary.ResultSummary;
+import org.neo4j.driver.summary.SummaryCounters;
+
+
+
+
+
+/**
+ * XCQL功能中异步执行的具体操作与实现。基于Neo4j驱动的异步会话 AsyncSession 、响应式会话 ReactiveSession ，
+ * 等待数据库响应期间不占用调用者的线程。
+ * 
+ * 独立原因：从XCQL主类中分离的主要原因是：减少XCQL主类的代码量，方便维护。使XCQL主类向外提供统一的操作，本类重点关注实现。
+ * 静态原因：用static方法的原因：不想再构建太多的类实例，减少内存负担
+ * 接口选择：未使用接口的原因：本类的每个方法的首个入参都有一个XCQL类型，并且都是static方法
+ * 
+ * 注意：
+ *   1. 与同步方法一样，执行前触发 fireBeforeRule ，执行后触发 fireAfterRule 、统计、日志及触发器；
+ *   2. 驱动的回调运行在其网络IO线程上，在IO线程上不能执行阻塞操作。所以结果集的转化、规则及触发器均在 getExecutor() 中执行；
+ *   3. 执行异常时，返回的 CompletionStage 以异常结束，不会在调用者的线程中抛出异常。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  添加：响应式查询 queryPublisher() ，支持背压
+ *              v3.0  2026-10-18  修正：线程池 $Executor 的多线程可见性；异步会话关闭时记录用时及熔断器的结果
+ *              v4.0  2026-10-18  修正：按填充值的 queryPublisher() 未执行XRule规则的问题
+ */
+public class XCQLOPAsync
+{
+    
+    private static final    Logger   $Logger    = new Logger(XCQLOPAsync.class ,true);
+    
+    /** 操作类型：查询 */
+    private static final    int      $OP_Query  = 1;
+    
+    /** 操作类型：写入 */
+    private static final    int      $OP_Insert = 2;
+    
+    /** 操作类型：更新 */
+    private static final    int      $OP_Update = 3;
+    
+    /** 执行结果集转化、规则及触发器的线程池。默认为：ForkJoinPool.commonPool() */
+    private static volatile Executor $Executor  = ForkJoinPool.commonPool();
+    
+    
+    
+    /**
+     * 占位符CQL的MATCH语句的查询（异步）。 -- 无填充值的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @return          返回查询结果。结果中的行数为 XCQLData.getRowCount()
+     */
+    public static CompletionStage<XCQLData> queryAsync(final XCQL i_XCQL)
+    {
+        i_XCQL.checkContent();
+        
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryAsync" ,(Object) null);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Query ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,null ,null);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的MATCH语句的查询（异步）。
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values  占位符CQL的填充集合。
+     * @return          返回查询结果。结果中的行数为 XCQLData.getRowCount()
+     */
+    public static CompletionStage<XCQLData> queryAsync(final XCQL i_XCQL ,final Map<String ,?> i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryAsync" ,i_Values);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Query ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,i_Values ,null);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的MATCH语句的查询（异步）。
+     * 
+     * 1. 按对象 i_Values 填充占位符CQL，生成可执行的CQL语句；
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values  占位符CQL的填充对象。
+     * @return          返回查询结果。结果中的行数为 XCQLData.getRowCount()
+     */
+    public static CompletionStage<XCQLData> queryAsync(final XCQL i_XCQL ,final Object i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryAsync" ,i_Values);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Query ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,null ,i_Values);
+    }
+    
+    
+    
+    /**
+     * 常规MATCH语句的查询（异步）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_CQL     常规CQL语句
+     * @return          返回查询结果。结果中的行数为 XCQLData.getRowCount()
+     */
+    public static CompletionStage<XCQLData> queryAsync(final XCQL i_XCQL ,final String i_CQL)
+    {
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryAsync" ,(Object) null);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = DBCQL.toQuery(i_CQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Query ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,null ,null);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的Create语句的执行（异步）。 -- 无填充值的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @return          返回写入的节点数量、属性数量、关系数量
+     */
+    public static CompletionStage<XCQLData> executeInsertAsync(final XCQL i_XCQL)
+    {
+        i_XCQL.checkContent();
+        
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsertAsync" ,(Object) null);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Insert ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,null ,null);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的Create语句的执行（异步）。
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values  占位符CQL的填充集合。
+     * @return          返回写入的节点数量、属性数量、关系数量
+     */
+    public static CompletionStage<XCQLData> executeInsertAsync(final XCQL i_XCQL ,final Map<String ,?> i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsertAsync" ,i_Values);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Insert ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,i_Values ,null);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的Create语句的执行（异步）。
+     * 
+     * 1. 按对象 i_Values 填充占位符CQL，生成可执行的CQL语句；
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values  占位符CQL的填充对象。
+     * @return          返回写入的节点数量、属性数量、关系数量
+     */
+    public static CompletionStage<XCQLData> executeInsertAsync(final XCQL i_XCQL ,final Object i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsertAsync" ,i_Values);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Insert ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,null ,i_Values);
+    }
+    
+    
+    
+    /**
+     * 常规Create语句的执行（异步）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_CQL     常规CQL语句
+     * @return          返回写入的节点数量、属性数量、关系数量
+     */
+    public static CompletionStage<XCQLData> executeInsertAsync(final XCQL i_XCQL ,final String i_CQL)
+    {
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsertAsync" ,(Object) null);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = DBCQL.toQuery(i_CQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Insert ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,null ,null);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的Create\Set\Delete语句的执行（异步）。 -- 无填充值的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @return          返回语句影响的数量 XCQLData.getRowCount()（创建、删除节点和关系时，返回影响的节点数量；非节点和关系操作时，才取对属性的影响数量）
+     */
+    public static CompletionStage<XCQLData> executeUpdateAsync(final XCQL i_XCQL)
+    {
+        i_XCQL.checkContent();
+        
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdateAsync" ,(Object) null);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Update ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,null ,null);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的Create\Set\Delete语句的执行（异步）。
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values  占位符CQL的填充集合。
+     * @return          返回语句影响的数量 XCQLData.getRowCount()（创建、删除节点和关系时，返回影响的节点数量；非节点和关系操作时，才取对属性的影响数量）
+     */
+    public static CompletionStage<XCQLData> executeUpdateAsync(final XCQL i_XCQL ,final Map<String ,?> i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdateAsync" ,i_Values);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Update ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,i_Values ,null);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的Create\Set\Delete语句的执行（异步）。
+     * 
+     * 1. 按对象 i_Values 填充占位符CQL，生成可执行的CQL语句；
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values  占位符CQL的填充对象。
+     * @return          返回语句影响的数量 XCQLData.getRowCount()（创建、删除节点和关系时，返回影响的节点数量；非节点和关系操作时，才取对属性的影响数量）
+     */
+    public static CompletionStage<XCQLData> executeUpdateAsync(final XCQL i_XCQL ,final Object i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdateAsync" ,i_Values);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Update ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,null ,i_Values);
+    }
+    
+    
+    
+    /**
+     * 常规Create\Set\Delete语句的执行（异步）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_CQL     常规CQL语句
+     * @return          返回语句影响的数量 XCQLData.getRowCount()（创建、删除节点和关系时，返回影响的节点数量；非节点和关系操作时，才取对属性的影响数量）
+     */
+    public static CompletionStage<XCQLData> executeUpdateAsync(final XCQL i_XCQL ,final String i_CQL)
+    {
+        Map<String ,Object>       v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdateAsync" ,(Object) null);
+        DataSourceCQL             v_DSCQL         = null;
+        Query                     v_Query         = null;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = DBCQL.toQuery(i_CQL);
+            v_Ret   = XCQLOPAsync.executeAsync_Inner(i_XCQL ,$OP_Update ,v_Query ,v_DSCQL);
+        }
+        catch (RuntimeException exce)
+        {
+            v_Ret = CompletableFuture.failedFuture(exce);
+        }
+        
+        return XCQLOPAsync.finish(i_XCQL ,v_Ret ,v_Query ,v_TriggerParams ,null ,null);
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的响应式查询。 -- 无填充值的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @return          只允许被订阅一次
+     */
+    public static <R> Flow.Publisher<R> queryPublisher(final XCQL i_XCQL)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryPublisher" ,(Object) null);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            return XCQLOPAsync.queryPublisher_Inner(i_XCQL ,v_Query ,v_DSCQL);
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( i_XCQL.isTriggers(v_IsError) )
+            {
+                if ( v_TriggerParams == null )
+                {
+                    i_XCQL.getTrigger().executes();
+                }
+                else
+                {
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,0L ,v_ErrorInfo));
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的响应式查询。
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 订阅时才提交数据库执行CQL，逐行将数据库结果集转化为Java实例对象后发布
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values  占位符CQL的填充集合。
+     * @return          只允许被订阅一次
+     */
+    public static <R> Flow.Publisher<R> queryPublisher(final XCQL i_XCQL ,final Map<String ,?> i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryPublisher" ,i_Values);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            return XCQLOPAsync.queryPublisher_Inner(i_XCQL ,v_Query ,v_DSCQL);
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( i_XCQL.isTriggers(v_IsError) )
+            {
+                if ( v_TriggerParams == null )
+                {
+                    i_XCQL.getTrigger().executes(i_Values);
+                }
+                else
+                {
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,0L ,v_ErrorInfo));
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的响应式查询。
+     * 
+     * 1. 按对象 i_Values 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 订阅时才提交数据库执行CQL，逐行将数据库结果集转化为Java实例对象后发布
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values  占位符CQL的填充对象。
+     * @return          只允许被订阅一次
+     */
+    public static <R> Flow.Publisher<R> queryPublisher(final XCQL i_XCQL ,final Object i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryPublisher" ,i_Values);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            return XCQLOPAsync.queryPublisher_Inner(i_XCQL ,v_Query ,v_DSCQL);
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( i_XCQL.isTriggers(v_IsError) )
+            {
+                if ( v_TriggerParams == null )
+                {
+                    i_XCQL.getTrigger().executes(i_Values);
+                }
+                else
+                {
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,0L ,v_ErrorInfo));
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 常规CQL的响应式查询。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_CQL     常规CQL语句
+     * @return          只允许被订阅一次
+     */
+    public static <R> Flow.Publisher<R> queryPublisher(final XCQL i_XCQL ,final String i_CQL)
+    {
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryPublisher" ,(Object) null);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = DBCQL.toQuery(i_CQL);
+            return XCQLOPAsync.queryPublisher_Inner(i_XCQL ,v_Query ,v_DSCQL);
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(i_CQL ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(i_CQL ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( i_XCQL.isTriggers(v_IsError) )
+            {
+                if ( v_TriggerParams == null )
+                {
+                    i_XCQL.getTrigger().executes();
+                }
+                else
+                {
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,0L ,v_ErrorInfo));
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 响应式查询。
+     * 
+     * 只校验并构建发布者，订阅时才打开数据库会话。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Query  常规CQL语句
+     * @param i_DSCQL  数据库连接信息
+     * @return
+     */
+    private static <R> Flow.Publisher<R> queryPublisher_Inner(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSCQL)
+    {
+        try
+        {
+            if ( i_XCQL.getResult() == null )
+            {
+                throw new NullPointerException("Result is null of XCQL.");
+            }
+            
+            if ( !i_DSCQL.isValid() )
+            {
+                throw new RuntimeException("DataSourceCQL[" + i_DSCQL.getXJavaID() + "] is not valid.");
+            }
+            
+            if ( i_Query == null )
+            {
+                throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
+            }
+            
+            return new XCQLResultPublisher<R>(i_XCQL ,i_Query ,i_DSCQL);
+        }
+        catch (Exception exce)
+        {
+            i_XCQL.request();
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
+            throw new RuntimeException(exce.getMessage());
+        }
+    }
+    
+    
+    
+    /**
+     * 异步执行CQL
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_OPType  操作类型
+     * @param i_Query   常规CQL语句
+     * @param i_DSCQL   数据库连接信息
+     * @return
+     */
+    private static CompletionStage<XCQLData> executeAsync_Inner(final XCQL i_XCQL ,final int i_OPType ,final Query i_Query ,final DataSourceCQL i_DSCQL)
+    {
+        AsyncSession v_Session   = null;
+        long         v_BeginTime = i_XCQL.request().getTime();
+        long         v_OpenTime  = 0L;
+        
+        try
+        {
+            if ( i_OPType == $OP_Query && i_XCQL.getResult() == null )
+            {
+                throw new NullPointerException("Result is null of XCQL.");
+            }
+            
+            if ( !i_DSCQL.isValid() )
+            {
+                throw new RuntimeException("DataSourceCQL[" + i_DSCQL.getXJavaID() + "] is not valid.");
+            }
+            
+            if ( i_Query == null )
+            {
+                throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
+            }
+            
+            v_Session  = i_DSCQL.getAsyncSession();
+            v_OpenTime = System.nanoTime();
+        }
+        catch (Exception exce)
+        {
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
+            return CompletableFuture.failedFuture(exce);
+        }
+        
+        final AsyncSession        v_SessionFinal  = v_Session;
+        final long                v_OpenTimeFinal = v_OpenTime;
+        final Executor            v_Executor      = $Executor;
+        CompletionStage<XCQLData> v_Ret           = null;
+        
+        if ( i_OPType == $OP_Query )
+        {
+            v_Ret = v_Session.runAsync(i_Query)
+                             .thenCompose(ResultCursor::listAsync)
+                             .thenApplyAsync(i_Records -> XCQLOPAsync.toQueryData(i_XCQL ,i_Query ,i_Records ,v_BeginTime) ,v_Executor);
+        }
+        else
+        {
+            v_Ret = v_Session.runAsync(i_Query)
+                             .thenCompose(ResultCursor::consumeAsync)
+                             .thenApplyAsync(i_Summary -> XCQLOPAsync.toUpdateData(i_XCQL ,i_OPType ,i_Query ,i_Summary ,v_BeginTime) ,v_Executor);
+        }
+        
+        return v_Ret.whenCompleteAsync((i_Data ,i_Error) ->
+        {
+            if ( i_Error != null )
+            {
+                XCQL.erroring(i_Query ,toException(i_Error) ,i_XCQL);
+            }
+            
+            XCQLOPAsync.closeAsync(v_SessionFinal ,i_DSCQL ,v_OpenTimeFinal ,i_Error);
+        } ,v_Executor);
+    }
+    
+    
+    
+    /**
+     * 将查询的结果集转为Java实例对象
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Query      常规CQL语句
+     * @param i_Records    数据库结果集
+     * @param i_BeginTime  开始执行的时间
+     * @return
+     */
+    private static XCQLData toQueryData(final XCQL i_XCQL ,final Query i_Query ,final List<Record> i_Records ,final long i_BeginTime)
+    {
+        i_XCQL.log(i_Query);
+        
+        XCQLData v_Ret     = i_XCQL.getResult().getDatas(i_Records.iterator() ,0 ,0);
+        Date     v_EndTime = Date.getNowTime();
+        i_XCQL.success(v_EndTime ,v_EndTime.getTime() - i_BeginTime ,1 ,v_Ret.getRowCount());
+        
+        i_XCQL.fireAfterRule(v_Ret);
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 将写入、更新的执行摘要转为影响的数量。统计口径与同步的 executeInsert() 、 executeUpdate() 一致
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_OPType     操作类型
+     * @param i_Query      常规CQL语句
+     * @param i_Summary    执行摘要
+     * @param i_BeginTime  开始执行的时间
+     * @return
+     */
+    private static XCQLData toUpdateData(final XCQL i_XCQL ,final int i_OPType ,final Query i_Query ,final ResultSummary i_Summary ,final long i_BeginTime)
+    {
+        i_XCQL.log(i_Query);
+        
+        SummaryCounters v_Counters = i_Summary.counters();
+        int v_RowCount = v_Counters.nodesCreated()
+                       + v_Counters.nodesDeleted();
+        int v_ColCount = v_Counters.propertiesSet();
+        int v_RelCount = v_Counters.relationshipsCreated()
+                       + v_Counters.relationshipsDeleted();
+        
+        int v_Count = v_RowCount + v_RelCount;
+        // 当并非创建、删除节点和关系时，才取对属性的操作数量
+        if ( v_Count <= 0 )
+        {
+            v_Count = v_ColCount;
+        }
+        
+        Date v_EndTime = Date.getNowTime();
+        long v_TimeLen = v_EndTime.getTime() - i_BeginTime;
+        i_XCQL.success(v_EndTime ,v_TimeLen ,1 ,v_Count);
+        
+        if ( i_OPType == $OP_Insert )
+        {
+            return new XCQLData(null ,v_RowCount ,v_ColCount ,v_RelCount ,v_TimeLen ,null);
+        }
+        else
+        {
+            return new XCQLData(null ,v_Count ,v_ColCount ,v_RelCount ,v_TimeLen ,null);
+        }
+    }
+    
+    
+    
+    /**
+     * 异步执行完成时（含异常时）的统一处理：异常日志及触发器
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Stage          异步执行
+     * @param i_Query          常规CQL语句
+     * @param i_TriggerParams  触发器的额外参数
+     * @param i_ValuesMap      占位符CQL的填充集合
+     * @param i_ValuesObject   占位符CQL的填充对象
+     * @return
+     */
+    private static CompletionStage<XCQLData> finish(final XCQL                      i_XCQL
+                                                   ,final CompletionStage<XCQLData> i_Stage
+                                                   ,final Query                     i_Query
+                                                   ,final Map<String ,Object>       i_TriggerParams
+                                                   ,final Map<String ,?>            i_ValuesMap
+                                                   ,final Object                    i_ValuesObject)
+    {
+        return i_Stage.whenComplete((i_Data ,i_Error) ->
+        {
+            boolean v_IsError   = i_Error != null;
+            String  v_ErrorInfo = null;
+            
+            if ( v_IsError )
+            {
+                Exception v_Exce = toException(i_Error);
+                v_ErrorInfo = Help.NVL(v_Exce.getMessage() ,"E");
+                
+                if ( i_XCQL.getError() != null )
+                {
+                    XCQLErrorInfo v_ErrorLog = new XCQLErrorInfo(i_Query ,v_Exce ,i_XCQL);
+                    if ( i_ValuesMap != null )
+                    {
+                        v_ErrorLog.setValuesMap(i_ValuesMap);
+                    }
+                    else if ( i_ValuesObject != null )
+                    {
+                        v_ErrorLog.setValuesObject(i_ValuesObject);
+                    }
+                    i_XCQL.getError().errorLog(v_ErrorLog);
+                }
+            }
+            
+            if ( i_XCQL.isTriggers(v_IsError) )
+            {
+                if ( i_TriggerParams == null )
+                {
+                    if ( i_ValuesMap != null )
+                    {
+                        i_XCQL.getTrigger().executes(i_ValuesMap);
+                    }
+                    else if ( i_ValuesObject != null )
+                    {
+                        i_XCQL.getTrigger().executes(i_ValuesObject);
+                    }
+                    else
+                    {
+                        i_XCQL.getTrigger().executes();
+                    }
+                }
+                else
+                {
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(i_TriggerParams ,i_Data == null ? 0L : i_Data.getRowCount() ,v_ErrorInfo));
+                }
+            }
+        });
+    }
+    
+    
+    
+    /**
+     * 异步关闭会话，关闭后记录会话的用时、将会话的结果计入熔断器，并释放活动连接的计数
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  添加：与同步的 Connection 一样，记录会话的用时及熔断器的结果
+     * 
+     * @param i_Session
+     * @param i_DSCQL
+     * @param i_OpenTime  会话打开的时间（System.nanoTime()）
+     * @param i_Error     执行的异常。为空时表示执行成功
+     */
+    private static void closeAsync(final AsyncSession i_Session ,final DataSourceCQL i_DSCQL ,final long i_OpenTime ,final Throwable i_Error)
+    {
+        final boolean v_IsFailure = XCQLCircuitBreaker.isFailure(i_Error);
+        final double  v_TimeLen   = (System.nanoTime() - i_OpenTime) / 1000000D;
+        
+        try
+        {
+            i_Session.closeAsync().whenComplete((i_Void ,i_CloseError) ->
+            {
+                if ( i_CloseError != null )
+                {
+                    $Logger.error(toException(i_CloseError));
+                }
+                i_DSCQL.sessionClosed(v_IsFailure ,v_TimeLen);
+            });
+        }
+        catch (Exception exce)
+        {
+            $Logger.error(exce);
+            i_DSCQL.sessionClosed(v_IsFailure ,v_TimeLen);
+        }
+    }
+    
+    
+    
+    /**
+     * 解包异步执行的异常
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Error
+     * @return
+     */
+    private static Exception toException(final Throwable i_Error)
+    {
+        Throwable v_Error = i_Error;
+        if ( v_Error instanceof CompletionException && v_Error.getCause() != null )
+        {
+            v_Error = v_Error.getCause();
+        }
+        
+        if ( v_Error instanceof Exception )
+        {
+            return (Exception) v_Error;
+        }
+        else
+        {
+            return new RuntimeException(v_Error);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：执行结果集转化、规则及触发器的线程池
+     */
+    public static Executor getExecutor()
+    {
+        return $Executor;
+    }
+    
+    
+    
+    /**
+     * 设置：执行结果集转化、规则及触发器的线程池。默认为：ForkJoinPool.commonPool()
+     * 
+     * 规则或触发器中有阻塞操作（如同步执行其它XCQL）时，建议设置为独立的线程池。
+     * 
+     * @param i_Executor
+     */
+    public static void setExecutor(final Executor i_Executor)
+    {
+        if ( i_Executor == null )
+        {
+            throw new NullPointerException("Executor is null.");
+        }
+        $Executor = i_Executor;
+    }
+    
+}
@@ -20,6 +20,8 @@ import org.hy.common.Help;
  * @createDate  2023-06-05
  * @version     v1.0
  *              v2.0  2023-10-18  添加：是否附加触发额外参数的功能
+ *              v3.0  2026-10-18  修正：拆分执行时，日志及异常记录的是拆分后的每条CQL语句
+ *                                说明：DDL（索引、约束等）不支持$参数，仍按占位符内联后的CQL文本 getCQL() 执行
  */
 public class XCQLOPDDL
 {
@@ -611,7 +613,7 @@ public class XCQLOPDDL
                 {
                     v_CQL = v_CQLs[i].trim();
                     i_Conn.run(v_CQL);
-                    i_XCQL.log(i_CQL);
+                    i_XCQL.log(v_CQL);
                 }
             }
             else
@@ -627,7 +629,7 @@ public class XCQLOPDDL
         }
         catch (Exception exce)
         {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
+            XCQL.erroring(v_CQL ,exce ,i_XCQL);
             throw new RuntimeException(exce.getMessage());
         }
         finally
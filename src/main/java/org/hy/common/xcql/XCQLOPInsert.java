@@ -1,12 +1,18 @@
 package org.hy.common.xcql;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.hy.common.Date;
 import org.hy.common.Help;
+import org.hy.common.xml.log.Logger;
+import org.neo4j.driver.Query;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.summary.SummaryCounters;
 
 
 
@@ -24,10 +30,29 @@ import org.neo4j.driver.Transaction;
  * @createDate  2022-05-23
  * @version     v1.0
  *              v2.0  2023-10-18  添加：是否附加触发额外参数的功能
+ *              v3.0  2026-10-18  添加：参数化模式，以 org.neo4j.driver.Query 的形式执行CQL及参数
+ *              v4.0  2026-10-18  添加：批量执行的 UNWIND 模式
+ *                                修正：分批提交后，继续使用已提交（已关闭）的事务的问题
+ *              v5.0  2026-10-18  添加：批量执行的并行模式，见 XCQLOPParallel
+ *              v6.0  2026-10-18  修正：分批提交时，最后一次提交后不再开启多余的事务（外部连接时该事务不会被提交或关闭）
+ *                                添加：UNWIND模式因CQL文本不同而被拆分为小批次时，记录警告日志
+ *              v7.0  2026-10-18  修正：UNWIND模式与 executeUpdates() 相同，须CQL的类型及模板均适合（见 XCQLOPUpdate.isUnwind()），否则仍逐条执行
  */
 public class XCQLOPInsert
 {
     
+    private static final Logger $Logger           = new Logger(XCQLOPInsert.class ,true);
+    
+    /** UNWIND模式时，多组参数的参数名称 */
+    public  static final String $Unwind_Rows      = "XCQL_Rows";
+    
+    /** UNWIND模式时，每组参数的别名 */
+    public  static final String $Unwind_Row       = "XCQL_Row";
+    
+    /** UNWIND模式时，未设置分批提交（batchCommit<=0）时，每批执行的组数 */
+    public  static final int    $Unwind_BatchSize = 1000;
+    
+    
     /**
      * 占位符CQL的Create\Set\Delete语句的执行。 -- 无填充值的
      * 
@@ -47,13 +72,13 @@ public class XCQLOPInsert
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsert" ,(Object) null);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL   = i_XCQL.getContent().getCQL(v_DSCQL);
-            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_Query ,v_DSCQL);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -64,7 +89,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -74,7 +99,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -117,14 +142,14 @@ public class XCQLOPInsert
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsert" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_Query ,v_DSCQL);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -135,7 +160,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -145,7 +170,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -188,14 +213,14 @@ public class XCQLOPInsert
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsert" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_Query ,v_DSCQL);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -206,7 +231,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -216,7 +241,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -257,7 +282,7 @@ public class XCQLOPInsert
 
         try
         {
-            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,i_CQL ,i_XCQL.getDataSourceCQL());
+            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,DBCQL.toQuery(i_CQL) ,i_XCQL.getDataSourceCQL());
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -307,10 +332,10 @@ public class XCQLOPInsert
      * @createDate  2022-05-23
      * @version     v3.0
      * 
-     * @param i_CQL              常规CQL语句
+     * @param i_Query            常规CQL语句
      * @return
      */
-    private static XCQLData executeInsert_Inner(final XCQL i_XCQL ,final String i_CQL ,final DataSourceCQL i_DSG)
+    private static XCQLData executeInsert_Inner(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSG)
     {
         Connection v_Conn      = null;
         Result     v_Result    = null;
@@ -323,14 +348,14 @@ public class XCQLOPInsert
                 throw new RuntimeException("DataSourceCQL[" + i_DSG.getXJavaID() + "] is not valid.");
             }
             
-            if ( Help.isNull(i_CQL) )
+            if ( i_Query == null )
             {
                 throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
             }
             
             v_Conn   = i_XCQL.getConnection(i_DSG);
-            v_Result = v_Conn.run(i_CQL);
-            i_XCQL.log(i_CQL);
+            v_Result = v_Conn.run(i_Query);
+            i_XCQL.log(i_Query);
             
             int v_RowCount = v_Result.consume().counters().nodesCreated()
                            + v_Result.consume().counters().nodesDeleted();
@@ -353,7 +378,7 @@ public class XCQLOPInsert
         }
         catch (Exception exce)
         {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
             throw new RuntimeException(exce.getMessage());
         }
         finally
@@ -383,13 +408,13 @@ public class XCQLOPInsert
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsert" ,(Object) null);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL   = i_XCQL.getContent().getCQL(v_DSCQL);
-            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_CQL ,i_Conn);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_Query ,i_Conn);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -400,7 +425,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -410,7 +435,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -454,14 +479,14 @@ public class XCQLOPInsert
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsert" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
         
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_CQL ,i_Conn);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_Query ,i_Conn);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -472,7 +497,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -483,7 +508,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -527,14 +552,14 @@ public class XCQLOPInsert
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeInsert" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_CQL ,i_Conn);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,v_Query ,i_Conn);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -545,7 +570,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -555,7 +580,7 @@ public class XCQLOPInsert
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -597,7 +622,7 @@ public class XCQLOPInsert
 
         try
         {
-            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,i_CQL ,i_Conn);
+            XCQLData v_Ret = XCQLOPInsert.executeInsert_Inner(i_XCQL ,DBCQL.toQuery(i_CQL) ,i_Conn);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -647,17 +672,17 @@ public class XCQLOPInsert
      * @createDate  2022-05-23
      * @version     v3.0
      * 
-     * @param i_CQL              常规CQL语句
+     * @param i_Query            常规CQL语句
      * @param i_Conn             数据库连接
      * @return
      */
-    private static XCQLData executeInsert_Inner(final XCQL i_XCQL ,final String i_CQL ,final Connection i_Conn)
+    private static XCQLData executeInsert_Inner(final XCQL i_XCQL ,final Query i_Query ,final Connection i_Conn)
     {
         long v_BeginTime = i_XCQL.request().getTime();
         
         try
         {
-            if ( Help.isNull(i_CQL) )
+            if ( i_Query == null )
             {
                 throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
             }
@@ -667,7 +692,7 @@ public class XCQLOPInsert
                 throw new NullPointerException("Connection is null of XCQL.");
             }
             
-            Result v_Result = i_Conn.run(i_CQL);
+            Result v_Result = i_Conn.run(i_Query);
             int v_RowCount = v_Result.consume().counters().nodesCreated()
                            + v_Result.consume().counters().nodesDeleted();
             int v_ColCount = v_Result.consume().counters().propertiesSet();
@@ -681,7 +706,7 @@ public class XCQLOPInsert
                 v_Count = v_ColCount;
             }
             
-            i_XCQL.log(i_CQL);
+            i_XCQL.log(i_Query);
             
             Date v_EndTime = Date.getNowTime();
             long v_TimeLen = v_EndTime.getTime() - v_BeginTime;
@@ -691,7 +716,7 @@ public class XCQLOPInsert
         }
         catch (Exception exce)
         {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
             throw new RuntimeException(exce.getMessage());
         }
         finally
@@ -731,7 +756,19 @@ public class XCQLOPInsert
         try
         {
             i_XCQL.fireBeforeRule(i_ObjList);
-            XCQLData v_Ret = XCQLOPInsert.executeInserts_Inner(i_XCQL ,i_ObjList ,null);
+            XCQLData v_Ret = null;
+            if ( i_XCQL.getParallel() >= 2 )
+            {
+                v_Ret = XCQLOPParallel.executeParallel_Inner(i_XCQL ,i_ObjList ,XCQLOPUpdate.isUnwind(i_XCQL));
+            }
+            else if ( XCQLOPUpdate.isUnwind(i_XCQL) )
+            {
+                v_Ret = XCQLOPInsert.executeUnwind_Inner(i_XCQL ,i_ObjList ,null);
+            }
+            else
+            {
+                v_Ret = XCQLOPInsert.executeInserts_Inner(i_XCQL ,i_ObjList ,null);
+            }
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -809,7 +846,8 @@ public class XCQLOPInsert
         try
         {
             i_XCQL.fireBeforeRule(i_ObjList);
-            XCQLData v_Ret = XCQLOPInsert.executeInserts_Inner(i_XCQL ,i_ObjList ,i_Conn);
+            XCQLData v_Ret = XCQLOPUpdate.isUnwind(i_XCQL) ? XCQLOPInsert.executeUnwind_Inner(i_XCQL ,i_ObjList ,i_Conn)
+                                                          : XCQLOPInsert.executeInserts_Inner(i_XCQL ,i_ObjList ,i_Conn);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -881,7 +919,7 @@ public class XCQLOPInsert
         Result        v_Result      = null;
         int           v_Ret         = 0;
         long          v_BeginTime   = i_XCQL.request().getTime();
-        String        v_CQL         = null;
+        Query         v_Query       = null;
         int           v_RowCount    = 0;
         int           v_ColCount    = 0;
         int           v_RelCount    = 0;
@@ -916,15 +954,15 @@ public class XCQLOPInsert
                 {
                     if ( i_ObjList.get(i) != null )
                     {
-                        v_CQL       = i_XCQL.getContent().getCQL(i_ObjList.get(i) ,v_DSCQL);
-                        v_Result    = v_Transaction.run(v_CQL);
+                        v_Query     = i_XCQL.getContent().getQuery(i_ObjList.get(i) ,v_DSCQL);
+                        v_Result    = v_Transaction.run(v_Query);
                         v_RowCount += v_Result.consume().counters().nodesCreated()
                                     + v_Result.consume().counters().nodesDeleted();
                         v_ColCount += v_Result.consume().counters().propertiesSet();
                         v_RelCount += v_Result.consume().counters().relationshipsCreated()
                                     + v_Result.consume().counters().relationshipsDeleted();
                         
-                        i_XCQL.log(v_CQL);
+                        i_XCQL.log(v_Query);
                     }
                 }
                 
@@ -935,36 +973,35 @@ public class XCQLOPInsert
             }
             else
             {
-                boolean v_IsCommit = true;
-                
                 for (int i=0 ,v_EC=0; i<i_ObjList.size(); i++)
                 {
                     if ( i_ObjList.get(i) != null )
                     {
-                        v_CQL       = i_XCQL.getContent().getCQL(i_ObjList.get(i) ,v_DSCQL);
-                        v_Result    = v_Transaction.run(v_CQL);
+                        if ( v_Transaction == null )
+                        {
+                            v_Transaction = v_Conn.beginTransaction();  // 已提交的事务不能再使用。有下一条时才开启新事务
+                        }
+                        
+                        v_Query     = i_XCQL.getContent().getQuery(i_ObjList.get(i) ,v_DSCQL);
+                        v_Result    = v_Transaction.run(v_Query);
                         v_RowCount += v_Result.consume().counters().nodesCreated()
                                     + v_Result.consume().counters().nodesDeleted();
                         v_ColCount += v_Result.consume().counters().propertiesSet();
                         v_RelCount += v_Result.consume().counters().relationshipsCreated()
                                     + v_Result.consume().counters().relationshipsDeleted();
                     
-                        i_XCQL.log(v_CQL);
+                        i_XCQL.log(v_Query);
                         v_EC++;
                         
                         if ( v_EC % i_XCQL.getBatchCommit() == 0 )
                         {
                             v_Transaction.commit();
-                            v_IsCommit = true;
-                        }
-                        else
-                        {
-                            v_IsCommit = false;
+                            v_Transaction = null;
                         }
                     }
                 }
                 
-                if ( !v_IsCommit )
+                if ( v_Transaction != null )
                 {
                     v_Transaction.commit();
                 }
@@ -977,11 +1014,191 @@ public class XCQLOPInsert
         }
         catch (Exception exce)
         {
-            XCQL.erroring(v_CQL ,exce ,i_XCQL);
+            XCQL.erroring(v_Query ,exce ,i_XCQL);
+            
+            try
+            {
+                if ( i_Conn == null && v_Transaction != null )
+                {
+                    v_Transaction.rollback();
+                }
+            }
+            catch (Exception e)
+            {
+                // Nothing.
+            }
+            
+            throw new RuntimeException(exce.getMessage());
+        }
+        finally
+        {
+            if ( i_Conn == null )
+            {
+                i_XCQL.closeDB(null ,v_Conn);
+            }
+            else
+            {
+                i_XCQL.closeDB(null ,null);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 批量执行（UNWIND模式）：占位符CQL的Create\Set\Delete语句的执行。
+     * 
+     * 将CQL文本相同的连续多组参数合并为一条语句：UNWIND $XCQL_Rows AS XCQL_Row ... ，
+     * 每批最多 batchCommit 组（batchCommit<=0时为 $Unwind_BatchSize 组），一批只需一次网络往返。
+     * 
+     * 事务与提交的规则与 executeInserts_Inner() 相同：
+     *   1. batchCommit>=1 时，每批执行后提交一次；
+     *   2. batchCommit<=0 时，在一个事务中执行所有的批次，并且外部数据库连接时不提交。
+     * 
+     * 注：只支持单一CQL语句的执行
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_ObjList          占位符CQL的填充对象的集合。
+     * @param i_Conn             数据库连接。为空时，内部自动获取一个新的数据库连接
+     * @return                   返回节点、属性、关系的累计影响数量
+     */
+    protected static XCQLData executeUnwind_Inner(final XCQL i_XCQL ,final List<?> i_ObjList ,final Connection i_Conn)
+    {
+        return XCQLOPInsert.executeUnwind_Inner(i_XCQL ,i_ObjList ,i_Conn ,i_XCQL.getBatchCommit());
+    }
+    
+    
+    
+    /**
+     * 批量执行（UNWIND模式）：占位符CQL的Create\Set\Delete语句的执行。
+     * 
+     * 与 executeUnwind_Inner(XCQL ,List ,Connection) 相同，只是分批提交的提交点由外部指定，而不是取 i_XCQL.getBatchCommit()。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_ObjList          占位符CQL的填充对象的集合。
+     * @param i_Conn             数据库连接。为空时，内部自动获取一个新的数据库连接
+     * @param i_BatchCommit      分批提交的提交点。同时也是每批的最大组数
+     * @return                   返回节点、属性、关系的累计影响数量
+     */
+    protected static XCQLData executeUnwind_Inner(final XCQL i_XCQL ,final List<?> i_ObjList ,final Connection i_Conn ,final int i_BatchCommit)
+    {
+        DataSourceCQL v_DSCQL       = null;
+        Connection    v_Conn        = null;
+        Transaction   v_Transaction = null;
+        long          v_BeginTime   = i_XCQL.request().getTime();
+        Query         v_Query       = null;
+        int []        v_Counts      = new int[3];
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            if ( !v_DSCQL.isValid() )
+            {
+                throw new RuntimeException("DataSourceCQL[" + v_DSCQL.getXJavaID() + "] is not valid.");
+            }
+            
+            if ( Help.isNull(i_ObjList) )
+            {
+                throw new NullPointerException("Batch execute update List<Object> is null.");
+            }
+            
+            if ( i_Conn == null )
+            {
+                v_Conn = i_XCQL.getConnection(v_DSCQL);
+            }
+            else
+            {
+                v_Conn = i_Conn;
+            }
+            
+            boolean     v_IsBatchCommit = i_BatchCommit >= 1;
+            int         v_BatchSize     = v_IsBatchCommit ? i_BatchCommit : $Unwind_BatchSize;
+            String      v_BatchCQL      = null;
+            List<Value> v_Rows          = new ArrayList<Value>(Math.min(v_BatchSize ,i_ObjList.size()));
+            int         v_RowTotal      = 0;
+            int         v_TextSplits    = 0;
+            
+            v_Transaction = v_Conn.beginTransaction();
+            
+            for (int i=0; i<i_ObjList.size(); i++)
+            {
+                if ( i_ObjList.get(i) == null )
+                {
+                    continue;
+                }
+                
+                Query v_RowQuery = i_XCQL.getContent().getParamQuery(i_ObjList.get(i) ,v_DSCQL);
+                if ( v_RowQuery == null )
+                {
+                    continue;
+                }
+                
+                // 动态模板使每组参数生成的CQL文本可能不同，文本不同时也须分批
+                if ( !v_Rows.isEmpty() && (v_Rows.size() >= v_BatchSize || !v_BatchCQL.equals(v_RowQuery.text())) )
+                {
+                    if ( v_Rows.size() < v_BatchSize )
+                    {
+                        v_TextSplits++;
+                    }
+                    
+                    v_Query = XCQLOPInsert.executeUnwindBatch(i_XCQL ,v_Transaction ,v_BatchCQL ,v_Rows ,v_Counts);
+                    v_Rows  = new ArrayList<Value>(v_Rows.size());
+                    
+                    if ( v_IsBatchCommit )
+                    {
+                        v_Transaction.commit();
+                        v_Transaction = v_Conn.beginTransaction();
+                    }
+                }
+                
+                v_BatchCQL = v_RowQuery.text();
+                v_Rows.add(v_RowQuery.parameters());
+                v_RowTotal++;
+            }
+            
+            if ( v_TextSplits > 0 )
+            {
+                // 值位置的占位符均已参数化。标签、关系类型等结构性位置的占位符及 <[ ]> 动态分段仍按拼接方式生成，取值不同时CQL文本不同
+                $Logger.warn("XCQL[" + i_XCQL.getXJavaID() + "] UNWIND mode: " + v_TextSplits + " batches of " + v_RowTotal + " rows were cut short because the rows' CQL texts differ. "
+                           + "Placeholders of labels, relationship types and the <[ ]> segments vary the CQL text per row.");
+            }
+            
+            if ( !v_Rows.isEmpty() )
+            {
+                v_Query = XCQLOPInsert.executeUnwindBatch(i_XCQL ,v_Transaction ,v_BatchCQL ,v_Rows ,v_Counts);
+            }
+            
+            if ( i_Conn == null || v_IsBatchCommit )
+            {
+                v_Transaction.commit();  // 它与i_Conn.commit();同作用
+            }
+            
+            int v_Count = v_Counts[0] + v_Counts[2];
+            if ( v_Count <= 0 )
+            {
+                v_Count = v_Counts[1];
+            }
+            
+            Date v_EndTime = Date.getNowTime();
+            long v_TimeLen = v_EndTime.getTime() - v_BeginTime;
+            i_XCQL.success(v_EndTime ,v_TimeLen ,i_ObjList.size() ,v_Count);
+            return new XCQLData(null ,v_Counts[0] ,v_Counts[1] ,v_Counts[2] ,v_TimeLen ,null);
+        }
+        catch (Exception exce)
+        {
+            XCQL.erroring(v_Query ,exce ,i_XCQL);
             
             try
             {
-                if ( i_Conn == null && v_Conn != null )
+                if ( i_Conn == null && v_Transaction != null )
                 {
                     v_Transaction.rollback();
                 }
@@ -1008,6 +1225,46 @@ public class XCQLOPInsert
     
     
     
+    /**
+     * UNWIND模式：执行一批
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Transaction  事务
+     * @param i_CQL          参数化的CQL文本
+     * @param i_Rows         多组参数
+     * @param io_Counts      累计影响的数量。下标0：节点数量；下标1：属性数量；下标2：关系数量
+     * @return               执行的CQL
+     */
+    protected static Query executeUnwindBatch(final XCQL i_XCQL ,final Transaction i_Transaction ,final String i_CQL ,final List<Value> i_Rows ,final int [] io_Counts)
+    {
+        String v_UnwindCQL = DBCQL.toUnwindCQL(i_CQL ,$Unwind_Rows ,$Unwind_Row);
+        if ( v_UnwindCQL == null )
+        {
+            throw new RuntimeException("CQL can not be executed in UNWIND mode. Only a single statement is supported: " + i_CQL);
+        }
+        
+        Map<String ,Object> v_Params = new HashMap<String ,Object>(1);
+        v_Params.put($Unwind_Rows ,i_Rows);
+        
+        Query           v_Query    = new Query(v_UnwindCQL ,v_Params);
+        SummaryCounters v_Counters = i_Transaction.run(v_Query).consume().counters();
+        
+        io_Counts[0] += v_Counters.nodesCreated() + v_Counters.nodesDeleted();
+        io_Counts[1] += v_Counters.propertiesSet();
+        io_Counts[2] += v_Counters.relationshipsCreated() + v_Counters.relationshipsDeleted();
+        
+        // 日志中不输出多组参数，只输出组数
+        i_XCQL.log(v_UnwindCQL + "\n-- Rows: " + i_Rows.size());
+        
+        return v_Query;
+    }
+    
+    
+    
     /**
      * 本类不允许构建
      */
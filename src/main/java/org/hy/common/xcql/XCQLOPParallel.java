@@ -0,0 +1,510 @@
+package org.hy.common.xcql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hy.common.Date;
+import org.hy.common.Help;
+import org.hy.common.MethodReflect;
+import org.hy.common.xml.log.Logger;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.exceptions.RetryableException;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.exceptions.SessionExpiredException;
+import org.neo4j.driver.summary.SummaryCounters;
+
+
+
+
+
+/**
+ * XCQL功能中批量Create\Set\Delete语句的并行执行的具体操作与实现。
+ * 
+ * 将批量执行的集合按分区键（或按顺序平均）拆分为 XCQL.getParallel() 个分区，每个分区独占一个线程及一个数据库连接。
+ * 每个分区内按 XCQL.getBatchCommit() 分批提交（<=0时，一个分区只在一个事务中提交一次）。
+ * 分批遇到瞬时异常（如死锁）时，回滚并重试本分批，最多重试 $Retry_Max 次。
+ * 会话失效、服务不可用时，关闭原连接，打开新的连接后再重试。
+ * 
+ * 独立原因：从XCQL主类中分离的主要原因是：减少XCQL主类的代码量，方便维护。使XCQL主类向外提供统一的操作，本类重点关注实现。
+ * 静态原因：用static方法的原因：不想再构建太多的类实例，减少内存负担
+ * 接口选择：未使用接口的原因：本类的每个方法的首个入参都有一个XCQL类型，并且都是static方法
+ * 
+ * 注意：
+ *   1. 各分区独立提交。某一分区异常时，其它分区在当前分批完成后停止，但已提交的分批不会回滚；
+ *   2. 同一分区键的数据在同一分区中按原顺序执行，不同分区之间的执行顺序不确定；
+ *   3. 只支持自动获取数据库连接的批量执行，外部传入数据库连接时不能并行。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修正：会话失效、服务不可用时，在新打开的连接上重试，不再在已失效的会话上重试
+ *                                优化：每条CQL的执行结果只consume()一次
+ */
+public class XCQLOPParallel
+{
+    
+    private static final Logger     $Logger         = new Logger(XCQLOPParallel.class ,true);
+    
+    /** 分批遇到瞬时异常（如死锁）时的最大重试次数 */
+    public  static final int        $Retry_Max      = 3;
+    
+    /** 重试前等待时长的基数（单位：毫秒）。第N次重试前等待N倍的时长 */
+    public  static final long       $Retry_Interval = 100L;
+    
+    /** 并行线程的编号 */
+    private static final AtomicLong $ThreadNo       = new AtomicLong(0L);
+    
+    
+    
+    /**
+     * 并行批量执行：占位符CQL的Create\Set\Delete语句的执行。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_ObjList  占位符CQL的填充对象的集合。
+     * @param i_Unwind   分批内是否按 UNWIND 模式执行
+     * @return           返回各分区节点、属性、关系的累计影响数量。各分区的用时见 XCQLData.getPartitionTimeLens()
+     */
+    protected static XCQLData executeParallel_Inner(final XCQL i_XCQL ,final List<?> i_ObjList ,final boolean i_Unwind)
+    {
+        DataSourceCQL   v_DSCQL     = null;
+        ExecutorService v_Pool      = null;
+        long            v_BeginTime = i_XCQL.request().getTime();
+        boolean         v_IsLogged  = false;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            if ( !v_DSCQL.isValid() )
+            {
+                throw new RuntimeException("DataSourceCQL[" + v_DSCQL.getXJavaID() + "] is not valid.");
+            }
+            
+            if ( Help.isNull(i_ObjList) )
+            {
+                throw new NullPointerException("Batch execute update List<Object> is null.");
+            }
+            
+            final DataSourceCQL  v_PartitionDSCQL = v_DSCQL;
+            final AtomicBoolean  v_Stop           = new AtomicBoolean(false);
+            List<List<Object>>   v_Partitions     = XCQLOPParallel.partition(i_XCQL ,i_ObjList);
+            List<Future<long []>> v_Futures       = new ArrayList<Future<long []>>(v_Partitions.size());
+            
+            v_Pool = Executors.newFixedThreadPool(Math.max(v_Partitions.size() ,1) ,(i_Runnable) ->
+            {
+                Thread v_Thread = new Thread(i_Runnable ,"XCQL-Parallel-" + $ThreadNo.incrementAndGet());
+                v_Thread.setDaemon(true);
+                return v_Thread;
+            });
+            
+            for (List<Object> v_Partition : v_Partitions)
+            {
+                v_Futures.add(v_Pool.submit(() -> XCQLOPParallel.executePartition(i_XCQL ,v_PartitionDSCQL ,v_Partition ,i_Unwind ,v_Stop)));
+            }
+            
+            long []   v_Counts   = new long[3];
+            long []   v_TimeLens = new long[v_Futures.size()];
+            Throwable v_Error    = null;
+            
+            // 等待所有分区结束后再返回，保证返回时没有仍在写入的分区
+            for (int i=0; i<v_Futures.size(); i++)
+            {
+                try
+                {
+                    long [] v_Ret = v_Futures.get(i).get();
+                    
+                    v_Counts[0]  += v_Ret[0];
+                    v_Counts[1]  += v_Ret[1];
+                    v_Counts[2]  += v_Ret[2];
+                    v_TimeLens[i] = v_Ret[3];
+                }
+                catch (ExecutionException exce)
+                {
+                    if ( v_Error == null )
+                    {
+                        v_Error = exce.getCause();
+                    }
+                }
+            }
+            
+            if ( v_Error != null )
+            {
+                // 分区内已记录异常的CQL
+                v_IsLogged = true;
+                throw new RuntimeException(v_Error.getMessage());
+            }
+            
+            long v_Count = v_Counts[0] + v_Counts[2];
+            if ( v_Count <= 0 )
+            {
+                v_Count = v_Counts[1];
+            }
+            
+            Date v_EndTime = Date.getNowTime();
+            long v_TimeLen = v_EndTime.getTime() - v_BeginTime;
+            i_XCQL.success(v_EndTime ,v_TimeLen ,i_ObjList.size() ,v_Count);
+            
+            XCQLData v_Ret = new XCQLData(null ,v_Counts[0] ,(int) v_Counts[1] ,v_Counts[2] ,v_TimeLen ,null);
+            v_Ret.setPartitionTimeLens(v_TimeLens);
+            return v_Ret;
+        }
+        catch (Exception exce)
+        {
+            if ( !v_IsLogged )
+            {
+                XCQL.erroring((Query) null ,exce ,i_XCQL);
+            }
+            throw new RuntimeException(exce.getMessage());
+        }
+        finally
+        {
+            if ( v_Pool != null )
+            {
+                v_Pool.shutdown();
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 执行一个分区。在分区的线程中执行
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_DSCQL      数据库连接信息
+     * @param i_Partition  分区的数据
+     * @param i_Unwind     分批内是否按 UNWIND 模式执行
+     * @param i_Stop       是否停止执行（其它分区异常时）
+     * @return             下标0：节点数量；下标1：属性数量；下标2：关系数量；下标3：分区的用时时长（单位：毫秒）
+     */
+    private static long [] executePartition(final XCQL          i_XCQL
+                                           ,final DataSourceCQL i_DSCQL
+                                           ,final List<Object>  i_Partition
+                                           ,final boolean       i_Unwind
+                                           ,final AtomicBoolean i_Stop)
+    {
+        long          v_BeginTime = Date.getNowTime().getTime();
+        Connection [] v_Conn      = new Connection[1];
+        int []        v_Counts    = new int[3];
+        int           v_BatchSize = i_XCQL.getBatchCommit() >= 1 ? i_XCQL.getBatchCommit() : i_Partition.size();
+        
+        try
+        {
+            v_Conn[0] = i_XCQL.getConnection(i_DSCQL);
+            
+            for (int v_From=0; v_From<i_Partition.size() && !i_Stop.get(); v_From+=v_BatchSize)
+            {
+                List<Object> v_Batch = i_Partition.subList(v_From ,Math.min(v_From + v_BatchSize ,i_Partition.size()));
+                XCQLOPParallel.executeBatch(i_XCQL ,i_DSCQL ,v_Conn ,v_Batch ,i_Unwind ,v_Counts);
+            }
+        }
+        catch (RuntimeException exce)
+        {
+            // 通知其它分区停止
+            i_Stop.set(true);
+            throw exce;
+        }
+        finally
+        {
+            i_XCQL.closeDB(null ,v_Conn[0]);
+        }
+        
+        return new long[] {v_Counts[0] ,v_Counts[1] ,v_Counts[2] ,Date.getNowTime().getTime() - v_BeginTime};
+    }
+    
+    
+    
+    /**
+     * 在一个事务中执行一个分批并提交。遇到瞬时异常时回滚并重试
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修正：会话失效、服务不可用时，关闭原连接，在新打开的连接上重试
+     * 
+     * @param i_XCQL
+     * @param i_DSCQL     数据库连接信息
+     * @param io_Conn     下标0：分区的数据库连接。重试前打开新连接时，替换为新的连接
+     * @param i_Batch     分批的数据
+     * @param i_Unwind    是否按 UNWIND 模式执行
+     * @param io_Counts   累计影响的数量。下标0：节点数量；下标1：属性数量；下标2：关系数量
+     */
+    private static void executeBatch(final XCQL          i_XCQL
+                                    ,final DataSourceCQL i_DSCQL
+                                    ,final Connection [] io_Conn
+                                    ,final List<Object>  i_Batch
+                                    ,final boolean       i_Unwind
+                                    ,final int []        io_Counts)
+    {
+        for (int v_Retry=0; ; v_Retry++)
+        {
+            Transaction v_Transaction = null;
+            Query       v_Query       = null;
+            int []      v_Counts      = new int[3];
+            
+            try
+            {
+                v_Transaction = io_Conn[0].beginTransaction();
+                
+                if ( i_Unwind )
+                {
+                    v_Query = XCQLOPParallel.executeUnwind(i_XCQL ,i_DSCQL ,v_Transaction ,i_Batch ,v_Counts);
+                }
+                else
+                {
+                    for (Object v_Obj : i_Batch)
+                    {
+                        v_Query = i_XCQL.getContent().getQuery(v_Obj ,i_DSCQL);
+                        
+                        SummaryCounters v_Counters = v_Transaction.run(v_Query).consume().counters();
+                        v_Counts[0] += v_Counters.nodesCreated()
+                                     + v_Counters.nodesDeleted();
+                        v_Counts[1] += v_Counters.propertiesSet();
+                        v_Counts[2] += v_Counters.relationshipsCreated()
+                                     + v_Counters.relationshipsDeleted();
+                        i_XCQL.log(v_Query);
+                    }
+                }
+                
+                v_Transaction.commit();
+                
+                io_Counts[0] += v_Counts[0];
+                io_Counts[1] += v_Counts[1];
+                io_Counts[2] += v_Counts[2];
+                return;
+            }
+            catch (Exception exce)
+            {
+                try
+                {
+                    if ( v_Transaction != null && v_Transaction.isOpen() )
+                    {
+                        v_Transaction.rollback();
+                    }
+                }
+                catch (Exception e)
+                {
+                    // Nothing.
+                }
+                
+                if ( v_Retry < $Retry_Max && exce instanceof RetryableException )
+                {
+                    $Logger.warn("XCQL[" + i_XCQL.getObjectID() + "] parallel batch retry " + (v_Retry + 1) + ": " + exce.getMessage());
+                    
+                    try
+                    {
+                        Thread.sleep($Retry_Interval * (v_Retry + 1));
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(exce.getMessage());
+                    }
+                    
+                    // 会话已失效，或连接的服务已不可用时，原会话不能再使用
+                    if ( exce instanceof SessionExpiredException || exce instanceof ServiceUnavailableException )
+                    {
+                        i_XCQL.closeDB(null ,io_Conn[0]);
+                        io_Conn[0] = null;
+                        io_Conn[0] = i_XCQL.getConnection(i_DSCQL);
+                    }
+                    continue;
+                }
+                
+                XCQL.erroring(v_Query ,exce ,i_XCQL);
+                throw new RuntimeException(exce.getMessage());
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * UNWIND模式执行一个分批（不提交）。CQL文本相同的连续多组参数合并为一条语句
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_DSCQL        数据库连接信息
+     * @param i_Transaction  事务
+     * @param i_Batch        分批的数据
+     * @param io_Counts      累计影响的数量。下标0：节点数量；下标1：属性数量；下标2：关系数量
+     * @return               最后执行的CQL
+     */
+    private static Query executeUnwind(final XCQL          i_XCQL
+                                      ,final DataSourceCQL i_DSCQL
+                                      ,final Transaction   i_Transaction
+                                      ,final List<Object>  i_Batch
+                                      ,final int []        io_Counts)
+    {
+        Query       v_Query      = null;
+        String      v_BatchCQL   = null;
+        List<Value> v_Rows       = new ArrayList<Value>(Math.min(i_Batch.size() ,XCQLOPInsert.$Unwind_BatchSize));
+        int         v_TextSplits = 0;
+        
+        for (Object v_Obj : i_Batch)
+        {
+            Query v_RowQuery = i_XCQL.getContent().getParamQuery(v_Obj ,i_DSCQL);
+            if ( v_RowQuery == null )
+            {
+                continue;
+            }
+            
+            if ( !v_Rows.isEmpty() && (v_Rows.size() >= XCQLOPInsert.$Unwind_BatchSize || !v_BatchCQL.equals(v_RowQuery.text())) )
+            {
+                if ( v_Rows.size() < XCQLOPInsert.$Unwind_BatchSize )
+                {
+                    v_TextSplits++;
+                }
+                
+                v_Query = XCQLOPInsert.executeUnwindBatch(i_XCQL ,i_Transaction ,v_BatchCQL ,v_Rows ,io_Counts);
+                v_Rows  = new ArrayList<Value>(v_Rows.size());
+            }
+            
+            v_BatchCQL = v_RowQuery.text();
+            v_Rows.add(v_RowQuery.parameters());
+        }
+        
+        if ( v_TextSplits > 0 )
+        {
+            // 同 XCQLOPInsert.executeUnwind_Inner() 的警告
+            $Logger.warn("XCQL[" + i_XCQL.getXJavaID() + "] UNWIND mode: " + v_TextSplits + " batches of " + i_Batch.size() + " rows were cut short because the rows' CQL texts differ. "
+                       + "Placeholders of labels, relationship types and the <[ ]> segments vary the CQL text per row.");
+        }
+        
+        if ( !v_Rows.isEmpty() )
+        {
+            v_Query = XCQLOPInsert.executeUnwindBatch(i_XCQL ,i_Transaction ,v_BatchCQL ,v_Rows ,io_Counts);
+        }
+        
+        return v_Query;
+    }
+    
+    
+    
+    /**
+     * 将批量执行的集合拆分为多个分区（NULL元素被忽略）
+     * 
+     * 1. 有分区键 XCQL.getParallelKey() 时，按分区键的哈希值拆分，同一分区键的数据在同一分区中；
+     * 2. 无分区键时，按顺序平均拆分为连续的多段。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_ObjList  占位符CQL的填充对象的集合。
+     * @return           不含空的分区
+     */
+    private static List<List<Object>> partition(final XCQL i_XCQL ,final List<?> i_ObjList)
+    {
+        int                v_Parallel   = Math.max(Math.min(i_XCQL.getParallel() ,i_ObjList.size()) ,1);
+        String             v_Key        = i_XCQL.getParallelKey();
+        List<List<Object>> v_Partitions = new ArrayList<List<Object>>(v_Parallel);
+        
+        for (int i=0; i<v_Parallel; i++)
+        {
+            v_Partitions.add(new ArrayList<Object>(i_ObjList.size() / v_Parallel + 1));
+        }
+        
+        for (int i=0; i<i_ObjList.size(); i++)
+        {
+            Object v_Obj = i_ObjList.get(i);
+            if ( v_Obj == null )
+            {
+                continue;
+            }
+            
+            int v_Index = 0;
+            if ( Help.isNull(v_Key) )
+            {
+                v_Index = (int) ((long) i * v_Parallel / i_ObjList.size());
+            }
+            else
+            {
+                v_Index = Math.floorMod(Objects.hashCode(XCQLOPParallel.getKeyValue(v_Obj ,v_Key)) ,v_Parallel);
+            }
+            
+            v_Partitions.get(v_Index).add(v_Obj);
+        }
+        
+        v_Partitions.removeIf(List::isEmpty);
+        return v_Partitions;
+    }
+    
+    
+    
+    /**
+     * 获取分区键的值。支持xxx.yyy.www全路径
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Obj  占位符CQL的填充对象。可以是Object，也可以是Map<String ,?>
+     * @param i_Key  分区键
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static Object getKeyValue(final Object i_Obj ,final String i_Key)
+    {
+        MethodReflect v_MethodReflect = null;
+        try
+        {
+            if ( i_Obj instanceof Map )
+            {
+                return MethodReflect.getMapValue((Map<String ,?>) i_Obj ,i_Key);
+            }
+            
+            DBCQLAccessor v_Accessor = DBCQLAccessor.getAccessor(i_Obj.getClass() ,i_Key);
+            if ( v_Accessor != null )
+            {
+                return v_Accessor.getValue(i_Obj);
+            }
+            
+            v_MethodReflect = new MethodReflect(i_Obj ,i_Key ,true ,MethodReflect.$NormType_Getter);
+            return v_MethodReflect.invoke();
+        }
+        catch (Exception exce)
+        {
+            throw new RuntimeException("Parallel key[" + i_Key + "] is not found in " + i_Obj.getClass().getName() + ".");
+        }
+        finally
+        {
+            if ( v_MethodReflect != null )
+            {
+                v_MethodReflect.clearDestroy();
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 本类不允许构建
+     */
+    private XCQLOPParallel()
+    {
+    
+    }
+    
+}
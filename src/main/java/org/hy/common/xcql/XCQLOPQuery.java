@@ -1,13 +1,18 @@
 package org.hy.common.xcql;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.hy.common.Date;
 import org.hy.common.Help;
+import org.neo4j.driver.Query;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
 
 
 
@@ -24,12 +29,43 @@ import org.neo4j.driver.Result;
  * @createDate  2022-06-04
  * @version     v1.0
  *              v2.0  2023-10-18  添加：是否附加触发额外参数的功能
+ *              v3.0  2026-10-18  添加：参数化模式，以 org.neo4j.driver.Query 的形式执行CQL及参数
+ *              v4.0  2026-10-18  添加：流式读取的 queryIterator() 系列方法
+ *              v5.0  2026-10-18  优化：分页查询下推为CQL的 SKIP/LIMIT ，无法改写时才回退为客户端游标跳行
+ *              v6.0  2026-10-18  添加：游标分页（Keyset Pagination）的 queryPage() 系列方法
+ *              v7.0  2026-10-18  添加：通过数据库连接池组执行的查询，优先读取查询结果的缓存 XCQLCache
+ *              v8.0  2026-10-18  添加：通过数据库连接池组执行的查询，相同查询并发时合并为一次执行 XCQLSingleFlight
+ *              v9.0  2026-10-18  修正：流式读取的会话不计入数据库的会话用时
  */
 public class XCQLOPQuery
 {
     
     /** 判定查询QL中否有COUNT(1)或COUNT(*)的情况 */
-    private static final String $CQLHaveCount = "( )+[Cc][Oo][Uu][Nn][Tt][ ]*(\\()+";
+    private static final String  $CQLHaveCount    = "( )+[Cc][Oo][Uu][Nn][Tt][ ]*(\\()+";
+    
+    /**
+     * 分页下推时，判定CQL中是否已有分页、合并、写操作等不可改写的关键字（已去除字符串常量后判定）。
+     * 有写操作时不下推，保证写操作的执行范围与原CQL完全一致
+     */
+    private static final Pattern $CQLNotPaging    = Pattern.compile("(?i)\\b(SKIP|LIMIT|OFFSET|UNION|CREATE|MERGE|SET|DELETE|REMOVE|FOREACH|LOAD)\\b|;");
+    
+    /** 分页下推时，识别CQL中的RETURN关键字 */
+    private static final Pattern $CQLReturn       = Pattern.compile("\\b[Rr][Ee][Tt][Uu][Rr][Nn]\\b");
+    
+    /** 分页下推时，SKIP的参数名称 */
+    public  static final String  $Paging_Skip     = "XCQL_Skip";
+    
+    /** 分页下推时，LIMIT的参数名称 */
+    public  static final String  $Paging_Limit    = "XCQL_Limit";
+    
+    /** 游标分页时，游标的参数名称，同时也是返回排序键值的内部列名称 */
+    public  static final String  $Paging_Cursor   = "XCQL_Cursor";
+    
+    /** 游标分页时，识别RETURN子句中的排序 */
+    private static final Pattern $CQLOrderBy      = Pattern.compile("(?i)\\bORDER\\s+BY\\b");
+    
+    /** 游标分页时，识别RETURN子句中的聚合及去重。追加排序键列会改变分组，所以不能改写 */
+    private static final Pattern $CQLAggregate    = Pattern.compile("(?i)\\bDISTINCT\\b|\\b(count|sum|avg|min|max|collect|stDev|stDevP|percentileCont|percentileDisc)\\s*\\(");
     
     
     
@@ -52,13 +88,13 @@ public class XCQLOPQuery
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryXCQLData" ,(Object) null);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(v_DSCQL);
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_Query ,v_DSCQL);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -68,7 +104,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -78,7 +114,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -119,13 +155,13 @@ public class XCQLOPQuery
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryXCQLData" ,(Object) null);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(v_DSCQL);
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_CQL ,i_Conn);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_Query ,i_Conn);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -135,7 +171,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -145,7 +181,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -189,14 +225,14 @@ public class XCQLOPQuery
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryXCQLData" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
         
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_Query ,v_DSCQL);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -206,7 +242,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -216,7 +252,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -261,14 +297,14 @@ public class XCQLOPQuery
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryXCQLData" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
         
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_CQL ,i_Conn);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_Query ,i_Conn);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -278,7 +314,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -288,7 +324,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -332,14 +368,14 @@ public class XCQLOPQuery
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryXCQLData" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_Query ,v_DSCQL);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -349,7 +385,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -359,7 +395,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -404,14 +440,14 @@ public class XCQLOPQuery
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryXCQLData" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_CQL ,i_Conn);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_Query ,i_Conn);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -421,7 +457,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -431,7 +467,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -476,7 +512,7 @@ public class XCQLOPQuery
 
         try
         {
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,i_CQL ,i_Conn);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,DBCQL.toQuery(i_CQL) ,i_Conn);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -541,7 +577,7 @@ public class XCQLOPQuery
 
         try
         {
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,i_CQL ,i_XCQL.getDataSourceCQL());
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,DBCQL.toQuery(i_CQL) ,i_XCQL.getDataSourceCQL());
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -592,10 +628,10 @@ public class XCQLOPQuery
      * @createDate  2019-03-22
      * @version     v1.0
      * 
-     * @param i_CQL              常规CQL语句
+     * @param i_Query            常规CQL语句
      * @return
      */
-    private static XCQLData queryXCQLData_Inner(final XCQL i_XCQL ,final String i_CQL ,final Connection i_Conn)
+    private static XCQLData queryXCQLData_Inner(final XCQL i_XCQL ,final Query i_Query ,final Connection i_Conn)
     {
         Result v_Resultset = null;
         long   v_BeginTime = i_XCQL.request().getTime();
@@ -607,7 +643,7 @@ public class XCQLOPQuery
                 throw new NullPointerException("Result is null of XCQL.");
             }
             
-            if ( Help.isNull(i_CQL) )
+            if ( i_Query == null )
             {
                 throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
             }
@@ -617,8 +653,8 @@ public class XCQLOPQuery
                 throw new NullPointerException("Connection is null of XCQL.");
             }
             
-            v_Resultset = i_Conn.run(i_CQL);
-            i_XCQL.log(i_CQL);
+            v_Resultset = i_Conn.run(i_Query);
+            i_XCQL.log(i_Query);
             
             XCQLData v_Ret = i_XCQL.getResult().getDatas(v_Resultset);
             Date v_EndTime = Date.getNowTime();
@@ -630,7 +666,7 @@ public class XCQLOPQuery
         }
         catch (Exception exce)
         {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
             throw new RuntimeException(exce.getMessage());
         }
         finally
@@ -661,13 +697,13 @@ public class XCQLOPQuery
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryXCQLData" ,(Object) null);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(v_DSCQL);
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_CQL ,v_DSCQL ,i_StartRow ,i_PagePerSize);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_Query ,v_DSCQL ,i_StartRow ,i_PagePerSize);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -677,7 +713,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -687,7 +723,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -733,14 +769,14 @@ public class XCQLOPQuery
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryXCQLData" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_CQL ,v_DSCQL ,i_StartRow ,i_PagePerSize);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_Query ,v_DSCQL ,i_StartRow ,i_PagePerSize);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -750,7 +786,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -760,7 +796,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -806,14 +842,14 @@ public class XCQLOPQuery
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryXCQLData" ,i_Values);
         long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_CQL ,v_DSCQL ,i_StartRow ,i_PagePerSize);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,v_Query ,v_DSCQL ,i_StartRow ,i_PagePerSize);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -823,7 +859,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -833,7 +869,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -882,7 +918,7 @@ public class XCQLOPQuery
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,i_CQL ,v_DSCQL ,i_StartRow ,i_PagePerSize);
+            XCQLData v_Ret = XCQLOPQuery.queryXCQLData_Inner(i_XCQL ,DBCQL.toQuery(i_CQL) ,v_DSCQL ,i_StartRow ,i_PagePerSize);
             v_IORowCount = v_Ret.getRowCount();
             return v_Ret;
         }
@@ -927,78 +963,47 @@ public class XCQLOPQuery
     /**
      * 常规CQL的查询。游标的分页查询（可通用于所有数据库）。
      * 
-     * 1. 提交数据库执行 i_CQL ，将数据库结果集转化为Java实例对象返回
+     * 启用相同查询的并发合并时，并发的相同查询只执行一次（见 XCQLSingleFlight）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-03-22
+     * @createDate  2026-10-18
      * @version     v1.0
-     *
-     * @param i_CQL              常规CQL语句
+     * 
+     * @param i_Query            常规CQL语句
      * @param i_StartRow         开始读取的行号。下标从0开始。
      * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
      * @return
      */
-    private static XCQLData queryXCQLData_Inner(final XCQL i_XCQL ,final String i_CQL ,final DataSourceCQL i_DSCQL ,final int i_StartRow ,final int i_PagePerSize)
+    private static XCQLData queryXCQLData_Inner(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSCQL ,final int i_StartRow ,final int i_PagePerSize)
     {
-        Connection v_Conn      = null;
-        Result     v_Resultset = null;
-        long       v_BeginTime = i_XCQL.request().getTime();
+        XCQLSingleFlight v_Flights = i_XCQL.getSingleFlights();
         
-        try
-        {
-            if ( i_XCQL.getResult() == null )
-            {
-                throw new NullPointerException("Result is null of XCQL.");
-            }
-            
-            if ( !i_DSCQL.isValid() )
-            {
-                throw new RuntimeException("DataSourceCQL[" + i_DSCQL.getXJavaID() + "] is not valid.");
-            }
-            
-            if ( Help.isNull(i_CQL) )
-            {
-                throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
-            }
-            
-            v_Conn      = i_XCQL.getConnection(i_DSCQL);
-            v_Resultset = v_Conn.run(i_CQL);
-            i_XCQL.log(i_CQL);
-            
-            XCQLData v_Ret = i_XCQL.getResult().getDatas(v_Resultset ,i_StartRow ,i_PagePerSize);
-            Date v_EndTime = Date.getNowTime();
-            i_XCQL.success(v_EndTime ,v_EndTime.getTime() - v_BeginTime ,1 ,v_Ret.getRowCount());
-            
-            i_XCQL.fireAfterRule(v_Ret);
-            
-            return v_Ret;
-        }
-        catch (Exception exce)
-        {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
-            throw new RuntimeException(exce.getMessage());
-        }
-        finally
+        if ( v_Flights == null || i_Query == null || i_DSCQL == null )
         {
-            i_XCQL.closeDB(v_Resultset ,v_Conn);
+            return XCQLOPQuery.queryXCQLData_Execute(i_XCQL ,i_Query ,i_DSCQL ,i_StartRow ,i_PagePerSize);
         }
+        
+        return v_Flights.execute(new XCQLCacheKey(i_DSCQL ,i_Query ,i_StartRow ,i_PagePerSize ,0L)
+                                ,() -> XCQLOPQuery.queryXCQLData_Execute(i_XCQL ,i_Query ,i_DSCQL ,i_StartRow ,i_PagePerSize));
     }
     
     
     
     /**
-     * 常规CQL的查询
+     * 常规CQL的查询。游标的分页查询（可通用于所有数据库）。
      * 
      * 1. 提交数据库执行 i_CQL ，将数据库结果集转化为Java实例对象返回
      * 
      * @author      ZhengWei(HY)
      * @createDate  2019-03-22
      * @version     v1.0
-     * 
-     * @param i_CQL  常规CQL语句
+     *
+     * @param i_Query            常规CQL语句
+     * @param i_StartRow         开始读取的行号。下标从0开始。
+     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
      * @return
      */
-    private static XCQLData queryXCQLData_Inner(final XCQL i_XCQL ,final String i_CQL ,final DataSourceCQL i_DSCQL)
+    private static XCQLData queryXCQLData_Execute(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSCQL ,final int i_StartRow ,final int i_PagePerSize)
     {
         Connection v_Conn      = null;
         Result     v_Resultset = null;
@@ -1016,26 +1021,66 @@ public class XCQLOPQuery
                 throw new RuntimeException("DataSourceCQL[" + i_DSCQL.getXJavaID() + "] is not valid.");
             }
             
-            if ( Help.isNull(i_CQL) )
+            if ( i_Query == null )
             {
                 throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
             }
             
-            v_Conn      = i_XCQL.getConnection(i_DSCQL);
-            v_Resultset = v_Conn.run(i_CQL);
-            i_XCQL.log(i_CQL);
+            XCQLCache    v_Cache    = XCQLOPQuery.getCache(i_XCQL);
+            XCQLCacheKey v_CacheKey = null;
+            if ( v_Cache != null )
+            {
+                v_CacheKey = v_Cache.newKey(i_DSCQL ,i_Query ,i_StartRow ,i_PagePerSize);
+                XCQLData v_Cached = v_Cache.get(v_CacheKey);
+                if ( v_Cached != null )
+                {
+                    // 缓存的已是执行 afterRule 之后的结果，不再重复执行
+                    Date v_EndTime = Date.getNowTime();
+                    i_XCQL.success(v_EndTime ,v_EndTime.getTime() - v_BeginTime ,1 ,v_Cached.getRowCount());
+                    return v_Cached;
+                }
+            }
             
-            XCQLData v_Ret = i_XCQL.getResult().getDatas(v_Resultset);
+            Query v_PagingQuery = null;
+            if ( i_XCQL.isPagingPushdown() )
+            {
+                v_PagingQuery = XCQLOPQuery.toPagingQuery(i_Query ,i_StartRow ,i_PagePerSize);
+            }
+            
+            v_Conn = i_XCQL.getConnection(i_DSCQL);
+            
+            XCQLData v_Ret = null;
+            if ( v_PagingQuery != null )
+            {
+                // 分页下推到CQL中：被跳过的记录不再经网络传输和解码
+                i_XCQL.pagingCount(true);
+                v_Resultset = v_Conn.run(v_PagingQuery);
+                i_XCQL.log(v_PagingQuery);
+                v_Ret = i_XCQL.getResult().getDatas(v_Resultset ,0 ,i_PagePerSize);
+            }
+            else
+            {
+                // 无法改写CQL时，回退为客户端游标跳行
+                i_XCQL.pagingCount(false);
+                v_Resultset = v_Conn.run(i_Query);
+                i_XCQL.log(i_Query);
+                v_Ret = i_XCQL.getResult().getDatas(v_Resultset ,i_StartRow ,i_PagePerSize);
+            }
             Date v_EndTime = Date.getNowTime();
             i_XCQL.success(v_EndTime ,v_EndTime.getTime() - v_BeginTime ,1 ,v_Ret.getRowCount());
             
             i_XCQL.fireAfterRule(v_Ret);
             
+            if ( v_Cache != null )
+            {
+                v_Cache.put(v_CacheKey ,v_Ret ,DBCQL.parserLabels(i_Query.text()));
+            }
+            
             return v_Ret;
         }
         catch (Exception exce)
         {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
             throw new RuntimeException(exce.getMessage());
         }
         finally
@@ -1047,33 +1092,38 @@ public class XCQLOPQuery
     
     
     /**
-     * 统计记录数据：占位符CQL的查询。
+     * 占位符CQL的游标分页查询。 -- 无填充值的
      * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 按 XCQL.getPagingKey() 排序键，将CQL改写为 WHERE 排序键 > $XCQL_Cursor ... ORDER BY 排序键 LIMIT n 的形式，
+     * 翻页的性能与页数的深度无关。
      * 
-     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
-     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
      * 
-     * @param i_XCQL    查询对象
-     * @param i_Values  占位符CQL的填充集合。
+     * @param i_XCQL
+     * @param i_Cursor           游标。为空时表示第一页，其它页为上一页返回的 XCQLPage.getNextCursor()
+     * @param i_PageSize         每页显示多少条数据
      * @return
      */
-    public static long queryCQLCount(final XCQL i_XCQL ,final Map<String ,?> i_Values)
+    public static XCQLPage queryPage(final XCQL i_XCQL ,final String i_Cursor ,final int i_PageSize)
     {
         i_XCQL.checkContent();
         
         boolean             v_IsError       = false;
         String              v_ErrorInfo     = null;
-        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLCount" ,i_Values);
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryPage" ,(Object) null);
+        long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
-
+        Query               v_Query         = null;
+        
         try
         {
-            i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            return XCQLOPQuery.queryCQLCount_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            XCQLPage v_Ret = XCQLOPQuery.queryPage_Inner(i_XCQL ,v_Query ,v_DSCQL ,i_Cursor ,i_PageSize);
+            v_IORowCount = v_Ret.getData().getRowCount();
+            return v_Ret;
         }
         catch (NullPointerException exce)
         {
@@ -1081,7 +1131,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -1091,7 +1141,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -1101,11 +1151,11 @@ public class XCQLOPQuery
             {
                 if ( v_TriggerParams == null )
                 {
-                    i_XCQL.getTrigger().executes(i_Values);
+                    i_XCQL.getTrigger().executes();
                 }
                 else
                 {
-                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IsError?0L:1L ,v_ErrorInfo));
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IORowCount ,v_ErrorInfo));
                 }
             }
         }
@@ -1114,33 +1164,43 @@ public class XCQLOPQuery
     
     
     /**
-     * 统计记录数据：占位符CQL的查询。
-     * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 占位符CQL的游标分页查询。
      * 
-     * 1. 按对象 i_Values 填充占位符CQL，生成可执行的CQL语句；
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
      * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
      * 
-     * @param i_XCQL     查询对象
-     * @param i_Values   占位符CQL的填充对象。
+     * 按 XCQL.getPagingKey() 排序键，将CQL改写为 WHERE 排序键 > $XCQL_Cursor ... ORDER BY 排序键 LIMIT n 的形式，
+     * 翻页的性能与页数的深度无关。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values           占位符CQL的填充集合。
+     * @param i_Cursor           游标。为空时表示第一页，其它页为上一页返回的 XCQLPage.getNextCursor()
+     * @param i_PageSize         每页显示多少条数据
      * @return
      */
-    public static long queryCQLCount(final XCQL i_XCQL ,final Object i_Values)
+    public static XCQLPage queryPage(final XCQL i_XCQL ,final Map<String ,?> i_Values ,final String i_Cursor ,final int i_PageSize)
     {
         i_XCQL.checkContent();
         
         boolean             v_IsError       = false;
         String              v_ErrorInfo     = null;
-        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLCount" ,i_Values);
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryPage" ,i_Values);
+        long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
-
+        Query               v_Query         = null;
+        
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            return XCQLOPQuery.queryCQLCount_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLPage v_Ret = XCQLOPQuery.queryPage_Inner(i_XCQL ,v_Query ,v_DSCQL ,i_Cursor ,i_PageSize);
+            v_IORowCount = v_Ret.getData().getRowCount();
+            return v_Ret;
         }
         catch (NullPointerException exce)
         {
@@ -1148,7 +1208,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -1158,7 +1218,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -1172,7 +1232,7 @@ public class XCQLOPQuery
                 }
                 else
                 {
-                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IsError?0L:1L ,v_ErrorInfo));
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IORowCount ,v_ErrorInfo));
                 }
             }
         }
@@ -1181,28 +1241,43 @@ public class XCQLOPQuery
     
     
     /**
-     * 查询记录总数
+     * 占位符CQL的游标分页查询。
      * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
      * 
-     * @param i_XCQL  查询对象
+     * 按 XCQL.getPagingKey() 排序键，将CQL改写为 WHERE 排序键 > $XCQL_Cursor ... ORDER BY 排序键 LIMIT n 的形式，
+     * 翻页的性能与页数的深度无关。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values           占位符CQL的填充对象。
+     * @param i_Cursor           游标。为空时表示第一页，其它页为上一页返回的 XCQLPage.getNextCursor()
+     * @param i_PageSize         每页显示多少条数据
      * @return
      */
-    public static long queryCQLCount(final XCQL i_XCQL)
+    public static XCQLPage queryPage(final XCQL i_XCQL ,final Object i_Values ,final String i_Cursor ,final int i_PageSize)
     {
         i_XCQL.checkContent();
         
         boolean             v_IsError       = false;
         String              v_ErrorInfo     = null;
-        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLCount" ,(Object) null);
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryPage" ,i_Values);
+        long                v_IORowCount    = 0L;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
-
+        Query               v_Query         = null;
+        
         try
         {
+            i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(v_DSCQL);
-            return XCQLOPQuery.queryCQLCount_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            XCQLPage v_Ret = XCQLOPQuery.queryPage_Inner(i_XCQL ,v_Query ,v_DSCQL ,i_Cursor ,i_PageSize);
+            v_IORowCount = v_Ret.getData().getRowCount();
+            return v_Ret;
         }
         catch (NullPointerException exce)
         {
@@ -1210,7 +1285,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -1220,7 +1295,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -1230,11 +1305,11 @@ public class XCQLOPQuery
             {
                 if ( v_TriggerParams == null )
                 {
-                    i_XCQL.getTrigger().executes();
+                    i_XCQL.getTrigger().executes(i_Values);
                 }
                 else
                 {
-                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IsError?0L:1L ,v_ErrorInfo));
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IORowCount ,v_ErrorInfo));
                 }
             }
         }
@@ -1243,79 +1318,1090 @@ public class XCQLOPQuery
     
     
     /**
-     * 查询记录总数
+     * 游标分页查询
      * 
-     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 多查询一条记录用于判定是否有下一页，多查询的记录不返回。
      * 
-     * @param i_XCQL  查询对象
-     * @param i_CQL   查询CQL
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Query     常规CQL语句
+     * @param i_DSCQL     数据库连接信息
+     * @param i_Cursor    游标。为空时表示第一页
+     * @param i_PageSize  每页显示多少条数据
      * @return
      */
-    public static long queryCQLCount(final XCQL i_XCQL ,final String i_CQL)
+    private static XCQLPage queryPage_Inner(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSCQL ,final String i_Cursor ,final int i_PageSize)
     {
-        i_XCQL.checkContent();
+        Connection v_Conn      = null;
+        Result     v_Resultset = null;
+        Query      v_PageQuery = null;
+        long       v_BeginTime = i_XCQL.request().getTime();
         
-        boolean             v_IsError       = false;
-        String              v_ErrorInfo     = null;
-        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLCount" ,(Object) null);
-        DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
-
         try
         {
-            v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(v_DSCQL);
-            return XCQLOPQuery.queryCQLCount_Inner(i_XCQL ,v_CQL ,v_DSCQL);
-        }
-        catch (NullPointerException exce)
-        {
-            v_IsError   = true;
-            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
-            if ( i_XCQL.getError() != null )
+            if ( i_XCQL.getResult() == null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                throw new NullPointerException("Result is null of XCQL.");
             }
-            throw exce;
-        }
-        catch (RuntimeException exce)
-        {
-            v_IsError   = true;
-            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
-            if ( i_XCQL.getError() != null )
+            
+            if ( Help.isNull(i_XCQL.getPagingKey()) )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                throw new NullPointerException("PagingKey is null of XCQL.");
             }
-            throw exce;
-        }
-        finally
-        {
-            if ( i_XCQL.isTriggers(v_IsError) )
+            
+            if ( i_PageSize <= 0 )
             {
-                if ( v_TriggerParams == null )
+                throw new IllegalArgumentException("PageSize[" + i_PageSize + "] must be greater than 0.");
+            }
+            
+            if ( !i_DSCQL.isValid() )
+            {
+                throw new RuntimeException("DataSourceCQL[" + i_DSCQL.getXJavaID() + "] is not valid.");
+            }
+            
+            if ( i_Query == null )
+            {
+                throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
+            }
+            
+            v_PageQuery = XCQLOPQuery.toKeysetQuery(i_Query ,i_XCQL.getPagingKey() ,XCQLPage.decodeCursor(i_Cursor) ,i_PageSize + 1);
+            if ( v_PageQuery == null )
+            {
+                throw new RuntimeException("CQL can not be rewritten as keyset paging. It must be a single read statement ending with RETURN, and without SKIP, LIMIT, UNION, ORDER BY, DISTINCT or aggregation in the RETURN clause.");
+            }
+            
+            v_Conn      = i_XCQL.getConnection(i_DSCQL);
+            v_Resultset = v_Conn.run(v_PageQuery);
+            i_XCQL.log(v_PageQuery);
+            
+            List<Record> v_Records    = v_Resultset.list();
+            String       v_NextCursor = null;
+            if ( v_Records.size() > i_PageSize )
+            {
+                Value v_LastKey = v_Records.get(i_PageSize - 1).get($Paging_Cursor);
+                Value v_NextKey = v_Records.get(i_PageSize)    .get($Paging_Cursor);
+                
+                // 排序键为NULL时无法比较，继续分页将提前结束，丢失之后的记录。
+                // NULL排在最后，本页最后一行之后的首行为NULL时，下一页的 > 游标 同样匹配不到NULL键的记录
+                if ( v_LastKey.isNull() )
                 {
-                    i_XCQL.getTrigger().executes();
+                    throw new IllegalStateException("PagingKey[" + i_XCQL.getPagingKey() + "] is null at row " + i_PageSize + ". It must be not null.");
                 }
-                else
+                if ( v_NextKey.isNull() )
                 {
-                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IsError?0L:1L ,v_ErrorInfo));
+                    throw new IllegalStateException("PagingKey[" + i_XCQL.getPagingKey() + "] is null at row " + (i_PageSize + 1) + ". It must be not null.");
+                }
+                
+                // 相同的排序键跨页时，下一页的 > 游标 将跳过相同键的记录
+                if ( v_LastKey.equals(v_NextKey) )
+                {
+                    throw new IllegalStateException("PagingKey[" + i_XCQL.getPagingKey() + "] is not unique. Value[" + v_LastKey + "] spans two pages.");
                 }
+                
+                v_Records    = v_Records.subList(0 ,i_PageSize);
+                v_NextCursor = XCQLPage.encodeCursor(v_LastKey);
             }
+            
+            // 排序键的内部列 XCQL_Cursor 由记录的结构描述排除，不填充到行级对象中（见 XCQLResultShape.isInternalColumn()）
+            XCQLData v_Ret     = i_XCQL.getResult().getDatas(v_Records.iterator() ,0 ,0);
+            Date     v_EndTime = Date.getNowTime();
+            i_XCQL.success(v_EndTime ,v_EndTime.getTime() - v_BeginTime ,1 ,v_Ret.getRowCount());
+            
+            i_XCQL.fireAfterRule(v_Ret);
+            
+            return new XCQLPage(v_Ret ,v_NextCursor);
+        }
+        catch (Exception exce)
+        {
+            XCQL.erroring(v_PageQuery != null ? v_PageQuery : i_Query ,exce ,i_XCQL);
+            throw new RuntimeException(exce.getMessage());
+        }
+        finally
+        {
+            i_XCQL.closeDB(v_Resultset ,v_Conn);
         }
     }
     
     
     
     /**
-     * 查询记录总数
+     * 将查询改写为游标分页（Keyset Pagination）的查询。
      * 
-     * 模块CQL的形式如：MATCH (n) RETURN COUNT(n)
+     * 改写的形式如下：
+     *   原CQL：MATCH (n:User) WHERE n.status = 1 RETURN n
+     *   改写后：MATCH (n:User) WHERE n.status = 1
+     *          WITH * WHERE n.id > $XCQL_Cursor
+     *          RETURN n ,(n.id) AS XCQL_Cursor
+     *          ORDER BY XCQL_Cursor LIMIT $XCQL_Limit
+     * 
+     * 第一页（游标为NULL）时，不生成 WITH * WHERE 的过滤条件。
+     * 只对能安全改写的CQL进行改写，条件与 toPagingQuery() 相同，并且最后的RETURN子句中没有ORDER BY、DISTINCT及聚合函数。
+     * 
+     * 排序键必须唯一且非空（如 n.id 、 elementId(n) ）。不唯一时，相同键值的记录跨页时会被跳过，
+     * 所以查询时发现跨页的相同键值、或NULL键值时，将抛出异常，而不是返回不完整的分页。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修正：聚合及去重的RETURN子句不改写
      *
-     * @param i_XCQL  查询对象
-     * @param i_CQL   查询CQL
+     * @param i_Query       常规CQL语句
+     * @param i_PagingKey   排序键的Cypher表达式。如 n.id 、 id(n) 、 n.createTime
+     * @param i_Cursor      已解码的游标值。为NULL时表示第一页
+     * @param i_Limit       最多返回的记录数
+     * @return              无法改写时返回NULL
+     */
+    protected static Query toKeysetQuery(final Query i_Query ,final String i_PagingKey ,final Object i_Cursor ,final int i_Limit)
+    {
+        if ( i_Query == null || Help.isNull(i_PagingKey) || i_Limit <= 0 )
+        {
+            return null;
+        }
+        
+        Map<String ,Object> v_Params = new HashMap<String ,Object>(i_Query.parameters().asMap());
+        if ( v_Params.containsKey($Paging_Cursor) || v_Params.containsKey($Paging_Limit) )
+        {
+            return null;
+        }
+        
+        String v_CQL = i_Query.text().trim();
+        while ( v_CQL.endsWith(";") )
+        {
+            v_CQL = v_CQL.substring(0 ,v_CQL.length() - 1).trim();
+        }
+        
+        String v_Code = XCQLOPQuery.removeLiterals(v_CQL);
+        if ( v_Code == null || $CQLNotPaging.matcher(v_Code).find() )
+        {
+            return null;
+        }
+        
+        Matcher v_Matcher    = $CQLReturn.matcher(v_Code);
+        int     v_LastReturn = -1;
+        while ( v_Matcher.find() )
+        {
+            v_LastReturn = v_Matcher.start();
+        }
+        if ( v_LastReturn < 0 
+          || v_Code.lastIndexOf('}') > v_LastReturn
+          || $CQLOrderBy  .matcher(v_Code.substring(v_LastReturn)).find()
+          || $CQLAggregate.matcher(v_Code.substring(v_LastReturn)).find() )
+        {
+            return null;
+        }
+        
+        StringBuilder v_Buffer = new StringBuilder(v_CQL.length() + 128);
+        v_Buffer.append(v_CQL.substring(0 ,v_LastReturn));
+        if ( i_Cursor != null )
+        {
+            v_Buffer.append("WITH * WHERE ").append(i_PagingKey).append(" > $").append($Paging_Cursor).append("\n");
+            v_Params.put($Paging_Cursor ,i_Cursor);
+        }
+        v_Buffer.append(v_CQL.substring(v_LastReturn));
+        v_Buffer.append(" ,(").append(i_PagingKey).append(") AS ").append($Paging_Cursor);
+        v_Buffer.append("\nORDER BY ").append($Paging_Cursor).append(" LIMIT $").append($Paging_Limit);
+        v_Params.put($Paging_Limit ,Long.valueOf(i_Limit));
+        
+        return new Query(v_Buffer.toString() ,v_Params);
+    }
+    
+    
+    
+    /**
+     * 将分页查询改写为在CQL末尾追加 SKIP $XCQL_Skip LIMIT $XCQL_Limit 的查询。
+     * 
+     * 只对能安全改写的CQL进行改写，即同时满足如下条件（判定时忽略字符串常量中的内容）：
+     *   1. 分页大小大于0；
+     *   2. 单条CQL语句，并以RETURN子句结尾（最后的RETURN不在 { } 子查询中）；
+     *   3. CQL中没有 SKIP、LIMIT、OFFSET、UNION 关键字，也没有写操作的关键字；
+     *   4. CQL的参数中没有同名的分页参数。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Query        常规CQL语句
+     * @param i_StartRow     开始读取的行号。下标从0开始。
+     * @param i_PagePerSize  每页显示多少条数据
+     * @return               无法改写时返回NULL
+     */
+    protected static Query toPagingQuery(final Query i_Query ,final int i_StartRow ,final int i_PagePerSize)
+    {
+        if ( i_Query == null || i_PagePerSize <= 0 || i_StartRow < 0 )
+        {
+            return null;
+        }
+        
+        Map<String ,Object> v_Params = new HashMap<String ,Object>(i_Query.parameters().asMap());
+        if ( v_Params.containsKey($Paging_Skip) || v_Params.containsKey($Paging_Limit) )
+        {
+            return null;
+        }
+        
+        String v_CQL = i_Query.text().trim();
+        while ( v_CQL.endsWith(";") )
+        {
+            v_CQL = v_CQL.substring(0 ,v_CQL.length() - 1).trim();
+        }
+        
+        String v_Code = XCQLOPQuery.removeLiterals(v_CQL);
+        if ( v_Code == null || $CQLNotPaging.matcher(v_Code).find() )
+        {
+            return null;
+        }
+        
+        Matcher v_Matcher    = $CQLReturn.matcher(v_Code);
+        int     v_LastReturn = -1;
+        while ( v_Matcher.find() )
+        {
+            v_LastReturn = v_Matcher.start();
+        }
+        if ( v_LastReturn < 0 || v_Code.lastIndexOf('}') > v_LastReturn )
+        {
+            return null;
+        }
+        
+        v_Params.put($Paging_Skip  ,Long.valueOf(i_StartRow));
+        v_Params.put($Paging_Limit ,Long.valueOf(i_PagePerSize));
+        
+        return new Query(v_CQL + "\nSKIP $" + $Paging_Skip + " LIMIT $" + $Paging_Limit ,v_Params);
+    }
+    
+    
+    
+    /**
+     * 去除CQL中的字符串常量、转义名称（`xx`）及注释中的内容，只保留CQL的结构部分，用于关键字的判定。
+     * 
+     * 去除的内容用等长的空格代替，保证返回值中各关键字的位置与原CQL相同。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_CQL
+     * @return       引号未闭合时返回NULL
+     */
+    private static String removeLiterals(final String i_CQL)
+    {
+        StringBuilder v_Buffer = new StringBuilder(i_CQL.length());
+        int           v_Len    = i_CQL.length();
+        
+        for (int i=0; i<v_Len; i++)
+        {
+            char v_Char = i_CQL.charAt(i);
+            
+            if ( v_Char == '\'' || v_Char == '"' || v_Char == '`' )
+            {
+                int v_End = i + 1;
+                while ( v_End < v_Len && i_CQL.charAt(v_End) != v_Char )
+                {
+                    if ( v_Char != '`' && i_CQL.charAt(v_End) == '\\' )
+                    {
+                        v_End++;
+                    }
+                    v_End++;
+                }
+                
+                if ( v_End >= v_Len )
+                {
+                    return null;
+                }
+                
+                XCQLOPQuery.appendSpace(v_Buffer ,v_End - i + 1);
+                i = v_End;
+            }
+            else if ( v_Char == '/' && i + 1 < v_Len && i_CQL.charAt(i + 1) == '/' )
+            {
+                // 单行注释中可能有关键字，并且注释后追加的分页也会失效
+                return null;
+            }
+            else if ( v_Char == '/' && i + 1 < v_Len && i_CQL.charAt(i + 1) == '*' )
+            {
+                int v_End = i_CQL.indexOf("*/" ,i + 2);
+                if ( v_End < 0 )
+                {
+                    return null;
+                }
+                
+                XCQLOPQuery.appendSpace(v_Buffer ,v_End + 2 - i);
+                i = v_End + 1;
+            }
+            else
+            {
+                v_Buffer.append(v_Char);
+            }
+        }
+        
+        return v_Buffer.toString();
+    }
+    
+    
+    
+    /**
+     * 追加指定个数的空格
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param io_Buffer
+     * @param i_Count
+     */
+    private static void appendSpace(StringBuilder io_Buffer ,int i_Count)
+    {
+        for (int x=0; x<i_Count; x++)
+        {
+            io_Buffer.append(' ');
+        }
+    }
+    
+    
+    
+    /**
+     * 获取查询结果的缓存。只有占位符CQL为查询语法（MATCH）时才使用缓存，写操作的返回结果不缓存
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @return       不使用缓存时返回NULL
+     */
+    private static XCQLCache getCache(final XCQL i_XCQL)
+    {
+        XCQLCache v_Cache = i_XCQL.getCache();
+        
+        if ( v_Cache == null || i_XCQL.getContent().getCQLType() != DBCQL.$DBCQL_TYPE_MATCH )
+        {
+            return null;
+        }
+        
+        return v_Cache;
+    }
+    
+    
+    
+    /**
+     * 常规CQL的查询
+     * 
+     * 启用相同查询的并发合并时，并发的相同查询只执行一次（见 XCQLSingleFlight）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Query 常规CQL语句
+     * @return
+     */
+    private static XCQLData queryXCQLData_Inner(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSCQL)
+    {
+        XCQLSingleFlight v_Flights = i_XCQL.getSingleFlights();
+        
+        if ( v_Flights == null || i_Query == null || i_DSCQL == null )
+        {
+            return XCQLOPQuery.queryXCQLData_Execute(i_XCQL ,i_Query ,i_DSCQL);
+        }
+        
+        return v_Flights.execute(new XCQLCacheKey(i_DSCQL ,i_Query ,0 ,0 ,0L)
+                                ,() -> XCQLOPQuery.queryXCQLData_Execute(i_XCQL ,i_Query ,i_DSCQL));
+    }
+    
+    
+    
+    /**
+     * 常规CQL的查询
+     * 
+     * 1. 提交数据库执行 i_CQL ，将数据库结果集转化为Java实例对象返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-03-22
+     * @version     v1.0
+     * 
+     * @param i_Query 常规CQL语句
+     * @return
+     */
+    private static XCQLData queryXCQLData_Execute(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSCQL)
+    {
+        Connection v_Conn      = null;
+        Result     v_Resultset = null;
+        long       v_BeginTime = i_XCQL.request().getTime();
+        
+        try
+        {
+            if ( i_XCQL.getResult() == null )
+            {
+                throw new NullPointerException("Result is null of XCQL.");
+            }
+            
+            if ( !i_DSCQL.isValid() )
+            {
+                throw new RuntimeException("DataSourceCQL[" + i_DSCQL.getXJavaID() + "] is not valid.");
+            }
+            
+            if ( i_Query == null )
+            {
+                throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
+            }
+            
+            XCQLCache    v_Cache    = XCQLOPQuery.getCache(i_XCQL);
+            XCQLCacheKey v_CacheKey = null;
+            if ( v_Cache != null )
+            {
+                v_CacheKey = v_Cache.newKey(i_DSCQL ,i_Query ,0 ,0);
+                XCQLData v_Cached = v_Cache.get(v_CacheKey);
+                if ( v_Cached != null )
+                {
+                    // 缓存的已是执行 afterRule 之后的结果，不再重复执行
+                    Date v_EndTime = Date.getNowTime();
+                    i_XCQL.success(v_EndTime ,v_EndTime.getTime() - v_BeginTime ,1 ,v_Cached.getRowCount());
+                    return v_Cached;
+                }
+            }
+            
+            v_Conn      = i_XCQL.getConnection(i_DSCQL);
+            v_Resultset = v_Conn.run(i_Query);
+            i_XCQL.log(i_Query);
+            
+            XCQLData v_Ret = i_XCQL.getResult().getDatas(v_Resultset);
+            Date v_EndTime = Date.getNowTime();
+            i_XCQL.success(v_EndTime ,v_EndTime.getTime() - v_BeginTime ,1 ,v_Ret.getRowCount());
+            
+            i_XCQL.fireAfterRule(v_Ret);
+            
+            if ( v_Cache != null )
+            {
+                v_Cache.put(v_CacheKey ,v_Ret ,DBCQL.parserLabels(i_Query.text()));
+            }
+            
+            return v_Ret;
+        }
+        catch (Exception exce)
+        {
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
+            throw new RuntimeException(exce.getMessage());
+        }
+        finally
+        {
+            i_XCQL.closeDB(v_Resultset ,v_Conn);
+        }
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的流式查询。 -- 无填充值的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @return                   用完后须关闭
+     */
+    public static <R> XCQLResultIterator<R> queryIterator(final XCQL i_XCQL)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryIterator" ,(Object) null);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            return XCQLOPQuery.queryIterator_Inner(i_XCQL ,v_Query ,v_DSCQL
+                                                ,(i_RowCount ,i_ErrorInfo) -> XCQLOPQuery.queryIterator_Trigger(i_XCQL ,v_TriggerParams ,null ,i_RowCount ,i_ErrorInfo));
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( v_IsError )
+            {
+                XCQLOPQuery.queryIterator_Trigger(i_XCQL ,v_TriggerParams ,null ,0L ,v_ErrorInfo);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的流式查询。
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，逐行将数据库结果集转化为Java实例对象
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values           占位符CQL的填充集合。
+     * @return                   用完后须关闭
+     */
+    public static <R> XCQLResultIterator<R> queryIterator(final XCQL i_XCQL ,final Map<String ,?> i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryIterator" ,i_Values);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            return XCQLOPQuery.queryIterator_Inner(i_XCQL ,v_Query ,v_DSCQL
+                                                ,(i_RowCount ,i_ErrorInfo) -> XCQLOPQuery.queryIterator_Trigger(i_XCQL ,v_TriggerParams ,i_Values ,i_RowCount ,i_ErrorInfo));
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( v_IsError )
+            {
+                XCQLOPQuery.queryIterator_Trigger(i_XCQL ,v_TriggerParams ,i_Values ,0L ,v_ErrorInfo);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 占位符CQL的流式查询。
+     * 
+     * 1. 按对象 i_Obj 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，逐行将数据库结果集转化为Java实例对象
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Values           占位符CQL的填充对象。
+     * @return                   用完后须关闭
+     */
+    public static <R> XCQLResultIterator<R> queryIterator(final XCQL i_XCQL ,final Object i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryIterator" ,i_Values);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+        
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            return XCQLOPQuery.queryIterator_Inner(i_XCQL ,v_Query ,v_DSCQL
+                                                ,(i_RowCount ,i_ErrorInfo) -> XCQLOPQuery.queryIterator_Trigger(i_XCQL ,v_TriggerParams ,i_Values ,i_RowCount ,i_ErrorInfo));
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( v_IsError )
+            {
+                XCQLOPQuery.queryIterator_Trigger(i_XCQL ,v_TriggerParams ,i_Values ,0L ,v_ErrorInfo);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 常规CQL的流式查询。
+     * 
+     * 1. 提交数据库执行 i_CQL ，逐行将数据库结果集转化为Java实例对象
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_CQL              常规CQL语句
+     * @return                   用完后须关闭
+     */
+    public static <R> XCQLResultIterator<R> queryIterator(final XCQL i_XCQL ,final String i_CQL)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryIterator" ,(Object) null);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+        
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = DBCQL.toQuery(i_CQL);
+            return XCQLOPQuery.queryIterator_Inner(i_XCQL ,v_Query ,v_DSCQL
+                                                ,(i_RowCount ,i_ErrorInfo) -> XCQLOPQuery.queryIterator_Trigger(i_XCQL ,v_TriggerParams ,null ,i_RowCount ,i_ErrorInfo));
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( v_IsError )
+            {
+                XCQLOPQuery.queryIterator_Trigger(i_XCQL ,v_TriggerParams ,null ,0L ,v_ErrorInfo);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 流式查询的触发器。迭代器关闭时（按已读取的行数），或执行异常时触发
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_TriggerParams  执行前生成的触发器参数。为空时，按填充值 i_Values 触发
+     * @param i_Values         占位符CQL的填充集合或对象。可以为空
+     * @param i_IORowCount     已读取的行数
+     * @param i_ErrorInfo      异常信息。为空时表示执行成功
+     */
+    @SuppressWarnings("unchecked")
+    private static void queryIterator_Trigger(final XCQL i_XCQL ,final Map<String ,Object> i_TriggerParams ,final Object i_Values ,final long i_IORowCount ,final String i_ErrorInfo)
+    {
+        if ( !i_XCQL.isTriggers(!Help.isNull(i_ErrorInfo)) )
+        {
+            return;
+        }
+        
+        if ( i_TriggerParams != null )
+        {
+            i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(i_TriggerParams ,i_IORowCount ,i_ErrorInfo));
+        }
+        else if ( i_Values == null )
+        {
+            i_XCQL.getTrigger().executes();
+        }
+        else if ( i_Values instanceof Map )
+        {
+            i_XCQL.getTrigger().executes((Map<String ,?>) i_Values);
+        }
+        else
+        {
+            i_XCQL.getTrigger().executes(i_Values);
+        }
+    }
+    
+    
+    
+    /**
+     * 流式查询。
+     * 
+     * 执行成功后，数据库连接交由返回的迭代器管理，在迭代器关闭时才释放。执行异常时，立即释放数据库连接。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL
+     * @param i_Query  常规CQL语句
+     * @param i_DSCQL    数据库连接信息
+     * @param i_OnClose  迭代器关闭时的回调（已读取的行数、异常信息），用于触发器
+     * @return
+     */
+    private static <R> XCQLResultIterator<R> queryIterator_Inner(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSCQL ,final BiConsumer<Long ,String> i_OnClose)
+    {
+        Connection v_Conn      = null;
+        Result     v_Resultset = null;
+        long       v_BeginTime = i_XCQL.request().getTime();
+        
+        try
+        {
+            if ( i_XCQL.getResult() == null )
+            {
+                throw new NullPointerException("Result is null of XCQL.");
+            }
+            
+            if ( !i_DSCQL.isValid() )
+            {
+                throw new RuntimeException("DataSourceCQL[" + i_DSCQL.getXJavaID() + "] is not valid.");
+            }
+            
+            if ( i_Query == null )
+            {
+                throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
+            }
+            
+            v_Conn      = i_XCQL.getConnection(i_DSCQL);
+            v_Conn.setStreaming(true);  // 会话的用时取决于调用者的消费速度
+            v_Resultset = v_Conn.run(i_Query);
+            i_XCQL.log(i_Query);
+            
+            return new XCQLResultIterator<R>(i_XCQL ,i_Query ,v_Conn ,true ,v_Resultset ,v_BeginTime ,i_OnClose);
+        }
+        catch (Exception exce)
+        {
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
+            i_XCQL.closeDB(v_Resultset ,v_Conn);
+            throw new RuntimeException(exce.getMessage());
+        }
+    }
+    
+    
+    
+    /**
+     * 统计记录数据：占位符CQL的查询。
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * 1. 按集合 Map<String ,Object> 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @param i_XCQL    查询对象
+     * @param i_Values  占位符CQL的填充集合。
+     * @return
+     */
+    public static long queryCQLCount(final XCQL i_XCQL ,final Map<String ,?> i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLCount" ,i_Values);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            return XCQLOPQuery.queryCQLCount_Inner(i_XCQL ,v_Query ,v_DSCQL);
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( i_XCQL.isTriggers(v_IsError) )
+            {
+                if ( v_TriggerParams == null )
+                {
+                    i_XCQL.getTrigger().executes(i_Values);
+                }
+                else
+                {
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IsError?0L:1L ,v_ErrorInfo));
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 统计记录数据：占位符CQL的查询。
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * 1. 按对象 i_Values 填充占位符CQL，生成可执行的CQL语句；
+     * 2. 并提交数据库执行CQL，将数据库结果集转化为Java实例对象返回
+     * 
+     * @param i_XCQL     查询对象
+     * @param i_Values   占位符CQL的填充对象。
+     * @return
+     */
+    public static long queryCQLCount(final XCQL i_XCQL ,final Object i_Values)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLCount" ,i_Values);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+
+        try
+        {
+            i_XCQL.fireBeforeRule(i_Values);
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            return XCQLOPQuery.queryCQLCount_Inner(i_XCQL ,v_Query ,v_DSCQL);
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( i_XCQL.isTriggers(v_IsError) )
+            {
+                if ( v_TriggerParams == null )
+                {
+                    i_XCQL.getTrigger().executes(i_Values);
+                }
+                else
+                {
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IsError?0L:1L ,v_ErrorInfo));
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 查询记录总数
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * @param i_XCQL  查询对象
+     * @return
+     */
+    public static long queryCQLCount(final XCQL i_XCQL)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLCount" ,(Object) null);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            return XCQLOPQuery.queryCQLCount_Inner(i_XCQL ,v_Query ,v_DSCQL);
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( i_XCQL.isTriggers(v_IsError) )
+            {
+                if ( v_TriggerParams == null )
+                {
+                    i_XCQL.getTrigger().executes();
+                }
+                else
+                {
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IsError?0L:1L ,v_ErrorInfo));
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 查询记录总数
+     * 
+     * 模块CQL的形式如：SELECT COUNT(1) FROM ...
+     * 
+     * @param i_XCQL  查询对象
+     * @param i_CQL   查询CQL
+     * @return
+     */
+    public static long queryCQLCount(final XCQL i_XCQL ,final String i_CQL)
+    {
+        i_XCQL.checkContent();
+        
+        boolean             v_IsError       = false;
+        String              v_ErrorInfo     = null;
+        Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLCount" ,(Object) null);
+        DataSourceCQL       v_DSCQL         = null;
+        Query               v_Query         = null;
+
+        try
+        {
+            v_DSCQL = i_XCQL.getDataSourceCQL();
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            return XCQLOPQuery.queryCQLCount_Inner(i_XCQL ,v_Query ,v_DSCQL);
+        }
+        catch (NullPointerException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        catch (RuntimeException exce)
+        {
+            v_IsError   = true;
+            v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
+            if ( i_XCQL.getError() != null )
+            {
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
+            }
+            throw exce;
+        }
+        finally
+        {
+            if ( i_XCQL.isTriggers(v_IsError) )
+            {
+                if ( v_TriggerParams == null )
+                {
+                    i_XCQL.getTrigger().executes();
+                }
+                else
+                {
+                    i_XCQL.getTrigger().executes(i_XCQL.executeAfterForTrigger(v_TriggerParams ,v_IsError?0L:1L ,v_ErrorInfo));
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 查询记录总数
+     * 
+     * 模块CQL的形式如：MATCH (n) RETURN COUNT(n)
+     *
+     * @param i_XCQL  查询对象
+     * @param i_Query 查询CQL
      * @param i_DSCQL   查询数据源连接池组
      * @return
      */
-    private static long queryCQLCount_Inner(final XCQL i_XCQL ,final String i_CQL ,final DataSourceCQL i_DSCQL)
+    private static long queryCQLCount_Inner(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSCQL)
     {
         Connection v_Conn      = null;
         Result     v_Resultset = null;
@@ -1329,7 +2415,7 @@ public class XCQLOPQuery
                 throw new RuntimeException("DataSourceCQL[" + i_DSCQL.getXJavaID() + "] is not valid.");
             }
             
-            if ( Help.isNull(i_CQL) )
+            if ( i_Query == null )
             {
                 throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
             }
@@ -1339,15 +2425,15 @@ public class XCQLOPQuery
             Matcher v_Matcher = null;
             
             v_Pattern = Pattern.compile($CQLHaveCount);
-            v_Matcher = v_Pattern.matcher(i_CQL);
+            v_Matcher = v_Pattern.matcher(i_Query.text());
             if ( !v_Matcher.find() )
             {
                 throw new RuntimeException("XCQL.queryCQLCount()'s CQL is not find COUNT(1) or COUNT(*).");
             }
             
             v_Conn      = i_XCQL.getConnection(i_DSCQL);
-            v_Resultset = v_Conn.run(i_CQL);
-            i_XCQL.log(i_CQL);
+            v_Resultset = v_Conn.run(i_Query);
+            i_XCQL.log(i_Query);
             
             if ( v_Resultset.hasNext() )
             {
@@ -1372,7 +2458,7 @@ public class XCQLOPQuery
         }
         catch (Exception exce)
         {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
             throw new RuntimeException(exce.getMessage());
         }
         finally
@@ -1409,14 +2495,14 @@ public class XCQLOPQuery
         String              v_ErrorInfo     = null;
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLValue" ,i_Values);
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            return XCQLOPQuery.queryCQLValue_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            return XCQLOPQuery.queryCQLValue_Inner(i_XCQL ,v_Query ,v_DSCQL);
         }
         catch (NullPointerException exce)
         {
@@ -1424,7 +2510,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -1434,7 +2520,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -1479,14 +2565,14 @@ public class XCQLOPQuery
         String              v_ErrorInfo     = null;
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLValue" ,i_Values);
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            return XCQLOPQuery.queryCQLValue_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            return XCQLOPQuery.queryCQLValue_Inner(i_XCQL ,v_Query ,v_DSCQL);
         }
         catch (NullPointerException exce)
         {
@@ -1494,7 +2580,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -1504,7 +2590,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -1544,13 +2630,13 @@ public class XCQLOPQuery
         String              v_ErrorInfo     = null;
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLValue" ,(Object) null);
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(v_DSCQL);
-            return XCQLOPQuery.queryCQLValue_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            return XCQLOPQuery.queryCQLValue_Inner(i_XCQL ,v_Query ,v_DSCQL);
         }
         catch (NullPointerException exce)
         {
@@ -1558,7 +2644,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -1568,7 +2654,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -1609,13 +2695,13 @@ public class XCQLOPQuery
         String              v_ErrorInfo     = null;
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("queryCQLValue" ,(Object) null);
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL = i_XCQL.getContent().getCQL(v_DSCQL);
-            return XCQLOPQuery.queryCQLValue_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            return XCQLOPQuery.queryCQLValue_Inner(i_XCQL ,v_Query ,v_DSCQL);
         }
         catch (NullPointerException exce)
         {
@@ -1623,7 +2709,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -1633,7 +2719,7 @@ public class XCQLOPQuery
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -1663,11 +2749,11 @@ public class XCQLOPQuery
      * @version     v1.0
      *
      * @param i_XCQL   查询对象
-     * @param i_CQL    查询CQL
+     * @param i_Query  查询CQL
      * @param i_DSCQL    数据库连接池组
      * @return
      */
-    private static Object queryCQLValue_Inner(final XCQL i_XCQL ,final String i_CQL ,final DataSourceCQL i_DSCQL)
+    private static Object queryCQLValue_Inner(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSCQL)
     {
         Connection v_Conn      = null;
         Result     v_Resultset = null;
@@ -1682,14 +2768,14 @@ public class XCQLOPQuery
                 throw new RuntimeException("DataSourceCQL[" + i_DSCQL.getXJavaID() + "] is not valid.");
             }
             
-            if ( Help.isNull(i_CQL) )
+            if ( i_Query == null )
             {
                 throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
             }
             
             v_Conn      = i_XCQL.getConnection(i_DSCQL);
-            v_Resultset = v_Conn.run(i_CQL);
-            i_XCQL.log(i_CQL);
+            v_Resultset = v_Conn.run(i_Query);
+            i_XCQL.log(i_Query);
             
             if ( v_Resultset.hasNext() )
             {
@@ -1702,7 +2788,7 @@ public class XCQLOPQuery
         }
         catch (Exception exce)
         {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
             throw new RuntimeException(exce.getMessage());
         }
         finally
@@ -9,6 +9,7 @@ import org.hy.common.Date;
 import org.hy.common.Help;
 import org.hy.common.PartitionMap;
 import org.hy.common.Return;
+import org.neo4j.driver.Query;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Transaction;
 
@@ -27,6 +28,14 @@ import org.neo4j.driver.Transaction;
  * @createDate  2023-06-05
  * @version     v1.0
  *              v2.0  2023-10-18  添加：是否附加触发额外参数的功能
+ *              v3.0  2026-10-18  添加：参数化模式，以 org.neo4j.driver.Query 的形式执行CQL及参数
+ *              v4.0  2026-10-18  添加：批量执行的 UNWIND 模式。Create\Set\Delete类型的CQL合并为分批的集合操作
+ *                                修正：多个XCQL批量执行时，均使用最后一个XCQL的数据源获取连接的问题
+ *                                修正：多个XCQL分批提交时，提交后未开启新事务的问题
+ *              v5.0  2026-10-18  添加：批量执行的并行模式，见 XCQLOPParallel
+ *              v6.0  2026-10-18  添加：Merge类型的CQL也可使用 UNWIND 模式
+ *                                修正：分批提交时，最后一次提交后不再开启多余的事务
+ *              v7.0  2026-10-18  修正：含有 RETURN 、 LIMIT 、聚合函数等跨行生效的CQL模板，不使用 UNWIND 模式，仍逐条执行
  */
 public class XCQLOPUpdate
 {
@@ -45,13 +54,13 @@ public class XCQLOPUpdate
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdate" ,(Object) null);
         int                 v_IORowCount    = 0;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL   = i_XCQL.getContent().getCQL(v_DSCQL);
-            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_Query ,v_DSCQL);
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -61,7 +70,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -71,7 +80,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -110,14 +119,14 @@ public class XCQLOPUpdate
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdate" ,i_Values);
         int                 v_IORowCount    = 0;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL   = i_XCQL.getDataSourceCQL();
-            v_CQL     = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query   = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_Query ,v_DSCQL);
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -127,7 +136,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -137,7 +146,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -176,14 +185,14 @@ public class XCQLOPUpdate
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdate" ,i_Values);
         int                 v_IORowCount    = 0;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL   = i_XCQL.getDataSourceCQL();
-            v_CQL     = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_CQL ,v_DSCQL);
+            v_Query   = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_Query ,v_DSCQL);
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -193,7 +202,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -203,7 +212,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -240,7 +249,7 @@ public class XCQLOPUpdate
 
         try
         {
-            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,i_CQL ,i_XCQL.getDataSourceCQL());
+            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,DBCQL.toQuery(i_CQL) ,i_XCQL.getDataSourceCQL());
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -285,10 +294,10 @@ public class XCQLOPUpdate
     /**
      * 常规Create\Set\Delete语句的执行。
      * 
-     * @param i_CQL  常规CQL语句
+     * @param i_Query 常规CQL语句
      * @return       返回语句影响的数量（创建、删除节点和关系时，返回影响的节点数量；非节点和关系操作时，才取对属性的影响数量）
      */
-    private static int executeUpdate_Inner(final XCQL i_XCQL ,final String i_CQL ,final DataSourceCQL i_DSG)
+    private static int executeUpdate_Inner(final XCQL i_XCQL ,final Query i_Query ,final DataSourceCQL i_DSG)
     {
         Connection v_Conn      = null;
         Result     v_Result    = null;
@@ -301,13 +310,13 @@ public class XCQLOPUpdate
                 throw new RuntimeException("DataSourceCQL is not valid.");
             }
             
-            if ( Help.isNull(i_CQL) )
+            if ( i_Query == null )
             {
                 throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
             }
             
             v_Conn   = i_XCQL.getConnection(i_DSG);
-            v_Result = v_Conn.run(i_CQL);
+            v_Result = v_Conn.run(i_Query);
             
             int v_Count = v_Result.consume().counters().nodesCreated()
                         + v_Result.consume().counters().nodesDeleted()
@@ -319,7 +328,7 @@ public class XCQLOPUpdate
                 v_Count = v_Result.consume().counters().propertiesSet();
             }
             
-            i_XCQL.log(i_CQL);
+            i_XCQL.log(i_Query);
             
             Date v_EndTime = Date.getNowTime();
             i_XCQL.success(v_EndTime ,v_EndTime.getTime() - v_BeginTime ,1 ,v_Count);
@@ -328,7 +337,7 @@ public class XCQLOPUpdate
         }
         catch (Exception exce)
         {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
             throw new RuntimeException(exce.getMessage());
         }
         finally
@@ -354,13 +363,13 @@ public class XCQLOPUpdate
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdate" ,(Object) null);
         int                 v_IORowCount    = 0;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL   = i_XCQL.getContent().getCQL(v_DSCQL);
-            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_CQL ,i_Conn);
+            v_Query = i_XCQL.getContent().getQuery(v_DSCQL);
+            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_Query ,i_Conn);
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -370,7 +379,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -380,7 +389,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL));
             }
             throw exce;
         }
@@ -420,14 +429,14 @@ public class XCQLOPUpdate
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdate" ,i_Values);
         int                 v_IORowCount    = 0;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL   = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_CQL ,i_Conn);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_Query ,i_Conn);
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -437,7 +446,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -447,7 +456,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesMap(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesMap(i_Values));
             }
             throw exce;
         }
@@ -487,14 +496,14 @@ public class XCQLOPUpdate
         Map<String ,Object> v_TriggerParams = i_XCQL.executeBeforeForTrigger("executeUpdate" ,i_Values);
         int                 v_IORowCount    = 0;
         DataSourceCQL       v_DSCQL         = null;
-        String              v_CQL           = null;
+        Query               v_Query         = null;
 
         try
         {
             i_XCQL.fireBeforeRule(i_Values);
             v_DSCQL = i_XCQL.getDataSourceCQL();
-            v_CQL   = i_XCQL.getContent().getCQL(i_Values ,v_DSCQL);
-            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_CQL ,i_Conn);
+            v_Query = i_XCQL.getContent().getQuery(i_Values ,v_DSCQL);
+            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,v_Query ,i_Conn);
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -504,7 +513,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -514,7 +523,7 @@ public class XCQLOPUpdate
             v_ErrorInfo = Help.NVL(exce.getMessage() ,"E");
             if ( i_XCQL.getError() != null )
             {
-                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_CQL ,exce ,i_XCQL).setValuesObject(i_Values));
+                i_XCQL.getError().errorLog(new XCQLErrorInfo(v_Query ,exce ,i_XCQL).setValuesObject(i_Values));
             }
             throw exce;
         }
@@ -552,7 +561,7 @@ public class XCQLOPUpdate
 
         try
         {
-            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,i_CQL ,i_Conn);
+            v_IORowCount = XCQLOPUpdate.executeUpdate_Inner(i_XCQL ,DBCQL.toQuery(i_CQL) ,i_Conn);
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -598,18 +607,18 @@ public class XCQLOPUpdate
      * 常规Create\Set\Delete语句的执行。（内部不再关闭数据库连接）
      * 
      * @param i_XCQL  XCQL对象
-     * @param i_CQL   常规CQL语句
+     * @param i_Query 常规CQL语句
      * @param i_Conn  数据库连接
      * @return        返回语句影响的数量（创建、删除节点和关系时，返回影响的节点数量；非节点和关系操作时，才取对属性的影响数量）
      */
-    private static int executeUpdate_Inner(final XCQL i_XCQL ,final String i_CQL ,Connection i_Conn)
+    private static int executeUpdate_Inner(final XCQL i_XCQL ,final Query i_Query ,Connection i_Conn)
     {
         Result v_Result    = null;
         long   v_BeginTime = i_XCQL.request().getTime();
         
         try
         {
-            if ( Help.isNull(i_CQL) )
+            if ( i_Query == null )
             {
                 throw new NullPointerException("CQL or CQL-Params is null of XCQL.");
             }
@@ -619,7 +628,7 @@ public class XCQLOPUpdate
                 throw new NullPointerException("Connection is null of XCQL.");
             }
             
-            v_Result = i_Conn.run(i_CQL);
+            v_Result = i_Conn.run(i_Query);
             
             int v_Count = v_Result.consume().counters().nodesCreated()
                         + v_Result.consume().counters().nodesDeleted()
@@ -631,7 +640,7 @@ public class XCQLOPUpdate
                 v_Count = v_Result.consume().counters().propertiesSet();
             }
             
-            i_XCQL.log(i_CQL);
+            i_XCQL.log(i_Query);
             
             Date v_EndTime = Date.getNowTime();
             i_XCQL.success(v_EndTime ,v_EndTime.getTime() - v_BeginTime ,1 ,v_Count);
@@ -640,7 +649,7 @@ public class XCQLOPUpdate
         }
         catch (Exception exce)
         {
-            XCQL.erroring(i_CQL ,exce ,i_XCQL);
+            XCQL.erroring(i_Query ,exce ,i_XCQL);
             throw new RuntimeException(exce.getMessage());
         }
         finally
@@ -676,7 +685,18 @@ public class XCQLOPUpdate
         try
         {
             i_XCQL.fireBeforeRule(i_ObjList);
-            v_IORowCount = XCQLOPUpdate.executeUpdates_Inner(i_XCQL ,i_ObjList ,null);
+            if ( i_XCQL.getParallel() >= 2 )
+            {
+                v_IORowCount = XCQLOPUpdate.toUpdateCount(XCQLOPParallel.executeParallel_Inner(i_XCQL ,i_ObjList ,XCQLOPUpdate.isUnwind(i_XCQL)));
+            }
+            else if ( XCQLOPUpdate.isUnwind(i_XCQL) )
+            {
+                v_IORowCount = XCQLOPUpdate.toUpdateCount(XCQLOPInsert.executeUnwind_Inner(i_XCQL ,i_ObjList ,null));
+            }
+            else
+            {
+                v_IORowCount = XCQLOPUpdate.executeUpdates_Inner(i_XCQL ,i_ObjList ,null);
+            }
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -750,7 +770,14 @@ public class XCQLOPUpdate
         try
         {
             i_XCQL.fireBeforeRule(i_ObjList);
-            v_IORowCount = XCQLOPUpdate.executeUpdates_Inner(i_XCQL ,i_ObjList ,i_Conn);
+            if ( XCQLOPUpdate.isUnwind(i_XCQL) )
+            {
+                v_IORowCount = XCQLOPUpdate.toUpdateCount(XCQLOPInsert.executeUnwind_Inner(i_XCQL ,i_ObjList ,i_Conn));
+            }
+            else
+            {
+                v_IORowCount = XCQLOPUpdate.executeUpdates_Inner(i_XCQL ,i_ObjList ,i_Conn);
+            }
             return v_IORowCount;
         }
         /* try{}已有中捕获所有异常，并仅出外抛出Null和Runtime两种异常。为保持异常类型不变，写了两遍一样的 */
@@ -820,7 +847,7 @@ public class XCQLOPUpdate
         Result        v_Result      = null;
         int           v_Ret         = 0;
         long          v_BeginTime   = i_XCQL.request().getTime();
-        String        v_CQL         = null;
+        Query         v_Query       = null;
         int           v_CQLCount    = 0;
         
         try
@@ -853,8 +880,8 @@ public class XCQLOPUpdate
                 {
                     if ( i_ObjList.get(i) != null )
                     {
-                        v_CQL      = i_XCQL.getContent().getCQL(i_ObjList.get(i) ,v_DSCQL);
-                        v_Result   = v_Transaction.run(v_CQL);
+                        v_Query    = i_XCQL.getContent().getQuery(i_ObjList.get(i) ,v_DSCQL);
+                        v_Result   = v_Transaction.run(v_Query);
                         v_CQLCount = v_Result.consume().counters().nodesCreated()
                                    + v_Result.consume().counters().nodesDeleted()
                                    + v_Result.consume().counters().relationshipsCreated()
@@ -870,7 +897,7 @@ public class XCQLOPUpdate
                         {
                             v_Ret += v_CQLCount;
                         }
-                        i_XCQL.log(v_CQL);
+                        i_XCQL.log(v_Query);
                     }
                 }
                 
@@ -881,14 +908,17 @@ public class XCQLOPUpdate
             }
             else
             {
-                boolean v_IsCommit = true;
-                
                 for (int i=0 ,v_EC=0; i<i_ObjList.size(); i++)
                 {
                     if ( i_ObjList.get(i) != null )
                     {
-                        v_CQL      = i_XCQL.getContent().getCQL(i_ObjList.get(i) ,v_DSCQL);
-                        v_Result   = v_Transaction.run(v_CQL);
+                        if ( v_Transaction == null )
+                        {
+                            v_Transaction = v_Conn.beginTransaction();  // 已提交的事务不能再使用。有下一条时才开启新事务
+                        }
+                        
+                        v_Query    = i_XCQL.getContent().getQuery(i_ObjList.get(i) ,v_DSCQL);
+                        v_Result   = v_Transaction.run(v_Query);
                         v_CQLCount = v_Result.consume().counters().nodesCreated()
                                    + v_Result.consume().counters().nodesDeleted()
                                    + v_Result.consume().counters().relationshipsCreated()
@@ -904,22 +934,18 @@ public class XCQLOPUpdate
                         {
                             v_Ret += v_CQLCount;
                         }
-                        i_XCQL.log(v_CQL);
+                        i_XCQL.log(v_Query);
                         v_EC++;
                         
                         if ( v_EC % i_XCQL.getBatchCommit() == 0 )
                         {
                             v_Transaction.commit();
-                            v_IsCommit = true;
-                        }
-                        else
-                        {
-                            v_IsCommit = false;
+                            v_Transaction = null;
                         }
                     }
                 }
                 
-                if ( !v_IsCommit )
+                if ( v_Transaction != null )
                 {
                     v_Transaction.commit();
                 }
@@ -931,11 +957,11 @@ public class XCQLOPUpdate
         }
         catch (Exception exce)
         {
-            XCQL.erroring(v_CQL ,exce ,i_XCQL);
+            XCQL.erroring(v_Query ,exce ,i_XCQL);
             
             try
             {
-                if ( i_Conn == null && v_Conn != null )
+                if ( i_Conn == null && v_Transaction != null )
                 {
                     v_Transaction.rollback();
                 }
@@ -1093,12 +1119,26 @@ public class XCQLOPUpdate
             {
                 for (XCQL v_XCQLTemp : i_XCQLs.keySet())
                 {
-                    Connection v_Conn = v_XCQL.getConnection(v_DSCQL);
+                    Connection v_Conn = v_XCQLTemp.getConnection(v_DSCQLMap.get(v_XCQLTemp));
                     v_Conns.add(v_Conn);
                     
                     v_XCQLError = v_XCQLTemp;
                     List<?> v_ObjList = i_XCQLs.get(v_XCQLTemp);
                     
+                    if ( XCQLOPUpdate.isUnwind(v_XCQLTemp) )
+                    {
+                        v_ParamObj   = null;
+                        v_BeginTime  = Date.getNowTime().getTime();
+                        v_Ret       += XCQLOPUpdate.toUpdateCount(XCQLOPInsert.executeUnwind_Inner(v_XCQLTemp ,v_ObjList ,v_Conn ,i_BatchCommit));
+                        
+                        v_TotalCache = new Return<XCQL>();
+                        v_TotalCache.paramInt((int)(Date.getNowTime().getTime() - v_BeginTime));
+                        v_Totals.add(v_TotalCache.paramObj(v_XCQLTemp));
+                        
+                        v_TimeLenSum += v_TotalCache.paramInt;
+                        continue;
+                    }
+                    
                     for (int i=0; i<v_ObjList.size(); i++)
                     {
                         v_ParamObj = v_ObjList.get(i);
@@ -1121,23 +1161,41 @@ public class XCQLOPUpdate
             }
             else
             {
-                boolean v_IsCommit = true;
-                
                 for (XCQL v_XCQLTemp : i_XCQLs.keySet())
                 {
-                    Connection  v_Conn        = v_XCQL.getConnection(v_DSCQL);
-                    Transaction v_Transaction = v_Conn.beginTransaction();
+                    Connection  v_Conn        = v_XCQLTemp.getConnection(v_DSCQLMap.get(v_XCQLTemp));
+                    Transaction v_Transaction = null;
                     v_Conns.add(v_Conn);
                     
                     v_XCQLError = v_XCQLTemp;
                     List<?> v_ObjList = i_XCQLs.get(v_XCQLTemp);
                     
+                    if ( XCQLOPUpdate.isUnwind(v_XCQLTemp) )
+                    {
+                        // 每批执行后提交，最后一批也已提交
+                        v_ParamObj   = null;
+                        v_BeginTime  = Date.getNowTime().getTime();
+                        v_Ret       += XCQLOPUpdate.toUpdateCount(XCQLOPInsert.executeUnwind_Inner(v_XCQLTemp ,v_ObjList ,v_Conn ,i_BatchCommit));
+                        
+                        v_TotalCache = new Return<XCQL>();
+                        v_TotalCache.paramInt((int)(Date.getNowTime().getTime() - v_BeginTime));
+                        v_Totals.add(v_TotalCache.paramObj(v_XCQLTemp));
+                        
+                        v_TimeLenSum += v_TotalCache.paramInt;
+                        continue;
+                    }
+                    
                     for (int i=0; i<v_ObjList.size(); i++)
                     {
                         v_ParamObj = v_ObjList.get(i);
                         
                         if ( v_ParamObj != null )
                         {
+                            if ( v_Transaction == null )
+                            {
+                                v_Transaction = v_Conn.beginTransaction();  // 已提交的事务不能再使用。有下一条时才开启新事务
+                            }
+                            
                             v_BeginTime = Date.getNowTime().getTime();
                             v_Ret += v_XCQLTemp.executeUpdate(v_ParamObj ,v_Conn);
                             
@@ -1150,19 +1208,14 @@ public class XCQLOPUpdate
                             if ( i_BatchCommit > 0 && v_Totals.size() % i_BatchCommit == 0 )
                             {
                                 v_Transaction.commit();
-                                v_IsCommit = true;
-                            }
-                            else
-                            {
-                                v_IsCommit = false;
+                                v_Transaction = null;
                             }
                         }
                     }
                     
-                    if ( !v_IsCommit )
+                    if ( v_Transaction != null )
                     {
                         v_Transaction.commit();
-                        v_IsCommit = true;
                     }
                 }
             }
@@ -1216,6 +1269,68 @@ public class XCQLOPUpdate
     
     
     
+    /**
+     * 批量执行时，是否可使用 UNWIND 模式。
+     * 
+     * 须同时满足：
+     *   1. 开启了 XCQL.isBatchUnwind()；
+     *   2. CQL的类型为Create\Set\Delete\Merge。查询、DDL及未识别的类型，仍逐条执行；
+     *   3. CQL模板中没有 RETURN 、 LIMIT 、 ORDER BY 、 count() 等跨行生效的子句及聚合函数（见 DBCQL.isUnwindable()）。
+     *      它们在 UNWIND 后作用于整批的所有行，与逐条执行的效果不同，所以仍逐条执行。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  添加：Merge类型
+     *              v3.0  2026-10-18  修正：含有跨行生效的子句及聚合函数的CQL模板，不使用 UNWIND 模式
+     * 
+     * @param i_XCQL
+     * @return
+     */
+    protected static boolean isUnwind(final XCQL i_XCQL)
+    {
+        if ( !i_XCQL.isBatchUnwind() || i_XCQL.getContent() == null )
+        {
+            return false;
+        }
+        
+        int v_CQLType = i_XCQL.getContent().getCQLType();
+        return (v_CQLType == DBCQL.$DBCQL_TYPE_CREATE
+            || v_CQLType == DBCQL.$DBCQL_TYPE_SET
+            || v_CQLType == DBCQL.$DBCQL_TYPE_DELETE
+            || v_CQLType == DBCQL.$DBCQL_TYPE_MERGE)
+            && i_XCQL.getContent().isUnwindable();
+    }
+    
+    
+    
+    /**
+     * 将 UNWIND 模式的累计影响数量，按 executeUpdate() 的规则转为返回值
+     * 
+     * 注：逐条执行时是按每条语句判定是否取属性的数量，UNWIND 模式是按所有批次的累计值判定
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Data
+     * @return       返回语句影响的数量（创建、删除节点和关系时，返回影响的节点数量；非节点和关系操作时，才取对属性的影响数量）
+     */
+    private static int toUpdateCount(final XCQLData i_Data)
+    {
+        int v_Count = (int) (i_Data.getRowCount() + i_Data.getRelCount());
+        
+        // 当并非创建、删除节点和关系时，才取对属性的操作数量
+        if ( v_Count <= 0 )
+        {
+            v_Count = i_Data.getColCount();
+        }
+        
+        return v_Count;
+    }
+    
+    
+    
     /**
      * 本类不允许构建
      */
@@ -0,0 +1,233 @@
+package org.hy.common.xcql;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+import org.neo4j.driver.Value;
+import org.neo4j.driver.types.TypeSystem;
+
+
+
+
+
+/**
+ * 游标分页（Keyset Pagination）查询返回的一页数据。
+ * 
+ * 下一页的游标 nextCursor 是不透明的字符串，调用方原样传给下一次 XCQL.queryPage(...) 即可，不应解释其内容。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class XCQLPage
+{
+    
+    /** 游标中各类型的前缀：整数 */
+    private static final String $Type_Integer       = "I:";
+    
+    /** 游标中各类型的前缀：浮点数 */
+    private static final String $Type_Float         = "F:";
+    
+    /** 游标中各类型的前缀：字符串 */
+    private static final String $Type_String        = "S:";
+    
+    /** 游标中各类型的前缀：带时区的日期时间 */
+    private static final String $Type_DateTime      = "Z:";
+    
+    /** 游标中各类型的前缀：本地日期时间 */
+    private static final String $Type_LocalDateTime = "L:";
+    
+    /** 游标中各类型的前缀：日期 */
+    private static final String $Type_Date          = "D:";
+    
+    /** 游标中各类型的前缀：时间 */
+    private static final String $Type_Time          = "T:";
+    
+    
+    
+    /** 本页的查询结果 */
+    private XCQLData data;
+    
+    /** 下一页的游标。没有下一页时为NULL */
+    private String   nextCursor;
+    
+    
+    
+    public XCQLPage(XCQLData i_Data ,String i_NextCursor)
+    {
+        this.data       = i_Data;
+        this.nextCursor = i_NextCursor;
+    }
+    
+    
+    
+    /**
+     * 将排序键的值编码为不透明的游标
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Value  排序键的值
+     * @return
+     */
+    public static String encodeCursor(Value i_Value)
+    {
+        if ( i_Value == null || i_Value.isNull() )
+        {
+            return null;
+        }
+        
+        String v_Text = null;
+        
+        if ( TypeSystem.getDefault().INTEGER().isTypeOf(i_Value) )
+        {
+            v_Text = $Type_Integer + i_Value.asLong();
+        }
+        else if ( TypeSystem.getDefault().FLOAT().isTypeOf(i_Value) )
+        {
+            v_Text = $Type_Float + i_Value.asDouble();
+        }
+        else if ( TypeSystem.getDefault().STRING().isTypeOf(i_Value) )
+        {
+            v_Text = $Type_String + i_Value.asString();
+        }
+        else if ( TypeSystem.getDefault().DATE_TIME().isTypeOf(i_Value) )
+        {
+            v_Text = $Type_DateTime + i_Value.asZonedDateTime().toString();
+        }
+        else if ( TypeSystem.getDefault().LOCAL_DATE_TIME().isTypeOf(i_Value) )
+        {
+            v_Text = $Type_LocalDateTime + i_Value.asLocalDateTime().toString();
+        }
+        else if ( TypeSystem.getDefault().DATE().isTypeOf(i_Value) )
+        {
+            v_Text = $Type_Date + i_Value.asLocalDate().toString();
+        }
+        else if ( TypeSystem.getDefault().TIME().isTypeOf(i_Value) )
+        {
+            v_Text = $Type_Time + i_Value.asOffsetTime().toString();
+        }
+        else
+        {
+            throw new IllegalArgumentException("Paging key type[" + i_Value.type().name() + "] is not supported.");
+        }
+        
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(v_Text.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    
+    
+    /**
+     * 将不透明的游标解码为排序键的值，用于CQL的参数
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Cursor  游标
+     * @return          游标为空时返回NULL（即第一页）
+     */
+    public static Object decodeCursor(String i_Cursor)
+    {
+        if ( i_Cursor == null || i_Cursor.isEmpty() )
+        {
+            return null;
+        }
+        
+        String v_Text = null;
+        try
+        {
+            v_Text = new String(Base64.getUrlDecoder().decode(i_Cursor) ,StandardCharsets.UTF_8);
+        }
+        catch (IllegalArgumentException exce)
+        {
+            throw new IllegalArgumentException("Paging cursor[" + i_Cursor + "] is invalid.");
+        }
+        
+        if ( v_Text.length() < 2 )
+        {
+            throw new IllegalArgumentException("Paging cursor[" + i_Cursor + "] is invalid.");
+        }
+        
+        String v_Value = v_Text.substring(2);
+        
+        if ( v_Text.startsWith($Type_Integer) )
+        {
+            return Long.valueOf(v_Value);
+        }
+        else if ( v_Text.startsWith($Type_Float) )
+        {
+            return Double.valueOf(v_Value);
+        }
+        else if ( v_Text.startsWith($Type_String) )
+        {
+            return v_Value;
+        }
+        else if ( v_Text.startsWith($Type_DateTime) )
+        {
+            return ZonedDateTime.parse(v_Value);
+        }
+        else if ( v_Text.startsWith($Type_LocalDateTime) )
+        {
+            return LocalDateTime.parse(v_Value);
+        }
+        else if ( v_Text.startsWith($Type_Date) )
+        {
+            return LocalDate.parse(v_Value);
+        }
+        else if ( v_Text.startsWith($Type_Time) )
+        {
+            return OffsetTime.parse(v_Value);
+        }
+        else
+        {
+            throw new IllegalArgumentException("Paging cursor[" + i_Cursor + "] is invalid.");
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：本页的查询结果
+     */
+    public XCQLData getData()
+    {
+        return data;
+    }
+    
+    
+    
+    /**
+     * 获取：本页的查询结果（表级对象）
+     */
+    public Object getDatas()
+    {
+        return this.data == null ? null : this.data.getDatas();
+    }
+    
+    
+    
+    /**
+     * 获取：下一页的游标。没有下一页时为NULL
+     */
+    public String getNextCursor()
+    {
+        return nextCursor;
+    }
+    
+    
+    
+    /**
+     * 是否有下一页
+     */
+    public boolean hasNext()
+    {
+        return this.nextCursor != null;
+    }
+    
+}
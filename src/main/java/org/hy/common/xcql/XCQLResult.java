@@ -4,11 +4,12 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,6 +33,18 @@ import org.neo4j.driver.types.Type;
  * @author      ZhengWei(HY)
  * @createDate  2023-06-02
  * @version     v1.0
+ *              v2.0  2026-10-18  添加：逐行转化的 getDatasRow() 方法，用于流式读取
+ *              v3.0  2026-10-18  添加：getDatas() 支持任意记录迭代器，并忽略游标分页的内部列 XCQL_Cursor
+ *              v4.0  2026-10-18  优化：列级、行级填充方法通过 XCQLMethod 生成的直接调用函数执行，不再逐个字段反射调用
+ *              v5.0  2026-10-18  优化：记录的结构描述 XCQLResultShape 只在第一行时解释，之后按下标访问列，并按位置复用节点属性的填充方法
+ *              v6.0  2026-10-18  优化：解释结果以快照 XCQLResultPlan 整体发布，getDatas() 的读取路径不再加同步锁
+ *              v7.0  2026-10-18  添加：行级对象为紧凑的Map行级对象 XCQLRowMap 时，共享同一列下标
+ *              v8.0  2026-10-18  添加：表级对象为列式结果集 XCQLColumnTable 时，按列填充基本类型的数组，不装箱
+ *              v9.0  2026-10-18  添加：表级对象为紧凑图结构 XCQLGraph 时，按节点、关系、路径构建CSR结构的内存图
+ *              v10.0 2026-10-18 修正：转化异常时的列号 ColNo 一直为0的问题
+ *              v11.0 2026-10-18 修正：XCQLRowMap 行级对象填充完成后封闭，调用者添加的字段不再追加到共享的列下标中
+ *              v12.0 2026-10-18 修正：快照并非完全不可变。Neo4j的节点没有固定的属性，setter(colValue) 的列级填充方法及元数据只能在运行时逐个属性解释，
+ *                                     发布后仍只增不减地追加。二者均为并发集合，追加时读取（含 XCQLData.getMetaData() 的调用者）无须加锁
  */
 public final class XCQLResult
 {
@@ -116,9 +129,6 @@ public final class XCQLResult
     /** 行级对象填充到表级对象的填充方法字符串 */
     private String                  fill;
     
-    /** 行级对象填充到表级对象的填充方法(解释 fill 后生成) */
-    private XCQLMethod              fillMethod;
-    
     /**
      * 行级对象填充到表级对象时，在填充之前触发的事件接口
      * 
@@ -129,31 +139,9 @@ public final class XCQLResult
     /** 列级对象填充到行级对象的填充方法字符串 */
     private String                  cfill;
     
-    /**
-     * 列级对象填充到行级对象中行级对象的方法类型(解释 cfill 后生成)
-     * 
-     * 1. 固定方法 -- 如：cfill = "addColumnValue(colNo ,colValue)"   -- $CFILL_METHOD_FIXED
-     * 2. 变化方法 -- 如：cfill = "setter(colValue)"                  -- $CFILL_METHOD_VARY
-     */
-    private int                     cfillMethodType;
-    
-    /**
-     * 列级对象填充到行级对象的填充方法(解释 cfill 后生成)
-     * 
-     * 当为固定方法时，cfillMethodArr只有一个元素
-     * 当为变化方法时，cfillMethodArr的元素个数和顺序与CQL的输出结果相同
-     * 
-     * Map.key   Neo4j的属性名称，如 MATCH (n) RETURN n.id 时，Map.key 为 id ，即不带neo4j的别名"n."，并且区别大小写
-     * Map.value 为setter 方法映射。当解释不当时为NULL
-     */
-    private Map<String ,XCQLMethod> cfillMethodArr;
-    
     /** 字段名称的样式(默认为全部大写) */
     private DBNameStyle             cstyle;
     
-    /** 结果集的元数据 */
-    private DBTableMetaData         dbMetaData;
-    
     /**
      * 标记出能表示一对多关系中归属同一对象的关系字段，组合关系的多个字段间用逗号分隔。
      * 
@@ -166,8 +154,12 @@ public final class XCQLResult
     private String                  relationKeys;
     
     
-    /** 是否重新分析。任何一个对外的属性值变化后，都要重新分析。 */
-    private boolean                 isAgainParse;
+    /**
+     * 解释结果的快照。为NULL时表示须重新分析。任何一个对外的属性值变化后，都要重新分析。
+     * 
+     * 快照发布后不再修改，重新分析时整体替换，所以读取时无须同步锁。
+     */
+    private volatile XCQLResultPlan plan;
     
     
     
@@ -176,14 +168,10 @@ public final class XCQLResult
         this.table           = ArrayList.class;
         this.row             = ArrayList.class;
         this.fill            = "add(row)";
-        this.fillMethod      = new XCQLMethod();
         this.cfill           = "add(colValue)";
-        this.cfillMethodType = $CFILL_METHOD_FIXED;
-        this.cfillMethodArr  = null;
         this.cstyle          = DBNameStyle.$Upper;
-        this.dbMetaData      = new DBTableMetaData(this.cstyle);
         this.relationKeys    = null;
-        this.isAgainParse    = true;
+        this.plan            = null;
     }
     
     
@@ -191,18 +179,25 @@ public final class XCQLResult
     /**
      * 将数据库结果集转化为Java实例对象前，先解释元数据。
      * 
+     * 已解释过时，只读取一次 volatile 快照，不加同步锁。
+     * 
      * @author      ZhengWei(HY)
      * @createDate  2019-03-19
      * @version     v1.0
+     *              v2.0  2026-10-18  优化：返回解释结果的快照，只在须重新分析时才进入同步锁
      *
-     * @param i_Result
+     * @return
      */
-    private synchronized void getDatasParse(Result i_Result)
+    private XCQLResultPlan getDatasParse()
     {
-        if ( this.isAgainParse )
+        XCQLResultPlan v_Plan = this.plan;
+        
+        if ( v_Plan == null )
         {
-            this.parse();
+            v_Plan = this.parsePlan();
         }
+        
+        return v_Plan;
     }
     
     
@@ -223,34 +218,45 @@ public final class XCQLResult
     /**
      * 将数据库结果集转化为Java实例对象(私有的)
      * 
-     * @param i_Result
+     * @param i_Result           数据库结果集。也可以是已读取到内存中的记录迭代器（游标分页时用）
      * @param i_StartRow         开始读取的行号。下标从0开始。
      * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
      * @return
      */
     @SuppressWarnings("unchecked")
-    public XCQLData getDatas(Result i_Result
-                             ,int   i_StartRow
-                             ,int   i_PagePerSize)
+    public XCQLData getDatas(Iterator<Record> i_Result
+                             ,int              i_StartRow
+                             ,int              i_PagePerSize)
     {
         if ( i_Result == null )
         {
             throw new NullPointerException("Result is null.");
         }
         
+        // 列式结果集。不创建行级对象，也无须解释行级、列级的填充方法
+        if ( this.table == XCQLColumnTable.class )
+        {
+            return this.getDatasColumnar(i_Result ,i_StartRow ,i_PagePerSize);
+        }
+        
+        // 紧凑图结构。只收集节点、关系、路径，同样无须解释行级、列级的填充方法
+        if ( this.table == XCQLGraph.class )
+        {
+            return this.getDatasGraph(i_Result ,i_StartRow ,i_PagePerSize);
+        }
         
-        Object  v_Table         = null;
-        long    v_RowNo         = 0;
-        int     v_ColNo         = 0;
-        String  v_FieldName     = "";
-        boolean v_FillEvent     = false;
-        Date    v_ExecBeginTime = null;
+        
+        Object          v_Table         = null;
+        long            v_RowNo         = 0;
+        XCQLResultShape v_Shape         = new XCQLResultShape();
+        XCQLResultPlan  v_Plan          = null;
+        boolean         v_FillEvent     = false;
+        Date            v_ExecBeginTime = null;
         
         try
         {
             v_Table = this.newTableObject();
-            
-            getDatasParse(i_Result);
+            v_Plan  = this.getDatasParse();
             
             v_ExecBeginTime = new Date();
             
@@ -269,54 +275,19 @@ public final class XCQLResult
                 if ( null == fillEvent )
                 {
                     // 列级对象填充到行级对象中行级对象的方法类型: 固定方法
-                    if ( this.cfillMethodType == $CFILL_METHOD_FIXED )
+                    if ( v_Plan.getCFillMethodType() == $CFILL_METHOD_FIXED )
                     {
-                        XCQLMethod v_CFillMethod = this.cfillMethodArr.get(this.cfill);
+                        XCQLMethod v_CFillMethod = v_Plan.getCFillMethod();
                         
                         // 遍历每条记录
                         while ( v_Count < i_PagePerSize && i_Result.hasNext() )
                         {
-                            Object       v_Row    = this.newRowObject();
-                            Record       v_Record = i_Result.next();
-                            List<String> v_RNames = v_Record.keys();
+                            Object v_Row    = this.newRowObject(v_Plan);
+                            Record v_Record = i_Result.next();
                             
-                            // 遍历每条记录中的每个数据子集
-                            // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
-                            for (String v_RName : v_RNames)
-                            {
-                                Value            v_RData      = v_Record.get(v_RName);
-                                Iterable<String> v_FieldNames = v_RData.keys();
-                                boolean          v_IsEmpty    = true;
-                                
-                                // 遍历节点属性
-                                // 识别类似 MATCH (n) RETURN n 中的 n 的属性
-                                for (String v_FName : v_FieldNames)
-                                {
-                                    v_FieldName = v_FName;
-                                    v_IsEmpty   = false;
-                                    
-                                    Object v_ColValue = XCQLMethod.getValue(v_RData.get(v_FieldName));
-                                    v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                }
-                                
-                                // 处理非数据子集的，具体指定RETURN的属性
-                                // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
-                                if ( v_IsEmpty )
-                                {
-                                    String [] v_FieldNameArr = v_RName.split("\\.");
-                                    
-                                    v_FieldName = v_FieldNameArr[0];
-                                    if ( v_FieldNameArr.length >= 2 )
-                                    {
-                                        v_FieldName = v_FieldNameArr[1];
-                                    }
-                                    
-                                    Object v_ColValue = XCQLMethod.getValue(v_RData);
-                                    v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                }
-                            }
+                            this.getDatasRowFixed(v_Row ,v_Record ,v_CFillMethod ,v_Shape);
                             
-                            this.fillMethod.invoke(v_Table ,v_Row ,v_RowNo++ ,null);
+                            v_Plan.getFillMethod().invoke(v_Table ,v_Row ,v_RowNo++ ,null);
                             v_Count++;
                         }
                     }
@@ -326,59 +297,12 @@ public final class XCQLResult
                         // 遍历每条记录
                         while ( v_Count < i_PagePerSize && i_Result.hasNext() )
                         {
-                            Object       v_Row    = this.newRowObject();
-                            Record       v_Record = i_Result.next();
-                            List<String> v_RNames = v_Record.keys();
+                            Object v_Row    = this.newRowObject(v_Plan);
+                            Record v_Record = i_Result.next();
                             
-                            // 遍历每条记录中的每个数据子集
-                            // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
-                            for (String v_RName : v_RNames)
-                            {
-                                Value            v_RData      = v_Record.get(v_RName);
-                                Iterable<String> v_FieldNames = v_RData.keys();
-                                boolean          v_IsEmpty    = true;
-                                
-                                // 遍历节点属性
-                                // 识别类似 MATCH (n) RETURN n 中的 n 的属性
-                                for (String v_FName : v_FieldNames)
-                                {
-                                    v_FieldName = v_FName;
-                                    v_IsEmpty   = false;
-                                    
-                                    Value      v_FieldValue  = v_RData.get(v_FieldName);
-                                    XCQLMethod v_CFillMethod = this.parseCFill(v_FieldName ,v_FieldValue.type());
-                                    if ( v_CFillMethod != null )
-                                    {
-                                        Object v_ColValue = v_CFillMethod.getResultSet_Getter().invoke(v_FieldValue);
-                                        v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
-                                        v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                    }
-                                }
-                                
-                                // 处理非数据子集的，具体指定RETURN的属性
-                                // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
-                                if ( v_IsEmpty )
-                                {
-                                    String [] v_FieldNameArr = v_RName.split("\\.");
-                                    
-                                    v_FieldName = v_FieldNameArr[0];
-                                    if ( v_FieldNameArr.length >= 2 )
-                                    {
-                                        v_FieldName = v_FieldNameArr[1];
-                                    }
-                                    
-                                    Value      v_FieldValue  = v_RData;
-                                    XCQLMethod v_CFillMethod = this.parseCFill(v_FieldName ,v_FieldValue.type());
-                                    if ( v_CFillMethod != null )
-                                    {
-                                        Object v_ColValue = v_CFillMethod.getResultSet_Getter().invoke(v_FieldValue);
-                                        v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
-                                        v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                    }
-                                }
-                            }
+                            this.getDatasRowVary(v_Row ,v_Record ,v_Plan ,v_Shape);
                             
-                            this.fillMethod.invoke(v_Table ,v_Row ,v_RowNo++ ,null);
+                            v_Plan.getFillMethod().invoke(v_Table ,v_Row ,v_RowNo++ ,null);
                             v_Count++;
                         }
                     }
@@ -391,57 +315,22 @@ public final class XCQLResult
                     this.fillEvent.start(v_Table);
                     
                     // 列级对象填充到行级对象中行级对象的方法类型: 固定方法
-                    if ( this.cfillMethodType == $CFILL_METHOD_FIXED )
+                    if ( v_Plan.getCFillMethodType() == $CFILL_METHOD_FIXED )
                     {
-                        XCQLMethod v_CFillMethod = this.cfillMethodArr.get(this.cfill);
+                        XCQLMethod v_CFillMethod = v_Plan.getCFillMethod();
                         
                         // 遍历每条记录
                         while ( v_Count < i_PagePerSize && i_Result.hasNext() )
                         {
-                            Object       v_Row    = this.newRowObject();
-                            Record       v_Record = i_Result.next();
-                            List<String> v_RNames = v_Record.keys();
+                            Object v_Row    = this.newRowObject(v_Plan);
+                            Record v_Record = i_Result.next();
                             
-                            // 遍历每条记录中的每个数据子集
-                            // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
-                            for (String v_RName : v_RNames)
-                            {
-                                Value            v_RData      = v_Record.get(v_RName);
-                                Iterable<String> v_FieldNames = v_RData.keys();
-                                boolean          v_IsEmpty    = true;
-                                
-                                // 遍历节点属性
-                                // 识别类似 MATCH (n) RETURN n 中的 n 的属性
-                                for (String v_FName : v_FieldNames)
-                                {
-                                    v_FieldName = v_FName;
-                                    v_IsEmpty   = false;
-                                    
-                                    Object v_ColValue = XCQLMethod.getValue(v_RData.get(v_FieldName));
-                                    v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                }
-                                
-                                // 处理非数据子集的，具体指定RETURN的属性
-                                // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
-                                if ( v_IsEmpty )
-                                {
-                                    String [] v_FieldNameArr = v_RName.split("\\.");
-                                    
-                                    v_FieldName = v_FieldNameArr[0];
-                                    if ( v_FieldNameArr.length >= 2 )
-                                    {
-                                        v_FieldName = v_FieldNameArr[1];
-                                    }
-                                    
-                                    Object v_ColValue = XCQLMethod.getValue(v_RData);
-                                    v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                }
-                            }
+                            this.getDatasRowFixed(v_Row ,v_Record ,v_CFillMethod ,v_Shape);
                             
                             v_FillEvent = true;
                             if ( this.fillEvent.before(v_Table ,v_Row ,v_RowNo ,v_RowPrevious) )
                             {
-                                this.fillMethod.invoke(v_Table ,v_Row ,v_RowNo++ ,null);
+                                v_Plan.getFillMethod().invoke(v_Table ,v_Row ,v_RowNo++ ,null);
                                 v_RowPrevious = v_Row;
                             }
                             v_FillEvent = false;
@@ -454,62 +343,15 @@ public final class XCQLResult
                         // 遍历每条记录
                         while ( v_Count < i_PagePerSize && i_Result.hasNext() )
                         {
-                            Object       v_Row    = this.newRowObject();
-                            Record       v_Record = i_Result.next();
-                            List<String> v_RNames = v_Record.keys();
+                            Object v_Row    = this.newRowObject(v_Plan);
+                            Record v_Record = i_Result.next();
                             
-                            // 遍历每条记录中的每个数据子集
-                            // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
-                            for (String v_RName : v_RNames)
-                            {
-                                Value            v_RData      = v_Record.get(v_RName);
-                                Iterable<String> v_FieldNames = v_RData.keys();
-                                boolean          v_IsEmpty    = true;
-                                
-                                // 遍历节点属性
-                                // 识别类似 MATCH (n) RETURN n 中的 n 的属性
-                                for (String v_FName : v_FieldNames)
-                                {
-                                    v_FieldName = v_FName;
-                                    v_IsEmpty   = false;
-                                    
-                                    Value      v_FieldValue  = v_RData.get(v_FieldName);
-                                    XCQLMethod v_CFillMethod = this.parseCFill(v_FieldName ,v_FieldValue.type());
-                                    if ( v_CFillMethod != null )
-                                    {
-                                        Object v_ColValue = v_CFillMethod.getResultSet_Getter().invoke(v_FieldValue);
-                                        v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
-                                        v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                    }
-                                }
-                                
-                                // 处理非数据子集的，具体指定RETURN的属性
-                                // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
-                                if ( v_IsEmpty )
-                                {
-                                    String [] v_FieldNameArr = v_RName.split("\\.");
-                                    
-                                    v_FieldName = v_FieldNameArr[0];
-                                    if ( v_FieldNameArr.length >= 2 )
-                                    {
-                                        v_FieldName = v_FieldNameArr[1];
-                                    }
-                                    
-                                    Value      v_FieldValue  = v_RData;
-                                    XCQLMethod v_CFillMethod = this.parseCFill(v_FieldName ,v_FieldValue.type());
-                                    if ( v_CFillMethod != null )
-                                    {
-                                        Object v_ColValue = v_CFillMethod.getResultSet_Getter().invoke(v_FieldValue);
-                                        v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
-                                        v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                    }
-                                }
-                            }
+                            this.getDatasRowVary(v_Row ,v_Record ,v_Plan ,v_Shape);
                             
                             v_FillEvent = true;
                             if ( this.fillEvent.before(v_Table ,v_Row ,v_RowNo ,v_RowPrevious) )
                             {
-                                this.fillMethod.invoke(v_Table ,v_Row ,v_RowNo++ ,null);
+                                v_Plan.getFillMethod().invoke(v_Table ,v_Row ,v_RowNo++ ,null);
                                 v_RowPrevious = v_Row;
                             }
                             v_FillEvent = false;
@@ -525,54 +367,19 @@ public final class XCQLResult
                 if ( null == fillEvent )
                 {
                     // 列级对象填充到行级对象中行级对象的方法类型: 固定方法
-                    if ( this.cfillMethodType == $CFILL_METHOD_FIXED )
+                    if ( v_Plan.getCFillMethodType() == $CFILL_METHOD_FIXED )
                     {
-                        XCQLMethod v_CFillMethod = this.cfillMethodArr.get(this.cfill);
+                        XCQLMethod v_CFillMethod = v_Plan.getCFillMethod();
                         
                         // 遍历每条记录
                         while ( i_Result.hasNext() )
                         {
-                            Object       v_Row    = this.newRowObject();
-                            Record       v_Record = i_Result.next();
-                            List<String> v_RNames = v_Record.keys();
+                            Object v_Row    = this.newRowObject(v_Plan);
+                            Record v_Record = i_Result.next();
                             
-                            // 遍历每条记录中的每个数据子集
-                            // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
-                            for (String v_RName : v_RNames)
-                            {
-                                Value            v_RData      = v_Record.get(v_RName);
-                                Iterable<String> v_FieldNames = v_RData.keys();
-                                boolean          v_IsEmpty    = true;
-                                
-                                // 遍历节点属性
-                                // 识别类似 MATCH (n) RETURN n 中的 n 的属性
-                                for (String v_FName : v_FieldNames)
-                                {
-                                    v_FieldName = v_FName;
-                                    v_IsEmpty   = false;
-                                    
-                                    Object v_ColValue = XCQLMethod.getValue(v_RData.get(v_FieldName));
-                                    v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                }
-                                
-                                // 处理非数据子集的，具体指定RETURN的属性
-                                // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
-                                if ( v_IsEmpty )
-                                {
-                                    String [] v_FieldNameArr = v_RName.split("\\.");
-                                    
-                                    v_FieldName = v_FieldNameArr[0];
-                                    if ( v_FieldNameArr.length >= 2 )
-                                    {
-                                        v_FieldName = v_FieldNameArr[1];
-                                    }
-                                    
-                                    Object v_ColValue = XCQLMethod.getValue(v_RData);
-                                    v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                }
-                            }
+                            this.getDatasRowFixed(v_Row ,v_Record ,v_CFillMethod ,v_Shape);
                             
-                            this.fillMethod.invoke(v_Table ,v_Row ,v_RowNo++ ,null);
+                            v_Plan.getFillMethod().invoke(v_Table ,v_Row ,v_RowNo++ ,null);
                         }
                     }
                     // 列级对象填充到行级对象中行级对象的方法类型: 变化方法 -- setter(colValue)
@@ -581,59 +388,12 @@ public final class XCQLResult
                         // 遍历每条记录
                         while ( i_Result.hasNext() )
                         {
-                            Object       v_Row    = this.newRowObject();
-                            Record       v_Record = i_Result.next();
-                            List<String> v_RNames = v_Record.keys();
+                            Object v_Row    = this.newRowObject(v_Plan);
+                            Record v_Record = i_Result.next();
                             
-                            // 遍历每条记录中的每个数据子集
-                            // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
-                            for (String v_RName : v_RNames)
-                            {
-                                Value            v_RData      = v_Record.get(v_RName);
-                                Iterable<String> v_FieldNames = v_RData.keys();
-                                boolean          v_IsEmpty    = true;
-                                
-                                // 遍历节点属性
-                                // 识别类似 MATCH (n) RETURN n 中的 n 的属性
-                                for (String v_FName : v_FieldNames)
-                                {
-                                    v_FieldName = v_FName;
-                                    v_IsEmpty   = false;
-                                    
-                                    Value      v_FieldValue  = v_RData.get(v_FieldName);
-                                    XCQLMethod v_CFillMethod = this.parseCFill(v_FieldName ,v_FieldValue.type());
-                                    if ( v_CFillMethod != null )
-                                    {
-                                        Object v_ColValue = v_CFillMethod.getResultSet_Getter().invoke(v_FieldValue);
-                                        v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
-                                        v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                    }
-                                }
-                                
-                                // 处理非数据子集的，具体指定RETURN的属性
-                                // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
-                                if ( v_IsEmpty )
-                                {
-                                    String [] v_FieldNameArr = v_RName.split("\\.");
-                                    
-                                    v_FieldName = v_FieldNameArr[0];
-                                    if ( v_FieldNameArr.length >= 2 )
-                                    {
-                                        v_FieldName = v_FieldNameArr[1];
-                                    }
-                                    
-                                    Value      v_FieldValue  = v_RData;
-                                    XCQLMethod v_CFillMethod = this.parseCFill(v_FieldName ,v_FieldValue.type());
-                                    if ( v_CFillMethod != null )
-                                    {
-                                        Object v_ColValue = v_CFillMethod.getResultSet_Getter().invoke(v_FieldValue);
-                                        v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
-                                        v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                    }
-                                }
-                            }
+                            this.getDatasRowVary(v_Row ,v_Record ,v_Plan ,v_Shape);
                             
-                            this.fillMethod.invoke(v_Table ,v_Row ,v_RowNo++ ,null);
+                            v_Plan.getFillMethod().invoke(v_Table ,v_Row ,v_RowNo++ ,null);
                         }
                     }
                 }
@@ -645,57 +405,22 @@ public final class XCQLResult
                     this.fillEvent.start(v_Table);
                     
                     // 列级对象填充到行级对象中行级对象的方法类型: 固定方法
-                    if ( this.cfillMethodType == $CFILL_METHOD_FIXED )
+                    if ( v_Plan.getCFillMethodType() == $CFILL_METHOD_FIXED )
                     {
-                        XCQLMethod v_CFillMethod = this.cfillMethodArr.get(this.cfill);
+                        XCQLMethod v_CFillMethod = v_Plan.getCFillMethod();
                         
                         // 遍历每条记录
                         while ( i_Result.hasNext() )
                         {
-                            Object       v_Row    = this.newRowObject();
-                            Record       v_Record = i_Result.next();
-                            List<String> v_RNames = v_Record.keys();
+                            Object v_Row    = this.newRowObject(v_Plan);
+                            Record v_Record = i_Result.next();
                             
-                            // 遍历每条记录中的每个数据子集
-                            // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
-                            for (String v_RName : v_RNames)
-                            {
-                                Value            v_RData      = v_Record.get(v_RName);
-                                Iterable<String> v_FieldNames = v_RData.keys();
-                                boolean          v_IsEmpty    = true;
-                                
-                                // 遍历节点属性
-                                // 识别类似 MATCH (n) RETURN n 中的 n 的属性
-                                for (String v_FName : v_FieldNames)
-                                {
-                                    v_FieldName = v_FName;
-                                    v_IsEmpty   = false;
-                                    
-                                    Object v_ColValue = XCQLMethod.getValue(v_RData.get(v_FieldName));
-                                    v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                }
-                                
-                                // 处理非数据子集的，具体指定RETURN的属性
-                                // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
-                                if ( v_IsEmpty )
-                                {
-                                    String [] v_FieldNameArr = v_RName.split("\\.");
-                                    
-                                    v_FieldName = v_FieldNameArr[0];
-                                    if ( v_FieldNameArr.length >= 2 )
-                                    {
-                                        v_FieldName = v_FieldNameArr[1];
-                                    }
-                                    
-                                    Object v_ColValue = XCQLMethod.getValue(v_RData);
-                                    v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                }
-                            }
+                            this.getDatasRowFixed(v_Row ,v_Record ,v_CFillMethod ,v_Shape);
                             
                             v_FillEvent = true;
                             if ( this.fillEvent.before(v_Table ,v_Row ,v_RowNo ,v_RowPrevious) )
                             {
-                                this.fillMethod.invoke(v_Table ,v_Row ,v_RowNo++ ,null);
+                                v_Plan.getFillMethod().invoke(v_Table ,v_Row ,v_RowNo++ ,null);
                                 v_RowPrevious = v_Row;
                             }
                             v_FillEvent = false;
@@ -707,62 +432,15 @@ public final class XCQLResult
                         // 遍历每条记录
                         while ( i_Result.hasNext() )
                         {
-                            Object       v_Row    = this.newRowObject();
-                            Record       v_Record = i_Result.next();
-                            List<String> v_RNames = v_Record.keys();
+                            Object v_Row    = this.newRowObject(v_Plan);
+                            Record v_Record = i_Result.next();
                             
-                            // 遍历每条记录中的每个数据子集
-                            // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
-                            for (String v_RName : v_RNames)
-                            {
-                                Value            v_RData      = v_Record.get(v_RName);
-                                Iterable<String> v_FieldNames = v_RData.keys();
-                                boolean          v_IsEmpty    = true;
-                                
-                                // 遍历节点属性
-                                // 识别类似 MATCH (n) RETURN n 中的 n 的属性
-                                for (String v_FName : v_FieldNames)
-                                {
-                                    v_FieldName = v_FName;
-                                    v_IsEmpty   = false;
-                                    
-                                    Value      v_FieldValue  = v_RData.get(v_FieldName);
-                                    XCQLMethod v_CFillMethod = this.parseCFill(v_FieldName ,v_FieldValue.type());
-                                    if ( v_CFillMethod != null )
-                                    {
-                                        Object v_ColValue = v_CFillMethod.getResultSet_Getter().invoke(v_FieldValue);
-                                        v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
-                                        v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                    }
-                                }
-                                
-                                // 处理非数据子集的，具体指定RETURN的属性
-                                // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
-                                if ( v_IsEmpty )
-                                {
-                                    String [] v_FieldNameArr = v_RName.split("\\.");
-                                    
-                                    v_FieldName = v_FieldNameArr[0];
-                                    if ( v_FieldNameArr.length >= 2 )
-                                    {
-                                        v_FieldName = v_FieldNameArr[1];
-                                    }
-                                    
-                                    Value      v_FieldValue  = v_RData;
-                                    XCQLMethod v_CFillMethod = this.parseCFill(v_FieldName ,v_FieldValue.type());
-                                    if ( v_CFillMethod != null )
-                                    {
-                                        Object v_ColValue = v_CFillMethod.getResultSet_Getter().invoke(v_FieldValue);
-                                        v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
-                                        v_CFillMethod.invoke(v_Row ,v_ColValue ,(Long)null ,v_FieldName);
-                                    }
-                                }
-                            }
+                            this.getDatasRowVary(v_Row ,v_Record ,v_Plan ,v_Shape);
                             
                             v_FillEvent = true;
                             if ( this.fillEvent.before(v_Table ,v_Row ,v_RowNo ,v_RowPrevious) )
                             {
-                                this.fillMethod.invoke(v_Table ,v_Row ,v_RowNo++ ,null);
+                                v_Plan.getFillMethod().invoke(v_Table ,v_Row ,v_RowNo++ ,null);
                                 v_RowPrevious = v_Row;
                             }
                             v_FillEvent = false;
@@ -776,7 +454,7 @@ public final class XCQLResult
         {
             if ( !v_FillEvent )
             {
-                throw new java.lang.RuntimeException("RowNo=" + v_RowNo + "  ColNo=" + v_ColNo + "  ColName=" + v_FieldName + "  " + exce.getMessage());
+                throw new java.lang.RuntimeException("RowNo=" + v_RowNo + "  ColNo=" + v_Shape.getColNo() + "  ColName=" + v_Shape.getFieldName() + "  " + exce.getMessage());
             }
             else
             {
@@ -784,7 +462,398 @@ public final class XCQLResult
             }
         }
         
-        return new XCQLData(v_Table ,v_RowNo ,this.cfillMethodArr.size() ,0 ,Date.getNowTime().differ(v_ExecBeginTime) ,this.dbMetaData);
+        return new XCQLData(v_Table ,v_RowNo ,v_Plan.getColumnSize() ,0 ,Date.getNowTime().differ(v_ExecBeginTime) ,v_Plan.getDBMetaData());
+    }
+    
+    
+    
+    /**
+     * 将数据库结果集转化为列式结果集 XCQLColumnTable
+     * 
+     * 值按列的数据类型直接写入基本类型的数组，不经过 XCQLMethod.getValue(Value) 的装箱。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Result           数据库结果集。也可以是已读取到内存中的记录迭代器（游标分页时用）
+     * @param i_StartRow         开始读取的行号。下标从0开始。
+     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
+     * @return
+     */
+    private XCQLData getDatasColumnar(Iterator<Record> i_Result ,int i_StartRow ,int i_PagePerSize)
+    {
+        XCQLColumnTable v_Table         = new XCQLColumnTable();
+        XCQLResultShape v_Shape         = new XCQLResultShape();
+        DBTableMetaData v_MetaData      = new DBTableMetaData(this.cstyle);
+        Date            v_ExecBeginTime = new Date();
+        int             v_RowNo         = 0;
+        
+        try
+        {
+            // 游标分页功能
+            if ( i_PagePerSize > 0 )
+            {
+                int v_Count = 0;
+                while ( v_Count < i_StartRow && i_Result.hasNext() )
+                {
+                    i_Result.next();
+                    v_Count++;
+                }
+            }
+            
+            // 遍历每条记录
+            while ( (i_PagePerSize <= 0 || v_RowNo < i_PagePerSize) && i_Result.hasNext() )
+            {
+                Record v_Record = i_Result.next();
+                v_Shape.shape(v_Record.keys());
+                
+                // 遍历每条记录中的每个数据子集
+                for (int v_Index=0; v_Index<v_Shape.size(); v_Index++)
+                {
+                    Value   v_RData   = v_Record.get(v_Shape.getIndex(v_Index));
+                    boolean v_IsEmpty = true;
+                    
+                    // 遍历节点属性。识别类似 MATCH (n) RETURN n 中的 n 的属性
+                    for (String v_FieldName : v_RData.keys())
+                    {
+                        v_Shape.setFieldName(v_FieldName);
+                        v_IsEmpty = false;
+                        
+                        this.getDatasColumnar(v_Table ,v_MetaData ,v_FieldName).set(v_RowNo ,v_RData.get(v_FieldName));
+                    }
+                    
+                    // 处理非数据子集的，具体指定RETURN的属性。识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
+                    if ( v_IsEmpty )
+                    {
+                        String v_FieldName = v_Shape.getFieldName(v_Index);
+                        v_Shape.setFieldName(v_FieldName);
+                        
+                        this.getDatasColumnar(v_Table ,v_MetaData ,v_FieldName).set(v_RowNo ,v_RData);
+                    }
+                }
+                
+                v_Table.nextRow();
+                v_RowNo++;
+            }
+            
+            v_Table.finish();
+        }
+        catch (Exception exce)
+        {
+            throw new java.lang.RuntimeException("RowNo=" + v_RowNo + "  ColName=" + v_Shape.getFieldName() + "  " + exce.getMessage());
+        }
+        
+        return new XCQLData(v_Table ,v_RowNo ,v_Table.getColumnCount() ,0 ,Date.getNowTime().differ(v_ExecBeginTime) ,v_MetaData);
+    }
+    
+    
+    
+    /**
+     * 将数据库结果集转化为紧凑图结构 XCQLGraph
+     * 
+     * 每条记录中的节点、关系、路径（及它们的集合）按 elementId 去重后加入图中，其它类型的值忽略。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Result           数据库结果集。也可以是已读取到内存中的记录迭代器（游标分页时用）
+     * @param i_StartRow         开始读取的行号。下标从0开始。
+     * @param i_PagePerSize      每页显示多少条数据。只有大于0时，游标分页功能才生效。
+     * @return
+     */
+    private XCQLData getDatasGraph(Iterator<Record> i_Result ,int i_StartRow ,int i_PagePerSize)
+    {
+        XCQLGraph       v_Graph         = new XCQLGraph();
+        XCQLResultShape v_Shape         = new XCQLResultShape();
+        DBTableMetaData v_MetaData      = new DBTableMetaData(this.cstyle);
+        Date            v_ExecBeginTime = new Date();
+        int             v_RowNo         = 0;
+        
+        try
+        {
+            // 游标分页功能
+            if ( i_PagePerSize > 0 )
+            {
+                int v_Count = 0;
+                while ( v_Count < i_StartRow && i_Result.hasNext() )
+                {
+                    i_Result.next();
+                    v_Count++;
+                }
+            }
+            
+            // 遍历每条记录
+            while ( (i_PagePerSize <= 0 || v_RowNo < i_PagePerSize) && i_Result.hasNext() )
+            {
+                Record v_Record = i_Result.next();
+                v_Shape.shape(v_Record.keys());
+                
+                for (int v_Index=0; v_Index<v_Shape.size(); v_Index++)
+                {
+                    String v_FieldName = v_Shape.getFieldName(v_Index);
+                    v_Shape.setFieldName(v_FieldName);
+                    
+                    if ( v_RowNo == 0 )
+                    {
+                        v_MetaData.addColumnInfo(v_FieldName);
+                    }
+                    
+                    v_Graph.add(v_Record.get(v_Shape.getIndex(v_Index)));
+                }
+                
+                v_RowNo++;
+            }
+            
+            v_Graph.finish();
+        }
+        catch (Exception exce)
+        {
+            throw new java.lang.RuntimeException("RowNo=" + v_RowNo + "  ColName=" + v_Shape.getFieldName() + "  " + exce.getMessage());
+        }
+        
+        return new XCQLData(v_Graph ,v_RowNo ,v_Shape.size() ,v_Graph.getRelationshipCount() ,Date.getNowTime().differ(v_ExecBeginTime) ,v_MetaData);
+    }
+    
+    
+    
+    /**
+     * 获取（或添加）列式结果集的列。新增列时同时记录到结果集的元数据中
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param io_Table     列式结果集
+     * @param io_MetaData  结果集的元数据
+     * @param i_FieldName  Neo4j的属性名称
+     * @return
+     */
+    private XCQLColumn getDatasColumnar(XCQLColumnTable io_Table ,DBTableMetaData io_MetaData ,String i_FieldName)
+    {
+        XCQLColumn v_Column = io_Table.getColumn(i_FieldName);
+        
+        if ( v_Column == null )
+        {
+            v_Column = io_Table.addColumn(i_FieldName);
+            io_MetaData.addColumnInfo(i_FieldName);
+        }
+        
+        return v_Column;
+    }
+    
+    
+    
+    /**
+     * 将数据库结果集中的一行记录转化为行级对象（用于流式逐行读取）
+     * 
+     * 列级对象填充到行级对象的规则（cfill）与 getDatas() 相同。
+     * 因流式读取时没有表级对象，所以行级对象填充到表级对象的 fill 及 fillEvent 不生效。
+     * 
+     * 调用之前，须已执行过 parse() 方法（未执行时自动解释）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Record  一行记录
+     * @param i_RowNo   行号。下标从0开始，仅用于异常信息
+     * @return
+     */
+    public Object getDatasRow(Record i_Record ,long i_RowNo)
+    {
+        return this.getDatasRow(i_Record ,i_RowNo ,new XCQLResultShape());
+    }
+    
+    
+    
+    /**
+     * 将数据库结果集中的一行记录转化为行级对象（用于流式逐行读取）
+     * 
+     * 同一结果集的多行记录共用一个结构描述，只在第一行时解释记录的结构。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Record  一行记录
+     * @param i_RowNo   行号。下标从0开始，仅用于异常信息
+     * @param io_Shape  记录的结构描述。同一结果集的读取器独享一个实例
+     * @return
+     */
+    public Object getDatasRow(Record i_Record ,long i_RowNo ,XCQLResultShape io_Shape)
+    {
+        try
+        {
+            XCQLResultPlan v_Plan = this.getDatasParse();
+            Object         v_Row  = this.newRowObject(v_Plan);
+            
+            // 列级对象填充到行级对象中行级对象的方法类型: 固定方法
+            if ( v_Plan.getCFillMethodType() == $CFILL_METHOD_FIXED )
+            {
+                this.getDatasRowFixed(v_Row ,i_Record ,v_Plan.getCFillMethod() ,io_Shape);
+            }
+            // 列级对象填充到行级对象中行级对象的方法类型: 变化方法 -- setter(colValue)
+            else
+            {
+                this.getDatasRowVary(v_Row ,i_Record ,v_Plan ,io_Shape);
+            }
+            
+            return v_Row;
+        }
+        catch (Exception exce)
+        {
+            throw new java.lang.RuntimeException("RowNo=" + i_RowNo + "  ColName=" + io_Shape.getFieldName() + "  " + exce.getMessage());
+        }
+    }
+    
+    
+    
+    /**
+     * 按固定方法，将一行记录的列级对象填充到行级对象中
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @param i_Row          行级对象
+     * @param i_Record       一行记录
+     * @param i_CFillMethod  列级对象填充到行级对象的固定方法
+     * @param io_Shape       记录的结构描述
+     * @throws Exception
+     */
+    private void getDatasRowFixed(Object i_Row ,Record i_Record ,XCQLMethod i_CFillMethod ,XCQLResultShape io_Shape) throws Exception
+    {
+        io_Shape.shape(i_Record.keys());
+        
+        // 遍历每条记录中的每个数据子集
+        // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
+        for (int v_Index=0; v_Index<io_Shape.size(); v_Index++)
+        {
+            Value   v_RData   = i_Record.get(io_Shape.getIndex(v_Index));
+            boolean v_IsEmpty = true;
+            io_Shape.setColNo(io_Shape.getIndex(v_Index));
+            
+            // 遍历节点属性
+            // 识别类似 MATCH (n) RETURN n 中的 n 的属性
+            for (String v_FieldName : v_RData.keys())
+            {
+                io_Shape.setFieldName(v_FieldName);
+                v_IsEmpty = false;
+                
+                Object v_ColValue = XCQLMethod.getValue(v_RData.get(v_FieldName));
+                i_CFillMethod.invoke(i_Row ,v_ColValue ,(Long)null ,v_FieldName);
+            }
+            
+            // 处理非数据子集的，具体指定RETURN的属性
+            // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
+            if ( v_IsEmpty )
+            {
+                String v_FieldName = io_Shape.getFieldName(v_Index);
+                io_Shape.setFieldName(v_FieldName);
+                
+                Object v_ColValue = XCQLMethod.getValue(v_RData);
+                i_CFillMethod.invoke(i_Row ,v_ColValue ,(Long)null ,v_FieldName);
+            }
+        }
+        
+        // 填充完成后，调用者再添加的字段不追加到共享的列下标中
+        if ( i_Row instanceof XCQLRowMap )
+        {
+            ((XCQLRowMap) i_Row).seal();
+        }
+    }
+    
+    
+    
+    /**
+     * 按变化方法 setter(colValue)，将一行记录的列级对象填充到行级对象中
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Row     行级对象
+     * @param i_Record  一行记录
+     * @param i_Plan    解释结果的快照
+     * @param io_Shape  记录的结构描述
+     * @throws Exception
+     */
+    private void getDatasRowVary(Object i_Row ,Record i_Record ,XCQLResultPlan i_Plan ,XCQLResultShape io_Shape) throws Exception
+    {
+        io_Shape.shape(i_Record.keys());
+        
+        // 遍历每条记录中的每个数据子集
+        // 识别类似 MATCH (n1:XX) ,(n2:YY) RETURN n1 ,n2 中的 RETURN 的数据子集 n1 和 n2
+        for (int v_Index=0; v_Index<io_Shape.size(); v_Index++)
+        {
+            Value v_RData  = i_Record.get(io_Shape.getIndex(v_Index));
+            int   v_PIndex = 0;
+            io_Shape.setColNo(io_Shape.getIndex(v_Index));
+            
+            // 遍历节点属性
+            // 识别类似 MATCH (n) RETURN n 中的 n 的属性
+            for (String v_FieldName : v_RData.keys())
+            {
+                io_Shape.setFieldName(v_FieldName);
+                
+                Value      v_FieldValue  = v_RData.get(v_FieldName);
+                XCQLMethod v_CFillMethod = this.getDatasColumnMethod(v_Index ,v_PIndex++ ,v_FieldName ,v_FieldValue ,i_Plan ,io_Shape);
+                if ( v_CFillMethod != null )
+                {
+                    Object v_ColValue = v_CFillMethod.getResultSetValue(v_FieldValue);
+                    v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
+                    v_CFillMethod.invoke(i_Row ,v_ColValue ,(Long)null ,v_FieldName);
+                }
+            }
+            
+            // 处理非数据子集的，具体指定RETURN的属性
+            // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
+            if ( v_PIndex == 0 )
+            {
+                String v_FieldName = io_Shape.getFieldName(v_Index);
+                io_Shape.setFieldName(v_FieldName);
+                
+                XCQLMethod v_CFillMethod = this.getDatasColumnMethod(v_Index ,0 ,v_FieldName ,v_RData ,i_Plan ,io_Shape);
+                if ( v_CFillMethod != null )
+                {
+                    Object v_ColValue = v_CFillMethod.getResultSetValue(v_RData);
+                    v_ColValue = v_CFillMethod.getMachiningValue().getValue(v_ColValue);
+                    v_CFillMethod.invoke(i_Row ,v_ColValue ,(Long)null ,v_FieldName);
+                }
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 获取列级对象的 setter(colValue) 填充方法。先按位置从结构描述中获取，没有时再解释
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Index          须填充的列的序号
+     * @param i_PropertyIndex  节点属性的序号
+     * @param i_FieldName      Neo4j的属性名称
+     * @param i_FieldValue     列级对象
+     * @param i_Plan           解释结果的快照
+     * @param io_Shape         记录的结构描述
+     * @return
+     */
+    private XCQLMethod getDatasColumnMethod(int i_Index ,int i_PropertyIndex ,String i_FieldName ,Value i_FieldValue ,XCQLResultPlan i_Plan ,XCQLResultShape io_Shape)
+    {
+        XCQLMethod v_CFillMethod = io_Shape.getPropertyMethod(i_Index ,i_PropertyIndex ,i_FieldName);
+        
+        if ( v_CFillMethod == null )
+        {
+            v_CFillMethod = this.parseCFill(i_Plan ,i_FieldName ,i_FieldValue.type());
+            io_Shape.setPropertyMethod(i_Index ,i_PropertyIndex ,i_FieldName ,v_CFillMethod);
+        }
+        
+        return v_CFillMethod;
     }
     
     
@@ -796,12 +865,31 @@ public final class XCQLResult
      * 
      * 即，此方法不用人为刻意的被调用。
      */
-    public synchronized void parse()
+    public void parse()
+    {
+        this.parsePlan();
+    }
+    
+    
+    
+    /**
+     * 全量解释，生成并发布解释结果的快照。
+     * 
+     * 只在须重新分析时执行，已解释过时直接返回当前的快照。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return
+     */
+    private synchronized XCQLResultPlan parsePlan()
     {
         // 防止被重复解释
-        if ( !this.isAgainParse )
+        XCQLResultPlan v_Plan = this.plan;
+        if ( v_Plan != null )
         {
-            return;
+            return v_Plan;
         }
         
         
@@ -826,25 +914,27 @@ public final class XCQLResult
         }
         
         
-        this.dbMetaData.clear();
-        this.fillMethod.clear();
-        this.cfillMethodArr = null;
+        // 不修改已发布的快照，正在使用旧快照的查询不受影响
+        v_Plan = new XCQLResultPlan(this.row ,new DBTableMetaData(this.cstyle));
         
         
-        this.parseFill();
-        this.parseCFill();
-        this.parseRelationKeys();
+        this.parseFill(v_Plan);
+        this.parseCFill(v_Plan);
+        this.parseRelationKeys(v_Plan);
         
         
-        this.isAgainParse = false;
+        this.plan = v_Plan;
+        return v_Plan;
     }
     
     
     
     /**
      * 解释 this.fill -- 行级对象填充到表级对象的填充方法字符串
+     * 
+     * @param io_Plan  解释结果的快照（发布前）
      */
-    private void parseFill()
+    private void parseFill(XCQLResultPlan io_Plan)
     {
         Pattern      v_Pattern    = Pattern.compile($REGEX_METHOD);
         Matcher      v_Matcher    = v_Pattern.matcher(this.fill);
@@ -921,7 +1011,7 @@ public final class XCQLResult
                 throw new RuntimeException("Fill method[" + this.fill + "] Parameter is not valid. Parameter only 'row' or 'rowNo' or 'row.xxx'.");
             }
             
-            this.fillMethod.addParam(v_MethodParam);
+            io_Plan.getFillMethod().addParam(v_MethodParam);
         }
         
         
@@ -929,26 +1019,26 @@ public final class XCQLResult
         v_MethodList = MethodReflect.getMethodsIgnoreCase(this.table ,v_MethodName ,v_ParamArr.length);
         if ( v_MethodList.size() == 1 )
         {
-            this.fillMethod.setCall(v_MethodList.get(0));
+            io_Plan.getFillMethod().setCall(v_MethodList.get(0));
         }
         else if ( v_MethodList.size() > 1 )
         {
-            for (int v_Override=0; v_Override<v_MethodList.size() && this.fillMethod.getCall() == null; v_Override++)
+            for (int v_Override=0; v_Override<v_MethodList.size() && io_Plan.getFillMethod().getCall() == null; v_Override++)
             {
                 Class<?> [] v_ClassArr = v_MethodList.get(v_Override).getParameterTypes();
                 
                 if ( this.equalsMethodParamTypes(v_ClassArr ,v_ParamClassArr_int) )
                 {
-                    this.fillMethod.setCall(v_MethodList.get(v_Override));
+                    io_Plan.getFillMethod().setCall(v_MethodList.get(v_Override));
                 }
                 else if ( this.equalsMethodParamTypes(v_ClassArr ,v_ParamClassArr_Integer) )
                 {
-                    this.fillMethod.setCall(v_MethodList.get(v_Override));
+                    io_Plan.getFillMethod().setCall(v_MethodList.get(v_Override));
                 }
             }
             
             // 行级填充方法有多个重载方法，无法正确识别
-            if ( this.fillMethod.getCall() == null )
+            if ( io_Plan.getFillMethod().getCall() == null )
             {
                 throw new RuntimeException("Fill method name[" + this.fill + "] have much override methods.");
             }
@@ -976,104 +1066,119 @@ public final class XCQLResult
      * @author      ZhengWei(HY)
      * @createDate  2023-06-03
      * @version     v1.0
+     *              v2.0  2026-10-18  优化：解释结果保存在快照的并发Map中，已解释的属性无须同步锁
      *
+     * @param i_Plan             解释结果的快照
      * @param i_Neo4jFieldName   Neo4j的属性名称，如 MATCH (n) RETURN n.id 时，为 id ，即不带neo4j的别名"n."，并且区别大小写
      * @param i_Neo4jFieldType   Neo4j的属性类型。这里假设：同一属性的类型是一致的哈
      */
-    private XCQLMethod parseCFill(String i_Neo4jFieldName ,Type i_Neo4jFieldType)
+    private XCQLMethod parseCFill(XCQLResultPlan i_Plan ,String i_Neo4jFieldName ,Type i_Neo4jFieldType)
     {
-        if ( this.cfillMethodType != $CFILL_METHOD_VARY )
+        if ( i_Plan.getCFillMethodType() != $CFILL_METHOD_VARY )
         {
             return null;
         }
-        else if ( this.cfillMethodArr.containsKey(i_Neo4jFieldName) )
+        
+        // 防止重复解释：已解释的一次查找即可。只有首次解释某一属性时，才由 computeIfAbsent 保证只解释一次
+        XCQLMethod v_Parsed = i_Plan.getCFillMethods().get(i_Neo4jFieldName);
+        if ( v_Parsed == null )
         {
-            // 防止重复解释：非同步锁的
-            return this.cfillMethodArr.get(i_Neo4jFieldName);
+            v_Parsed = i_Plan.getCFillMethods().computeIfAbsent(i_Neo4jFieldName ,k -> this.parseCFillSetter(i_Plan ,i_Neo4jFieldName ,i_Neo4jFieldType));
         }
         
-        synchronized (this)
+        return v_Parsed == XCQLResultPlan.$NoMethod ? null : v_Parsed;
+    }
+    
+    
+    
+    /**
+     * 解释一个属性的 setter(colValue) 填充方法
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Plan             解释结果的快照
+     * @param i_Neo4jFieldName   Neo4j的属性名称
+     * @param i_Neo4jFieldType   Neo4j的属性类型
+     * @return                   解释不当时返回 XCQLResultPlan.$NoMethod
+     */
+    private XCQLMethod parseCFillSetter(XCQLResultPlan i_Plan ,String i_Neo4jFieldName ,Type i_Neo4jFieldType)
+    {
+        List<Method> v_MethodList        = null;
+        String       v_ColName           = i_Neo4jFieldName;
+        String []    v_ColNameArr        = v_ColName.split("\\.");
+        Method       v_InnerObjGetMethod = null;
+        Method       v_InnerObjSetMethod = null;
+        Class<?>     v_Collection        = null;
+        Class<?>     v_CollectionElement = null;
+        
+        if ( v_ColNameArr.length >= 2 )
         {
-            if ( this.cfillMethodArr.containsKey(i_Neo4jFieldName) )
+            // 对象A的属性还是一个对象B，现对对象B的属性进行填充 ZhengWei(HY) Add 2015-07-04
+            v_InnerObjGetMethod = MethodReflect.getGetMethod(i_Plan.getRow() ,v_ColNameArr[0] ,true);
+            
+            if ( MethodReflect.isExtendImplement(v_InnerObjGetMethod.getReturnType() ,List.class) )
             {
-                // 防止重复解释：同步锁内的
-                return this.cfillMethodArr.get(i_Neo4jFieldName);
+                // 支持对象B为集合的情况。A与B为：一对多关系。 ZhengWei(HY) Add 2017-03-01
+                v_Collection        = List.class;
+                v_CollectionElement = MethodReflect.getGenericsReturn(v_InnerObjGetMethod).getGenericType();
+                v_MethodList        = MethodReflect.getMethodsIgnoreCase(v_CollectionElement ,"set" + v_ColNameArr[1] ,1);
             }
-            
-            List<Method> v_MethodList        = null;
-            String       v_ColName           = i_Neo4jFieldName;
-            String []    v_ColNameArr        = v_ColName.split("\\.");
-            Method       v_InnerObjGetMethod = null;
-            Method       v_InnerObjSetMethod = null;
-            Class<?>     v_Collection        = null;
-            Class<?>     v_CollectionElement = null;
-            
-            if ( v_ColNameArr.length >= 2 )
+            else if ( MethodReflect.isExtendImplement(v_InnerObjGetMethod.getReturnType() ,Set.class) )
             {
-                // 对象A的属性还是一个对象B，现对对象B的属性进行填充 ZhengWei(HY) Add 2015-07-04
-                v_InnerObjGetMethod = MethodReflect.getGetMethod(this.row ,v_ColNameArr[0] ,true);
-                
-                if ( MethodReflect.isExtendImplement(v_InnerObjGetMethod.getReturnType() ,List.class) )
-                {
-                    // 支持对象B为集合的情况。A与B为：一对多关系。 ZhengWei(HY) Add 2017-03-01
-                    v_Collection        = List.class;
-                    v_CollectionElement = MethodReflect.getGenericsReturn(v_InnerObjGetMethod).getGenericType();
-                    v_MethodList        = MethodReflect.getMethodsIgnoreCase(v_CollectionElement ,"set" + v_ColNameArr[1] ,1);
-                }
-                else if ( MethodReflect.isExtendImplement(v_InnerObjGetMethod.getReturnType() ,Set.class) )
-                {
-                    // 支持对象B为集合的情况。A与B为：一对多关系。 ZhengWei(HY) Add 2017-03-01
-                    v_Collection        = Set.class;
-                    v_CollectionElement = MethodReflect.getGenericsReturn(v_InnerObjGetMethod).getGenericType();
-                    v_MethodList        = MethodReflect.getMethodsIgnoreCase(v_CollectionElement ,"set" + v_ColNameArr[1] ,1);
-                }
-                else
-                {
-                    v_MethodList = MethodReflect.getMethodsIgnoreCase(v_InnerObjGetMethod.getReturnType() ,"set" + v_ColNameArr[1] ,1);
-                }
-                
-                try
-                {
-                    v_InnerObjSetMethod = this.row.getMethod("s" + v_InnerObjGetMethod.getName().substring(1) ,v_InnerObjGetMethod.getReturnType());
-                }
-                catch (Exception exce)
-                {
-                    // Nothing. 没有对应的 "set对象B(...)"的方法。
-                    // 没有就没有吧，只要使用方保证 "get对象B()" 的方法的返回值不为空就成。
-                }
+                // 支持对象B为集合的情况。A与B为：一对多关系。 ZhengWei(HY) Add 2017-03-01
+                v_Collection        = Set.class;
+                v_CollectionElement = MethodReflect.getGenericsReturn(v_InnerObjGetMethod).getGenericType();
+                v_MethodList        = MethodReflect.getMethodsIgnoreCase(v_CollectionElement ,"set" + v_ColNameArr[1] ,1);
             }
             else
             {
-                v_MethodList = MethodReflect.getMethodsIgnoreCase(this.row ,"set" + v_ColName ,1);
+                v_MethodList = MethodReflect.getMethodsIgnoreCase(v_InnerObjGetMethod.getReturnType() ,"set" + v_ColNameArr[1] ,1);
             }
             
-            XCQLMethod v_XCQLMethod = null;
-            if ( v_MethodList.size() >= 1 )
+            try
             {
-                v_XCQLMethod = new XCQLMethod();
-                v_XCQLMethod.setCall(v_MethodList.get(0));
-                v_XCQLMethod.addParam(XCQLMethodParam_CFill.getInstance(XCQLMethodParam_CFill.$CFILL_COL_VALUE));
-                v_XCQLMethod.setGetInstanceOfMethod(v_InnerObjGetMethod);
-                v_XCQLMethod.setSetInstanceOfMethod(v_InnerObjSetMethod);
-                v_XCQLMethod.setCollection(         v_Collection);
-                v_XCQLMethod.setCollectionElement(  v_CollectionElement);
-                
-                // 按 call 方法的入参类型，决定 org.neo4j.driver.Result 获取字段值的方法
-                v_XCQLMethod.parseResultSet_Getter(i_Neo4jFieldType);
+                v_InnerObjSetMethod = i_Plan.getRow().getMethod("s" + v_InnerObjGetMethod.getName().substring(1) ,v_InnerObjGetMethod.getReturnType());
+            }
+            catch (Exception exce)
+            {
+                // Nothing. 没有对应的 "set对象B(...)"的方法。
+                // 没有就没有吧，只要使用方保证 "get对象B()" 的方法的返回值不为空就成。
             }
-            this.dbMetaData.addColumnInfo(i_Neo4jFieldName);
-            this.cfillMethodArr.put(i_Neo4jFieldName ,v_XCQLMethod);
+        }
+        else
+        {
+            v_MethodList = MethodReflect.getMethodsIgnoreCase(i_Plan.getRow() ,"set" + v_ColName ,1);
+        }
+        
+        XCQLMethod v_XCQLMethod = null;
+        if ( v_MethodList.size() >= 1 )
+        {
+            v_XCQLMethod = new XCQLMethod();
+            v_XCQLMethod.setCall(v_MethodList.get(0));
+            v_XCQLMethod.addParam(XCQLMethodParam_CFill.getInstance(XCQLMethodParam_CFill.$CFILL_COL_VALUE));
+            v_XCQLMethod.setGetInstanceOfMethod(v_InnerObjGetMethod);
+            v_XCQLMethod.setSetInstanceOfMethod(v_InnerObjSetMethod);
+            v_XCQLMethod.setCollection(         v_Collection);
+            v_XCQLMethod.setCollectionElement(  v_CollectionElement);
             
-            return v_XCQLMethod;
+            // 按 call 方法的入参类型，决定 org.neo4j.driver.Result 获取字段值的方法
+            v_XCQLMethod.parseResultSet_Getter(i_Neo4jFieldType);
         }
+        i_Plan.addColumnInfo(i_Neo4jFieldName);
+        
+        return v_XCQLMethod == null ? XCQLResultPlan.$NoMethod : v_XCQLMethod;
     }
     
     
     
     /**
      * 解释 this.cfill -- 列级对象填充到行级对象的填充方法字符串
+     * 
+     * @param io_Plan  解释结果的快照（发布前）
      */
-    private void parseCFill()
+    private void parseCFill(XCQLResultPlan io_Plan)
     {
         Pattern      v_Pattern    = Pattern.compile($REGEX_METHOD);
         Matcher      v_Matcher    = v_Pattern.matcher(this.cfill);
@@ -1097,15 +1202,14 @@ public final class XCQLResult
         }
         
         
-        this.cfillMethodArr = new LinkedHashMap<String ,XCQLMethod>();
         if ( "SETTER".equalsIgnoreCase(v_MethodName) )
         {
-            this.cfillMethodType = $CFILL_METHOD_VARY;
+            io_Plan.setCFillMethodType($CFILL_METHOD_VARY);
             // 通过 parseCFill(String i_Neo4jFieldName) 运行时动态解释
         }
         else
         {
-            this.cfillMethodType = $CFILL_METHOD_FIXED;
+            io_Plan.setCFillMethodType($CFILL_METHOD_FIXED);
             
             v_Params   = this.cfill.substring(v_EndIndex ,this.cfill.length() - 1);
             v_ParamArr = v_Params.split(",");
@@ -1114,7 +1218,7 @@ public final class XCQLResult
             Class<?> [] v_ParamClassArr_Integer = new Class[v_ParamArr.length];
             
             XCQLMethod v_XCQLMethod = new XCQLMethod();
-            this.cfillMethodArr.put(this.cfill ,v_XCQLMethod);
+            io_Plan.setCFillMethod(v_XCQLMethod);
             
             // 识别列级填充方法的所有入参
             for (int i=0; i<v_ParamArr.length; i++)
@@ -1149,26 +1253,26 @@ public final class XCQLResult
             v_MethodList = MethodReflect.getMethodsIgnoreCase(this.row ,v_MethodName ,v_ParamArr.length);
             if ( v_MethodList.size() == 1 )
             {
-                this.cfillMethodArr.get(this.cfill).setCall(v_MethodList.get(0));
+                v_XCQLMethod.setCall(v_MethodList.get(0));
             }
             else if ( v_MethodList.size() > 1 )
             {
-                for (int v_Override=0; v_Override<v_MethodList.size() && this.cfillMethodArr.get(this.cfill).getCall() == null; v_Override++)
+                for (int v_Override=0; v_Override<v_MethodList.size() && v_XCQLMethod.getCall() == null; v_Override++)
                 {
                     Class<?> [] v_ClassArr = v_MethodList.get(v_Override).getParameterTypes();
                     
                     if ( this.equalsMethodParamTypes(v_ClassArr ,v_ParamClassArr_int) )
                     {
-                        this.cfillMethodArr.get(this.cfill).setCall(v_MethodList.get(v_Override));
+                        v_XCQLMethod.setCall(v_MethodList.get(v_Override));
                     }
                     else if ( this.equalsMethodParamTypes(v_ClassArr ,v_ParamClassArr_Integer) )
                     {
-                        this.cfillMethodArr.get(this.cfill).setCall(v_MethodList.get(v_Override));
+                        v_XCQLMethod.setCall(v_MethodList.get(v_Override));
                     }
                 }
                 
                 // 列级填充方法有多个重载方法，无法正确识别
-                if ( this.cfillMethodArr.get(this.cfill).getCall() == null )
+                if ( v_XCQLMethod.getCall() == null )
                 {
                     throw new RuntimeException("CFill method name[" + this.cfill + "] have much override methods.");
                 }
@@ -1190,8 +1294,9 @@ public final class XCQLResult
      * @createDate  2017-03-01
      * @version     v1.0
      *
+     * @param i_Plan  解释结果的快照（发布前）
      */
-    private void parseRelationKeys()
+    private void parseRelationKeys(XCQLResultPlan i_Plan)
     {
         if ( Help.isNull(this.relationKeys) || this.row == null )
         {
@@ -1212,9 +1317,9 @@ public final class XCQLResult
             }
         }
         
-        for (XCQLMethod v_XCQLMethod : this.cfillMethodArr.values())
+        for (XCQLMethod v_XCQLMethod : i_Plan.getCFillMethods().values())
         {
-            if ( v_XCQLMethod != null && v_XCQLMethod.getGetInstanceOfMethod() != null )
+            if ( v_XCQLMethod.getGetInstanceOfMethod() != null )
             {
                 if ( MethodReflect.isExtendImplement(v_XCQLMethod.getGetInstanceOfMethod().getReturnType() ,Collection.class) )
                 {
@@ -1317,21 +1422,29 @@ public final class XCQLResult
     /**
      * 实例化一个行级对象
      * 
+     * 行级对象为 XCQLRowMap 时，共享解释结果快照中的列下标
+     * 
+     * @param i_Plan  解释结果的快照
      * @return
      * @throws ClassNotFoundException
      * @throws InstantiationException
      */
-    private Object newRowObject() throws ClassNotFoundException, InstantiationException
+    private Object newRowObject(XCQLResultPlan i_Plan) throws ClassNotFoundException, InstantiationException
     {
         Object v_TableInstance = null;
         
+        if ( i_Plan.getRow() == XCQLRowMap.class )
+        {
+            return new XCQLRowMap(i_Plan.getDBMetaData());
+        }
+        
         try
         {
-            v_TableInstance = this.row.getDeclaredConstructor().newInstance();
+            v_TableInstance = i_Plan.getRow().getDeclaredConstructor().newInstance();
         }
         catch (Exception exce)
         {
-            throw new InstantiationException("Row Class(" + this.row + ") instantiation is error.");
+            throw new InstantiationException("Row Class(" + i_Plan.getRow() + ") instantiation is error.");
         }
         
         return v_TableInstance;
@@ -1387,8 +1500,8 @@ public final class XCQLResult
                 }
             }
             
-            this.cfill        = i_CFill.trim();
-            this.isAgainParse = true;
+            this.cfill = i_CFill.trim();
+            this.plan  = null;
         }
         else
         {
@@ -1415,8 +1528,8 @@ public final class XCQLResult
         
         if ( this.methodVerify(i_Fill.trim()) )
         {
-            this.fill         = i_Fill.trim();
-            this.isAgainParse = true;
+            this.fill = i_Fill.trim();
+            this.plan = null;
         }
         else
         {
@@ -1488,8 +1601,8 @@ public final class XCQLResult
                 throw new ClassCastException("Row Class[" + i_Row + "] is Interface ,but it is not new Instance.");
             }
             
-            this.row          = v_Class;
-            this.isAgainParse = true;
+            this.row  = v_Class;
+            this.plan = null;
         }
         else
         {
@@ -1534,8 +1647,8 @@ public final class XCQLResult
                 throw new ClassCastException("Table Class[" + i_Table + "] is Interface ,but it is not new Instance.");
             }
             
-            this.table        = v_Class;
-            this.isAgainParse = true;
+            this.table = v_Class;
+            this.plan  = null;
         }
         else
         {
@@ -1562,9 +1675,8 @@ public final class XCQLResult
      */
     public void setCstyle(String i_CStyleName)
     {
-        this.cstyle       = DBNameStyle.get(i_CStyleName);
-        this.dbMetaData   = new DBTableMetaData(this.cstyle);
-        this.isAgainParse = true;
+        this.cstyle = DBNameStyle.get(i_CStyleName);
+        this.plan   = null;
     }
     
 
@@ -1599,7 +1711,7 @@ public final class XCQLResult
     public void setRelationKeys(String i_RelationKeys)
     {
         this.relationKeys = i_RelationKeys;
-        this.isAgainParse = true;
+        this.plan         = null;
     }
 
 
@@ -1612,7 +1724,7 @@ public final class XCQLResult
      */
     public boolean isParsed()
     {
-        return !this.isAgainParse;
+        return this.plan != null;
     }
     
     
@@ -1623,12 +1735,160 @@ public final class XCQLResult
      * @author      ZhengWei(HY)
      * @createDate  2022-10-06
      * @version     v1.0
+     *              v2.0  2026-10-18  修改：返回当前解释结果快照中的字段结构。未解释时返回空的字段结构
      *
      * @return
      */
     public DBTableMetaData getDBTableMetaData()
     {
-        return this.dbMetaData;
+        XCQLResultPlan v_Plan = this.plan;
+        return v_Plan == null ? new DBTableMetaData(this.cstyle) : v_Plan.getDBMetaData();
+    }
+    
+}
+
+    
+    
+    
+    
+/**
+ * 解释结果的快照。由 XCQLResult.parse() 生成，重新解释时整体替换。
+ * 
+ * 行级填充方法、固定方法的列级填充方法在发布前解释完成，发布后不再修改。
+ * 
+ * 变化方法 setter(colValue) 的列级填充方法及结果集的元数据，发布后仍会追加：
+ * Neo4j的节点没有固定的属性，属性名称只有读到记录时才知道，无法在发布前解释完成。
+ * 它们只增不减，均保存在并发集合中，追加时不影响读取。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修正：结果集的元数据为并发集合，追加字段时不再对共享的元数据加锁
+ */
+class XCQLResultPlan
+{
+    
+    /** 列级填充方法解释不当（为NULL）时的标记。并发Map中不能保存NULL值 */
+    public static final XCQLMethod $NoMethod = new XCQLMethod();
+    
+    
+    
+    /** 行级对象的Class类型 */
+    private final Class<?>                row;
+    
+    /** 行级对象填充到表级对象的填充方法(解释 fill 后生成) */
+    private final XCQLMethod              fillMethod;
+    
+    /**
+     * 列级对象填充到行级对象中行级对象的方法类型(解释 cfill 后生成)
+     * 
+     * 1. 固定方法 -- 如：cfill = "addColumnValue(colNo ,colValue)"   -- $CFILL_METHOD_FIXED
+     * 2. 变化方法 -- 如：cfill = "setter(colValue)"                  -- $CFILL_METHOD_VARY
+     */
+    private int                           cfillMethodType;
+    
+    /** 列级对象填充到行级对象的固定方法(解释 cfill 后生成)。变化方法时为NULL */
+    private XCQLMethod                    cfillMethod;
+    
+    /**
+     * 列级对象填充到行级对象的变化方法 setter(colValue)（运行时逐个属性解释后生成）
+     * 
+     * Map.key   Neo4j的属性名称，如 MATCH (n) RETURN n.id 时，Map.key 为 id ，即不带neo4j的别名"n."，并且区别大小写
+     * Map.value 为setter 方法映射。当解释不当时为 $NoMethod
+     */
+    private final Map<String ,XCQLMethod> cfillMethods;
+    
+    /** 结果集的元数据。运行时逐个属性解释时追加字段 */
+    private final DBTableMetaData         dbMetaData;
+    
+    
+    
+    public XCQLResultPlan(Class<?> i_Row ,DBTableMetaData i_DBMetaData)
+    {
+        this.row             = i_Row;
+        this.fillMethod      = new XCQLMethod();
+        this.cfillMethod     = null;
+        this.cfillMethods    = new ConcurrentHashMap<String ,XCQLMethod>();
+        this.dbMetaData      = i_DBMetaData;
+    }
+    
+    
+    
+    /**
+     * 添加结果集的字段。运行时逐个属性解释时，多个线程可能同时添加不同的字段，元数据为并发集合，无须加锁
+     * 
+     * @param i_ColName  字段名称
+     */
+    public void addColumnInfo(String i_ColName)
+    {
+        this.dbMetaData.addColumnInfo(i_ColName);
+    }
+    
+    
+    
+    /**
+     * 获取列级对象填充方法的个数。固定方法时为1
+     */
+    public int getColumnSize()
+    {
+        return this.cfillMethod != null ? 1 : this.cfillMethods.size();
+    }
+    
+    
+    
+    public Class<?> getRow()
+    {
+        return row;
+    }
+    
+    
+    
+    public XCQLMethod getFillMethod()
+    {
+        return fillMethod;
+    }
+    
+    
+    
+    public int getCFillMethodType()
+    {
+        return cfillMethodType;
+    }
+    
+    
+    
+    public void setCFillMethodType(int i_CFillMethodType)
+    {
+        this.cfillMethodType = i_CFillMethodType;
+    }
+    
+    
+    
+    public XCQLMethod getCFillMethod()
+    {
+        return cfillMethod;
+    }
+    
+    
+    
+    public void setCFillMethod(XCQLMethod i_CFillMethod)
+    {
+        this.cfillMethod = i_CFillMethod;
+    }
+    
+    
+    
+    public Map<String ,XCQLMethod> getCFillMethods()
+    {
+        return cfillMethods;
+    }
+    
+    
+    
+    public DBTableMetaData getDBMetaData()
+    {
+        return dbMetaData;
     }
     
 }
+    
\ No newline at end of file
@@ -0,0 +1,244 @@
+package org.hy.common.xcql;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hy.common.Date;
+import org.hy.common.Help;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Result;
+
+
+
+
+
+/**
+ * 流式读取数据库结果集的迭代器。
+ * 
+ * 与 XCQLResult.getDatas() 一次性将全部结果集转化为表级对象不同，本类在每次 next() 时才读取并转化一行记录，
+ * 内存中只保留当前行，适用于百万级节点的导出等大结果集的场景。
+ * 
+ * 注意：
+ *   1. 用完后必须调用 close() 方法（或使用 try-with-resources ），才能释放数据库连接；
+ *   2. 结果集遍历完成、或转化异常时，会自动关闭；
+ *   3. 由外部传入数据库连接时，本类不关闭外部的连接。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  添加：关闭时的回调，按已读取的行数及异常信息执行触发器
+ * @param <R>   行级对象的类型
+ */
+public class XCQLResultIterator<R> implements Iterator<R> ,AutoCloseable
+{
+    
+    /** 执行的XCQL对象 */
+    private final XCQL       xcql;
+    
+    /** 执行的CQL语句 */
+    private final Query      query;
+    
+    /** 数据库连接 */
+    private final Connection conn;
+    
+    /** 是否由本类关闭数据库连接 */
+    private final boolean    isCloseConn;
+    
+    /** 数据库结果集 */
+    private final Result     result;
+    
+    /** 开始执行的时间 */
+    private final long       beginTime;
+    
+    /** 关闭时的回调（已读取的行数、异常信息）。可以为空 */
+    private final BiConsumer<Long ,String> onClose;
+    
+    /** 已读取的行数 */
+    private long             rowCount;
+    
+    /** 记录的结构描述。只在第一行时解释 */
+    private XCQLResultShape  shape;
+    
+    /** 是否已关闭 */
+    private boolean          isClosed;
+    
+    /** 读取、转化时的异常信息。为空时表示无异常 */
+    private String           errorInfo;
+    
+    
+    
+    /**
+     * 构造器
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  添加：关闭时的回调
+     * 
+     * @param i_XCQL         执行的XCQL对象
+     * @param i_Query        执行的CQL语句
+     * @param i_Conn         数据库连接
+     * @param i_IsCloseConn  是否由本类关闭数据库连接
+     * @param i_Result       数据库结果集
+     * @param i_BeginTime    开始执行的时间
+     * @param i_OnClose      关闭时的回调（已读取的行数、异常信息）。可以为空
+     */
+    protected XCQLResultIterator(XCQL i_XCQL ,Query i_Query ,Connection i_Conn ,boolean i_IsCloseConn ,Result i_Result ,long i_BeginTime ,BiConsumer<Long ,String> i_OnClose)
+    {
+        this.xcql        = i_XCQL;
+        this.query       = i_Query;
+        this.conn        = i_Conn;
+        this.isCloseConn = i_IsCloseConn;
+        this.result      = i_Result;
+        this.beginTime   = i_BeginTime;
+        this.onClose     = i_OnClose;
+        this.rowCount    = 0L;
+        this.shape       = new XCQLResultShape();
+        this.isClosed    = false;
+        
+        this.xcql.getResult().parse();
+    }
+    
+    
+    
+    @Override
+    public boolean hasNext()
+    {
+        if ( this.isClosed )
+        {
+            return false;
+        }
+        
+        try
+        {
+            if ( this.result.hasNext() )
+            {
+                return true;
+            }
+        }
+        catch (RuntimeException exce)
+        {
+            XCQL.erroring(this.query ,exce ,this.xcql);
+            this.errorInfo = Help.NVL(exce.getMessage() ,exce.getClass().getName());
+            this.close();
+            throw exce;
+        }
+        
+        this.close();
+        return false;
+    }
+    
+    
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public R next()
+    {
+        if ( !this.hasNext() )
+        {
+            throw new NoSuchElementException();
+        }
+        
+        try
+        {
+            R v_Row = (R) this.xcql.getResult().getDatasRow(this.result.next() ,this.rowCount ,this.shape);
+            this.rowCount++;
+            return v_Row;
+        }
+        catch (RuntimeException exce)
+        {
+            XCQL.erroring(this.query ,exce ,this.xcql);
+            this.errorInfo = Help.NVL(exce.getMessage() ,exce.getClass().getName());
+            this.close();
+            throw exce;
+        }
+    }
+    
+    
+    
+    /**
+     * 转为Java流。流关闭时（Stream.close()）同时关闭本迭代器
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return
+     */
+    public Stream<R> stream()
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this ,Spliterator.ORDERED | Spliterator.NONNULL) ,false).onClose(this::close);
+    }
+    
+    
+    
+    /**
+     * 关闭结果集及数据库连接。可重复调用
+     */
+    @Override
+    public synchronized void close()
+    {
+        if ( this.isClosed )
+        {
+            return;
+        }
+        this.isClosed = true;
+        
+        try
+        {
+            if ( this.errorInfo == null )
+            {
+                Date v_EndTime = Date.getNowTime();
+                this.xcql.success(v_EndTime ,v_EndTime.getTime() - this.beginTime ,1 ,this.rowCount);
+            }
+        }
+        finally
+        {
+            if ( this.isCloseConn )
+            {
+                this.xcql.closeDB(this.result ,this.conn);
+            }
+            
+            if ( this.onClose != null )
+            {
+                this.onClose.accept(this.rowCount ,this.errorInfo);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：已读取的行数
+     */
+    public long getRowCount()
+    {
+        return rowCount;
+    }
+    
+    
+    
+    /**
+     * 获取：读取、转化时的异常信息。为空时表示无异常
+     */
+    public String getErrorInfo()
+    {
+        return errorInfo;
+    }
+    
+    
+    
+    /**
+     * 获取：是否已关闭
+     */
+    public boolean isClosed()
+    {
+        return isClosed;
+    }
+    
+}
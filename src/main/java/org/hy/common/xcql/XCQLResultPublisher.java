@@ -0,0 +1,530 @@
+package org.hy.common.xcql;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hy.common.Date;
+import org.hy.common.xml.log.Logger;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.reactive.ReactiveResult;
+import org.neo4j.driver.reactive.ReactiveSession;
+
+
+
+
+
+/**
+ * 响应式读取数据库结果集的发布者。基于Neo4j驱动的响应式会话 ReactiveSession 。
+ * 
+ * 每条记录按 XCQLResult 的行级填充规则（与 XCQLResultIterator 相同）转化为行级对象后发布。
+ * 订阅者通过 Flow.Subscription.request(n) 控制需求量，需求量直接传递给数据库，大结果集不会在内存中积压。
+ * 
+ * 注意：
+ *   1. 只允许被订阅一次。每次订阅才打开一个数据库会话；
+ *   2. 结果集发布完成、异常或被取消时，自动关闭数据库会话；
+ *   3. 订阅者的 onNext() 在驱动的网络IO线程上被调用，不应执行阻塞操作。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修正：request(n<=0) 的异常通知与 onNext() 串行，不在调用者的线程上与 onNext() 并发
+ *              v3.0  2026-10-18  修正：会话关闭时与同步、异步会话一样，将会话的结果计入熔断器
+ * @param <R>   行级对象的类型
+ */
+public class XCQLResultPublisher<R> implements Flow.Publisher<R>
+{
+    
+    private static final Logger $Logger = new Logger(XCQLResultPublisher.class ,true);
+    
+    
+    
+    /** 执行的XCQL对象 */
+    private final XCQL          xcql;
+    
+    /** 执行的CQL语句 */
+    private final Query         query;
+    
+    /** 数据库连接信息 */
+    private final DataSourceCQL dataSourceCQL;
+    
+    /** 是否已被订阅 */
+    private final AtomicBoolean subscribed;
+    
+    
+    
+    /**
+     * 构造器
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_XCQL           执行的XCQL对象
+     * @param i_Query          执行的CQL语句
+     * @param i_DataSourceCQL  数据库连接信息
+     */
+    protected XCQLResultPublisher(XCQL i_XCQL ,Query i_Query ,DataSourceCQL i_DataSourceCQL)
+    {
+        this.xcql          = i_XCQL;
+        this.query         = i_Query;
+        this.dataSourceCQL = i_DataSourceCQL;
+        this.subscribed    = new AtomicBoolean(false);
+    }
+    
+    
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> i_Subscriber)
+    {
+        Objects.requireNonNull(i_Subscriber);
+        
+        if ( !this.subscribed.compareAndSet(false ,true) )
+        {
+            i_Subscriber.onSubscribe(new Flow.Subscription()
+            {
+                @Override
+                public void request(long i_Count)
+                {
+                    // 已拒绝的订阅，无数据
+                }
+                
+                @Override
+                public void cancel()
+                {
+                    // 已拒绝的订阅，无数据
+                }
+            });
+            i_Subscriber.onError(new IllegalStateException("XCQLResultPublisher allows only a single subscriber."));
+            return;
+        }
+        
+        RowSubscription v_Subscription = new RowSubscription(i_Subscriber);
+        i_Subscriber.onSubscribe(v_Subscription);
+        v_Subscription.start();
+    }
+    
+    
+    
+    /**
+     * 解包异常
+     * 
+     * @param i_Error
+     * @return
+     */
+    private static Exception toException(Throwable i_Error)
+    {
+        if ( i_Error instanceof Exception )
+        {
+            return (Exception) i_Error;
+        }
+        else
+        {
+            return new RuntimeException(i_Error);
+        }
+    }
+    
+    
+    
+    
+    
+    /**
+     * 一次订阅。
+     * 
+     * 对下游是 Flow.Subscription ，对驱动的记录发布者是 Flow.Subscriber 。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     */
+    private class RowSubscription implements Flow.Subscription ,Flow.Subscriber<Record>
+    {
+        
+        /** 下游的订阅者 */
+        private final Flow.Subscriber<? super R> downstream;
+        
+        /** 会话是否已释放 */
+        private final AtomicBoolean              released;
+        
+        /** 数据库会话 */
+        private volatile ReactiveSession         session;
+        
+        /** 驱动的记录订阅。订阅前为NULL */
+        private Flow.Subscription                upstream;
+        
+        /** 驱动的记录订阅前，下游已请求的数量 */
+        private long                             pending;
+        
+        /** 是否已结束（完成、异常或被取消） */
+        private boolean                          done;
+        
+        /** 是否正在向下游发布 onNext() */
+        private boolean                          emitting;
+        
+        /** 下游请求非法数量时的异常。待正在发布的 onNext() 结束后再通知下游 */
+        private Throwable                        pendingError;
+        
+        /** 已发布的行数 */
+        private long                             rowCount;
+        
+        /** 记录的结构描述。只在第一行时解释 */
+        private XCQLResultShape                  shape;
+        
+        /** 开始执行的时间 */
+        private long                             beginTime;
+        
+        /** 是否出现过连接类的异常（见 XCQLCircuitBreaker.isFailure()） */
+        private volatile boolean                 isFailure;
+        
+        
+        
+        public RowSubscription(Flow.Subscriber<? super R> i_Downstream)
+        {
+            this.downstream = i_Downstream;
+            this.released   = new AtomicBoolean(false);
+            this.pending    = 0L;
+            this.done       = false;
+            this.emitting   = false;
+            this.rowCount   = 0L;
+            this.shape      = new XCQLResultShape();
+            this.isFailure  = false;
+        }
+        
+        
+        
+        /**
+         * 打开数据库会话并执行CQL
+         */
+        public void start()
+        {
+            this.beginTime = xcql.request().getTime();
+            
+            try
+            {
+                xcql.getResult().parse();
+                this.session = dataSourceCQL.getReactiveSession();
+            }
+            catch (Exception exce)
+            {
+                this.fail(exce);
+                return;
+            }
+            
+            synchronized ( this )
+            {
+                if ( this.done )
+                {
+                    // 在打开会话前，下游已取消订阅
+                    this.release();
+                    return;
+                }
+            }
+            
+            this.session.run(query).subscribe(new Flow.Subscriber<ReactiveResult>()
+            {
+                @Override
+                public void onSubscribe(Flow.Subscription i_Subscription)
+                {
+                    i_Subscription.request(1);
+                }
+                
+                @Override
+                public void onNext(ReactiveResult i_Result)
+                {
+                    xcql.log(query);
+                    i_Result.records().subscribe(RowSubscription.this);
+                }
+                
+                @Override
+                public void onError(Throwable i_Error)
+                {
+                    RowSubscription.this.fail(i_Error);
+                }
+                
+                @Override
+                public void onComplete()
+                {
+                    // 结果集的完成由 records() 通知
+                }
+            });
+        }
+        
+        
+        
+        @Override
+        public void request(long i_Count)
+        {
+            if ( i_Count <= 0 )
+            {
+                // 规范要求通知 onError() ，但不能与正在发布的 onNext() 并发。正在发布时，由 onNext() 结束后通知
+                boolean v_Emitting = false;
+                synchronized ( this )
+                {
+                    if ( this.done || this.pendingError != null )
+                    {
+                        return;
+                    }
+                    this.pendingError = new IllegalArgumentException("Request count[" + i_Count + "] must be greater than 0.");
+                    v_Emitting        = this.emitting;
+                }
+                
+                this.cancelUpstream();
+                if ( !v_Emitting )
+                {
+                    this.fail(this.pendingError);
+                }
+                return;
+            }
+            
+            Flow.Subscription v_Upstream = null;
+            synchronized ( this )
+            {
+                if ( this.done )
+                {
+                    return;
+                }
+                
+                if ( this.upstream == null )
+                {
+                    this.pending = this.pending + i_Count < 0 ? Long.MAX_VALUE : this.pending + i_Count;
+                    return;
+                }
+                v_Upstream = this.upstream;
+            }
+            
+            v_Upstream.request(i_Count);
+        }
+        
+        
+        
+        @Override
+        public void cancel()
+        {
+            synchronized ( this )
+            {
+                if ( this.done )
+                {
+                    return;
+                }
+                this.done = true;
+            }
+            
+            this.cancelUpstream();
+            this.successed();
+            this.release();
+        }
+        
+        
+        
+        @Override
+        public void onSubscribe(Flow.Subscription i_Subscription)
+        {
+            long v_Pending = 0L;
+            synchronized ( this )
+            {
+                if ( this.done )
+                {
+                    i_Subscription.cancel();
+                    return;
+                }
+                this.upstream = i_Subscription;
+                v_Pending     = this.pending;
+                this.pending  = 0L;
+            }
+            
+            if ( v_Pending > 0L )
+            {
+                i_Subscription.request(v_Pending);
+            }
+        }
+        
+        
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(Record i_Record)
+        {
+            synchronized ( this )
+            {
+                if ( this.done || this.pendingError != null )
+                {
+                    return;
+                }
+                this.emitting = true;
+            }
+            
+            Throwable v_PendingError = null;
+            try
+            {
+                R v_Row = null;
+                try
+                {
+                    v_Row = (R) xcql.getResult().getDatasRow(i_Record ,this.rowCount ,this.shape);
+                    this.rowCount++;
+                }
+                catch (RuntimeException exce)
+                {
+                    this.cancelUpstream();
+                    v_PendingError = exce;
+                    return;
+                }
+                
+                this.downstream.onNext(v_Row);
+            }
+            finally
+            {
+                synchronized ( this )
+                {
+                    this.emitting = false;
+                    if ( v_PendingError == null )
+                    {
+                        v_PendingError = this.pendingError;
+                    }
+                }
+                
+                if ( v_PendingError != null )
+                {
+                    this.fail(v_PendingError);
+                }
+            }
+        }
+        
+        
+        
+        @Override
+        public void onError(Throwable i_Error)
+        {
+            this.fail(i_Error);
+        }
+        
+        
+        
+        @Override
+        public void onComplete()
+        {
+            synchronized ( this )
+            {
+                if ( this.done )
+                {
+                    return;
+                }
+                this.done = true;
+            }
+            
+            this.successed();
+            this.release();
+            this.downstream.onComplete();
+        }
+        
+        
+        
+        /**
+         * 异常结束
+         * 
+         * @param i_Error
+         */
+        private void fail(Throwable i_Error)
+        {
+            synchronized ( this )
+            {
+                if ( this.done )
+                {
+                    return;
+                }
+                this.done = true;
+            }
+            
+            this.isFailure = XCQLCircuitBreaker.isFailure(i_Error);
+            XCQL.erroring(query ,toException(i_Error) ,xcql);
+            this.release();
+            this.downstream.onError(i_Error);
+        }
+        
+        
+        
+        /**
+         * 取消驱动的记录订阅
+         */
+        private void cancelUpstream()
+        {
+            Flow.Subscription v_Upstream = null;
+            synchronized ( this )
+            {
+                v_Upstream = this.upstream;
+            }
+            
+            if ( v_Upstream != null )
+            {
+                v_Upstream.cancel();
+            }
+        }
+        
+        
+        
+        /**
+         * 成功时的统计
+         */
+        private void successed()
+        {
+            Date v_EndTime = Date.getNowTime();
+            xcql.success(v_EndTime ,v_EndTime.getTime() - this.beginTime ,1 ,this.rowCount);
+        }
+        
+        
+        
+        /**
+         * 异步关闭数据库会话，关闭后将会话的结果计入熔断器，并释放活动连接的计数。可重复调用
+         * 
+         * 会话的用时取决于下游的消费速度，与事务会话一样不记录用时，也不判定慢调用
+         */
+        private void release()
+        {
+            ReactiveSession v_Session = this.session;
+            if ( v_Session == null || !this.released.compareAndSet(false ,true) )
+            {
+                return;
+            }
+            
+            final boolean v_IsFailure = this.isFailure;
+            
+            try
+            {
+                v_Session.close().subscribe(new Flow.Subscriber<Object>()
+                {
+                    @Override
+                    public void onSubscribe(Flow.Subscription i_Subscription)
+                    {
+                        i_Subscription.request(Long.MAX_VALUE);
+                    }
+                    
+                    @Override
+                    public void onNext(Object i_Item)
+                    {
+                        // 关闭会话无数据
+                    }
+                    
+                    @Override
+                    public void onError(Throwable i_Error)
+                    {
+                        $Logger.error(toException(i_Error));
+                        dataSourceCQL.sessionClosed(v_IsFailure ,-1D);
+                    }
+                    
+                    @Override
+                    public void onComplete()
+                    {
+                        dataSourceCQL.sessionClosed(v_IsFailure ,-1D);
+                    }
+                });
+            }
+            catch (Exception exce)
+            {
+                $Logger.error(exce);
+                dataSourceCQL.sessionClosed(v_IsFailure ,-1D);
+            }
+        }
+    
+    }
+    
+}
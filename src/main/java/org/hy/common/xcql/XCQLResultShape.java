@@ -0,0 +1,281 @@
+package org.hy.common.xcql;
+
+import java.util.List;
+
+
+
+
+
+/**
+ * 结果集记录的结构描述。
+ * 
+ * 在第一条记录时按记录的列名解释一次，之后的记录按下标直接访问，而不用每行、每列都重复解释。
+ *   1. 列名列表：排除游标分页的内部列，非数据子集的列（如 RETURN n.id）预先拆分出属性名称；
+ *   2. 节点属性：按列缓存上一条记录的节点属性名称及其 setter(colValue) 填充方法，属性名称在同一位置相同时直接使用。
+ * 
+ * 列名列表变化时（同一结果集中通常不会），自动重新解释；节点属性不同时（Neo4j的节点可以没有固定的结构），逐个属性重新匹配。
+ * 
+ * 非线程安全。每次 XCQLResult.getDatas(...) 或每个流式读取器独享一个实例。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  添加：内部列的统一判定 isInternalColumn()
+ *              v3.0  2026-10-18  添加：正在填充的列在记录中的下标 colNo 。仅用于异常信息
+ */
+public final class XCQLResultShape
+{
+    
+    /** 记录的列名列表。同一结果集的记录通常共用同一列名列表的实例 */
+    private List<String>    keys;
+    
+    /** 须填充的列的下标。排除游标分页的内部列 */
+    private int []          indexes;
+    
+    /** 非数据子集时的属性名称，如 RETURN n.id 时为 id 。与 this.indexes 一一对应 */
+    private String []       fieldNames;
+    
+    /** 上一条记录的节点属性名称。与 this.indexes 一一对应 */
+    private String [][]     propertyNames;
+    
+    /** 上一条记录的节点属性的 setter(colValue) 填充方法。与 this.propertyNames 一一对应 */
+    private XCQLMethod [][] propertyMethods;
+    
+    /** 正在填充的列在记录中的下标。仅用于异常信息 */
+    private int             colNo;
+    
+    /** 正在填充的属性名称。仅用于异常信息 */
+    private String          fieldName;
+    
+    
+    
+    public XCQLResultShape()
+    {
+        this.keys      = null;
+        this.colNo     = 0;
+        this.fieldName = "";
+    }
+    
+    
+    
+    /**
+     * 是否为内部列。内部列（如游标分页的排序键列 XCQL_Cursor）不填充到行级对象中
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_ColName  列名称
+     * @return
+     */
+    public static boolean isInternalColumn(String i_ColName)
+    {
+        return XCQLOPQuery.$Paging_Cursor.equals(i_ColName);
+    }
+    
+    
+    
+    /**
+     * 按记录的列名列表，解释（或复用）结构描述
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Keys  记录的列名列表
+     */
+    public void shape(List<String> i_Keys)
+    {
+        if ( this.keys == i_Keys )
+        {
+            return;
+        }
+        else if ( this.keys != null && this.keys.equals(i_Keys) )
+        {
+            this.keys = i_Keys;
+            return;
+        }
+        
+        int v_Size = 0;
+        for (String v_RName : i_Keys)
+        {
+            if ( !XCQLResultShape.isInternalColumn(v_RName) )
+            {
+                v_Size++;
+            }
+        }
+        
+        this.indexes         = new int        [v_Size];
+        this.fieldNames      = new String     [v_Size];
+        this.propertyNames   = new String     [v_Size][];
+        this.propertyMethods = new XCQLMethod [v_Size][];
+        
+        int v_Index = 0;
+        for (int i=0; i<i_Keys.size(); i++)
+        {
+            String v_RName = i_Keys.get(i);
+            
+            if ( XCQLResultShape.isInternalColumn(v_RName) )
+            {
+                continue;
+            }
+            
+            // 识别类似 MATCH (n) RETURN n.id ,n.name AS userName 中 n.id 和 userName
+            String [] v_FieldNameArr = v_RName.split("\\.");
+            this.fieldNames[v_Index] = v_FieldNameArr.length >= 2 ? v_FieldNameArr[1] : v_FieldNameArr[0];
+            
+            this.indexes[v_Index] = i;
+            v_Index++;
+        }
+        
+        this.keys = i_Keys;
+    }
+    
+    
+    
+    /**
+     * 获取须填充的列数
+     */
+    public int size()
+    {
+        return this.indexes.length;
+    }
+    
+    
+    
+    /**
+     * 获取须填充的列在记录中的下标
+     * 
+     * @param i_Index  须填充的列的序号
+     */
+    public int getIndex(int i_Index)
+    {
+        return this.indexes[i_Index];
+    }
+    
+    
+    
+    /**
+     * 获取非数据子集时的属性名称
+     * 
+     * @param i_Index  须填充的列的序号
+     */
+    public String getFieldName(int i_Index)
+    {
+        return this.fieldNames[i_Index];
+    }
+    
+    
+    
+    /**
+     * 获取上一条记录同一位置的节点属性的填充方法。属性名称不同时返回NULL
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Index          须填充的列的序号
+     * @param i_PropertyIndex  节点属性的序号
+     * @param i_PropertyName   节点属性的名称
+     * @return
+     */
+    public XCQLMethod getPropertyMethod(int i_Index ,int i_PropertyIndex ,String i_PropertyName)
+    {
+        String [] v_Names = this.propertyNames[i_Index];
+        
+        if ( v_Names != null && i_PropertyIndex < v_Names.length && i_PropertyName.equals(v_Names[i_PropertyIndex]) )
+        {
+            return this.propertyMethods[i_Index][i_PropertyIndex];
+        }
+        
+        return null;
+    }
+    
+    
+    
+    /**
+     * 记录同一位置的节点属性的填充方法
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Index          须填充的列的序号
+     * @param i_PropertyIndex  节点属性的序号
+     * @param i_PropertyName   节点属性的名称
+     * @param i_Method         填充方法
+     */
+    public void setPropertyMethod(int i_Index ,int i_PropertyIndex ,String i_PropertyName ,XCQLMethod i_Method)
+    {
+        String []     v_Names   = this.propertyNames  [i_Index];
+        XCQLMethod [] v_Methods = this.propertyMethods[i_Index];
+        
+        if ( v_Names == null || i_PropertyIndex >= v_Names.length )
+        {
+            int v_Length = Math.max(i_PropertyIndex + 1 ,v_Names == null ? 8 : v_Names.length * 2);
+            
+            String []     v_NewNames   = new String    [v_Length];
+            XCQLMethod [] v_NewMethods = new XCQLMethod[v_Length];
+            
+            if ( v_Names != null )
+            {
+                System.arraycopy(v_Names   ,0 ,v_NewNames   ,0 ,v_Names.length);
+                System.arraycopy(v_Methods ,0 ,v_NewMethods ,0 ,v_Methods.length);
+            }
+            
+            v_Names   = v_NewNames;
+            v_Methods = v_NewMethods;
+            this.propertyNames  [i_Index] = v_Names;
+            this.propertyMethods[i_Index] = v_Methods;
+        }
+        
+        v_Names  [i_PropertyIndex] = i_PropertyName;
+        v_Methods[i_PropertyIndex] = i_Method;
+    }
+    
+    
+    
+    /**
+     * 获取：正在填充的列在记录中的下标。仅用于异常信息
+     */
+    public int getColNo()
+    {
+        return colNo;
+    }
+    
+    
+    
+    /**
+     * 设置：正在填充的列在记录中的下标。仅用于异常信息
+     * 
+     * @param i_ColNo
+     */
+    public void setColNo(int i_ColNo)
+    {
+        this.colNo = i_ColNo;
+    }
+    
+    
+    
+    /**
+     * 获取：正在填充的属性名称。仅用于异常信息
+     */
+    public String getFieldName()
+    {
+        return fieldName;
+    }
+    
+    
+    
+    /**
+     * 设置：正在填充的属性名称。仅用于异常信息
+     * 
+     * @param i_FieldName
+     */
+    public void setFieldName(String i_FieldName)
+    {
+        this.fieldName = i_FieldName;
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,461 @@
+package org.hy.common.xcql;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+
+
+
+
+/**
+ * 紧凑的Map行级对象。同一结果集解释的所有行共享一份列下标（DBTableMetaData），每行只保存一个值数组。
+ * 
+ * 与每行一个 HashMap 相比，不再每行重复保存字段名称及哈希节点，用于大结果集转为Map的场景。
+ * 
+ * 用法：XCQL的结果集解释中配置
+ *   <row>org.hy.common.xcql.XCQLRowMap</row>
+ *   <cfill>put(colName ,colValue)</cfill>
+ * 
+ * 约定1：字段名称区分大小写，与 HashMap 相同。但不支持NULL字段名称。
+ * 约定2：允许NULL值（与 HashMap 相同，put(key ,null) 后 containsKey(key) 为 true）。
+ * 约定3：非线程安全。一行记录由一个线程填充，填充后可多线程只读。
+ * 约定4：结果集解释填充完一行后封闭此行（见 seal()）。之后再添加列下标中没有的字段时，保存在此行独有的 HashMap 中，
+ *       不追加到共享的列下标，不影响其它行及之后的查询。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修正：填充完成后封闭，调用者添加的字段保存在行独有的溢出集合中，防止共享的列下标无限增长
+ */
+public class XCQLRowMap extends AbstractMap<String ,Object>
+{
+    
+    /** 值为NULL时在值数组中的标记。值数组中为NULL的表示没有此字段 */
+    private static final Object   $Null = new Object();
+    
+    
+    
+    /** 共享的列下标 */
+    private final DBTableMetaData                   metaData;
+    
+    /** 值数组。下标为列下标 */
+    private Object []                               values;
+    
+    /** 字段个数（含溢出集合中的） */
+    private int                                     size;
+    
+    /** 是否已封闭。封闭后不再向共享的列下标追加字段 */
+    private boolean                                 sealed;
+    
+    /** 封闭后添加的、列下标中没有的字段。用时才创建 */
+    private Map<String ,Object>                     overflow;
+    
+    /** Map.Entry集合的视图 */
+    private Set<Map.Entry<String ,Object>>          entrySet;
+    
+    
+    
+    /**
+     * 单独使用时（不在结果集解释中），每个实例一份列下标
+     */
+    public XCQLRowMap()
+    {
+        this(new DBTableMetaData(DBNameStyle.$Normal));
+    }
+    
+    
+    
+    /**
+     * 共享列下标的构造器
+     * 
+     * @param i_MetaData  共享的列下标
+     */
+    public XCQLRowMap(DBTableMetaData i_MetaData)
+    {
+        this.metaData = i_MetaData;
+        this.values   = new Object[i_MetaData.getColumnIndexSize()];
+        this.size     = 0;
+        this.sealed   = false;
+    }
+    
+    
+    
+    /**
+     * 封闭。由结果集解释在一行填充完成后调用
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     */
+    void seal()
+    {
+        this.sealed = true;
+    }
+    
+    
+    
+    private static Object toValue(Object i_Stored)
+    {
+        return i_Stored == $Null ? null : i_Stored;
+    }
+    
+    
+    
+    private Object getStored(Object i_Key)
+    {
+        int v_Index = this.metaData.getColumnIndex(i_Key);
+        
+        if ( v_Index < 0 || v_Index >= this.values.length )
+        {
+            return null;
+        }
+        
+        return this.values[v_Index];
+    }
+    
+    
+    
+    @Override
+    public Object get(Object i_Key)
+    {
+        Object v_Stored = this.getStored(i_Key);
+        
+        if ( v_Stored == null && this.overflow != null )
+        {
+            return this.overflow.get(i_Key);
+        }
+        
+        return toValue(v_Stored);
+    }
+    
+    
+    
+    @Override
+    public boolean containsKey(Object i_Key)
+    {
+        return this.getStored(i_Key) != null || (this.overflow != null && this.overflow.containsKey(i_Key));
+    }
+    
+    
+    
+    @Override
+    public Object put(String i_Key ,Object i_Value)
+    {
+        if ( i_Key == null )
+        {
+            throw new NullPointerException("Key is null.");
+        }
+        
+        int v_Index = -1;
+        
+        if ( !this.sealed )
+        {
+            v_Index = this.metaData.addColumnIndex(i_Key);
+        }
+        else if ( this.overflow == null || !this.overflow.containsKey(i_Key) )
+        {
+            v_Index = this.metaData.getColumnIndex(i_Key);
+        }
+        
+        if ( v_Index < 0 )
+        {
+            if ( this.overflow == null )
+            {
+                this.overflow = new HashMap<String ,Object>();
+            }
+            else if ( this.overflow.containsKey(i_Key) )
+            {
+                return this.overflow.put(i_Key ,i_Value);
+            }
+            
+            this.overflow.put(i_Key ,i_Value);
+            this.size++;
+            return null;
+        }
+        
+        if ( v_Index >= this.values.length )
+        {
+            this.values = Arrays.copyOf(this.values ,Math.max(v_Index + 1 ,this.metaData.getColumnIndexSize()));
+        }
+        
+        Object v_Old = this.values[v_Index];
+        this.values[v_Index] = i_Value == null ? $Null : i_Value;
+        
+        if ( v_Old == null )
+        {
+            this.size++;
+        }
+        
+        return toValue(v_Old);
+    }
+    
+    
+    
+    @Override
+    public Object remove(Object i_Key)
+    {
+        int v_Index = this.metaData.getColumnIndex(i_Key);
+        
+        if ( v_Index < 0 || v_Index >= this.values.length || this.values[v_Index] == null )
+        {
+            if ( this.overflow != null && this.overflow.containsKey(i_Key) )
+            {
+                this.size--;
+                return this.overflow.remove(i_Key);
+            }
+            
+            return null;
+        }
+        
+        Object v_Old = this.values[v_Index];
+        this.values[v_Index] = null;
+        this.size--;
+        
+        return toValue(v_Old);
+    }
+    
+    
+    
+    @Override
+    public void clear()
+    {
+        Arrays.fill(this.values ,null);
+        this.overflow = null;
+        this.size     = 0;
+    }
+    
+    
+    
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+    
+    
+    
+    @Override
+    public Set<Map.Entry<String ,Object>> entrySet()
+    {
+        if ( this.entrySet == null )
+        {
+            this.entrySet = new AbstractSet<Map.Entry<String ,Object>>()
+            {
+                @Override
+                public Iterator<Map.Entry<String ,Object>> iterator()
+                {
+                    return new XCQLRowMapIterator();
+                }
+                
+                @Override
+                public int size()
+                {
+                    return XCQLRowMap.this.size;
+                }
+                
+                @Override
+                public void clear()
+                {
+                    XCQLRowMap.this.clear();
+                }
+            };
+        }
+        
+        return this.entrySet;
+    }
+    
+    
+    
+    
+    
+    /**
+     * 按列下标顺序遍历有值的字段，之后再遍历溢出集合中的字段
+     */
+    private class XCQLRowMapIterator implements Iterator<Map.Entry<String ,Object>>
+    {
+        
+        /** 下一个有值的列下标 */
+        private int                                   next;
+        
+        /** 上一次返回的列下标 */
+        private int                                   last;
+        
+        /** 溢出集合的迭代器。没有溢出集合时为NULL */
+        private Iterator<Map.Entry<String ,Object>>   overflowIter;
+        
+        /** 上一次返回的是否为溢出集合中的字段 */
+        private boolean                               lastOverflow;
+        
+        
+        
+        public XCQLRowMapIterator()
+        {
+            this.next         = -1;
+            this.last         = -1;
+            this.overflowIter = overflow == null ? null : overflow.entrySet().iterator();
+            this.lastOverflow = false;
+            this.advance();
+        }
+        
+        
+        
+        private void advance()
+        {
+            do
+            {
+                this.next++;
+            }
+            while ( this.next < values.length && values[this.next] == null );
+        }
+        
+        
+        
+        @Override
+        public boolean hasNext()
+        {
+            return this.next < values.length || (this.overflowIter != null && this.overflowIter.hasNext());
+        }
+        
+        
+        
+        @Override
+        public Map.Entry<String ,Object> next()
+        {
+            if ( this.next >= values.length )
+            {
+                if ( this.overflowIter == null || !this.overflowIter.hasNext() )
+                {
+                    throw new NoSuchElementException();
+                }
+                
+                this.last         = -1;
+                this.lastOverflow = true;
+                return this.overflowIter.next();
+            }
+            
+            this.last         = this.next;
+            this.lastOverflow = false;
+            this.advance();
+            
+            return new XCQLRowMapEntry(this.last);
+        }
+        
+        
+        
+        @Override
+        public void remove()
+        {
+            if ( this.lastOverflow )
+            {
+                this.overflowIter.remove();
+                size--;
+                this.lastOverflow = false;
+                return;
+            }
+            
+            if ( this.last < 0 || values[this.last] == null )
+            {
+                throw new IllegalStateException();
+            }
+            
+            values[this.last] = null;
+            size--;
+            this.last = -1;
+        }
+    
+    }
+    
+    
+    
+    
+    
+    /**
+     * 字段的Map.Entry视图。setValue() 直接写入值数组
+     */
+    private class XCQLRowMapEntry implements Map.Entry<String ,Object>
+    {
+        
+        /** 列下标 */
+        private final int index;
+        
+        
+        
+        public XCQLRowMapEntry(int i_Index)
+        {
+            this.index = i_Index;
+        }
+        
+        
+        
+        @Override
+        public String getKey()
+        {
+            return metaData.getColumnName(this.index);
+        }
+        
+        
+        
+        @Override
+        public Object getValue()
+        {
+            return toValue(values[this.index]);
+        }
+        
+        
+        
+        @Override
+        public Object setValue(Object i_Value)
+        {
+            Object v_Old = values[this.index];
+            values[this.index] = i_Value == null ? $Null : i_Value;
+            
+            if ( v_Old == null )
+            {
+                // 遍历时已被删除的字段，再次设置值
+                size++;
+            }
+            
+            return toValue(v_Old);
+        }
+        
+        
+        
+        @Override
+        public boolean equals(Object i_Other)
+        {
+            if ( !(i_Other instanceof Map.Entry) )
+            {
+                return false;
+            }
+            
+            Map.Entry<?,?> v_Other = (Map.Entry<?,?>) i_Other;
+            return this.getKey().equals(v_Other.getKey()) && Objects.equals(this.getValue() ,v_Other.getValue());
+        }
+        
+        
+        
+        @Override
+        public int hashCode()
+        {
+            return this.getKey().hashCode() ^ Objects.hashCode(this.getValue());
+        }
+        
+        
+        
+        @Override
+        public String toString()
+        {
+            return this.getKey() + "=" + this.getValue();
+        }
+    
+    }
+    
+}
+    
\ No newline at end of file
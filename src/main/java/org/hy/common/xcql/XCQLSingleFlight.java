@@ -0,0 +1,171 @@
+package org.hy.common.xcql;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+
+
+
+
+/**
+ * 相同查询的并发合并（Single-Flight）。
+ * 
+ * 同一XCQL、同一数据库连接池组、相同的可执行CQL及参数（含分页）的查询，并发执行时只有首个线程真正执行，
+ * 其它线程等待并共享首个线程的查询结果 XCQLData 。执行完成后即移除，不缓存，所以没有数据过期的问题。
+ * 
+ * 用法：XCQL的配置中
+ *   <singleFlight>true</singleFlight>
+ * 
+ * 约定1：只合并通过数据库连接池组执行的查询。外部传入数据库连接（如事务中）的查询不合并。
+ * 约定2：每个线程（含首个线程）返回的是查询结果的浅拷贝（见 XCQLData.shallowCopy()），增删表级对象的元素时互不影响；
+ *        但行级对象是同一实例，调用者不应修改行级对象。
+ * 约定3：首个线程执行异常时，合并的线程抛出相同的异常。
+ * 约定4：合并的线程不计入XCQL的执行统计（request、success），只计入本类的合并次数。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修正：合并的线程共享同一 XCQLData 及表级对象的问题。改为每个线程获得各自的浅拷贝
+ */
+public class XCQLSingleFlight
+{
+    
+    /** 执行中的查询。Map.key为查询的Key（见 XCQLCacheKey） */
+    private final ConcurrentHashMap<Object ,CompletableFuture<XCQLData>> flights;
+    
+    /** 统计：真正执行的次数 */
+    private final AtomicLong                                             executeCount;
+    
+    /** 统计：被合并（共享其它线程查询结果）的次数 */
+    private final AtomicLong                                             shareCount;
+    
+    
+    
+    public XCQLSingleFlight()
+    {
+        this.flights      = new ConcurrentHashMap<Object ,CompletableFuture<XCQLData>>();
+        this.executeCount = new AtomicLong(0L);
+        this.shareCount   = new AtomicLong(0L);
+    }
+    
+    
+    
+    /**
+     * 执行查询。有相同的查询正在执行时，等待并共享其查询结果
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Key    查询的Key。须实现 equals() 及 hashCode()
+     * @param i_Query  真正执行查询的方法
+     * @return
+     */
+    public XCQLData execute(Object i_Key ,Supplier<XCQLData> i_Query)
+    {
+        CompletableFuture<XCQLData> v_MyFlight = new CompletableFuture<XCQLData>();
+        CompletableFuture<XCQLData> v_Flight   = this.flights.putIfAbsent(i_Key ,v_MyFlight);
+        
+        if ( v_Flight != null )
+        {
+            this.shareCount.incrementAndGet();
+            
+            try
+            {
+                XCQLData v_Ret = v_Flight.join();
+                return v_Ret == null ? null : v_Ret.shallowCopy();
+            }
+            catch (CompletionException exce)
+            {
+                if ( exce.getCause() instanceof RuntimeException )
+                {
+                    throw (RuntimeException) exce.getCause();
+                }
+                else if ( exce.getCause() instanceof Error )
+                {
+                    throw (Error) exce.getCause();
+                }
+                throw exce;
+            }
+        }
+        
+        this.executeCount.incrementAndGet();
+        
+        try
+        {
+            XCQLData v_Ret = i_Query.get();
+            v_MyFlight.complete(v_Ret);
+            
+            // 原始的查询结果只用于复制，不返回给任何线程，防止合并的线程复制时，它正被首个线程的调用者修改
+            return v_Ret == null ? null : v_Ret.shallowCopy();
+        }
+        catch (RuntimeException | Error exce)
+        {
+            v_MyFlight.completeExceptionally(exce);
+            throw exce;
+        }
+        finally
+        {
+            this.flights.remove(i_Key ,v_MyFlight);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：正在执行中的查询数量
+     */
+    public int getFlightCount()
+    {
+        return this.flights.size();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：真正执行的次数
+     */
+    public long getExecuteCount()
+    {
+        return this.executeCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：被合并（共享其它线程查询结果）的次数
+     */
+    public long getShareCount()
+    {
+        return this.shareCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：合并率。被合并的次数占总查询次数的比例，取值范围[0 ,1]
+     */
+    public double getShareRatio()
+    {
+        long v_Share = this.shareCount.get();
+        long v_Total = this.executeCount.get() + v_Share;
+        
+        return v_Total <= 0L ? 0D : (double) v_Share / v_Total;
+    }
+    
+    
+    
+    /**
+     * 重置统计数据
+     */
+    public void reset()
+    {
+        this.executeCount.set(0L);
+        this.shareCount  .set(0L);
+    }
+    
+}
+    
\ No newline at end of file
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import org.hy.common.Execute;
 import org.hy.common.Help;
 import org.hy.common.XJavaID;
 
@@ -23,7 +22,7 @@ import org.hy.common.XJavaID;
  *     5. 触发器执行的时长，是不统计在触发源XCQL的执行时长中的。
  *     6. XCQL触发器分为“同步模式”和“异步模式”。
  *        6.1 在同步模式的情况下，所有XCQL触发器依次顺序执行，前一个执行完成，后下一个才执行。
- *        6.2 在异步模式的情况下，每个XCQL触发器均是一个独立的线程，所有XCQL触发器几乎是同时执行的。
+ *        6.2 在异步模式的情况下，每个XCQL触发器均提交到有界的线程池 XCQLTriggerExecutor 中执行，所有XCQL触发器几乎是同时执行的。
  *     7. 触发器执行异常后，是不会回滚先前触发源XCQL的操作的（即每个触发器每个操作都是一个独立的事务）。
  *     8. XCQL触发源执行异常时，可以通过XCQLTrigger.errorCode属性控制XCQL触发器是否执行。
  *        默认XCQLTrigger.errorCode为True，即触发源异常时，XCQL触发器也被触发执行。
@@ -31,6 +30,9 @@ import org.hy.common.XJavaID;
  * @author      ZhengWei(HY)
  * @createDate  2023-06-03
  * @version     v1.0
+ *              v2.0  2026-10-18  优化：异步模式由每个触发一个线程，改为有界的线程池 XCQLTriggerExecutor 执行
+ *              v3.0  2026-10-18  修正：线程池的线程为守护线程（原每个触发一个的线程不是），不阻止JVM退出。
+ *                                      JVM退出时，由关闭钩子等待队列中的触发执行完成（最长 XCQLTriggerExecutor.shutdownWaitTime 秒），超时后未执行的触发丢失
  */
 public class XCQLTrigger implements Comparable<XCQLTrigger> ,XJavaID
 {
@@ -72,6 +74,9 @@ public class XCQLTrigger implements Comparable<XCQLTrigger> ,XJavaID
     /** 注释。可用于日志的输出等帮助性的信息 */
     private String                comment;
     
+    /** 异步模式的执行线程池。为NULL时，使用所有触发器共享的 XCQLTriggerExecutor.getInstance() */
+    private XCQLTriggerExecutor   executor;
+    
     
     
     public XCQLTrigger()
@@ -81,6 +86,7 @@ public class XCQLTrigger implements Comparable<XCQLTrigger> ,XJavaID
         this.errorMode = true;
         this.error     = null;
         this.isInit    = false;
+        this.executor  = null;
     }
     
     
@@ -110,15 +116,19 @@ public class XCQLTrigger implements Comparable<XCQLTrigger> ,XJavaID
         }
         else
         {
+            XCQLTriggerExecutor v_Executor = this.getExecutorNVL();
+            
             for (XCQLTriggerInfo v_XCQLTrigger : this.xcqls)
             {
+                final XCQL v_XCQL = v_XCQLTrigger.getXcql();
+                
                 if ( v_XCQLTrigger.getExecuteType() == $ExecuteUpdate )
                 {
-                    (new Execute(v_XCQLTrigger.getXcql() ,"executeUpdate")).start();
+                    v_Executor.execute(() -> v_XCQL.executeUpdate());
                 }
                 else
                 {
-                    (new Execute(v_XCQLTrigger.getXcql() ,"execute")).start();
+                    v_Executor.execute(() -> v_XCQL.execute());
                 }
             }
         }
@@ -153,15 +163,19 @@ public class XCQLTrigger implements Comparable<XCQLTrigger> ,XJavaID
         }
         else
         {
+            XCQLTriggerExecutor v_Executor = this.getExecutorNVL();
+            
             for (XCQLTriggerInfo v_XCQLTrigger : this.xcqls)
             {
+                final XCQL v_XCQL = v_XCQLTrigger.getXcql();
+                
                 if ( v_XCQLTrigger.getExecuteType() == $ExecuteUpdate )
                 {
-                    (new Execute(v_XCQLTrigger.getXcql() ,"executeUpdate" ,i_Values)).start();
+                    v_Executor.execute(() -> v_XCQL.executeUpdate(i_Values));
                 }
                 else
                 {
-                    (new Execute(v_XCQLTrigger.getXcql() ,"execute" ,i_Values)).start();
+                    v_Executor.execute(() -> v_XCQL.execute(i_Values));
                 }
             }
         }
@@ -196,15 +210,19 @@ public class XCQLTrigger implements Comparable<XCQLTrigger> ,XJavaID
         }
         else
         {
+            XCQLTriggerExecutor v_Executor = this.getExecutorNVL();
+            
             for (XCQLTriggerInfo v_XCQLTrigger : this.xcqls)
             {
+                final XCQL v_XCQL = v_XCQLTrigger.getXcql();
+                
                 if ( v_XCQLTrigger.getExecuteType() == $ExecuteUpdate )
                 {
-                    (new Execute(v_XCQLTrigger.getXcql() ,"executeUpdate" ,i_Obj)).start();
+                    v_Executor.execute(() -> v_XCQL.executeUpdate(i_Obj));
                 }
                 else
                 {
-                    (new Execute(v_XCQLTrigger.getXcql() ,"execute" ,i_Obj)).start();
+                    v_Executor.execute(() -> v_XCQL.execute(i_Obj));
                 }
             }
         }
@@ -232,9 +250,12 @@ public class XCQLTrigger implements Comparable<XCQLTrigger> ,XJavaID
         }
         else
         {
+            XCQLTriggerExecutor v_Executor = this.getExecutorNVL();
+            
             for (XCQLTriggerInfo v_XCQLTrigger : this.xcqls)
             {
-                (new Execute(v_XCQLTrigger.getXcql() ,"executeUpdates" ,i_ObjList)).start();
+                final XCQL v_XCQL = v_XCQLTrigger.getXcql();
+                v_Executor.execute(() -> v_XCQL.executeUpdates(i_ObjList));
             }
         }
     }
@@ -510,6 +531,44 @@ public class XCQLTrigger implements Comparable<XCQLTrigger> ,XJavaID
     
     
     
+    /**
+     * 获取：异步模式的执行线程池。为NULL时，使用所有触发器共享的 XCQLTriggerExecutor.getInstance()
+     */
+    public XCQLTriggerExecutor getExecutor()
+    {
+        return executor;
+    }
+    
+    
+    
+    /**
+     * 设置：异步模式的执行线程池。为NULL时，使用所有触发器共享的 XCQLTriggerExecutor.getInstance()
+     * 
+     * @param i_Executor
+     */
+    public void setExecutor(XCQLTriggerExecutor i_Executor)
+    {
+        this.executor = i_Executor;
+    }
+    
+    
+    
+    /**
+     * 获取异步模式实际使用的执行线程池
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *
+     * @return
+     */
+    private XCQLTriggerExecutor getExecutorNVL()
+    {
+        return this.executor == null ? XCQLTriggerExecutor.getInstance() : this.executor;
+    }
+    
+    
+    
     /**
      * 获取：XJava池中对象的ID标识
      */
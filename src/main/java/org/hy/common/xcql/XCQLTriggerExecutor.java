@@ -0,0 +1,651 @@
+package org.hy.common.xcql;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hy.common.Help;
+import org.hy.common.xml.log.Logger;
+
+
+
+
+
+/**
+ * XCQL触发器异步模式的执行线程池。
+ * 
+ * 有界的等待队列，队列满时按拒绝策略处理，防止写入高峰时无限制地创建线程。
+ * 
+ * 拒绝策略：
+ *   CallerRuns    ：由触发源的线程自己执行（默认）。不丢失触发，同时对触发源形成背压
+ *   Discard       ：丢弃新的触发
+ *   DiscardOldest ：丢弃队列中最早的触发，再尝试加入新的触发
+ *   Abort         ：丢弃新的触发，并向触发源抛出 RejectedExecutionException 异常
+ * 
+ * 除拒绝策略外，线程池的大小可在运行中修改。等待队列的大小、是否使用虚拟线程，须在首次执行前设置。
+ * 
+ * 线程池的线程为守护线程，不阻止JVM退出。JVM退出时，由关闭钩子关闭线程池，并等待队列中的触发执行完成，
+ * 最长等待 shutdownWaitTime 秒，超时后仍未执行的触发将丢失（记录警告日志）。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修正：已创建线程池时，获取线程池只读取一次 volatile 变量，不再进入同步锁
+ *                                添加：JVM退出时，等待队列中的触发执行完成的关闭钩子
+ */
+public class XCQLTriggerExecutor implements Executor
+{
+    
+    private static final Logger              $Logger                     = new Logger(XCQLTriggerExecutor.class ,true);
+    
+    /** 拒绝策略：由触发源的线程自己执行 */
+    public  static final String              $RejectPolicy_CallerRuns    = "CallerRuns";
+    
+    /** 拒绝策略：丢弃新的触发 */
+    public  static final String              $RejectPolicy_Discard       = "Discard";
+    
+    /** 拒绝策略：丢弃队列中最早的触发 */
+    public  static final String              $RejectPolicy_DiscardOldest = "DiscardOldest";
+    
+    /** 拒绝策略：丢弃新的触发，并抛出异常 */
+    public  static final String              $RejectPolicy_Abort         = "Abort";
+    
+    /** 所有触发器共享的默认线程池 */
+    private static final XCQLTriggerExecutor $Default                    = new XCQLTriggerExecutor();
+    
+    
+    
+    /** 核心线程数。默认为：CPU核数 */
+    private int                         corePoolSize;
+    
+    /** 最大线程数。默认为：CPU核数的2倍 */
+    private int                         maxPoolSize;
+    
+    /** 等待队列的大小。默认为：10000 */
+    private int                         queueCapacity;
+    
+    /** 空闲线程的存活时长（单位：秒）。默认为：60秒 */
+    private long                        keepAliveTime;
+    
+    /** 拒绝策略。默认为：CallerRuns */
+    private volatile String             rejectPolicy;
+    
+    /** 是否使用虚拟线程（Java 21及以上版本有效）。默认为：false */
+    private boolean                     virtualThread;
+    
+    /** JVM退出时，等待队列中的触发执行完成的最长时长（单位：秒）。默认为：30秒。小于等于0时不等待 */
+    private volatile long               shutdownWaitTime;
+    
+    /** 是否已注册JVM退出时的关闭钩子 */
+    private boolean                     shutdownHook;
+    
+    /** 线程池。首次执行时创建 */
+    private volatile ThreadPoolExecutor pool;
+    
+    /** 统计：被丢弃的触发数量 */
+    private final AtomicLong            droppedCount;
+    
+    /** 统计：由触发源的线程自己执行的触发数量 */
+    private final AtomicLong            callerRunsCount;
+    
+    /** 统计：执行异常的触发数量 */
+    private final AtomicLong            errorCount;
+    
+    
+    
+    /**
+     * 获取所有触发器共享的默认线程池
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @return
+     */
+    public static XCQLTriggerExecutor getInstance()
+    {
+        return $Default;
+    }
+    
+    
+    
+    public XCQLTriggerExecutor()
+    {
+        int v_CPUs = Runtime.getRuntime().availableProcessors();
+        
+        this.corePoolSize     = v_CPUs;
+        this.maxPoolSize      = v_CPUs * 2;
+        this.queueCapacity    = 10000;
+        this.keepAliveTime    = 60L;
+        this.rejectPolicy     = $RejectPolicy_CallerRuns;
+        this.virtualThread    = false;
+        this.shutdownWaitTime = 30L;
+        this.shutdownHook     = false;
+        this.droppedCount     = new AtomicLong(0L);
+        this.callerRunsCount  = new AtomicLong(0L);
+        this.errorCount       = new AtomicLong(0L);
+    }
+    
+    
+    
+    /**
+     * 异步执行一个触发
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Command
+     */
+    @Override
+    public void execute(Runnable i_Command)
+    {
+        this.getPool().execute(() ->
+        {
+            try
+            {
+                i_Command.run();
+            }
+            catch (Throwable exce)
+            {
+                this.errorCount.incrementAndGet();
+                $Logger.error(exce);
+            }
+        });
+    }
+    
+    
+    
+    /**
+     * 获取线程池。首次执行时创建
+     * 
+     * 已创建时只读取一次 volatile 变量，不进入同步锁（双重检查）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修正：已创建时不再进入同步锁。首次创建时注册JVM退出时的关闭钩子
+     * 
+     * @return
+     */
+    private ThreadPoolExecutor getPool()
+    {
+        ThreadPoolExecutor v_Pool = this.pool;
+        if ( v_Pool != null )
+        {
+            return v_Pool;
+        }
+        
+        synchronized ( this )
+        {
+            v_Pool = this.pool;
+            if ( v_Pool == null )
+            {
+                v_Pool = new ThreadPoolExecutor(this.corePoolSize
+                                               ,Math.max(this.corePoolSize ,this.maxPoolSize)
+                                               ,this.keepAliveTime
+                                               ,TimeUnit.SECONDS
+                                               ,new ArrayBlockingQueue<Runnable>(this.queueCapacity)
+                                               ,this.newThreadFactory()
+                                               ,new RejectedHandler());
+                v_Pool.allowCoreThreadTimeOut(true);
+                
+                if ( !this.shutdownHook )
+                {
+                    this.shutdownHook = true;
+                    Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownOnExit ,"XCQLTrigger-ShutdownHook"));
+                }
+                
+                this.pool = v_Pool;
+            }
+            
+            return v_Pool;
+        }
+    }
+    
+    
+    
+    /**
+     * JVM退出时的关闭钩子：关闭线程池，并等待队列中的触发执行完成
+     * 
+     * 线程池的线程为守护线程，不阻止JVM退出。没有关闭钩子时，队列中的触发在JVM退出时丢失
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     */
+    private void shutdownOnExit()
+    {
+        try
+        {
+            if ( !this.shutdown(this.shutdownWaitTime) )
+            {
+                $Logger.warn("XCQLTrigger executor is not terminated in " + this.shutdownWaitTime + " seconds at JVM exit, the queued triggers are lost.");
+            }
+        }
+        catch (InterruptedException exce)
+        {
+            $Logger.warn("XCQLTrigger executor is interrupted at JVM exit, the queued triggers are lost.");
+        }
+    }
+    
+    
+    
+    /**
+     * 创建线程工厂。使用虚拟线程但运行环境不支持时，回退为平台线程
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修正：按公开的接口 Thread.Builder 反射方法。实现类 ThreadBuilders 非公开，反射调用时无访问权限
+     * 
+     * @return
+     */
+    private ThreadFactory newThreadFactory()
+    {
+        if ( this.virtualThread )
+        {
+            try
+            {
+                // 按Java 17编译，所以用反射调用 Thread.ofVirtual().name(...).factory()
+                Object v_Builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                v_Builder = Class.forName("java.lang.Thread$Builder$OfVirtual").getMethod("name" ,String.class ,long.class).invoke(v_Builder ,"XCQLTrigger-" ,1L);
+                return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(v_Builder);
+            }
+            catch (Exception exce)
+            {
+                $Logger.warn("Virtual threads are not supported by Java " + System.getProperty("java.version") + ", use platform threads.");
+            }
+        }
+        
+        final ThreadFactory v_Default = Executors.defaultThreadFactory();
+        final AtomicInteger v_No      = new AtomicInteger(0);
+        
+        return (i_Runnable) ->
+        {
+            Thread v_Thread = v_Default.newThread(i_Runnable);
+            v_Thread.setName("XCQLTrigger-" + v_No.incrementAndGet());
+            v_Thread.setDaemon(true);
+            return v_Thread;
+        };
+    }
+    
+    
+    
+    /**
+     * 关闭线程池。已在队列中的触发仍会执行完成
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     */
+    public synchronized void shutdown()
+    {
+        if ( this.pool != null )
+        {
+            this.pool.shutdown();
+            this.pool = null;
+        }
+    }
+    
+    
+    
+    /**
+     * 关闭线程池，并等待队列中的触发执行完成
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_WaitTime  最长等待时长（单位：秒）。小于等于0时不等待
+     * @return            是否已全部执行完成
+     * @throws InterruptedException
+     */
+    public boolean shutdown(long i_WaitTime) throws InterruptedException
+    {
+        ThreadPoolExecutor v_Pool = null;
+        
+        synchronized ( this )
+        {
+            v_Pool    = this.pool;
+            this.pool = null;
+        }
+        
+        if ( v_Pool == null )
+        {
+            return true;
+        }
+        
+        v_Pool.shutdown();
+        return i_WaitTime > 0L ? v_Pool.awaitTermination(i_WaitTime ,TimeUnit.SECONDS) : v_Pool.isTerminated();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：等待队列中的触发数量
+     */
+    public int getQueueSize()
+    {
+        ThreadPoolExecutor v_Pool = this.pool;
+        return v_Pool == null ? 0 : v_Pool.getQueue().size();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：正在执行触发的线程数量
+     */
+    public int getActiveCount()
+    {
+        ThreadPoolExecutor v_Pool = this.pool;
+        return v_Pool == null ? 0 : v_Pool.getActiveCount();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：线程池中的线程数量
+     */
+    public int getPoolSize()
+    {
+        ThreadPoolExecutor v_Pool = this.pool;
+        return v_Pool == null ? 0 : v_Pool.getPoolSize();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：已执行完成的触发数量
+     */
+    public long getCompletedCount()
+    {
+        ThreadPoolExecutor v_Pool = this.pool;
+        return v_Pool == null ? 0L : v_Pool.getCompletedTaskCount();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：被丢弃的触发数量
+     */
+    public long getDroppedCount()
+    {
+        return this.droppedCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：由触发源的线程自己执行的触发数量
+     */
+    public long getCallerRunsCount()
+    {
+        return this.callerRunsCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：统计：执行异常的触发数量
+     */
+    public long getErrorCount()
+    {
+        return this.errorCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：核心线程数。默认为：CPU核数
+     */
+    public int getCorePoolSize()
+    {
+        return corePoolSize;
+    }
+    
+    
+    
+    /**
+     * 设置：核心线程数。默认为：CPU核数
+     * 
+     * @param i_CorePoolSize
+     */
+    public synchronized void setCorePoolSize(int i_CorePoolSize)
+    {
+        if ( i_CorePoolSize <= 0 )
+        {
+            throw new IllegalArgumentException("CorePoolSize[" + i_CorePoolSize + "] must be greater than 0.");
+        }
+        
+        this.corePoolSize = i_CorePoolSize;
+        this.maxPoolSize  = Math.max(this.corePoolSize ,this.maxPoolSize);
+        
+        if ( this.pool != null )
+        {
+            this.pool.setMaximumPoolSize(this.maxPoolSize);
+            this.pool.setCorePoolSize(this.corePoolSize);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：最大线程数。默认为：CPU核数的2倍
+     */
+    public int getMaxPoolSize()
+    {
+        return maxPoolSize;
+    }
+    
+    
+    
+    /**
+     * 设置：最大线程数。默认为：CPU核数的2倍
+     * 
+     * @param i_MaxPoolSize
+     */
+    public synchronized void setMaxPoolSize(int i_MaxPoolSize)
+    {
+        if ( i_MaxPoolSize <= 0 )
+        {
+            throw new IllegalArgumentException("MaxPoolSize[" + i_MaxPoolSize + "] must be greater than 0.");
+        }
+        
+        this.maxPoolSize  = i_MaxPoolSize;
+        this.corePoolSize = Math.min(this.corePoolSize ,this.maxPoolSize);
+        
+        if ( this.pool != null )
+        {
+            this.pool.setCorePoolSize(this.corePoolSize);
+            this.pool.setMaximumPoolSize(this.maxPoolSize);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：等待队列的大小。默认为：10000
+     */
+    public int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+    
+    
+    
+    /**
+     * 设置：等待队列的大小。默认为：10000。须在首次执行前设置
+     * 
+     * @param i_QueueCapacity
+     */
+    public synchronized void setQueueCapacity(int i_QueueCapacity)
+    {
+        if ( i_QueueCapacity <= 0 )
+        {
+            throw new IllegalArgumentException("QueueCapacity[" + i_QueueCapacity + "] must be greater than 0.");
+        }
+        
+        this.queueCapacity = i_QueueCapacity;
+    }
+    
+    
+    
+    /**
+     * 获取：空闲线程的存活时长（单位：秒）。默认为：60秒
+     */
+    public long getKeepAliveTime()
+    {
+        return keepAliveTime;
+    }
+    
+    
+    
+    /**
+     * 设置：空闲线程的存活时长（单位：秒）。默认为：60秒
+     * 
+     * @param i_KeepAliveTime
+     */
+    public synchronized void setKeepAliveTime(long i_KeepAliveTime)
+    {
+        if ( i_KeepAliveTime <= 0L )
+        {
+            throw new IllegalArgumentException("KeepAliveTime[" + i_KeepAliveTime + "] must be greater than 0.");
+        }
+        
+        this.keepAliveTime = i_KeepAliveTime;
+        
+        if ( this.pool != null )
+        {
+            this.pool.setKeepAliveTime(this.keepAliveTime ,TimeUnit.SECONDS);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：拒绝策略。默认为：CallerRuns
+     */
+    public String getRejectPolicy()
+    {
+        return rejectPolicy;
+    }
+    
+    
+    
+    /**
+     * 设置：拒绝策略。默认为：CallerRuns
+     * 
+     * @param i_RejectPolicy  CallerRuns、Discard、DiscardOldest、Abort 之一
+     */
+    public void setRejectPolicy(String i_RejectPolicy)
+    {
+        if ( !$RejectPolicy_CallerRuns   .equalsIgnoreCase(i_RejectPolicy)
+          && !$RejectPolicy_Discard      .equalsIgnoreCase(i_RejectPolicy)
+          && !$RejectPolicy_DiscardOldest.equalsIgnoreCase(i_RejectPolicy)
+          && !$RejectPolicy_Abort        .equalsIgnoreCase(i_RejectPolicy) )
+        {
+            throw new IllegalArgumentException("RejectPolicy[" + i_RejectPolicy + "] is not supported.");
+        }
+        
+        this.rejectPolicy = Help.NVL(i_RejectPolicy).trim();
+    }
+    
+    
+    
+    /**
+     * 获取：是否使用虚拟线程（Java 21及以上版本有效）。默认为：false
+     */
+    public boolean isVirtualThread()
+    {
+        return virtualThread;
+    }
+    
+    
+    
+    /**
+     * 设置：是否使用虚拟线程（Java 21及以上版本有效）。默认为：false。须在首次执行前设置
+     * 
+     * @param i_VirtualThread
+     */
+    public synchronized void setVirtualThread(boolean i_VirtualThread)
+    {
+        this.virtualThread = i_VirtualThread;
+    }
+    
+    
+    
+    /**
+     * 获取：JVM退出时，等待队列中的触发执行完成的最长时长（单位：秒）。默认为：30秒
+     */
+    public long getShutdownWaitTime()
+    {
+        return shutdownWaitTime;
+    }
+    
+    
+    
+    /**
+     * 设置：JVM退出时，等待队列中的触发执行完成的最长时长（单位：秒）。默认为：30秒。小于等于0时不等待
+     * 
+     * @param i_ShutdownWaitTime
+     */
+    public void setShutdownWaitTime(long i_ShutdownWaitTime)
+    {
+        this.shutdownWaitTime = i_ShutdownWaitTime;
+    }
+    
+    
+    
+    
+    
+    /**
+     * 等待队列满时的拒绝处理，并统计
+     */
+    private class RejectedHandler implements RejectedExecutionHandler
+    {
+        
+        @Override
+        public void rejectedExecution(Runnable i_Command ,ThreadPoolExecutor i_Pool)
+        {
+            String v_Policy = rejectPolicy;
+            
+            if ( i_Pool.isShutdown() )
+            {
+                droppedCount.incrementAndGet();
+                $Logger.warn("XCQLTrigger executor is shutdown, the trigger is dropped.");
+            }
+            else if ( $RejectPolicy_CallerRuns.equalsIgnoreCase(v_Policy) )
+            {
+                callerRunsCount.incrementAndGet();
+                i_Command.run();
+            }
+            else if ( $RejectPolicy_DiscardOldest.equalsIgnoreCase(v_Policy) )
+            {
+                if ( i_Pool.getQueue().poll() != null )
+                {
+                    droppedCount.incrementAndGet();
+                }
+                i_Pool.execute(i_Command);
+            }
+            else if ( $RejectPolicy_Abort.equalsIgnoreCase(v_Policy) )
+            {
+                droppedCount.incrementAndGet();
+                throw new RejectedExecutionException("XCQLTrigger queue is full[" + i_Pool.getQueue().size() + "].");
+            }
+            else
+            {
+                droppedCount.incrementAndGet();
+            }
+        }
+    
+    }
+    
+}
@@ -0,0 +1,190 @@
+package org.hy.common.xcql;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.hy.common.Date;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.types.IsoDuration;
+import org.neo4j.driver.types.Node;
+import org.neo4j.driver.types.Path;
+import org.neo4j.driver.types.Point;
+import org.neo4j.driver.types.Relationship;
+import org.neo4j.driver.types.Type;
+
+
+
+
+
+/**
+ * 图数据库的值直接转为Java类型的转换矩阵。Map.key为（Neo4j的数据类型，Setter方法的入参类型）
+ * 
+ * 作用范围：XCQLResult.cfill 等于 "setter(colValue)" 时，XCQLMethod.parseResultSet_Getter(...) 按列解释一次。
+ * 
+ * 作用功能：时间、集合、Map、字节数组、图对象（节点、关系、路径）、空间点等类型，不再先转为字符串，再由 Machining* 加工类解析回来。
+ * 
+ * 约定1：矩阵中没有的组合，返回NULL，由调用者继续使用原有的 Value 取值方法及 Machining* 加工类。
+ * 
+ * 约定2：值为NULL时，转换结果为NULL。
+ * 
+ * 约定3：没有时区的时间（LocalDateTime、LocalDate）转为 java.util.Date 时，按系统默认时区转换。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public final class XCQLValueConverter
+{
+    
+    /** 转换矩阵。Map.key为Neo4j的数据类型名称，Map.value.key为Setter方法的入参类型 */
+    private static final Map<String ,Map<Class<?> ,Function<Value ,Object>>> $Converters = new ConcurrentHashMap<String ,Map<Class<?> ,Function<Value ,Object>>>();
+    
+    
+    
+    static
+    {
+        // 整数：按长整数取值，不再经过 Integer 中转
+        register(InternalTypeSystem.TYPE_SYSTEM.INTEGER()         ,long.class           ,Value::asLong);
+        register(InternalTypeSystem.TYPE_SYSTEM.INTEGER()         ,Long.class           ,Value::asLong);
+        register(InternalTypeSystem.TYPE_SYSTEM.INTEGER()         ,BigDecimal.class     ,v -> BigDecimal.valueOf(v.asLong()));
+        
+        // 浮点数
+        register(InternalTypeSystem.TYPE_SYSTEM.FLOAT()           ,float.class          ,Value::asFloat);
+        register(InternalTypeSystem.TYPE_SYSTEM.FLOAT()           ,Float.class          ,Value::asFloat);
+        
+        // 带时区的日期时间
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,java.util.Date.class ,v -> java.util.Date.from(v.asZonedDateTime().toInstant()));
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,Date.class           ,v -> new Date(v.asZonedDateTime().toInstant().toEpochMilli()));
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,java.sql.Timestamp.class ,v -> java.sql.Timestamp.from(v.asZonedDateTime().toInstant()));
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,Instant.class        ,v -> v.asZonedDateTime().toInstant());
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,ZonedDateTime.class  ,Value::asZonedDateTime);
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,OffsetDateTime.class ,Value::asOffsetDateTime);
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,LocalDateTime.class  ,v -> v.asZonedDateTime().toLocalDateTime());
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,LocalDate.class      ,v -> v.asZonedDateTime().toLocalDate());
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,long.class           ,v -> v.asZonedDateTime().toInstant().toEpochMilli());
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE_TIME()       ,Long.class           ,v -> v.asZonedDateTime().toInstant().toEpochMilli());
+        
+        // 无时区的日期时间
+        register(InternalTypeSystem.TYPE_SYSTEM.LOCAL_DATE_TIME() ,java.util.Date.class ,v -> java.util.Date.from(toInstant(v.asLocalDateTime())));
+        register(InternalTypeSystem.TYPE_SYSTEM.LOCAL_DATE_TIME() ,Date.class           ,v -> new Date(toInstant(v.asLocalDateTime()).toEpochMilli()));
+        register(InternalTypeSystem.TYPE_SYSTEM.LOCAL_DATE_TIME() ,java.sql.Timestamp.class ,v -> java.sql.Timestamp.valueOf(v.asLocalDateTime()));
+        register(InternalTypeSystem.TYPE_SYSTEM.LOCAL_DATE_TIME() ,LocalDateTime.class  ,Value::asLocalDateTime);
+        register(InternalTypeSystem.TYPE_SYSTEM.LOCAL_DATE_TIME() ,LocalDate.class      ,v -> v.asLocalDateTime().toLocalDate());
+        
+        // 日期
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE()            ,java.util.Date.class ,v -> java.util.Date.from(toInstant(v.asLocalDate().atStartOfDay())));
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE()            ,Date.class           ,v -> new Date(toInstant(v.asLocalDate().atStartOfDay()).toEpochMilli()));
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE()            ,java.sql.Date.class  ,v -> java.sql.Date.valueOf(v.asLocalDate()));
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE()            ,LocalDate.class      ,Value::asLocalDate);
+        register(InternalTypeSystem.TYPE_SYSTEM.DATE()            ,LocalDateTime.class  ,v -> v.asLocalDate().atStartOfDay());
+        
+        // 时间
+        register(InternalTypeSystem.TYPE_SYSTEM.LOCAL_TIME()      ,LocalTime.class      ,Value::asLocalTime);
+        register(InternalTypeSystem.TYPE_SYSTEM.TIME()            ,OffsetTime.class     ,Value::asOffsetTime);
+        register(InternalTypeSystem.TYPE_SYSTEM.TIME()            ,LocalTime.class      ,v -> v.asOffsetTime().toLocalTime());
+        register(InternalTypeSystem.TYPE_SYSTEM.DURATION()        ,IsoDuration.class    ,Value::asIsoDuration);
+        
+        // 集合
+        register(InternalTypeSystem.TYPE_SYSTEM.LIST()            ,List.class           ,v -> v.asList());
+        register(InternalTypeSystem.TYPE_SYSTEM.LIST()            ,Collection.class     ,v -> v.asList());
+        register(InternalTypeSystem.TYPE_SYSTEM.LIST()            ,ArrayList.class      ,v -> new ArrayList<Object>(v.asList()));
+        register(InternalTypeSystem.TYPE_SYSTEM.LIST()            ,Set.class            ,v -> new LinkedHashSet<Object>(v.asList()));
+        register(InternalTypeSystem.TYPE_SYSTEM.LIST()            ,Object[].class       ,v -> v.asList().toArray());
+        register(InternalTypeSystem.TYPE_SYSTEM.LIST()            ,String[].class       ,v -> v.asList(Value::asString).toArray(new String[0]));
+        
+        // Map及图对象
+        register(InternalTypeSystem.TYPE_SYSTEM.MAP()             ,Map.class            ,v -> v.asMap());
+        register(InternalTypeSystem.TYPE_SYSTEM.NODE()            ,Map.class            ,v -> v.asNode().asMap());
+        register(InternalTypeSystem.TYPE_SYSTEM.NODE()            ,Node.class           ,Value::asNode);
+        register(InternalTypeSystem.TYPE_SYSTEM.RELATIONSHIP()    ,Map.class            ,v -> v.asRelationship().asMap());
+        register(InternalTypeSystem.TYPE_SYSTEM.RELATIONSHIP()    ,Relationship.class   ,Value::asRelationship);
+        register(InternalTypeSystem.TYPE_SYSTEM.PATH()            ,Path.class           ,Value::asPath);
+        register(InternalTypeSystem.TYPE_SYSTEM.POINT()           ,Point.class          ,Value::asPoint);
+        
+        // 字节数组
+        register(InternalTypeSystem.TYPE_SYSTEM.BYTES()           ,byte[].class         ,Value::asByteArray);
+    }
+    
+    
+    
+    /**
+     * 注册（或替换）一个转换方法
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Neo4jType  Neo4j的数据类型
+     * @param i_JavaType   Setter方法的入参类型
+     * @param i_Converter  转换方法。值为NULL时不会被调用
+     */
+    public static void register(Type i_Neo4jType ,Class<?> i_JavaType ,Function<Value ,Object> i_Converter)
+    {
+        Function<Value ,Object> v_Converter = v -> v.isNull() ? null : i_Converter.apply(v);
+        
+        $Converters.computeIfAbsent(i_Neo4jType.name() ,k -> new ConcurrentHashMap<Class<?> ,Function<Value ,Object>>()).put(i_JavaType ,v_Converter);
+    }
+    
+    
+    
+    /**
+     * 获取转换方法
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Neo4jType  Neo4j的数据类型
+     * @param i_JavaType   Setter方法的入参类型
+     * @return             矩阵中没有时返回NULL
+     */
+    public static Function<Value ,Object> getConverter(Type i_Neo4jType ,Class<?> i_JavaType)
+    {
+        if ( i_Neo4jType == null || i_JavaType == null )
+        {
+            return null;
+        }
+        
+        Map<Class<?> ,Function<Value ,Object>> v_ByJavaType = $Converters.get(i_Neo4jType.name());
+        
+        return v_ByJavaType == null ? null : v_ByJavaType.get(i_JavaType);
+    }
+    
+    
+    
+    /**
+     * 无时区的日期时间，按系统默认时区转为时间点
+     * 
+     * @param i_DateTime  无时区的日期时间
+     * @return
+     */
+    private static Instant toInstant(LocalDateTime i_DateTime)
+    {
+        return i_DateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+    
+    
+    
+    private XCQLValueConverter()
+    {
+    
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,164 @@
+package org.hy.common.xcql.selector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hy.common.xcql.DataSourceCQL;
+import org.hy.common.xcql.XCQLDataSourceSelector;
+
+
+
+
+
+/**
+ * 负载数据库选择策略的公共部分：自动剔除出现异常的数据库，并按时探测恢复
+ * 
+ *   1. 数据库出现异常（DataSourceCQL.isException()）时，剔除 ejectTime 毫秒，期间不再被选择；
+ *   2. 剔除时长到期后，放行一次探测请求。之后每 ejectTime 毫秒最多放行一次；
+ *   3. 探测请求执行成功（异常标记被清除）后，恢复为正常的数据库；
+ *   4. 熔断器为打开状态（DataSourceCQL.isValid() 为false）的数据库，直接跳过，由熔断器负责试探恢复；
+ *   5. 所有的数据库均被剔除时，不再剔除，按正常的数据库选择，避免无数据库可用。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  添加：跳过熔断器为打开状态的数据库
+ */
+public abstract class AbstractSelector implements XCQLDataSourceSelector
+{
+    
+    /** 出现异常的数据库被剔除的时长（单位：毫秒）。默认为：30秒 */
+    private long ejectTime;
+    
+    
+    
+    public AbstractSelector()
+    {
+        this.ejectTime = 30 * 1000L;
+    }
+    
+    
+    
+    /**
+     * 从多个负载数据库中选择一个
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_DataSourceCQLs  多个负载数据库。至少有一个元素
+     * @return                  不返回NULL
+     */
+    @Override
+    public DataSourceCQL select(List<DataSourceCQL> i_DataSourceCQLs)
+    {
+        if ( i_DataSourceCQLs.size() == 1 )
+        {
+            return i_DataSourceCQLs.get(0);
+        }
+        
+        long                v_Now        = System.currentTimeMillis();
+        List<DataSourceCQL> v_Candidates = new ArrayList<DataSourceCQL>(i_DataSourceCQLs.size());
+        
+        for (DataSourceCQL v_DSCQL : i_DataSourceCQLs)
+        {
+            if ( !v_DSCQL.isValid() )
+            {
+                continue;
+            }
+            
+            long v_EjectedUntil = v_DSCQL.getEjectedUntil();
+            
+            if ( !v_DSCQL.isException() )
+            {
+                if ( v_EjectedUntil > 0L )
+                {
+                    // 探测成功，恢复
+                    v_DSCQL.setEjectedUntil(0L);
+                }
+                v_Candidates.add(v_DSCQL);
+            }
+            else if ( v_EjectedUntil <= 0L )
+            {
+                // 首次发现异常，剔除
+                v_DSCQL.setEjectedUntil(v_Now + this.ejectTime);
+            }
+            else if ( v_EjectedUntil <= v_Now && this.probe(v_DSCQL ,v_EjectedUntil ,v_Now) )
+            {
+                // 剔除时长到期，放行本次探测请求
+                return v_DSCQL;
+            }
+        }
+        
+        if ( v_Candidates.isEmpty() )
+        {
+            return this.choose(i_DataSourceCQLs);
+        }
+        else
+        {
+            return this.choose(v_Candidates);
+        }
+    }
+    
+    
+    
+    /**
+     * 抢占探测的机会。同一剔除周期内只有一个线程能抢占成功
+     * 
+     * @param i_DSCQL        被剔除的数据库
+     * @param i_EjectedUntil 读取到的剔除截止时间
+     * @param i_Now          当前时间
+     * @return
+     */
+    private boolean probe(DataSourceCQL i_DSCQL ,long i_EjectedUntil ,long i_Now)
+    {
+        synchronized ( i_DSCQL )
+        {
+            if ( i_DSCQL.getEjectedUntil() != i_EjectedUntil )
+            {
+                return false;
+            }
+            
+            i_DSCQL.setEjectedUntil(i_Now + this.ejectTime);
+            return true;
+        }
+    }
+    
+    
+    
+    /**
+     * 从未被剔除的数据库中选择一个
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @param i_Candidates  未被剔除的数据库。至少有一个元素
+     * @return              不返回NULL
+     */
+    protected abstract DataSourceCQL choose(List<DataSourceCQL> i_Candidates);
+    
+    
+    
+    /**
+     * 获取：出现异常的数据库被剔除的时长（单位：毫秒）。默认为：30秒
+     */
+    public long getEjectTime()
+    {
+        return ejectTime;
+    }
+    
+    
+    
+    /**
+     * 设置：出现异常的数据库被剔除的时长（单位：毫秒）。默认为：30秒
+     * 
+     * @param i_EjectTime
+     */
+    public void setEjectTime(long i_EjectTime)
+    {
+        this.ejectTime = i_EjectTime;
+    }
+    
+}
+    
\ No newline at end of file
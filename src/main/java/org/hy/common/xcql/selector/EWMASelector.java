@@ -0,0 +1,75 @@
+package org.hy.common.xcql.selector;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hy.common.xcql.DataSourceCQL;
+
+
+
+
+
+/**
+ * 负载数据库的选择策略：会话用时的指数加权移动平均值（EWMA）最小
+ * 
+ * 负载的评估值为 会话用时的EWMA * (活动连接数 + 1) ，即同时考虑了数据库的响应速度及正在处理的请求数量。
+ * 未使用过的数据库（EWMA为0）优先选择，以便尽快采集到用时。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class EWMASelector extends AbstractSelector
+{
+    
+    /** 评估值相同时，轮流选择的起始序号 */
+    private final AtomicInteger index;
+    
+    
+    
+    public EWMASelector()
+    {
+        super();
+        this.index = new AtomicInteger(0);
+    }
+    
+    
+    
+    /**
+     * 负载的评估值。越小越优先
+     * 
+     * @param i_DSCQL
+     * @return
+     */
+    protected static double load(DataSourceCQL i_DSCQL)
+    {
+        return i_DSCQL.getLatencyEWMA() * (Math.max(i_DSCQL.getConnActiveCount() ,0L) + 1);
+    }
+    
+    
+    
+    @Override
+    protected DataSourceCQL choose(List<DataSourceCQL> i_Candidates)
+    {
+        int           v_Size  = i_Candidates.size();
+        int           v_Start = Math.floorMod(this.index.getAndIncrement() ,v_Size);
+        DataSourceCQL v_Ret   = null;
+        double        v_Load  = Double.MAX_VALUE;
+        
+        for (int i=0; i<v_Size; i++)
+        {
+            DataSourceCQL v_DSCQL     = i_Candidates.get((v_Start + i) % v_Size);
+            double        v_DSCQLLoad = load(v_DSCQL);
+            
+            if ( v_DSCQLLoad < v_Load )
+            {
+                v_Ret  = v_DSCQL;
+                v_Load = v_DSCQLLoad;
+            }
+        }
+        
+        return v_Ret;
+    }
+    
+}
+    
\ No newline at end of file
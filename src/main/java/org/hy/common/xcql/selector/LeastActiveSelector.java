@@ -0,0 +1,61 @@
+package org.hy.common.xcql.selector;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hy.common.xcql.DataSourceCQL;
+
+
+
+
+
+/**
+ * 负载数据库的选择策略：最少活动连接数
+ * 
+ * 选择活动连接数（DataSourceCQL.getConnActiveCount()）最少的数据库。慢的数据库连接占用的时间长，活动连接数多，自然少分配请求。
+ * 活动连接数相同时，轮流选择，避免总是选择第一个。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class LeastActiveSelector extends AbstractSelector
+{
+    
+    /** 活动连接数相同时，轮流选择的起始序号 */
+    private final AtomicInteger index;
+    
+    
+    
+    public LeastActiveSelector()
+    {
+        super();
+        this.index = new AtomicInteger(0);
+    }
+    
+    
+    
+    @Override
+    protected DataSourceCQL choose(List<DataSourceCQL> i_Candidates)
+    {
+        int           v_Size   = i_Candidates.size();
+        int           v_Start  = Math.floorMod(this.index.getAndIncrement() ,v_Size);
+        DataSourceCQL v_Ret    = null;
+        long          v_Active = Long.MAX_VALUE;
+        
+        for (int i=0; i<v_Size; i++)
+        {
+            DataSourceCQL v_DSCQL = i_Candidates.get((v_Start + i) % v_Size);
+            
+            if ( v_DSCQL.getConnActiveCount() < v_Active )
+            {
+                v_Ret    = v_DSCQL;
+                v_Active = v_DSCQL.getConnActiveCount();
+            }
+        }
+        
+        return v_Ret;
+    }
+    
+}
+    
\ No newline at end of file
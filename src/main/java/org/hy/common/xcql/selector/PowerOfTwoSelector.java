@@ -0,0 +1,50 @@
+package org.hy.common.xcql.selector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hy.common.xcql.DataSourceCQL;
+
+
+
+
+
+/**
+ * 负载数据库的选择策略：随机选择两个，取负载低的（Power of Two Choices）
+ * 
+ * 负载的评估值与 EWMASelector 相同。只比较两个数据库，开销固定，
+ * 并且避免了所有请求同时涌向同一个“当前最优”的数据库（羊群效应）。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class PowerOfTwoSelector extends AbstractSelector
+{
+    
+    @Override
+    protected DataSourceCQL choose(List<DataSourceCQL> i_Candidates)
+    {
+        int v_Size = i_Candidates.size();
+        
+        if ( v_Size == 1 )
+        {
+            return i_Candidates.get(0);
+        }
+        
+        ThreadLocalRandom v_Random = ThreadLocalRandom.current();
+        int               v_A      = v_Random.nextInt(v_Size);
+        int               v_B      = v_Random.nextInt(v_Size - 1);
+        if ( v_B >= v_A )
+        {
+            v_B++;
+        }
+        
+        DataSourceCQL v_DSCQLA = i_Candidates.get(v_A);
+        DataSourceCQL v_DSCQLB = i_Candidates.get(v_B);
+        
+        return EWMASelector.load(v_DSCQLA) <= EWMASelector.load(v_DSCQLB) ? v_DSCQLA : v_DSCQLB;
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,44 @@
+package org.hy.common.xcql.selector;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hy.common.xcql.DataSourceCQL;
+
+
+
+
+
+/**
+ * 负载数据库的选择策略：轮询
+ * 
+ * 与未配置选择策略时的轮询相同，但会自动剔除出现异常的数据库。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class RoundRobinSelector extends AbstractSelector
+{
+    
+    /** 轮询的序号 */
+    private final AtomicInteger index;
+    
+    
+    
+    public RoundRobinSelector()
+    {
+        super();
+        this.index = new AtomicInteger(0);
+    }
+    
+    
+    
+    @Override
+    protected DataSourceCQL choose(List<DataSourceCQL> i_Candidates)
+    {
+        return i_Candidates.get(Math.floorMod(this.index.getAndIncrement() ,i_Candidates.size()));
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,54 @@
+package org.hy.common.xcql.selector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hy.common.xcql.DataSourceCQL;
+
+
+
+
+
+/**
+ * 负载数据库的选择策略：按权重随机
+ * 
+ * 按数据库的负载权重（DataSourceCQL.getWeight()）的比例随机选择。权重小于等于0的数据库不被选择，
+ * 除非所有的数据库权重均小于等于0（此时等概率随机）。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class WeightedSelector extends AbstractSelector
+{
+    
+    @Override
+    protected DataSourceCQL choose(List<DataSourceCQL> i_Candidates)
+    {
+        long v_Total = 0L;
+        for (DataSourceCQL v_DSCQL : i_Candidates)
+        {
+            v_Total += Math.max(v_DSCQL.getWeight() ,0);
+        }
+        
+        ThreadLocalRandom v_Random = ThreadLocalRandom.current();
+        if ( v_Total <= 0L )
+        {
+            return i_Candidates.get(v_Random.nextInt(i_Candidates.size()));
+        }
+        
+        long v_Point = v_Random.nextLong(v_Total);
+        for (DataSourceCQL v_DSCQL : i_Candidates)
+        {
+            v_Point -= Math.max(v_DSCQL.getWeight() ,0);
+            if ( v_Point < 0L )
+            {
+                return v_DSCQL;
+            }
+        }
+        
+        return i_Candidates.get(i_Candidates.size() - 1);
+    }
+    
+}
+    
\ No newline at end of file
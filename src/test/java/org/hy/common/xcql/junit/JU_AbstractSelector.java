@@ -0,0 +1,149 @@
+package org.hy.common.xcql.junit;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hy.common.xcql.DataSourceCQL;
+import org.hy.common.xcql.selector.RoundRobinSelector;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：负载数据库选择策略的剔除、探测、恢复（AbstractSelector）
+ * 
+ * 数据库的异常标记由会话的结果设置，此处直接设置异常标记模拟会话的结果，不需要连接数据库。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_AbstractSelector
+{
+    
+    private List<DataSourceCQL> newDataSources(int i_Size)
+    {
+        DataSourceCQL [] v_DSCQLs = new DataSourceCQL[i_Size];
+        
+        for (int i=0; i<i_Size; i++)
+        {
+            v_DSCQLs[i] = new DataSourceCQL();
+            v_DSCQLs[i].setXJavaID("DS" + i);
+        }
+        
+        return Arrays.asList(v_DSCQLs);
+    }
+    
+    
+    
+    /**
+     * 选择多次，返回被选中过的数据库
+     */
+    private Set<DataSourceCQL> selects(RoundRobinSelector i_Selector ,List<DataSourceCQL> i_DSCQLs ,int i_Count)
+    {
+        Set<DataSourceCQL> v_Selected = new HashSet<DataSourceCQL>();
+        
+        for (int i=0; i<i_Count; i++)
+        {
+            v_Selected.add(i_Selector.select(i_DSCQLs));
+        }
+        
+        return v_Selected;
+    }
+    
+    
+    
+    @Test
+    public void test_Eject()
+    {
+        RoundRobinSelector  v_Selector = new RoundRobinSelector();
+        List<DataSourceCQL> v_DSCQLs   = this.newDataSources(3);
+        DataSourceCQL       v_Bad      = v_DSCQLs.get(0);
+        
+        Assert.assertEquals(3 ,this.selects(v_Selector ,v_DSCQLs ,6).size());
+        
+        // 首次发现异常时剔除，剔除期间不再被选择
+        v_Bad.setException(true);
+        long v_Before = System.currentTimeMillis();
+        Set<DataSourceCQL> v_Selected = this.selects(v_Selector ,v_DSCQLs ,10);
+        
+        Assert.assertFalse(v_Selected.contains(v_Bad));
+        Assert.assertEquals(2 ,v_Selected.size());
+        Assert.assertTrue(v_Bad.getEjectedUntil() >= v_Before + v_Selector.getEjectTime());
+    }
+    
+    
+    
+    @Test
+    public void test_Probe()
+    {
+        RoundRobinSelector  v_Selector = new RoundRobinSelector();
+        List<DataSourceCQL> v_DSCQLs   = this.newDataSources(3);
+        DataSourceCQL       v_Bad      = v_DSCQLs.get(1);
+        
+        v_Bad.setException(true);
+        this.selects(v_Selector ,v_DSCQLs ,3);
+        Assert.assertTrue(v_Bad.getEjectedUntil() > 0L);
+        
+        // 剔除时长到期后，只放行一次探测请求
+        v_Bad.setEjectedUntil(System.currentTimeMillis() - 1L);
+        Assert.assertSame(v_Bad ,v_Selector.select(v_DSCQLs));
+        Assert.assertFalse(this.selects(v_Selector ,v_DSCQLs ,10).contains(v_Bad));
+        
+        // 探测失败（异常标记仍为true）时，继续剔除
+        Assert.assertTrue(v_Bad.getEjectedUntil() > System.currentTimeMillis());
+        Assert.assertTrue(v_Bad.isException());
+    }
+    
+    
+    
+    @Test
+    public void test_Readmit()
+    {
+        RoundRobinSelector  v_Selector = new RoundRobinSelector();
+        List<DataSourceCQL> v_DSCQLs   = this.newDataSources(3);
+        DataSourceCQL       v_Bad      = v_DSCQLs.get(2);
+        
+        v_Bad.setException(true);
+        this.selects(v_Selector ,v_DSCQLs ,3);
+        v_Bad.setEjectedUntil(System.currentTimeMillis() - 1L);
+        Assert.assertSame(v_Bad ,v_Selector.select(v_DSCQLs));
+        
+        // 探测成功（会话关闭时异常标记被清除）后恢复
+        v_Bad.setException(false);
+        Set<DataSourceCQL> v_Selected = this.selects(v_Selector ,v_DSCQLs ,6);
+        
+        Assert.assertTrue(v_Selected.contains(v_Bad));
+        Assert.assertEquals(3  ,v_Selected.size());
+        Assert.assertEquals(0L ,v_Bad.getEjectedUntil());
+    }
+    
+    
+    
+    @Test
+    public void test_AllEjected()
+    {
+        RoundRobinSelector  v_Selector = new RoundRobinSelector();
+        List<DataSourceCQL> v_DSCQLs   = this.newDataSources(2);
+        
+        for (DataSourceCQL v_DSCQL : v_DSCQLs)
+        {
+            v_DSCQL.setException(true);
+        }
+        
+        // 所有的数据库均被剔除时，不再剔除，避免无数据库可用
+        Assert.assertEquals(2 ,this.selects(v_Selector ,v_DSCQLs ,4).size());
+        
+        // 只有一个数据库时，直接返回
+        List<DataSourceCQL> v_One = this.newDataSources(1);
+        v_One.get(0).setException(true);
+        Assert.assertSame(v_One.get(0) ,v_Selector.select(v_One));
+    }
+    
+}
+    
\ No newline at end of file
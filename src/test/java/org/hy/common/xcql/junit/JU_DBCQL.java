@@ -0,0 +1,201 @@
+package org.hy.common.xcql.junit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hy.common.xcql.DBCQL;
+import org.hy.common.xml.log.Logger;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：占位符CQL的填充。预编译的填充指令与逐个占位符替换的对比
+ * 
+ * 注：本环境未引入JMH，性能对比采用预热后的多轮计时。
+ *    性能对比耗时较长，默认跳过。须指定系统属性才执行：mvn test -Dxcql.benchmark=true
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修改：性能对比默认跳过，指定系统属性 xcql.benchmark 时才执行
+ */
+public class JU_DBCQL
+{
+    private static final Logger $Logger = new Logger(JU_DBCQL.class ,true);
+    
+    
+    
+    private static final String [] $CQLs =
+    {
+         "MATCH (n:`数据源`) WHERE n.xid = '#xid' RETURN n"
+        ,"CREATE (n:`数据源` {xid: '#xid' ,databaseName: '#databaseName' ,port: #port ,comment: '#comment'})"
+        ,"MATCH (n:`数据源`) WHERE <[ AND n.xid = '#xid' ]> <[ AND n.port = #port ]> <[ AND n.comment = '#comment' ]> RETURN n"
+        ,"MATCH (n:`数据源`) WHERE n.databaseName = '#databaseName' <[ AND n.databaseNameExt = '#databaseNameExt' ]> SET n.port = #port ,n.comment = '#comment'"
+        ,"MATCH (n) WHERE n.time >= '#beginTime' AND n.time <= '#endTime' AND n.format = 'HH:MI:SS' RETURN n"
+    };
+    
+    
+    
+    private Map<String ,Object> newValues()
+    {
+        Map<String ,Object> v_Values = new HashMap<String ,Object>();
+        
+        v_Values.put("xid"          ,"DS_001");
+        v_Values.put("databaseName" ,"dataCenter");
+        v_Values.put("port"         ,3306);
+        v_Values.put("comment"      ,"O'Neil");
+        v_Values.put("beginTime"    ,"2026-10-18 00:00:00");
+        v_Values.put("endTime"      ,"2026-10-18 23:59:59");
+        
+        return v_Values;
+    }
+    
+    
+    
+    private List<DBCQL> newDBCQLs(boolean i_Compiled ,boolean i_DefaultNull)
+    {
+        List<DBCQL> v_DBCQLs = new ArrayList<DBCQL>();
+        
+        for (String v_CQL : $CQLs)
+        {
+            DBCQL v_DBCQL = new DBCQL(v_CQL);
+            v_DBCQL.setCompiled(i_Compiled);
+            v_DBCQL.setDefaultNull(i_DefaultNull);
+            v_DBCQLs.add(v_DBCQL);
+        }
+        
+        return v_DBCQLs;
+    }
+    
+    
+    
+    /**
+     * 预编译的填充指令与逐个占位符替换生成的CQL相同
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     */
+    @Test
+    public void test_GetCQL_001_Same()
+    {
+        Map<String ,Object> v_Values      = this.newValues();
+        Map<String ,Object> v_ValuesNulls = this.newValues();
+        v_ValuesNulls.remove("port");
+        v_ValuesNulls.remove("comment");
+        
+        for (boolean v_DefaultNull : new boolean[] {false ,true})
+        {
+            List<DBCQL> v_Compileds = this.newDBCQLs(true  ,v_DefaultNull);
+            List<DBCQL> v_Fills     = this.newDBCQLs(false ,v_DefaultNull);
+            
+            for (int i=0; i<$CQLs.length; i++)
+            {
+                Assert.assertEquals(v_Fills.get(i).getCQL(v_Values      ,null) ,v_Compileds.get(i).getCQL(v_Values      ,null));
+                Assert.assertEquals(v_Fills.get(i).getCQL(v_ValuesNulls ,null) ,v_Compileds.get(i).getCQL(v_ValuesNulls ,null));
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 预编译的填充指令与逐个占位符替换的性能对比
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     */
+    @Test
+    public void test_GetCQL_002_Benchmark()
+    {
+        Assume.assumeTrue("Run with -Dxcql.benchmark=true" ,Boolean.getBoolean("xcql.benchmark"));
+        
+        Map<String ,Object> v_Values    = this.newValues();
+        List<DBCQL>         v_Compileds = this.newDBCQLs(true  ,false);
+        List<DBCQL>         v_Fills     = this.newDBCQLs(false ,false);
+        int                 v_Warmup    = 20000;
+        int                 v_Count     = 200000;
+        
+        this.benchmark(v_Compileds ,v_Values ,v_Warmup);
+        this.benchmark(v_Fills     ,v_Values ,v_Warmup);
+        
+        long v_CompiledTime = this.benchmark(v_Compileds ,v_Values ,v_Count);
+        long v_FillTime     = this.benchmark(v_Fills     ,v_Values ,v_Count);
+        
+        $Logger.info("预编译的填充指令：" + (v_CompiledTime / v_Count) + " ns/op");
+        $Logger.info("逐个占位符替换：  " + (v_FillTime     / v_Count) + " ns/op");
+    }
+    
+    
+    
+    private long benchmark(List<DBCQL> i_DBCQLs ,Map<String ,Object> i_Values ,int i_Count)
+    {
+        long v_Length    = 0;
+        long v_BeginTime = System.nanoTime();
+        
+        for (int i=0; i<i_Count; i++)
+        {
+            v_Length += i_DBCQLs.get(i % i_DBCQLs.size()).getCQL(i_Values ,null).length();
+        }
+        
+        long v_TimeLen = System.nanoTime() - v_BeginTime;
+        Assert.assertTrue(v_Length > 0);
+        return v_TimeLen;
+    }
+    
+    
+    
+    /**
+     * 识别CQL中涉及的节点标签及关系类型。空集合表示涉及所有标签
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     */
+    @Test
+    public void test_ParserLabels()
+    {
+        Assert.assertEquals(Set.of("数据源")                  ,DBCQL.parserLabels($CQLs[0]));
+        Assert.assertEquals(Set.of("User" ,"Admin" ,"KNOWS") ,DBCQL.parserLabels("MATCH (a:User:Admin)-[r:KNOWS]->(b:User) RETURN count(a) ,id(b)"));
+        Assert.assertEquals(Set.of("User" ,"Active")         ,DBCQL.parserLabels("MATCH (n:User {id: '#id'}) SET n:Active"));
+        Assert.assertEquals(Set.of("User" ,"OWNS" ,"Item")   ,DBCQL.parserLabels("MERGE (a:User {id: 1})-[:OWNS]->(:Item) RETURN a"));
+        
+        // 有没有标签的节点模式（或没有类型的关系模式）时，它可匹配任意标签
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels("MATCH (a:User)-[:OWNS]->(b) DETACH DELETE b"));
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels("MATCH (a:User)-[r]->(b:Item) DELETE r"));
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels("MATCH (a:User)-[*1..3]->(b:Item) RETURN b"));
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels("MATCH (a:User)-->(b:Item) RETURN b"));
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels("MATCH (a:User)<--(b:Item) RETURN b"));
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels("MATCH (n {id: 1}) RETURN n"));
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels("MATCH (:User)-->() RETURN count(*)"));
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels($CQLs[4]));
+        
+        // 标签为占位符时，无法确定具体的标签
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels("MATCH (n:#label) RETURN n"));
+        Assert.assertEquals(Set.of() ,DBCQL.parserLabels(null));
+    }
+    
+    
+    
+    @Test
+    public void test_CQLType()
+    {
+        Assert.assertEquals(DBCQL.$DBCQL_TYPE_MERGE  ,new DBCQL("MERGE (n:User {id: '#id'}) RETURN n").getCQLType());
+        Assert.assertEquals(DBCQL.$DBCQL_TYPE_MERGE  ,new DBCQL("MATCH (a:User {id: 1}) MERGE (a)-[:OWNS]->(b:Item {id: 2})").getCQLType());
+        Assert.assertEquals(DBCQL.$DBCQL_TYPE_CREATE ,new DBCQL($CQLs[1]).getCQLType());
+        Assert.assertEquals(DBCQL.$DBCQL_TYPE_MATCH  ,new DBCQL($CQLs[0]).getCQLType());
+    }
+    
+}
+    
\ No newline at end of file
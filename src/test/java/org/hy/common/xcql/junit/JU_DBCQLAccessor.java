@@ -0,0 +1,195 @@
+package org.hy.common.xcql.junit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hy.common.xcql.DBCQLAccessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：占位符取值的访问器（DBCQLAccessor）
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_DBCQLAccessor
+{
+    
+    public static class User
+    {
+        private String  name;
+        
+        private boolean admin;
+        
+        public String getName()
+        {
+            return name;
+        }
+        
+        public void setName(String i_Name)
+        {
+            this.name = i_Name;
+        }
+        
+        public boolean isAdmin()
+        {
+            return admin;
+        }
+        
+        public void setAdmin(boolean i_Admin)
+        {
+            this.admin = i_Admin;
+        }
+    }
+    
+    
+    
+    public static class Order
+    {
+        private User                user;
+        
+        private Map<String ,Object> attrs = new HashMap<String ,Object>();
+        
+        public User getUser()
+        {
+            return user;
+        }
+        
+        public void setUser(User i_User)
+        {
+            this.user = i_User;
+        }
+        
+        public Map<String ,Object> getAttrs()
+        {
+            return attrs;
+        }
+        
+        /** 与 getFOO() 仅大小写不同，不区分大小写时有歧义 */
+        public String getFoo()
+        {
+            return "foo";
+        }
+        
+        public String getFOO()
+        {
+            return "FOO";
+        }
+    }
+    
+    
+    
+    /** 非公开的类，其公开的Getter方法需放开访问权限 */
+    private static class Hidden
+    {
+        public String getCode()
+        {
+            return "hidden";
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_Getter() throws Exception
+    {
+        User  v_User  = new User();
+        Order v_Order = new Order();
+        v_User.setName("ZhengWei");
+        v_User.setAdmin(true);
+        v_Order.setUser(v_User);
+        
+        DBCQLAccessor v_Name  = DBCQLAccessor.getAccessor(Order.class ,"user.name");
+        DBCQLAccessor v_Admin = DBCQLAccessor.getAccessor(Order.class ,"getUser.isAdmin");
+        
+        Assert.assertNotNull(v_Name);
+        Assert.assertEquals("ZhengWei"    ,v_Name.getValue(v_Order));
+        Assert.assertEquals(String.class  ,v_Name.getReturnType());
+        Assert.assertEquals("user.name"   ,v_Name.getPlaceholder());
+        
+        Assert.assertNotNull(v_Admin);
+        Assert.assertEquals(Boolean.TRUE  ,v_Admin.getValue(v_Order));
+        Assert.assertEquals(boolean.class ,v_Admin.getReturnType());
+        
+        // 不区分大小写
+        Assert.assertEquals("ZhengWei"    ,DBCQLAccessor.getAccessor(Order.class ,"USER.NAME").getValue(v_Order));
+    }
+    
+    
+    
+    @Test
+    public void test_Cache()
+    {
+        DBCQLAccessor v_First  = DBCQLAccessor.getAccessor(User.class ,"name");
+        DBCQLAccessor v_Second = DBCQLAccessor.getAccessor(User.class ,"name");
+        
+        Assert.assertNotNull(v_First);
+        Assert.assertSame(v_First ,v_Second);
+        
+        // 清空缓存后重新解释
+        DBCQLAccessor.clear();
+        DBCQLAccessor v_Third = DBCQLAccessor.getAccessor(User.class ,"name");
+        
+        Assert.assertNotNull(v_Third);
+        Assert.assertNotSame(v_First ,v_Third);
+        Assert.assertSame(v_Third ,DBCQLAccessor.getAccessor(User.class ,"name"));
+    }
+    
+    
+    
+    @Test
+    public void test_None()
+    {
+        // 不能生成访问器的，缓存为否定标记。多次获取均返回NULL，由调用者回退为 MethodReflect
+        for (int i=0; i<2; i++)
+        {
+            Assert.assertNull(DBCQLAccessor.getAccessor(Order.class   ,"nothing"));
+            Assert.assertNull(DBCQLAccessor.getAccessor(Order.class   ,"attrs.key"));
+            Assert.assertNull(DBCQLAccessor.getAccessor(Order.class   ,"fOo"));
+            Assert.assertNull(DBCQLAccessor.getAccessor(HashMap.class ,"key"));
+            Assert.assertNull(DBCQLAccessor.getAccessor(User.class    ,"admin.value"));
+        }
+        
+        Assert.assertNull(DBCQLAccessor.getAccessor(null        ,"name"));
+        Assert.assertNull(DBCQLAccessor.getAccessor(User.class  ,null));
+        Assert.assertNull(DBCQLAccessor.getAccessor(User.class  ,""));
+        
+        // 区分大小写能确定的，没有歧义
+        Assert.assertNotNull(DBCQLAccessor.getAccessor(Order.class ,"foo"));
+        Assert.assertNotNull(DBCQLAccessor.getAccessor(Order.class ,"FOO"));
+    }
+    
+    
+    
+    @Test
+    public void test_NullFallback() throws Exception
+    {
+        DBCQLAccessor v_Name  = DBCQLAccessor.getAccessor(Order.class ,"user.name");
+        Order         v_Order = new Order();
+        
+        // 路径中间的属性值为NULL时，回退为 MethodReflect 取值
+        Assert.assertNull(v_Name.getValue(v_Order));
+        
+        v_Order.setUser(new User());
+        Assert.assertNull(v_Name.getValue(v_Order));
+    }
+    
+    
+    
+    @Test
+    public void test_NonPublicClass() throws Exception
+    {
+        DBCQLAccessor v_Code = DBCQLAccessor.getAccessor(Hidden.class ,"code");
+        
+        Assert.assertNotNull(v_Code);
+        Assert.assertEquals("hidden" ,v_Code.getValue(new Hidden()));
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,226 @@
+package org.hy.common.xcql.junit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hy.common.xcql.DBCQL;
+import org.hy.common.xcql.XCQL;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+
+
+
+
+
+/**
+ * 测试单元：参数化模式生成的常量CQL文本及参数
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  添加：DDL的占位符仍按内联后的CQL文本执行的测试
+ */
+public class JU_DBCQLParameterized
+{
+    
+    private Query toQuery(String i_CQL ,Map<String ,Object> i_Values)
+    {
+        DBCQL v_DBCQL = new DBCQL(i_CQL);
+        v_DBCQL.setParameterized(true);
+        
+        return v_DBCQL.getQuery(i_Values ,null);
+    }
+    
+    
+    
+    private Map<String ,Object> newValues()
+    {
+        Map<String ,Object> v_Values = new HashMap<String ,Object>();
+        
+        v_Values.put("xid"     ,"DS_001");
+        v_Values.put("port"    ,3306);
+        v_Values.put("rate"    ,0.5D);
+        v_Values.put("enabled" ,true);
+        v_Values.put("label"   ,"数据源");
+        
+        return v_Values;
+    }
+    
+    
+    
+    /**
+     * 引号中的占位符为字符串参数，值位置的占位符为保持类型的参数
+     */
+    @Test
+    public void test_QuotedAndUnquoted()
+    {
+        Query v_Query = this.toQuery("MATCH (n) WHERE n.xid = '#xid' AND n.port = #port RETURN n" ,this.newValues());
+        
+        Assert.assertEquals("MATCH (n) WHERE n.xid = $xid AND n.port = $port RETURN n" ,v_Query.text());
+        Assert.assertEquals("DS_001"           ,v_Query.parameters().asMap().get("xid"));
+        Assert.assertEquals(Long.valueOf(3306) ,v_Query.parameters().asMap().get("port"));
+    }
+    
+    
+    
+    @Test
+    public void test_MapLiteral()
+    {
+        Query v_Query = this.toQuery("CREATE (n:`数据源` {xid: '#xid' ,port: #port ,rate: #rate ,enabled: #enabled})" ,this.newValues());
+        
+        Assert.assertEquals("CREATE (n:`数据源` {xid: $xid ,port: $port ,rate: $rate ,enabled: $enabled})" ,v_Query.text());
+        Assert.assertEquals(Long.valueOf(3306) ,v_Query.parameters().asMap().get("port"));
+        Assert.assertEquals(0.5D               ,v_Query.parameters().asMap().get("rate"));
+        Assert.assertEquals(Boolean.TRUE       ,v_Query.parameters().asMap().get("enabled"));
+    }
+    
+    
+    
+    @Test
+    public void test_Set()
+    {
+        Query v_Query = this.toQuery("MATCH (n) WHERE n.xid = '#xid' SET n.port = #port ,n.rate=#rate" ,this.newValues());
+        
+        Assert.assertEquals("MATCH (n) WHERE n.xid = $xid SET n.port = $port ,n.rate=$rate" ,v_Query.text());
+        Assert.assertEquals(Long.valueOf(3306) ,v_Query.parameters().asMap().get("port"));
+    }
+    
+    
+    
+    /**
+     * 标签、关系类型等结构性的位置，仍为拼接
+     */
+    @Test
+    public void test_LabelInline()
+    {
+        Query v_Query = this.toQuery("MATCH (n:#label {port: #port})-[r:#label]->(m) RETURN n ,#port AS port" ,this.newValues());
+        
+        Assert.assertEquals("MATCH (n:数据源 {port: $port})-[r:数据源]->(m) RETURN n ,3306 AS port" ,v_Query.text());
+        Assert.assertEquals(1 ,v_Query.parameters().size());
+    }
+    
+    
+    
+    /**
+     * 动态分段中的占位符，按前面分段中未闭合的括号判定是否为值位置
+     */
+    @Test
+    public void test_Segment()
+    {
+        Query v_Query = this.toQuery("MATCH (n) WHERE n.xid = '#xid' <[ AND n.port = #port ]> <[ AND n.comment = '#comment' ]> RETURN n" ,this.newValues());
+        
+        Assert.assertEquals("MATCH (n) WHERE n.xid = $xid AND n.port = $port RETURN n" ,v_Query.text().replaceAll("\\s+" ," "));
+        Assert.assertFalse(v_Query.parameters().containsKey("comment"));
+        
+        v_Query = this.toQuery("MERGE (n {xid: '#xid' <[ ,port: #port ]>})" ,this.newValues());
+        Assert.assertEquals("MERGE (n {xid: $xid ,port: $port })" ,v_Query.text().replaceAll("\\s+" ," "));
+    }
+    
+    
+    
+    /**
+     * 同一占位符既在引号中、又在值位置时，两个参数的类型不同
+     */
+    @Test
+    public void test_Conflict()
+    {
+        Query v_Query = this.toQuery("MATCH (n) WHERE n.port = #port SET n.portText = '#port'" ,this.newValues());
+        
+        Assert.assertEquals("MATCH (n) WHERE n.port = $port_v SET n.portText = $port" ,v_Query.text());
+        Assert.assertEquals(Long.valueOf(3306) ,v_Query.parameters().asMap().get("port_v"));
+        Assert.assertEquals("3306"             ,v_Query.parameters().asMap().get("port"));
+    }
+    
+    
+    
+    @Test
+    public void test_Null()
+    {
+        Map<String ,Object> v_Values = this.newValues();
+        v_Values.remove("port");
+        
+        Query v_Query = this.toQuery("MATCH (n) WHERE n.xid = '#xid' SET n.port = #port" ,v_Values);
+        
+        Assert.assertEquals("MATCH (n) WHERE n.xid = $xid SET n.port = $port" ,v_Query.text());
+        Assert.assertTrue(v_Query.parameters().containsKey("port"));
+        Assert.assertTrue(v_Query.parameters().get("port").isNull());
+    }
+    
+    
+    
+    /**
+     * 不同行的值生成相同的CQL文本，可合并为一个UNWIND批次
+     */
+    @Test
+    public void test_Unwind()
+    {
+        String              v_CQL     = "CREATE (n:`数据源` {xid: '#xid' ,port: #port})";
+        Map<String ,Object> v_Values1 = this.newValues();
+        Map<String ,Object> v_Values2 = this.newValues();
+        v_Values2.put("xid"  ,"DS_002");
+        v_Values2.put("port" ,7687);
+        
+        Query v_Query1 = this.toQuery(v_CQL ,v_Values1);
+        Query v_Query2 = this.toQuery(v_CQL ,v_Values2);
+        
+        Assert.assertEquals(v_Query1.text() ,v_Query2.text());
+        Assert.assertEquals("UNWIND $rows AS row\nCREATE (n:`数据源` {xid: row.xid ,port: row.port})" ,DBCQL.toUnwindCQL(v_Query1.text() ,"rows" ,"row"));
+    }
+    
+    
+    
+    /**
+     * DDL（索引、约束等）不支持$参数，即使是参数化模式，仍按占位符内联后的CQL文本执行
+     */
+    @Test
+    public void test_DDL()
+    {
+        String              v_CQL    = "CREATE VECTOR INDEX idx_xid IF NOT EXISTS FOR (n:`数据源`) ON (n.xid) OPTIONS {indexConfig: {`vector.dimensions`: #port ,`vector.similarity_function`: '#xid'}}";
+        String              v_Inline = "CREATE VECTOR INDEX idx_xid IF NOT EXISTS FOR (n:`数据源`) ON (n.xid) OPTIONS {indexConfig: {`vector.dimensions`: 3306 ,`vector.similarity_function`: 'DS_001'}}";
+        Map<String ,Object> v_Values = this.newValues();
+        
+        // 参数化的查询中，值位置的占位符为$参数
+        Query v_Query = this.toQuery(v_CQL ,v_Values);
+        Assert.assertTrue(v_Query.text().contains("$port"));
+        
+        DBCQL v_DBCQL = new DBCQL(v_CQL);
+        v_DBCQL.setParameterized(true);
+        Assert.assertEquals(v_Inline ,v_DBCQL.getCQL(v_Values ,null));
+        
+        // 执行DDL时，执行的是内联后的CQL文本，无$参数
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(i_Query -> new ArrayList<>());
+        XCQL                v_XCQL  = new XCQL();
+        v_XCQL.setDataSourceCQL(v_DSCQL);
+        v_XCQL.setContent(v_CQL);
+        v_XCQL.setParameterized(true);
+        
+        Assert.assertTrue(v_XCQL.execute(v_Values));
+        Assert.assertEquals(1        ,v_DSCQL.getRunCount());
+        Assert.assertEquals(v_Inline ,v_DSCQL.getQueries().get(0).text());
+        Assert.assertEquals(0        ,v_DSCQL.getQueries().get(0).parameters().size());
+    }
+    
+    
+    
+    @Test
+    public void test_ToParamValue()
+    {
+        LocalDateTime v_Time = LocalDateTime.of(2026 ,10 ,18 ,8 ,30 ,0);
+        
+        Assert.assertEquals(Long.valueOf(3306) ,DBCQL.toParamValue(3306L));
+        Assert.assertEquals(v_Time             ,DBCQL.toParamValue(v_Time));
+        Assert.assertEquals(v_Time             ,DBCQL.toParamValue(java.sql.Timestamp.valueOf(v_Time)));
+        Assert.assertEquals(LocalDate.of(2026 ,10 ,18) ,DBCQL.toParamValue(java.sql.Date.valueOf("2026-10-18")));
+        Assert.assertEquals(1.25D              ,DBCQL.toParamValue(new BigDecimal("1.25")));
+        Assert.assertEquals(Arrays.asList(1L ,2L) ,DBCQL.toParamValue(new long [] {1L ,2L}));
+        Assert.assertNull(DBCQL.toParamValue(null));
+    }
+    
+}
+    
\ No newline at end of file
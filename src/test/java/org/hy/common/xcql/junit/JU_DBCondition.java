@@ -0,0 +1,156 @@
+package org.hy.common.xcql.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hy.common.xcql.DBCondition;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：Fel条件的预解释。同一预解释的语法树被多线程并发判定
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_DBCondition
+{
+    
+    private static final String $Condition = ":age >= 18 && :name == 'A'";
+    
+    private static final int    $Threads   = 8;
+    
+    private static final int    $Loops     = 2000;
+    
+    
+    
+    private static Map<String ,Object> newValues(int i_Age ,String i_Name)
+    {
+        Map<String ,Object> v_Values = new HashMap<String ,Object>();
+        
+        v_Values.put("age"  ,i_Age);
+        v_Values.put("name" ,i_Name);
+        
+        return v_Values;
+    }
+    
+    
+    
+    /**
+     * 多线程并发判定，每个线程使用不同的占位符取值。返回判定结果与预期不同的次数
+     */
+    private static int concurrentEval(DBCondition i_Condition) throws Exception
+    {
+        ExecutorService       v_Pool    = Executors.newFixedThreadPool($Threads);
+        CountDownLatch        v_Start   = new CountDownLatch(1);
+        List<Future<Integer>> v_Futures = new ArrayList<Future<Integer>>();
+        
+        try
+        {
+            for (int t=0; t<$Threads; t++)
+            {
+                final int v_ThreadNo = t;
+                v_Futures.add(v_Pool.submit(() ->
+                {
+                    v_Start.await();
+                    
+                    int v_Errors = 0;
+                    for (int i=0; i<$Loops; i++)
+                    {
+                        int     v_Age    = (v_ThreadNo * 7 + i) % 40;
+                        String  v_Name   = (i + v_ThreadNo) % 3 == 0 ? "B" : "A";
+                        boolean v_Expect = v_Age >= 18 && "A".equals(v_Name);
+                        
+                        if ( i_Condition.isPass(newValues(v_Age ,v_Name)) != v_Expect )
+                        {
+                            v_Errors++;
+                        }
+                    }
+                    return v_Errors;
+                }));
+            }
+            
+            v_Start.countDown();
+            
+            int v_Errors = 0;
+            for (Future<Integer> v_Future : v_Futures)
+            {
+                v_Errors += v_Future.get(60 ,TimeUnit.SECONDS);
+            }
+            return v_Errors;
+        }
+        finally
+        {
+            v_Pool.shutdownNow();
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_IsPass()
+    {
+        DBCondition v_Condition = new DBCondition("flag" ,$Condition);
+        
+        Assert.assertTrue (v_Condition.isPass(newValues(18 ,"A")));
+        Assert.assertFalse(v_Condition.isPass(newValues(17 ,"A")));
+        Assert.assertFalse(v_Condition.isPass(newValues(30 ,"B")));
+        
+        // 无占位符取值时
+        Assert.assertFalse(new DBCondition("flag" ,":name == NULL").isPass(newValues(18 ,"A")));
+        Assert.assertTrue (new DBCondition("flag" ,":name == NULL").isPass(new HashMap<String ,Object>()));
+    }
+    
+    
+    
+    /**
+     * 预解释的语法树是共享的，判定时的占位符取值是每次独立的上下文，并发判定时互不干扰
+     */
+    @Test
+    public void test_ConcurrentEval() throws Exception
+    {
+        DBCondition v_Condition = new DBCondition("flag" ,$Condition);
+        
+        Assert.assertEquals(0 ,concurrentEval(v_Condition));
+    }
+    
+    
+    
+    /**
+     * 反序列化后预解释的结果为空，并发的首次判定会各自预解释，结果相同
+     */
+    @Test
+    public void test_ConcurrentCompile() throws Exception
+    {
+        ByteArrayOutputStream v_Bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream v_Output = new ObjectOutputStream(v_Bytes))
+        {
+            v_Output.writeObject(new DBCondition("flag" ,$Condition));
+        }
+        
+        DBCondition v_Condition = null;
+        try (ObjectInputStream v_Input = new ObjectInputStream(new ByteArrayInputStream(v_Bytes.toByteArray())))
+        {
+            v_Condition = (DBCondition) v_Input.readObject();
+        }
+        
+        Assert.assertEquals(0 ,concurrentEval(v_Condition));
+    }
+    
+}
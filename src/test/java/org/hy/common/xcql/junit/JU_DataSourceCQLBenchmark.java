@@ -0,0 +1,156 @@
+package org.hy.common.xcql.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hy.common.xcql.Connection;
+import org.hy.common.xcql.DataSourceCQL;
+import org.hy.common.xml.log.Logger;
+import org.junit.Assume;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 数据库连接信息获取、关闭连接的多线程基准测试。
+ * 
+ * 驱动的会话是延迟连接的，只获取、关闭会话而不执行CQL时，不会访问网络，所以不需要真实的图数据库。
+ * 
+ * 对比两种情况：
+ *   1. 无锁：DataSourceCQL.getConnection() 及 Connection.close() 的当前实现；
+ *   2. 全局锁：在外层再加一把所有线程共用的锁，让获取连接、关闭连接串行执行，作为串行化代价的参照。
+ *      它不是旧实现本身：旧实现按每个 DataSourceCQL 对象加锁，锁内执行的操作也不同，对比的倍数只是近似值。
+ * 
+ * 基准测试耗时较长，默认跳过。须指定系统属性才执行：mvn test -Dxcql.benchmark=true
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修改：默认跳过，指定系统属性 xcql.benchmark 时才执行；测试结束时关闭连接驱动
+ */
+public class JU_DataSourceCQLBenchmark
+{
+    private static final Logger $Logger   = new Logger(JU_DataSourceCQLBenchmark.class ,true);
+    
+    /** 并发线程数 */
+    private static final int    $Threads  = 200;
+    
+    /** 每次测试的时长（单位：毫秒） */
+    private static final long   $Duration = 2000L;
+    
+    
+    
+    private volatile boolean isStop;
+    
+    
+    
+    @Test
+    public void test_Benchmark() throws InterruptedException
+    {
+        Assume.assumeTrue("Run with -Dxcql.benchmark=true" ,Boolean.getBoolean("xcql.benchmark"));
+        
+        DataSourceCQL v_DSCQL = new DataSourceCQL();
+        
+        v_DSCQL.setUrl("bolt://127.0.0.1:7687");
+        v_DSCQL.setUsername("neo4j");
+        v_DSCQL.setPassword("neo4j");
+        
+        try
+        {
+            // 预热：初始化驱动，并让JIT完成编译
+            this.benchmark(v_DSCQL ,null);
+            
+            long v_LockFree   = this.benchmark(v_DSCQL ,null);
+            long v_GlobalLock = this.benchmark(v_DSCQL ,new Object());
+            
+            $Logger.info("Threads: " + $Threads + "  LockFree: " + v_LockFree + " ops/s  GlobalLock: " + v_GlobalLock + " ops/s  Ratio: " + String.format("%.2f" ,(double) v_LockFree / Math.max(v_GlobalLock ,1L)));
+            
+            assertEquals(0L ,v_DSCQL.getConnActiveCount());
+            assertTrue(v_DSCQL.getConnMaxUseCount() >= 1L);
+            assertTrue(v_DSCQL.getConnMaxUseCount() <= $Threads);
+        }
+        finally
+        {
+            v_DSCQL.close();
+        }
+    }
+    
+    
+    
+    /**
+     * 多线程循环获取、关闭连接
+     * 
+     * @param i_DSCQL  数据库连接信息
+     * @param i_Lock   所有线程共用的全局锁。为空时不加锁
+     * @return         每秒的获取、关闭次数
+     * @throws InterruptedException
+     */
+    private long benchmark(final DataSourceCQL i_DSCQL ,final Object i_Lock) throws InterruptedException
+    {
+        final CountDownLatch v_Start = new CountDownLatch(1);
+        final LongAdder      v_Count = new LongAdder();
+        Thread []            v_Pool  = new Thread[$Threads];
+        
+        this.isStop = false;
+        
+        for (int x=0; x<$Threads; x++)
+        {
+            v_Pool[x] = new Thread(() ->
+            {
+                long v_Times = 0L;
+                
+                try
+                {
+                    v_Start.await();
+                }
+                catch (InterruptedException exce)
+                {
+                    return;
+                }
+                
+                while ( !this.isStop )
+                {
+                    if ( i_Lock == null )
+                    {
+                        Connection v_Conn = i_DSCQL.getConnection();
+                        v_Conn.close();
+                    }
+                    else
+                    {
+                        Connection v_Conn = null;
+                        synchronized ( i_Lock )
+                        {
+                            v_Conn = i_DSCQL.getConnection();
+                        }
+                        synchronized ( i_Lock )
+                        {
+                            v_Conn.close();
+                        }
+                    }
+                    v_Times++;
+                }
+                
+                v_Count.add(v_Times);
+            });
+            v_Pool[x].start();
+        }
+        
+        v_Start.countDown();
+        Thread.sleep($Duration);
+        this.isStop = true;
+        
+        for (Thread v_Thread : v_Pool)
+        {
+            v_Thread.join();
+        }
+        
+        return (long) (v_Count.sum() * 1000D / $Duration);
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,215 @@
+package org.hy.common.xcql.junit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.hy.common.xcql.XCQL;
+import org.hy.common.xcql.XCQLData;
+import org.hy.common.xcql.XCQLResult;
+import org.hy.common.xcql.XCQLTrigger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.internal.InternalRecord;
+
+
+
+
+
+/**
+ * 测试单元：基于异步会话的查询、写入及更新
+ * 
+ * 注：不连接数据库。内存中的数据库连接池组（MemoryDataSourceCQL）的异步会话在公共线程池中执行CQL
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_XCQLAsync
+{
+    
+    private static List<Record> newRecords(Query i_Query)
+    {
+        List<String> v_Keys    = Arrays.asList("n.xid" ,"n.port");
+        List<Record> v_Records = new ArrayList<Record>();
+        
+        for (int i=0; i<3; i++)
+        {
+            v_Records.add(new InternalRecord(v_Keys ,new Value[] {Values.value("DS_" + i) ,Values.value(3306 + i)}));
+        }
+        
+        return v_Records;
+    }
+    
+    
+    
+    private XCQL newXCQL(MemoryDataSourceCQL i_DSCQL ,String i_CQL)
+    {
+        XCQL       v_XCQL   = new XCQL();
+        XCQLResult v_Result = new XCQLResult();
+        
+        v_Result.setTable("java.util.ArrayList");
+        v_Result.setRow("java.util.HashMap");
+        v_Result.setFill("add(row)");
+        v_Result.setCfill("put(colName ,colValue)");
+        
+        v_XCQL.setDataSourceCQL(i_DSCQL);
+        v_XCQL.setContent(i_CQL);
+        v_XCQL.setResult(v_Result);
+        
+        return v_XCQL;
+    }
+    
+    
+    
+    /**
+     * 触发器：携带公共参数，记录触发源影响的行数及是否异常
+     */
+    private MemoryDataSourceCQL newTrigger(XCQL io_XCQL)
+    {
+        MemoryDataSourceCQL v_DSCQL   = new MemoryDataSourceCQL(i_Query -> new ArrayList<Record>());
+        XCQL                v_Log     = new XCQL();
+        XCQLTrigger         v_Trigger = new XCQLTrigger();
+        
+        v_Log.setDataSourceCQL(v_DSCQL);
+        v_Log.setContent("CREATE (n:`日志` {rows: #XT_IORowCount ,isError: #XT_IsError})");
+        v_Trigger.setCreateUpdate(v_Log);
+        
+        io_XCQL.setTrigger(v_Trigger);
+        io_XCQL.setTriggerParams(true);
+        
+        return v_DSCQL;
+    }
+    
+    
+    
+    private static XCQLData get(CompletableFuture<XCQLData> i_Future) throws Exception
+    {
+        return i_Future.get(10 ,TimeUnit.SECONDS);
+    }
+    
+    
+    
+    /**
+     * 异步查询：结果集转为Java实例对象，完成时已释放连接并触发
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_QueryAsync() throws Exception
+    {
+        MemoryDataSourceCQL v_DSCQL   = new MemoryDataSourceCQL(JU_XCQLAsync::newRecords);
+        XCQL                v_XCQL    = this.newXCQL(v_DSCQL ,"MATCH (n:`数据源` {xid: '#xid'}) RETURN n.xid ,n.port");
+        MemoryDataSourceCQL v_Trigger = this.newTrigger(v_XCQL);
+        Map<String ,Object> v_Params  = new HashMap<String ,Object>();
+        
+        v_Params.put("xid" ,"DS_1");
+        XCQLData v_Ret = get(v_XCQL.queryAsync(v_Params).toCompletableFuture());
+        
+        List<Map<String ,Object>> v_Rows = (List<Map<String ,Object>>) v_Ret.getDatas();
+        Assert.assertEquals(3      ,v_Ret.getRowCount());
+        Assert.assertEquals(3      ,v_Rows.size());
+        Assert.assertEquals("DS_0" ,v_Rows.get(0).get("xid"));
+        Assert.assertTrue  (v_DSCQL.getQueries().get(0).text().contains("xid: 'DS_1'"));
+        
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        Assert.assertEquals(1  ,v_Trigger.getRunCount());
+        Assert.assertTrue  (v_Trigger.getQueries().get(0).text().contains("rows: 3 ,isError: 0"));
+    }
+    
+    
+    
+    /**
+     * 异步执行期间不占用调用者的线程
+     */
+    @Test
+    public void test_NonBlocking() throws Exception
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLAsync::newRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,"MATCH (n:`数据源`) RETURN n.xid ,n.port");
+        CountDownLatch      v_Latch = new CountDownLatch(1);
+        
+        v_DSCQL.setOnRun(() ->
+        {
+            try
+            {
+                v_Latch.await();
+            }
+            catch (InterruptedException exce)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+        
+        CompletableFuture<XCQLData> v_Future = v_XCQL.queryAsync().toCompletableFuture();
+        
+        Assert.assertFalse (v_Future.isDone());
+        Assert.assertEquals(1L ,v_DSCQL.getConnActiveCount());
+        
+        v_Latch.countDown();
+        Assert.assertEquals(3  ,get(v_Future).getRowCount());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+    }
+    
+    
+    
+    /**
+     * 异步写入、更新：影响的数量与同步的 executeInsert() 、 executeUpdate() 的统计口径一致
+     */
+    @Test
+    public void test_ExecuteAsync() throws Exception
+    {
+        MemoryDataSourceCQL v_DSCQL  = new MemoryDataSourceCQL(i_Query -> new ArrayList<Record>());
+        XCQL                v_Insert = this.newXCQL(v_DSCQL ,"CREATE (n:`数据源` {xid: '#xid' ,port: #port})");
+        XCQL                v_Update = this.newXCQL(v_DSCQL ,"MATCH (n:`数据源` {xid: '#xid'}) SET n.port = #port");
+        Map<String ,Object> v_Params = new HashMap<String ,Object>();
+        
+        v_Params.put("xid"  ,"DS_1");
+        v_Params.put("port" ,3306);
+        
+        Assert.assertEquals(1 ,get(v_Insert.executeInsertAsync(v_Params).toCompletableFuture()).getRowCount());
+        Assert.assertEquals(1 ,get(v_Update.executeUpdateAsync(v_Params).toCompletableFuture()).getRowCount());
+        Assert.assertEquals(2 ,v_DSCQL.getRunCount());
+        Assert.assertTrue  (v_DSCQL.getQueries().get(0).text().contains("port: 3306"));
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+    }
+    
+    
+    
+    /**
+     * 执行异常：异步结果以原始异常完成，释放连接，并按异常触发
+     */
+    @Test
+    public void test_Error() throws Exception
+    {
+        MemoryDataSourceCQL v_DSCQL   = new MemoryDataSourceCQL(JU_XCQLAsync::newRecords);
+        XCQL                v_XCQL    = this.newXCQL(v_DSCQL ,"MATCH (n:`数据源`) RETURN n.xid ,n.port");
+        MemoryDataSourceCQL v_Trigger = this.newTrigger(v_XCQL);
+        
+        v_DSCQL.setOnRun(() -> { throw new ServiceUnavailableException("Connection lost"); });
+        try
+        {
+            get(v_XCQL.queryAsync().toCompletableFuture());
+            Assert.fail();
+        }
+        catch (ExecutionException exce)
+        {
+            Assert.assertTrue(exce.getCause() instanceof ServiceUnavailableException);
+        }
+        
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        Assert.assertEquals(1  ,v_Trigger.getRunCount());
+        Assert.assertTrue  (v_Trigger.getQueries().get(0).text().contains("rows: 0 ,isError: 1"));
+    }
+    
+}
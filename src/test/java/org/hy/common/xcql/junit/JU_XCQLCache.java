@@ -0,0 +1,215 @@
+package org.hy.common.xcql.junit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hy.common.xcql.XCQL;
+import org.hy.common.xcql.XCQLCache;
+import org.hy.common.xcql.XCQLResult;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+
+
+
+
+/**
+ * 测试单元：查询结果的缓存（XCQLCache）的命中、LRU淘汰、有效时长、按标签失效及失效版本号
+ * 
+ * 注：不连接数据库。内存中的数据库连接池组（MemoryDataSourceCQL）每次执行CQL时返回相同的记录，并统计执行的次数
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修改：移至测试包，通过XCQL的公开方法测试；添加修改命中结果的测试
+ */
+public class JU_XCQLCache
+{
+    
+    private static List<Record> newRecords(Query i_Query)
+    {
+        List<String> v_Keys    = Arrays.asList("n.xid" ,"n.port");
+        List<Record> v_Records = new ArrayList<Record>();
+        
+        for (int i=0; i<3; i++)
+        {
+            v_Records.add(new InternalRecord(v_Keys ,new Value[] {Values.value("DS_" + i) ,Values.value(3306 + i)}));
+        }
+        
+        return v_Records;
+    }
+    
+    
+    
+    private XCQL newXCQL(MemoryDataSourceCQL i_DSCQL ,int i_CacheSize ,long i_CacheTTL)
+    {
+        XCQL       v_XCQL   = new XCQL();
+        XCQLResult v_Result = new XCQLResult();
+        
+        v_Result.setTable("java.util.ArrayList");
+        v_Result.setRow("java.util.HashMap");
+        v_Result.setFill("add(row)");
+        v_Result.setCfill("put(colName ,colValue)");
+        
+        v_XCQL.setDataSourceCQL(i_DSCQL);
+        v_XCQL.setContent("MATCH (n:`数据源`) WHERE n.xid = '#xid' RETURN n.xid ,n.port");
+        v_XCQL.setResult(v_Result);
+        v_XCQL.setCacheTTL(i_CacheTTL);
+        v_XCQL.setCacheSize(i_CacheSize);
+        
+        return v_XCQL;
+    }
+    
+    
+    
+    @SuppressWarnings("unchecked")
+    private List<Map<String ,Object>> query(XCQL i_XCQL ,String i_XID)
+    {
+        Map<String ,Object> v_Params = new HashMap<String ,Object>();
+        v_Params.put("xid" ,i_XID);
+        
+        return (List<Map<String ,Object>>) i_XCQL.queryXCQLData(v_Params).getDatas();
+    }
+    
+    
+    
+    /**
+     * 命中缓存时不执行CQL。调用者修改返回的结果，不影响后续的命中
+     */
+    @Test
+    public void test_Hit()
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLCache::newRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,10 ,0L);
+        XCQLCache           v_Cache = v_XCQL.getCache();
+        
+        List<Map<String ,Object>> v_First  = this.query(v_XCQL ,"A");
+        List<Map<String ,Object>> v_Second = this.query(v_XCQL ,"A");
+        
+        Assert.assertEquals(1  ,v_DSCQL.getRunCount());
+        Assert.assertEquals(1L ,v_Cache.getMissCount());
+        Assert.assertEquals(1L ,v_Cache.getHitCount());
+        Assert.assertEquals(3  ,v_First.size());
+        Assert.assertEquals(v_First ,v_Second);
+        Assert.assertNotSame(v_First ,v_Second);
+        
+        // 修改首次查询及命中的结果
+        v_First .clear();
+        v_Second.remove(0);
+        v_Second.add(new HashMap<String ,Object>());
+        
+        List<Map<String ,Object>> v_Third = this.query(v_XCQL ,"A");
+        Assert.assertEquals(1      ,v_DSCQL.getRunCount());
+        Assert.assertEquals(3      ,v_Third.size());
+        Assert.assertEquals("DS_0" ,v_Third.get(0).get("xid"));
+        Assert.assertEquals("DS_2" ,v_Third.get(2).get("xid"));
+        
+        // 参数不同时，不命中
+        this.query(v_XCQL ,"B");
+        Assert.assertEquals(2  ,v_DSCQL.getRunCount());
+        Assert.assertEquals(2L ,v_Cache.getMissCount());
+    }
+    
+    
+    
+    @Test
+    public void test_LRU()
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLCache::newRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,2 ,0L);
+        
+        this.query(v_XCQL ,"A");
+        this.query(v_XCQL ,"B");
+        
+        // 访问A后，B为最久未被访问的
+        this.query(v_XCQL ,"A");
+        this.query(v_XCQL ,"C");
+        
+        Assert.assertEquals(2 ,v_XCQL.getCache().size());
+        Assert.assertEquals(3 ,v_DSCQL.getRunCount());
+        
+        this.query(v_XCQL ,"A");
+        Assert.assertEquals(3 ,v_DSCQL.getRunCount());
+        
+        this.query(v_XCQL ,"B");
+        Assert.assertEquals(4 ,v_DSCQL.getRunCount());
+    }
+    
+    
+    
+    @Test
+    public void test_TTL() throws InterruptedException
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLCache::newRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,10 ,50L);
+        
+        this.query(v_XCQL ,"A");
+        this.query(v_XCQL ,"A");
+        Assert.assertEquals(1 ,v_DSCQL.getRunCount());
+        
+        Thread.sleep(120L);
+        
+        this.query(v_XCQL ,"A");
+        Assert.assertEquals(2 ,v_DSCQL.getRunCount());
+    }
+    
+    
+    
+    @Test
+    public void test_Invalidate()
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLCache::newRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,10 ,0L);
+        XCQLCache           v_Cache = v_XCQL.getCache();
+        
+        this.query(v_XCQL ,"A");
+        
+        // 标签不相同的不失效
+        v_Cache.invalidate(Set.of("其它"));
+        this.query(v_XCQL ,"A");
+        Assert.assertEquals(1 ,v_DSCQL.getRunCount());
+        
+        // 涉及相同标签的失效
+        v_Cache.invalidate(Set.of("数据源" ,"X"));
+        Assert.assertEquals(1L ,v_Cache.getInvalidCount());
+        this.query(v_XCQL ,"A");
+        Assert.assertEquals(2 ,v_DSCQL.getRunCount());
+        
+        // 写操作的标签无法识别时，失效所有
+        XCQLCache.invalidates(Set.of());
+        Assert.assertEquals(0 ,v_Cache.size());
+    }
+    
+    
+    
+    @Test
+    public void test_Version()
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLCache::newRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,10 ,0L);
+        XCQLCache           v_Cache = v_XCQL.getCache();
+        
+        // 查询执行期间有失效发生（即使标签不相同），查询结果不写入缓存
+        v_DSCQL.setOnRun(() -> v_Cache.invalidate(Set.of("其它")));
+        this.query(v_XCQL ,"A");
+        Assert.assertEquals(0 ,v_Cache.size());
+        
+        v_DSCQL.setOnRun(null);
+        this.query(v_XCQL ,"A");
+        Assert.assertEquals(1 ,v_Cache.size());
+        
+        v_XCQL.clearCache();
+        Assert.assertEquals(0 ,v_Cache.size());
+        Assert.assertEquals(2 ,v_DSCQL.getRunCount());
+    }
+    
+}
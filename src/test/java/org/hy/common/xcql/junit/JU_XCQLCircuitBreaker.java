@@ -0,0 +1,234 @@
+package org.hy.common.xcql.junit;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hy.common.xcql.Connection;
+import org.hy.common.xcql.XCQL;
+import org.hy.common.xcql.XCQLCircuitBreaker;
+import org.hy.common.xcql.XCQLResult;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.exceptions.ClientException;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.exceptions.SessionExpiredException;
+import org.neo4j.driver.exceptions.TransientException;
+import org.neo4j.driver.internal.InternalRecord;
+
+
+
+
+
+/**
+ * 测试单元：数据库连接信息的熔断器（XCQLCircuitBreaker）
+ * 
+ * 注：不连接数据库。内存中的数据库连接池组（MemoryDataSourceCQL）执行CQL时的动作抛出异常，模拟数据库的故障
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_XCQLCircuitBreaker
+{
+    
+    /**
+     * 只有连接类的异常计为失败。死锁、获取锁超时等瞬时错误是正常的写竞争，不计为失败
+     */
+    @Test
+    public void test_IsFailure()
+    {
+        Assert.assertTrue (XCQLCircuitBreaker.isFailure(new ServiceUnavailableException("Unable to connect")));
+        Assert.assertTrue (XCQLCircuitBreaker.isFailure(new SessionExpiredException("Session expired")));
+        Assert.assertTrue (XCQLCircuitBreaker.isFailure(new RuntimeException(new ConnectException("Connection refused"))));
+        
+        Assert.assertFalse(XCQLCircuitBreaker.isFailure(new TransientException("Neo.TransientError.Transaction.DeadlockDetected" ,"Deadlock")));
+        Assert.assertFalse(XCQLCircuitBreaker.isFailure(new TransientException("Neo.TransientError.Transaction.LockAcquisitionTimeout" ,"Lock timeout")));
+        Assert.assertFalse(XCQLCircuitBreaker.isFailure(new ClientException("Neo.ClientError.Statement.SyntaxError" ,"Syntax error")));
+        Assert.assertFalse(XCQLCircuitBreaker.isFailure(null));
+    }
+    
+    
+    
+    private static List<Record> newRecords(Query i_Query)
+    {
+        List<String> v_Keys    = Arrays.asList("n.xid");
+        List<Record> v_Records = new ArrayList<Record>();
+        
+        for (int i=0; i<3; i++)
+        {
+            v_Records.add(new InternalRecord(v_Keys ,new Value[] {Values.value("DS_" + i)}));
+        }
+        
+        return v_Records;
+    }
+    
+    
+    
+    private MemoryDataSourceCQL newDataSourceCQL()
+    {
+        MemoryDataSourceCQL v_DSCQL   = new MemoryDataSourceCQL(JU_XCQLCircuitBreaker::newRecords);
+        XCQLCircuitBreaker  v_Breaker = new XCQLCircuitBreaker();
+        
+        v_Breaker.setWindowSize(4);
+        v_Breaker.setMinRequests(4);
+        v_Breaker.setErrorRate(0.5D);
+        v_Breaker.setOpenTime(100L);
+        v_DSCQL.setCircuitBreaker(v_Breaker);
+        
+        return v_DSCQL;
+    }
+    
+    
+    
+    private XCQL newXCQL(MemoryDataSourceCQL i_DSCQL)
+    {
+        XCQL       v_XCQL   = new XCQL();
+        XCQLResult v_Result = new XCQLResult();
+        
+        v_Result.setTable("java.util.ArrayList");
+        v_Result.setRow("java.util.HashMap");
+        v_Result.setFill("add(row)");
+        v_Result.setCfill("put(colName ,colValue)");
+        
+        v_XCQL.setDataSourceCQL(i_DSCQL);
+        v_XCQL.setContent("MATCH (n:`数据源`) RETURN n.xid");
+        v_XCQL.setResult(v_Result);
+        
+        return v_XCQL;
+    }
+    
+    
+    
+    private boolean query(XCQL i_XCQL)
+    {
+        try
+        {
+            i_XCQL.queryXCQLData();
+            return true;
+        }
+        catch (Exception exce)
+        {
+            return false;
+        }
+    }
+    
+    
+    
+    /**
+     * 通过请求窗口转换状态：关闭 -> 打开 -> 半开 -> 打开 -> 半开 -> 关闭
+     */
+    @Test
+    public void test_StateMachine() throws InterruptedException
+    {
+        MemoryDataSourceCQL v_DSCQL   = this.newDataSourceCQL();
+        XCQLCircuitBreaker  v_Breaker = v_DSCQL.getCircuitBreaker();
+        XCQL                v_XCQL    = this.newXCQL(v_DSCQL);
+        
+        // 关闭：请求数少于最少请求数时，不打开
+        Assert.assertTrue (this.query(v_XCQL));
+        Assert.assertTrue (this.query(v_XCQL));
+        v_DSCQL.setOnRun(() -> { throw new ServiceUnavailableException("Unable to connect"); });
+        Assert.assertFalse(this.query(v_XCQL));
+        Assert.assertEquals(XCQLCircuitBreaker.$State_Closed ,v_Breaker.getState());
+        
+        // 打开：窗口内4次请求、2次失败，失败率达到0.5
+        Assert.assertFalse(this.query(v_XCQL));
+        Assert.assertEquals(XCQLCircuitBreaker.$State_Open ,v_Breaker.getState());
+        Assert.assertEquals(1L ,v_Breaker.getOpenCount());
+        Assert.assertTrue(v_DSCQL.isException());
+        
+        // 打开时快速失败，不再执行CQL
+        int v_RunCount = v_DSCQL.getRunCount();
+        Assert.assertFalse(this.query(v_XCQL));
+        Assert.assertEquals(v_RunCount ,v_DSCQL.getRunCount());
+        
+        // 半开：到期后只放行一次试探请求。试探失败，重新打开
+        Thread.sleep(150L);
+        Assert.assertFalse(this.query(v_XCQL));
+        Assert.assertEquals(v_RunCount + 1 ,v_DSCQL.getRunCount());
+        Assert.assertEquals(XCQLCircuitBreaker.$State_Open ,v_Breaker.getState());
+        Assert.assertEquals(2L ,v_Breaker.getOpenCount());
+        
+        // 半开：试探成功，关闭
+        Thread.sleep(150L);
+        v_DSCQL.setOnRun(null);
+        Assert.assertTrue(v_Breaker.allowRequest());
+        Assert.assertEquals(XCQLCircuitBreaker.$State_HalfOpen ,v_Breaker.getState());
+        Assert.assertFalse(v_Breaker.allowRequest());
+        v_Breaker.onSuccess(1L);
+        Assert.assertEquals(XCQLCircuitBreaker.$State_Closed ,v_Breaker.getState());
+        
+        Assert.assertTrue(this.query(v_XCQL));
+        Assert.assertFalse(v_DSCQL.isException());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+    }
+    
+    
+    
+    /**
+     * 瞬时错误（如死锁）为正常的写竞争，再多也不打开
+     */
+    @Test
+    public void test_Transient()
+    {
+        MemoryDataSourceCQL v_DSCQL = this.newDataSourceCQL();
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL);
+        
+        v_DSCQL.setOnRun(() -> { throw new TransientException("Neo.TransientError.Transaction.DeadlockDetected" ,"Deadlock"); });
+        for (int i=0; i<10; i++)
+        {
+            Assert.assertFalse(this.query(v_XCQL));
+        }
+        
+        Assert.assertEquals(XCQLCircuitBreaker.$State_Closed ,v_DSCQL.getCircuitBreaker().getState());
+        Assert.assertFalse(v_DSCQL.isException());
+    }
+    
+    
+    
+    /**
+     * 显式事务中执行CQL、遍历结果集时的连接类异常，也计入熔断器及异常标记
+     */
+    @Test
+    public void test_TransactionAndResult()
+    {
+        MemoryDataSourceCQL v_DSCQL = this.newDataSourceCQL();
+        
+        // 显式事务中执行CQL
+        v_DSCQL.setOnRun(() -> { throw new SessionExpiredException("Session expired"); });
+        Connection v_Conn = v_DSCQL.getConnection();
+        try
+        {
+            Transaction v_Transaction = v_Conn.beginTransaction();
+            v_Transaction.run("CREATE (n:`数据源`)");
+            Assert.fail();
+        }
+        catch (SessionExpiredException exce)
+        {
+            // 预期的异常
+        }
+        finally
+        {
+            v_Conn.close();
+        }
+        Assert.assertTrue(v_DSCQL.isException());
+        
+        // 遍历结果集
+        v_DSCQL.setOnRun(null);
+        Assert.assertTrue(this.query(this.newXCQL(v_DSCQL)));
+        Assert.assertFalse(v_DSCQL.isException());
+        
+        v_DSCQL.setOnNext(() -> { throw new ServiceUnavailableException("Connection lost"); });
+        Assert.assertFalse(this.query(this.newXCQL(v_DSCQL)));
+        Assert.assertTrue(v_DSCQL.isException());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+    }
+    
+}
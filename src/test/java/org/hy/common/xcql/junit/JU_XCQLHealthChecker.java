@@ -0,0 +1,115 @@
+package org.hy.common.xcql.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.hy.common.xcql.DataSourceCQL;
+import org.hy.common.xcql.XCQLCircuitBreaker;
+import org.hy.common.xcql.XCQLHealthChecker;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：数据库的后台健康检查的注册、取消（XCQLHealthChecker），及熔断器的序列化
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修改：熔断器默认不开启，测试时显式配置
+ */
+public class JU_XCQLHealthChecker
+{
+    
+    /**
+     * 熔断器默认不开启，须通过配置开启
+     */
+    @Test
+    public void test_CircuitBreakerDefault()
+    {
+        DataSourceCQL v_DSCQL = new DataSourceCQL();
+        
+        Assert.assertNull(v_DSCQL.getCircuitBreaker());
+        Assert.assertTrue(v_DSCQL.isValid());
+    }
+    
+    
+    
+    @Test
+    public void test_Unregister()
+    {
+        DataSourceCQL v_DSCQL = new DataSourceCQL();
+        int           v_Size  = XCQLHealthChecker.size();
+        
+        v_DSCQL.setHealthCheckInterval(60000L);
+        Assert.assertEquals(v_Size + 1 ,XCQLHealthChecker.size());
+        
+        // 检查间隔设置为0时取消
+        v_DSCQL.setHealthCheckInterval(0L);
+        Assert.assertEquals(v_Size     ,XCQLHealthChecker.size());
+        
+        // 关闭时取消
+        v_DSCQL.setHealthCheckInterval(60000L);
+        Assert.assertEquals(v_Size + 1 ,XCQLHealthChecker.size());
+        v_DSCQL.close();
+        Assert.assertEquals(v_Size     ,XCQLHealthChecker.size());
+    }
+    
+    
+    
+    @Test
+    public void test_SkipNeverUsed() throws Exception
+    {
+        DataSourceCQL v_DSCQL = new DataSourceCQL();
+        v_DSCQL.setCircuitBreaker(new XCQLCircuitBreaker());
+        
+        // 未配置连接URL，检查时会初始化连接驱动失败。未使用过的数据库不检查，也就不会失败
+        v_DSCQL.setHealthCheckInterval(10L);
+        try
+        {
+            Thread.sleep(200L);
+            
+            Assert.assertFalse(v_DSCQL.isException());
+            Assert.assertEquals(XCQLCircuitBreaker.$State_Closed ,v_DSCQL.getCircuitBreaker().getState());
+        }
+        finally
+        {
+            v_DSCQL.close();
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_Serializable() throws Exception
+    {
+        DataSourceCQL v_DSCQL = new DataSourceCQL();
+        v_DSCQL.setXJavaID("DS_Serializable");
+        v_DSCQL.setCircuitBreaker(new XCQLCircuitBreaker());
+        v_DSCQL.getCircuitBreaker().setErrorRate(0.8D);
+        v_DSCQL.getCircuitBreaker().onProbe(false);
+        Assert.assertEquals(XCQLCircuitBreaker.$State_Open ,v_DSCQL.getCircuitBreaker().getState());
+        
+        ByteArrayOutputStream v_Bytes  = new ByteArrayOutputStream();
+        ObjectOutputStream    v_Output = new ObjectOutputStream(v_Bytes);
+        v_Output.writeObject(v_DSCQL);
+        v_Output.close();
+        
+        ObjectInputStream v_Input = new ObjectInputStream(new ByteArrayInputStream(v_Bytes.toByteArray()));
+        DataSourceCQL     v_Copy  = (DataSourceCQL) v_Input.readObject();
+        v_Input.close();
+        
+        // 只恢复熔断器的配置，状态重置为关闭状态
+        Assert.assertEquals(0.8D ,v_Copy.getCircuitBreaker().getErrorRate() ,0D);
+        Assert.assertEquals(XCQLCircuitBreaker.$State_Closed ,v_Copy.getCircuitBreaker().getState());
+        Assert.assertTrue(v_Copy.isValid());
+        Assert.assertTrue(v_Copy.getCircuitBreaker().allowRequest());
+    }
+    
+}
+    
\ No newline at end of file
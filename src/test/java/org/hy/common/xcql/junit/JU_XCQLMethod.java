@@ -0,0 +1,182 @@
+package org.hy.common.xcql.junit;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hy.common.xcql.XCQLMethod;
+import org.hy.common.xcql.XCQLMethodParam_CFill;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：填充方法的调用。单入参方法由 LambdaMetafactory 生成的函数直接调用，入参类型不匹配时反射调用（支持基本类型的拓宽转换）
+ * 
+ * 注：是否直接调用，按Setter方法执行时的调用栈中是否有 Method.invoke() 判定
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_XCQLMethod
+{
+    
+    /**
+     * 行级对象
+     */
+    public static class DataSource
+    {
+        private int     port;
+        
+        private float   weight;
+        
+        private int     callCount;
+        
+        private boolean isReflect;
+        
+        
+        
+        public void setPort(int i_Port)
+        {
+            this.port = i_Port;
+            this.called();
+        }
+        
+        
+        
+        public void setWeight(float i_Weight)
+        {
+            this.weight = i_Weight;
+            this.called();
+        }
+        
+        
+        
+        public void setComment(String i_Comment)
+        {
+            this.called();
+            throw new ClassCastException("Comment[" + i_Comment + "] is error.");
+        }
+        
+        
+        
+        private void called()
+        {
+            this.callCount++;
+            this.isReflect = false;
+            
+            for (StackTraceElement v_Frame : new Throwable().getStackTrace())
+            {
+                if ( Method.class.getName().equals(v_Frame.getClassName()) && "invoke".equals(v_Frame.getMethodName()) )
+                {
+                    this.isReflect = true;
+                    break;
+                }
+            }
+        }
+    }
+    
+    
+    
+    private XCQLMethod newMethod(Class<?> i_Class ,String i_Name ,Class<?> i_ParamClass) throws Exception
+    {
+        XCQLMethod v_Method = new XCQLMethod();
+        
+        v_Method.setCall(i_Class.getMethod(i_Name ,i_ParamClass));
+        v_Method.addParam(XCQLMethodParam_CFill.getInstance(XCQLMethodParam_CFill.$CFILL_COL_VALUE));
+        
+        return v_Method;
+    }
+    
+    
+    
+    /**
+     * 入参值的类型与Setter方法的入参类型（或其包装类型）相同时，直接调用
+     */
+    @Test
+    public void test_DirectSetter() throws Exception
+    {
+        DataSource v_Row = new DataSource();
+        
+        this.newMethod(DataSource.class ,"setPort" ,int.class).invoke(v_Row ,Integer.valueOf(3306) ,null ,"port");
+        Assert.assertEquals(3306 ,v_Row.port);
+        Assert.assertEquals(1    ,v_Row.callCount);
+        Assert.assertFalse (v_Row.isReflect);
+        
+        this.newMethod(DataSource.class ,"setWeight" ,float.class).invoke(v_Row ,Float.valueOf(1.5F) ,null ,"weight");
+        Assert.assertEquals(1.5F ,v_Row.weight ,0F);
+        Assert.assertFalse (v_Row.isReflect);
+        
+        // 有返回值的方法，返回值被忽略
+        List<Object> v_Table = new ArrayList<Object>();
+        this.newMethod(ArrayList.class ,"add" ,Object.class).invoke(v_Table ,v_Row ,0L ,null);
+        Assert.assertSame(v_Row ,v_Table.get(0));
+    }
+    
+    
+    
+    /**
+     * 入参值的类型需要基本类型的拓宽转换时（如 Integer 填充到 float 入参），反射调用，并且只执行一次
+     */
+    @Test
+    public void test_WideningFallback() throws Exception
+    {
+        DataSource v_Row    = new DataSource();
+        XCQLMethod v_Method = this.newMethod(DataSource.class ,"setWeight" ,float.class);
+        
+        v_Method.invoke(v_Row ,Integer.valueOf(10) ,null ,"weight");
+        Assert.assertEquals(10F ,v_Row.weight ,0F);
+        Assert.assertEquals(1   ,v_Row.callCount);
+        Assert.assertTrue  (v_Row.isReflect);
+        
+        v_Method.invoke(v_Row ,Long.valueOf(20L) ,null ,"weight");
+        Assert.assertEquals(20F ,v_Row.weight ,0F);
+        Assert.assertEquals(2   ,v_Row.callCount);
+        
+        // 同一填充方法，类型匹配时仍直接调用
+        v_Method.invoke(v_Row ,Float.valueOf(2.5F) ,null ,"weight");
+        Assert.assertEquals(2.5F ,v_Row.weight ,0F);
+        Assert.assertFalse (v_Row.isReflect);
+        
+        // 不能拓宽转换的，反射调用的异常
+        try
+        {
+            v_Method.invoke(v_Row ,"abc" ,null ,"weight");
+            Assert.fail();
+        }
+        catch (RuntimeException exce)
+        {
+            Assert.assertTrue(exce.getMessage().contains("setWeight"));
+        }
+        Assert.assertEquals(3 ,v_Row.callCount);
+    }
+    
+    
+    
+    /**
+     * Setter方法内部的异常（含 ClassCastException）直接抛出，不再重试反射调用，Setter方法只执行一次
+     */
+    @Test
+    public void test_SetterException() throws Exception
+    {
+        DataSource v_Row = new DataSource();
+        
+        try
+        {
+            this.newMethod(DataSource.class ,"setComment" ,String.class).invoke(v_Row ,"O'Neil" ,null ,"comment");
+            Assert.fail();
+        }
+        catch (RuntimeException exce)
+        {
+            Assert.assertTrue(exce.getMessage().contains("Comment[O'Neil] is error."));
+        }
+        
+        Assert.assertEquals(1 ,v_Row.callCount);
+        Assert.assertFalse (v_Row.isReflect);
+    }
+    
+}
@@ -0,0 +1,449 @@
+package org.hy.common.xcql.junit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.hy.common.xcql.XCQL;
+import org.hy.common.xcql.XCQLOPQuery;
+import org.hy.common.xcql.XCQLPage;
+import org.hy.common.xcql.XCQLResult;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+
+
+
+
+/**
+ * 测试单元：游标分页的游标编码、解码，及游标分页查询的CQL改写和分页边界；分页查询下推为 SKIP/LIMIT 的CQL改写
+ * 
+ * 注：分页查询不连接数据库。内存中的数据库连接池组按CQL的游标、跳过及条数参数模拟数据库的过滤、排序及限制条数
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  添加：游标分页查询的CQL改写、NULL排序键及内部列的测试
+ *              v3.0  2026-10-18  添加：分页查询下推为 SKIP/LIMIT 的改写、不改写的情况及行号的测试
+ */
+public class JU_XCQLPage
+{
+    
+    private Object roundTrip(Object i_Value)
+    {
+        Value  v_Value  = Values.value(i_Value);
+        String v_Cursor = XCQLPage.encodeCursor(v_Value);
+        
+        Assert.assertNotNull(v_Cursor);
+        // URL安全，可直接作为请求参数
+        Assert.assertTrue(v_Cursor ,v_Cursor.matches("[A-Za-z0-9_\\-]+"));
+        
+        return XCQLPage.decodeCursor(v_Cursor);
+    }
+    
+    
+    
+    @Test
+    public void test_RoundTrip()
+    {
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE)  ,this.roundTrip(Long.MAX_VALUE));
+        Assert.assertEquals(Long.valueOf(-1L)             ,this.roundTrip(-1));
+        Assert.assertEquals(Double.valueOf(3.14D)         ,this.roundTrip(3.14D));
+        Assert.assertEquals("张三:I:/?&=中文"              ,this.roundTrip("张三:I:/?&=中文"));
+        Assert.assertEquals(""                            ,this.roundTrip(""));
+        
+        ZonedDateTime v_DateTime = ZonedDateTime.of(2026 ,10 ,18 ,8 ,30 ,15 ,123000000 ,ZoneOffset.ofHours(8));
+        Assert.assertEquals(v_DateTime                    ,this.roundTrip(v_DateTime));
+        
+        LocalDateTime v_Local = LocalDateTime.of(2026 ,10 ,18 ,8 ,30 ,15);
+        Assert.assertEquals(v_Local                       ,this.roundTrip(v_Local));
+        
+        LocalDate v_Date = LocalDate.of(2026 ,10 ,18);
+        Assert.assertEquals(v_Date                        ,this.roundTrip(v_Date));
+        
+        OffsetTime v_Time = OffsetTime.of(8 ,30 ,15 ,0 ,ZoneOffset.UTC);
+        Assert.assertEquals(v_Time                        ,this.roundTrip(v_Time));
+    }
+    
+    
+    
+    @Test
+    public void test_Null()
+    {
+        Assert.assertNull(XCQLPage.encodeCursor(null));
+        Assert.assertNull(XCQLPage.encodeCursor(Values.NULL));
+        Assert.assertNull(XCQLPage.decodeCursor(null));
+        Assert.assertNull(XCQLPage.decodeCursor(""));
+    }
+    
+    
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void test_UnsupportedType()
+    {
+        XCQLPage.encodeCursor(Values.value(true));
+    }
+    
+    
+    
+    @Test
+    public void test_InvalidCursor()
+    {
+        String [] v_Cursors = {"!!!" ,"QQ" ,"WDphYmM" ,"STphYmM"};   // 非Base64、过短、未知类型 X:abc 、非整数 I:abc
+        
+        for (String v_Cursor : v_Cursors)
+        {
+            try
+            {
+                XCQLPage.decodeCursor(v_Cursor);
+                Assert.fail("Cursor[" + v_Cursor + "] should be invalid.");
+            }
+            catch (IllegalArgumentException exce)
+            {
+                // 预期的异常。NumberFormatException 也是 IllegalArgumentException
+            }
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_Page()
+    {
+        XCQLPage v_Last = new XCQLPage(null ,null);
+        XCQLPage v_More = new XCQLPage(null ,XCQLPage.encodeCursor(Values.value(100L)));
+        
+        Assert.assertFalse(v_Last.hasNext());
+        Assert.assertNull (v_Last.getDatas());
+        Assert.assertTrue (v_More.hasNext());
+        Assert.assertEquals(Long.valueOf(100L) ,XCQLPage.decodeCursor(v_More.getNextCursor()));
+    }
+    
+    
+    
+    /**
+     * 模拟数据库执行游标分页的CQL：按游标参数过滤、按排序键升序（NULL排在最后）、按条数参数限制
+     * 
+     * @param i_Query  执行的CQL及参数
+     * @param i_Keys   所有记录的排序键。须已按升序排列，NULL在最后
+     * @return
+     */
+    private static List<Record> keysetRecords(Query i_Query ,Long [] i_Keys)
+    {
+        Map<String ,Object> v_Params  = i_Query.parameters().asMap();
+        Long                v_Cursor  = (Long) v_Params.get(XCQLOPQuery.$Paging_Cursor);
+        int                 v_Limit   = ((Number) v_Params.get(XCQLOPQuery.$Paging_Limit)).intValue();
+        List<String>        v_Keys    = Arrays.asList("n.xid" ,XCQLOPQuery.$Paging_Cursor);
+        List<Record>        v_Records = new ArrayList<Record>();
+        
+        for (Long v_Key : i_Keys)
+        {
+            // NULL > 游标 的结果为NULL，不匹配
+            if ( v_Cursor != null && (v_Key == null || v_Key <= v_Cursor) )
+            {
+                continue;
+            }
+            if ( v_Records.size() >= v_Limit )
+            {
+                break;
+            }
+            
+            v_Records.add(new InternalRecord(v_Keys ,new Value[] {Values.value("DS_" + v_Key) ,Values.value(v_Key)}));
+        }
+        
+        return v_Records;
+    }
+    
+    
+    
+    private XCQL newKeysetXCQL(MemoryDataSourceCQL i_DSCQL ,String i_CQL)
+    {
+        XCQL       v_XCQL   = new XCQL();
+        XCQLResult v_Result = new XCQLResult();
+        
+        v_Result.setTable("java.util.ArrayList");
+        v_Result.setRow("java.util.HashMap");
+        v_Result.setFill("add(row)");
+        v_Result.setCfill("put(colName ,colValue)");
+        
+        v_XCQL.setDataSourceCQL(i_DSCQL);
+        v_XCQL.setContent(i_CQL);
+        v_XCQL.setResult(v_Result);
+        v_XCQL.setPagingKey("n.id");
+        
+        return v_XCQL;
+    }
+    
+    
+    
+    @SuppressWarnings("unchecked")
+    private List<Map<String ,Object>> datas(XCQLPage i_Page)
+    {
+        return (List<Map<String ,Object>>) i_Page.getDatas();
+    }
+    
+    
+    
+    @Test
+    public void test_Keyset()
+    {
+        Long []             v_Keys  = {1L ,2L ,3L ,4L ,5L};
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(i_Query -> keysetRecords(i_Query ,v_Keys));
+        XCQL                v_XCQL  = this.newKeysetXCQL(v_DSCQL ,"MATCH (n:`数据源`) WHERE n.port > 0 RETURN n.xid");
+        
+        XCQLPage v_Page1 = v_XCQL.queryPage(null ,2);
+        XCQLPage v_Page2 = v_XCQL.queryPage(v_Page1.getNextCursor() ,2);
+        XCQLPage v_Page3 = v_XCQL.queryPage(v_Page2.getNextCursor() ,2);
+        
+        Assert.assertEquals(2      ,this.datas(v_Page1).size());
+        Assert.assertEquals("DS_1" ,this.datas(v_Page1).get(0).get("xid"));
+        Assert.assertEquals("DS_3" ,this.datas(v_Page2).get(0).get("xid"));
+        Assert.assertEquals(1      ,this.datas(v_Page3).size());
+        Assert.assertEquals("DS_5" ,this.datas(v_Page3).get(0).get("xid"));
+        Assert.assertTrue  (v_Page2.hasNext());
+        Assert.assertFalse (v_Page3.hasNext());
+        
+        // 排序键的内部列不填充到行级对象中
+        for (XCQLPage v_Page : new XCQLPage[] {v_Page1 ,v_Page2 ,v_Page3})
+        {
+            for (Map<String ,Object> v_Row : this.datas(v_Page))
+            {
+                Assert.assertEquals(1 ,v_Row.size());
+                Assert.assertFalse(v_Row.containsKey(XCQLOPQuery.$Paging_Cursor));
+            }
+        }
+        
+        // 第一页没有游标的过滤条件，多查询一条用于判定是否有下一页
+        Query v_First  = v_DSCQL.getQueries().get(0);
+        Query v_Second = v_DSCQL.getQueries().get(1);
+        Assert.assertFalse (v_First.text().contains("WITH * WHERE"));
+        Assert.assertTrue  (v_First.text().contains("RETURN n.xid ,(n.id) AS XCQL_Cursor\nORDER BY XCQL_Cursor LIMIT $XCQL_Limit"));
+        Assert.assertEquals(3L ,v_First.parameters().get(XCQLOPQuery.$Paging_Limit).asLong());
+        Assert.assertTrue  (v_Second.text().contains("WHERE n.port > 0 WITH * WHERE n.id > $XCQL_Cursor\nRETURN n.xid"));
+        Assert.assertEquals(2L ,v_Second.parameters().get(XCQLOPQuery.$Paging_Cursor).asLong());
+    }
+    
+    
+    
+    /**
+     * 下一页的首个排序键为NULL时（NULL排在最后），继续分页将丢失NULL键的记录，所以抛出异常
+     */
+    @Test
+    public void test_Keyset_NullKey()
+    {
+        Long []             v_Keys  = {1L ,2L ,3L ,null ,null};
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(i_Query -> keysetRecords(i_Query ,v_Keys));
+        XCQL                v_XCQL  = this.newKeysetXCQL(v_DSCQL ,"MATCH (n:`数据源`) RETURN n.xid");
+        
+        XCQLPage v_Page1 = v_XCQL.queryPage(null ,2);
+        Assert.assertTrue(v_Page1.hasNext());
+        
+        try
+        {
+            v_XCQL.queryPage(v_Page1.getNextCursor() ,1);
+            Assert.fail("The next key is null.");
+        }
+        catch (RuntimeException exce)
+        {
+            Assert.assertTrue(exce.getMessage() ,exce.getMessage().contains("is null at row 2"));
+        }
+        
+        // 本页最后一行的排序键为NULL
+        try
+        {
+            v_XCQL.queryPage(null ,4);
+            Assert.fail("The last key is null.");
+        }
+        catch (RuntimeException exce)
+        {
+            Assert.assertTrue(exce.getMessage() ,exce.getMessage().contains("is null at row 4"));
+        }
+        
+        // 没有下一页时，NULL键的记录在本页中全部返回
+        XCQLPage v_All = v_XCQL.queryPage(null ,5);
+        Assert.assertEquals(5 ,this.datas(v_All).size());
+        Assert.assertFalse (v_All.hasNext());
+    }
+    
+    
+    
+    /**
+     * 相同的排序键跨页，或CQL无法改写时，抛出异常
+     */
+    @Test
+    public void test_Keyset_Reject()
+    {
+        Long []             v_Keys  = {1L ,2L ,2L ,3L};
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(i_Query -> keysetRecords(i_Query ,v_Keys));
+        XCQL                v_XCQL  = this.newKeysetXCQL(v_DSCQL ,"MATCH (n:`数据源`) RETURN n.xid");
+        
+        try
+        {
+            v_XCQL.queryPage(null ,2);
+            Assert.fail("The key is not unique.");
+        }
+        catch (RuntimeException exce)
+        {
+            Assert.assertTrue(exce.getMessage() ,exce.getMessage().contains("is not unique"));
+        }
+        
+        String [] v_CQLs = {"MATCH (n:`数据源`) RETURN n.xid ORDER BY n.xid"
+                           ,"MATCH (n:`数据源`) RETURN n.xid SKIP 1"
+                           ,"MATCH (n:`数据源`) RETURN DISTINCT n.xid"
+                           ,"MATCH (n:`数据源`) RETURN count(n)"};
+        for (String v_CQL : v_CQLs)
+        {
+            try
+            {
+                this.newKeysetXCQL(v_DSCQL ,v_CQL).queryPage(null ,2);
+                Assert.fail("CQL[" + v_CQL + "] should not be rewritten.");
+            }
+            catch (RuntimeException exce)
+            {
+                Assert.assertTrue(exce.getMessage() ,exce.getMessage().contains("can not be rewritten"));
+            }
+        }
+        Assert.assertEquals(1 ,v_DSCQL.getRunCount());
+    }
+    
+    
+    
+    /**
+     * 模拟数据库执行分页查询：有跳过、条数参数时，按参数截取
+     * 
+     * @param i_Query  执行的CQL及参数
+     * @return
+     */
+    private static List<Record> pagingRecords(Query i_Query)
+    {
+        Map<String ,Object> v_Params  = i_Query.parameters().asMap();
+        List<String>        v_Keys    = Arrays.asList("n.xid");
+        List<Record>        v_Records = new ArrayList<Record>();
+        
+        for (int i=0; i<5; i++)
+        {
+            v_Records.add(new InternalRecord(v_Keys ,new Value[] {Values.value("DS_" + i)}));
+        }
+        
+        if ( v_Params.containsKey(XCQLOPQuery.$Paging_Skip) )
+        {
+            int v_Skip  = ((Number) v_Params.get(XCQLOPQuery.$Paging_Skip)) .intValue();
+            int v_Limit = ((Number) v_Params.get(XCQLOPQuery.$Paging_Limit)).intValue();
+            return new ArrayList<Record>(v_Records.subList(Math.min(v_Skip ,5) ,Math.min(v_Skip + v_Limit ,5)));
+        }
+        
+        return v_Records;
+    }
+    
+    
+    
+    /**
+     * 表级对象按行号填充行级对象，用于验证行号
+     */
+    private XCQL newPagingXCQL(MemoryDataSourceCQL i_DSCQL ,String i_CQL)
+    {
+        XCQL       v_XCQL   = new XCQL();
+        XCQLResult v_Result = new XCQLResult();
+        
+        v_Result.setTable("java.util.LinkedHashMap");
+        v_Result.setRow("java.util.HashMap");
+        v_Result.setFill("put(rowNo ,row)");
+        v_Result.setCfill("put(colName ,colValue)");
+        
+        v_XCQL.setDataSourceCQL(i_DSCQL);
+        v_XCQL.setContent(i_CQL);
+        v_XCQL.setResult(v_Result);
+        
+        return v_XCQL;
+    }
+    
+    
+    
+    @SuppressWarnings("unchecked")
+    private Map<Long ,Map<String ,Object>> pagingDatas(XCQL i_XCQL ,int i_StartRow ,int i_PagePerSize)
+    {
+        return (Map<Long ,Map<String ,Object>>) i_XCQL.queryXCQLData(i_StartRow ,i_PagePerSize).getDatas();
+    }
+    
+    
+    
+    /**
+     * 分页下推：CQL末尾追加 SKIP $XCQL_Skip LIMIT $XCQL_Limit 。行号与客户端跳行时相同，从本页的0开始
+     */
+    @Test
+    public void test_Pushdown()
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLPage::pagingRecords);
+        XCQL                v_XCQL  = this.newPagingXCQL(v_DSCQL ,"MATCH (n:`数据源`) WHERE n.remark <> 'SKIP 1 LIMIT 1' RETURN n.xid;");
+        
+        Map<Long ,Map<String ,Object>> v_Pushdown = this.pagingDatas(v_XCQL ,2 ,2);
+        
+        Query v_Query = v_DSCQL.getQueries().get(0);
+        Assert.assertEquals("MATCH (n:`数据源`) WHERE n.remark <> 'SKIP 1 LIMIT 1' RETURN n.xid\nSKIP $XCQL_Skip LIMIT $XCQL_Limit" ,v_Query.text());
+        Assert.assertEquals(2L ,v_Query.parameters().get(XCQLOPQuery.$Paging_Skip) .asLong());
+        Assert.assertEquals(2L ,v_Query.parameters().get(XCQLOPQuery.$Paging_Limit).asLong());
+        Assert.assertEquals(1L ,v_XCQL.getPagingPushdownCount());
+        
+        Assert.assertEquals(Arrays.asList(0L ,1L) ,new ArrayList<Long>(v_Pushdown.keySet()));
+        Assert.assertEquals("DS_2" ,v_Pushdown.get(0L).get("xid"));
+        Assert.assertEquals("DS_3" ,v_Pushdown.get(1L).get("xid"));
+        
+        // 关闭下推时，客户端跳行的结果及行号相同
+        v_XCQL.setPagingPushdown(false);
+        Map<Long ,Map<String ,Object>> v_ClientSkip = this.pagingDatas(v_XCQL ,2 ,2);
+        
+        Assert.assertFalse(v_DSCQL.getQueries().get(1).text().contains("SKIP $"));
+        Assert.assertEquals(1L ,v_XCQL.getPagingClientSkipCount());
+        Assert.assertEquals(v_Pushdown ,v_ClientSkip);
+        
+        // 最后一页不足一页
+        v_XCQL.setPagingPushdown(true);
+        Map<Long ,Map<String ,Object>> v_Last = this.pagingDatas(v_XCQL ,4 ,2);
+        Assert.assertEquals(1      ,v_Last.size());
+        Assert.assertEquals("DS_4" ,v_Last.get(0L).get("xid"));
+    }
+    
+    
+    
+    /**
+     * 不能安全改写的CQL，回退为客户端跳行，执行原CQL
+     */
+    @Test
+    public void test_Pushdown_Refuse()
+    {
+        String [] v_CQLs = {"MATCH (n:`数据源`) RETURN n.xid SKIP 1"
+                           ,"MATCH (n:`数据源`) RETURN n.xid LIMIT 10"
+                           ,"MATCH (n:`数据源`) RETURN n.xid UNION MATCH (n:`备用`) RETURN n.xid"
+                           ,"MERGE (n:`数据源` {xid: 'DS_0'}) RETURN n.xid"
+                           ,"MATCH (n:`数据源`) SET n.port = 3306 RETURN n.xid"
+                           ,"MATCH (n:`数据源`) CALL { WITH n RETURN n.xid AS xid }"
+                           ,"MATCH (n:`数据源`) RETURN n.xid  // 数据源的编号"};
+        
+        for (String v_CQL : v_CQLs)
+        {
+            MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLPage::pagingRecords);
+            XCQL                v_XCQL  = this.newPagingXCQL(v_DSCQL ,v_CQL);
+            
+            Map<Long ,Map<String ,Object>> v_Datas = this.pagingDatas(v_XCQL ,2 ,2);
+            
+            Query v_Query = v_DSCQL.getQueries().get(0);
+            Assert.assertFalse(v_CQL ,v_Query.text().contains("$XCQL_Skip"));
+            Assert.assertFalse(v_CQL ,v_Query.parameters().containsKey(XCQLOPQuery.$Paging_Skip));
+            Assert.assertEquals(v_CQL ,0L ,v_XCQL.getPagingPushdownCount());
+            Assert.assertEquals(v_CQL ,1L ,v_XCQL.getPagingClientSkipCount());
+            Assert.assertEquals(v_CQL ,"DS_2" ,v_Datas.get(0L).get("xid"));
+        }
+    }
+    
+}
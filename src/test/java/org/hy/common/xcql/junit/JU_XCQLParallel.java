@@ -0,0 +1,302 @@
+package org.hy.common.xcql.junit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hy.common.xcql.XCQL;
+import org.hy.common.xcql.XCQLData;
+import org.hy.common.xcql.XCQLOPParallel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.exceptions.ClientException;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.exceptions.TransientException;
+
+
+
+
+
+/**
+ * 测试单元：批量执行的并行模式（XCQLOPParallel）的分区、分批重试及重连
+ * 
+ * 注：不连接数据库。内存中的数据库连接池组（MemoryDataSourceCQL）按执行CQL的线程记录每行数据的xid
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_XCQLParallel
+{
+    
+    private static final Pattern $Pattern_XID = Pattern.compile("xid: '([^']+)'");
+    
+    
+    
+    /** 分区的线程名称 -> 分区内按执行顺序的xid */
+    private final Map<String ,List<String>> threadXIDs = new ConcurrentHashMap<String ,List<String>>();
+    
+    /** 打开同步会话的次数 */
+    private final AtomicInteger             openCount  = new AtomicInteger(0);
+    
+    
+    
+    private List<Record> recordThread(Query i_Query)
+    {
+        Matcher v_Matcher = $Pattern_XID.matcher(i_Query.text());
+        if ( v_Matcher.find() )
+        {
+            this.threadXIDs.computeIfAbsent(Thread.currentThread().getName() ,i_Name -> Collections.synchronizedList(new ArrayList<String>())).add(v_Matcher.group(1));
+        }
+        return Collections.emptyList();
+    }
+    
+    
+    
+    /**
+     * 内存中的数据库连接池组。记录打开同步会话的次数
+     */
+    private MemoryDataSourceCQL newDSCQL()
+    {
+        return new MemoryDataSourceCQL(this::recordThread)
+        {
+            private static final long serialVersionUID = -6019473528201957135L;
+            
+            @Override
+            protected Session openSession()
+            {
+                openCount.incrementAndGet();
+                return super.openSession();
+            }
+        };
+    }
+    
+    
+    
+    private XCQL newXCQL(MemoryDataSourceCQL i_DSCQL ,int i_Parallel ,String i_ParallelKey ,int i_BatchCommit)
+    {
+        XCQL v_XCQL = new XCQL();
+        
+        v_XCQL.setDataSourceCQL(i_DSCQL);
+        v_XCQL.setContent("CREATE (n:`数据源` {xid: '#xid' ,label: '#label'})");
+        v_XCQL.setParallel(i_Parallel);
+        v_XCQL.setParallelKey(i_ParallelKey);
+        v_XCQL.setBatchCommit(i_BatchCommit);
+        
+        return v_XCQL;
+    }
+    
+    
+    
+    private List<Map<String ,Object>> newRows(List<String> i_Labels)
+    {
+        List<Map<String ,Object>> v_Rows = new ArrayList<Map<String ,Object>>();
+        
+        for (int i=0; i<i_Labels.size(); i++)
+        {
+            Map<String ,Object> v_Row = new HashMap<String ,Object>();
+            v_Row.put("xid"   ,"DS_" + i);
+            v_Row.put("label" ,i_Labels.get(i));
+            v_Rows.add(v_Row);
+        }
+        
+        return v_Rows;
+    }
+    
+    
+    
+    /**
+     * 模拟第N次执行CQL时抛出异常
+     */
+    private static Runnable failAt(int i_RunNo ,Supplier<RuntimeException> i_Error)
+    {
+        AtomicInteger v_RunNo = new AtomicInteger(0);
+        
+        return () ->
+        {
+            if ( v_RunNo.incrementAndGet() == i_RunNo )
+            {
+                throw i_Error.get();
+            }
+        };
+    }
+    
+    
+    
+    /**
+     * 无分区键：按顺序平均拆分为连续的多段，每段一个线程、一个连接、一次提交。NULL元素被忽略
+     */
+    @Test
+    public void test_PartitionByOrder()
+    {
+        MemoryDataSourceCQL       v_DSCQL = this.newDSCQL();
+        XCQL                      v_XCQL  = this.newXCQL(v_DSCQL ,3 ,null ,0);
+        List<Map<String ,Object>> v_Rows  = this.newRows(Collections.nCopies(9 ,"A"));
+        
+        List<Object> v_WithNull = new ArrayList<Object>(v_Rows);
+        v_WithNull.add(null);
+        v_WithNull.add(0 ,null);
+        XCQLData v_Ret = v_XCQL.executeInserts(v_WithNull);
+        
+        Assert.assertEquals(9  ,v_Ret.getRowCount());
+        Assert.assertEquals(3  ,v_Ret.getPartitionTimeLens().length);
+        Assert.assertEquals(3  ,this.threadXIDs.size());
+        Assert.assertEquals(3  ,this.openCount.get());
+        Assert.assertEquals(3  ,v_DSCQL.getCommitCount());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        
+        List<List<String>> v_Segments = new ArrayList<List<String>>(this.threadXIDs.values());
+        v_Segments.sort((a ,b) -> a.get(0).compareTo(b.get(0)));
+        
+        // 首尾的NULL元素也占用顺序号：11个元素按 0~3、4~7、8~10 拆分
+        Assert.assertEquals(Arrays.asList("DS_0" ,"DS_1" ,"DS_2")        ,v_Segments.get(0));
+        Assert.assertEquals(Arrays.asList("DS_3" ,"DS_4" ,"DS_5" ,"DS_6") ,v_Segments.get(1));
+        Assert.assertEquals(Arrays.asList("DS_7" ,"DS_8")                ,v_Segments.get(2));
+    }
+    
+    
+    
+    /**
+     * 有分区键：同一分区键的数据在同一线程中按原顺序执行
+     */
+    @Test
+    public void test_PartitionByKey()
+    {
+        MemoryDataSourceCQL       v_DSCQL  = this.newDSCQL();
+        XCQL                      v_XCQL   = this.newXCQL(v_DSCQL ,3 ,"label" ,2);
+        List<String>              v_Labels = new ArrayList<String>();
+        
+        for (int i=0; i<20; i++)
+        {
+            v_Labels.add("L" + (i % 5));
+        }
+        List<Map<String ,Object>> v_Rows = this.newRows(v_Labels);
+        
+        XCQLData v_Ret = v_XCQL.executeInserts(v_Rows);
+        Assert.assertEquals(20 ,v_Ret.getRowCount());
+        Assert.assertTrue  (this.threadXIDs.size() <= 3);
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        
+        Map<String ,String> v_LabelThread = new HashMap<String ,String>();
+        int                 v_RowCount    = 0;
+        for (Map.Entry<String ,List<String>> v_Item : this.threadXIDs.entrySet())
+        {
+            int v_Last = -1;
+            for (String v_XID : v_Item.getValue())
+            {
+                int    v_No    = Integer.parseInt(v_XID.substring(3));
+                String v_Label = v_Labels.get(v_No);
+                
+                // 同一分区键只在一个线程中
+                Assert.assertEquals(v_Item.getKey() ,v_LabelThread.computeIfAbsent(v_Label ,i_Label -> v_Item.getKey()));
+                
+                // 分区内保持原顺序
+                Assert.assertTrue(v_No > v_Last);
+                v_Last = v_No;
+                v_RowCount++;
+            }
+        }
+        Assert.assertEquals(20 ,v_RowCount);
+        Assert.assertEquals(5  ,v_LabelThread.size());
+    }
+    
+    
+    
+    /**
+     * 分批遇到瞬时异常：回滚本分批并在原连接上重试，已提交的分批不重复执行
+     */
+    @Test
+    public void test_RetryTransient()
+    {
+        MemoryDataSourceCQL v_DSCQL = this.newDSCQL();
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,2 ,"label" ,2);
+        
+        v_DSCQL.setOnRun(failAt(2 ,() -> new TransientException("Neo.TransientError.Transaction.DeadlockDetected" ,"Deadlock")));
+        XCQLData v_Ret = v_XCQL.executeInserts(this.newRows(Collections.nCopies(6 ,"A")));
+        
+        Assert.assertEquals(6  ,v_Ret.getRowCount());
+        Assert.assertEquals(8  ,v_DSCQL.getRunCount());
+        Assert.assertEquals(3  ,v_DSCQL.getCommitCount());
+        Assert.assertEquals(1  ,v_DSCQL.getRollbackCount());
+        Assert.assertEquals(1  ,this.openCount.get());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+    }
+    
+    
+    
+    /**
+     * 服务不可用：关闭原连接，在新打开的连接上重试
+     */
+    @Test
+    public void test_RetryReconnect()
+    {
+        MemoryDataSourceCQL v_DSCQL = this.newDSCQL();
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,2 ,"label" ,2);
+        
+        v_DSCQL.setOnRun(failAt(3 ,() -> new ServiceUnavailableException("Connection lost")));
+        XCQLData v_Ret = v_XCQL.executeInserts(this.newRows(Collections.nCopies(6 ,"A")));
+        
+        Assert.assertEquals(6  ,v_Ret.getRowCount());
+        Assert.assertEquals(7  ,v_DSCQL.getRunCount());
+        Assert.assertEquals(3  ,v_DSCQL.getCommitCount());
+        Assert.assertEquals(1  ,v_DSCQL.getRollbackCount());
+        Assert.assertEquals(2  ,this.openCount.get());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+    }
+    
+    
+    
+    /**
+     * 非瞬时异常不重试；瞬时异常超过最大重试次数后不再重试。异常时已提交的分批不回滚，连接均被释放
+     */
+    @Test
+    public void test_RetryRefuse()
+    {
+        MemoryDataSourceCQL v_DSCQL = this.newDSCQL();
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,2 ,"label" ,2);
+        
+        v_DSCQL.setOnRun(failAt(3 ,() -> new ClientException("Invalid input")));
+        try
+        {
+            v_XCQL.executeInserts(this.newRows(Collections.nCopies(6 ,"A")));
+            Assert.fail();
+        }
+        catch (RuntimeException exce)
+        {
+            Assert.assertEquals("Invalid input" ,exce.getMessage());
+        }
+        Assert.assertEquals(3  ,v_DSCQL.getRunCount());
+        Assert.assertEquals(1  ,v_DSCQL.getCommitCount());
+        Assert.assertEquals(1  ,v_DSCQL.getRollbackCount());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        
+        v_DSCQL = this.newDSCQL();
+        v_XCQL  = this.newXCQL(v_DSCQL ,2 ,"label" ,2);
+        v_DSCQL.setOnRun(() -> { throw new TransientException("Neo.TransientError.Transaction.DeadlockDetected" ,"Deadlock"); });
+        try
+        {
+            v_XCQL.executeInserts(this.newRows(Collections.nCopies(6 ,"A")));
+            Assert.fail();
+        }
+        catch (RuntimeException exce)
+        {
+            Assert.assertEquals("Deadlock" ,exce.getMessage());
+        }
+        Assert.assertEquals(XCQLOPParallel.$Retry_Max + 1 ,v_DSCQL.getRunCount());
+        Assert.assertEquals(XCQLOPParallel.$Retry_Max + 1 ,v_DSCQL.getRollbackCount());
+        Assert.assertEquals(0                             ,v_DSCQL.getCommitCount());
+        Assert.assertEquals(0L                            ,v_DSCQL.getConnActiveCount());
+    }
+    
+}
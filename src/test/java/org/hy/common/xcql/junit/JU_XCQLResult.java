@@ -0,0 +1,418 @@
+package org.hy.common.xcql.junit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hy.common.xcql.DBTableMetaData;
+import org.hy.common.xcql.XCQLColumn;
+import org.hy.common.xcql.XCQLColumnTable;
+import org.hy.common.xcql.XCQLData;
+import org.hy.common.xcql.XCQLGraph;
+import org.hy.common.xcql.XCQLResult;
+import org.hy.common.xcql.XCQLRowMap;
+import org.hy.common.xml.log.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalPath;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.InternalRelationship;
+
+
+
+
+
+/**
+ * 测试单元：多线程同时使用同一XCQL的结果集解释（XCQLResult）转化数据
+ * 
+ * 注：本环境未引入JMH，也不连接数据库。记录由内存构建，性能采用预热后的多线程计时
+ *     性能测试的规模须用 -Dxcql.benchmark=true 开启，默认只验证多线程下的转化结果
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修改：多线程转化测试默认缩小规模
+ *              v3.0  2026-10-18  添加：快照发布后，运行时解释的新属性追加元数据时，同时读取元数据的测试
+ */
+public class JU_XCQLResult
+{
+    private static final Logger $Logger = new Logger(JU_XCQLResult.class ,true);
+    
+    
+    
+    private XCQLResult newXCQLResult() throws Exception
+    {
+        XCQLResult v_Result = new XCQLResult();
+        
+        v_Result.setTable("java.util.ArrayList");
+        v_Result.setRow(DataSourceConfig.class.getName());
+        v_Result.setFill("add(row)");
+        v_Result.setCfill("setter(colValue)");
+        
+        return v_Result;
+    }
+    
+    
+    
+    private List<Record> newRecords(int i_Count)
+    {
+        List<String> v_Keys    = Arrays.asList("n.xid" ,"n.databaseName" ,"n.port" ,"n.comment");
+        List<Record> v_Records = new ArrayList<Record>(i_Count);
+        
+        for (int i=0; i<i_Count; i++)
+        {
+            List<Value> v_Values = Arrays.asList(Values.value("DS_" + i) ,Values.value("dataCenter") ,Values.value(3306 + i) ,Values.value("第" + i + "行"));
+            v_Records.add(new InternalRecord(v_Keys ,v_Values));
+        }
+        
+        return v_Records;
+    }
+    
+    
+    
+    /**
+     * 多个线程同时转化同一XCQL的查询结果
+     * 
+     * 默认只用少量的线程及次数验证转化结果。用 -Dxcql.benchmark=true 运行时，为64个线程各转化2000次的性能测试
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     *              v2.0  2026-10-18  修改：默认缩小规模，性能测试须用 -Dxcql.benchmark=true 开启
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void test_GetDatas_Contention() throws Exception
+    {
+        boolean      v_IsBenchmark = Boolean.getBoolean("xcql.benchmark");
+        XCQLResult   v_Result      = this.newXCQLResult();
+        List<Record> v_Records     = this.newRecords(100);
+        int          v_Threads     = v_IsBenchmark ? 64   : 8;
+        int          v_Count       = v_IsBenchmark ? 2000 : 50;
+        
+        this.contention(v_Result ,v_Records ,v_Threads ,v_Count / 10);
+        
+        long v_TimeLen = this.contention(v_Result ,v_Records ,v_Threads ,v_Count);
+        long v_Ops     = (long) v_Threads * v_Count;
+        
+        $Logger.info(v_Threads + "个线程共转化 " + v_Ops + " 次：" + (v_TimeLen / 1000000) + " ms ，" + (v_Ops * 1000000000L / v_TimeLen) + " ops/s");
+    }
+    
+    
+    
+    /**
+     * 快照发布后，多个线程的查询结果中各有新的属性（运行时逐个属性解释并追加元数据），同时读取元数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void test_GetDatas_MetaData() throws Exception
+    {
+        XCQLResult                 v_Result   = this.newXCQLResult();
+        int                        v_Threads  = 8;
+        int                        v_Fields   = 50;
+        ExecutorService            v_Executor = Executors.newFixedThreadPool(v_Threads);
+        CountDownLatch             v_Begin    = new CountDownLatch(1);
+        CountDownLatch             v_End      = new CountDownLatch(v_Threads);
+        AtomicReference<Throwable> v_Error    = new AtomicReference<Throwable>();
+        
+        // 先发布快照
+        v_Result.getDatas(this.newRecords(1).iterator() ,0 ,0);
+        DBTableMetaData v_MetaData = v_Result.getDBTableMetaData();
+        
+        for (int t=0; t<v_Threads; t++)
+        {
+            final int v_ThreadNo = t;
+            v_Executor.execute(() ->
+            {
+                try
+                {
+                    v_Begin.await();
+                    for (int i=0; i<v_Fields; i++)
+                    {
+                        List<String> v_Keys   = Arrays.asList("n.xid" ,"n.extra_" + v_ThreadNo + "_" + i);
+                        Record       v_Record = new InternalRecord(v_Keys ,new Value[] {Values.value("DS_" + i) ,Values.value(i)});
+                        XCQLData     v_Data   = v_Result.getDatas(Arrays.asList(v_Record).iterator() ,0 ,0);
+                        
+                        Assert.assertSame(v_MetaData ,v_Data.getMetaData());
+                    }
+                }
+                catch (Throwable exce)
+                {
+                    v_Error.compareAndSet(null ,exce);
+                }
+                finally
+                {
+                    v_End.countDown();
+                }
+            });
+        }
+        
+        v_Begin.countDown();
+        while ( v_End.getCount() > 0 )
+        {
+            // 非并发的集合在追加时遍历（hashCode），可能抛出 ConcurrentModificationException
+            v_MetaData.hashCode();
+            Assert.assertTrue(v_MetaData.getColumnSize() <= 4 + v_Threads * v_Fields);
+        }
+        
+        v_Executor.shutdown();
+        v_Executor.awaitTermination(1 ,TimeUnit.MINUTES);
+        
+        if ( v_Error.get() != null )
+        {
+            throw new RuntimeException(v_Error.get());
+        }
+        Assert.assertEquals(4 + v_Threads * v_Fields ,v_MetaData.getColumnSize());
+    }
+    
+    
+    
+    /**
+     * 紧凑的Map行级对象与 HashMap 行级对象的转化结果相同，并共享同一列下标
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @throws Exception
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_GetDatas_RowMap() throws Exception
+    {
+        XCQLResult   v_HashMap = new XCQLResult();
+        XCQLResult   v_RowMap  = new XCQLResult();
+        List<Record> v_Records = this.newRecords(100);
+        
+        v_HashMap.setRow("java.util.HashMap");
+        v_HashMap.setCfill("put(colName ,colValue)");
+        v_RowMap .setRow(XCQLRowMap.class.getName());
+        v_RowMap .setCfill("put(colName ,colValue)");
+        
+        List<Map<String ,Object>> v_HashMapDatas = (List<Map<String ,Object>>) v_HashMap.getDatas(v_Records.iterator() ,0 ,0).getDatas();
+        List<Map<String ,Object>> v_RowMapDatas  = (List<Map<String ,Object>>) v_RowMap .getDatas(v_Records.iterator() ,0 ,0).getDatas();
+        
+        Assert.assertEquals(v_HashMapDatas ,v_RowMapDatas);
+        Assert.assertEquals(XCQLRowMap.class ,v_RowMapDatas.get(0).getClass());
+        Assert.assertEquals("DS_1" ,v_RowMapDatas.get(1).get("xid"));
+        Assert.assertNull(v_RowMapDatas.get(1).get("notExists"));
+    }
+    
+    
+    
+    /**
+     * 紧凑的Map行级对象填充完成后，调用者添加的字段只保存在本行，不追加到共享的列下标
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @throws Exception
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_GetDatas_RowMapSealed() throws Exception
+    {
+        XCQLResult   v_RowMap  = new XCQLResult();
+        List<Record> v_Records = this.newRecords(10);
+        
+        v_RowMap.setRow(XCQLRowMap.class.getName());
+        v_RowMap.setCfill("put(colName ,colValue)");
+        
+        List<Map<String ,Object>> v_First = (List<Map<String ,Object>>) v_RowMap.getDatas(v_Records.iterator() ,0 ,0).getDatas();
+        int                       v_Size  = v_RowMap.getDBTableMetaData().getColumnIndexSize();
+        Map<String ,Object>       v_Row   = v_First.get(0);
+        
+        v_Row.put("extra" ,"E");
+        v_Row.put("xid"   ,"X");
+        v_Row.put("none"  ,null);
+        
+        Assert.assertEquals(6     ,v_Row.size());
+        Assert.assertEquals("E"   ,v_Row.get("extra"));
+        Assert.assertEquals("X"   ,v_Row.get("xid"));
+        Assert.assertTrue  (v_Row.containsKey("none"));
+        Assert.assertTrue  (v_Row.keySet().contains("extra"));
+        Assert.assertEquals(v_Size ,v_RowMap.getDBTableMetaData().getColumnIndexSize());
+        Assert.assertFalse (v_First.get(1).containsKey("extra"));
+        
+        Assert.assertEquals("E" ,v_Row.remove("extra"));
+        Assert.assertEquals(5   ,v_Row.size());
+        v_Row.put("extra" ,"E");
+        
+        // 之后的查询不受影响
+        List<Map<String ,Object>> v_Next = (List<Map<String ,Object>>) v_RowMap.getDatas(v_Records.iterator() ,0 ,0).getDatas();
+        
+        Assert.assertEquals(v_Size ,v_RowMap.getDBTableMetaData().getColumnIndexSize());
+        for (Map<String ,Object> v_NextRow : v_Next)
+        {
+            Assert.assertEquals(4 ,v_NextRow.size());
+            Assert.assertEquals(4 ,v_NextRow.keySet().size());
+            Assert.assertFalse (v_NextRow.containsKey("extra"));
+        }
+        Assert.assertEquals("DS_0" ,v_Next.get(0).get("xid"));
+    }
+    
+    
+    
+    /**
+     * 列式结果集：数值列为基本类型的数组，字符串列为字典编码
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-18
+     * @version     v1.0
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void test_GetDatas_Columnar() throws Exception
+    {
+        XCQLResult   v_Result  = new XCQLResult();
+        List<Record> v_Records = this.newRecords(100);
+        
+        v_Result.setTable(XCQLColumnTable.class.getName());
+        
+        XCQLData        v_Data  = v_Result.getDatas(v_Records.iterator() ,10 ,50);
+        XCQLColumnTable v_Table = (XCQLColumnTable) v_Data.getDatas();
+        
+        Assert.assertEquals(50 ,v_Table.getRowCount());
+        Assert.assertEquals(4  ,v_Table.getColumnCount());
+        
+        XCQLColumn v_Port = v_Table.getColumn("port");
+        Assert.assertEquals(XCQLColumn.$Type_Long ,v_Port.getType());
+        Assert.assertEquals(50                    ,v_Port.getLongs().length);
+        Assert.assertEquals(3306 + 10             ,v_Port.getLong(0));
+        
+        XCQLColumn v_DatabaseName = v_Table.getColumn("databaseName");
+        Assert.assertEquals(XCQLColumn.$Type_String ,v_DatabaseName.getType());
+        Assert.assertEquals(1                       ,v_DatabaseName.getDictionary().size());
+        Assert.assertEquals("DS_10"                 ,v_Table.getColumn("xid").getString(0));
+    }
+    
+    
+    
+    @Test
+    public void test_GetDatas_Graph() throws Exception
+    {
+        XCQLResult           v_Result = new XCQLResult();
+        InternalNode         v_A      = new InternalNode(1 ,"n1" ,Arrays.asList("User")          ,Map.of("name" ,Values.value("A") ,"age" ,Values.value(18)));
+        InternalNode         v_B      = new InternalNode(2 ,"n2" ,Arrays.asList("User" ,"Admin") ,Map.of("name" ,Values.value("B")));
+        InternalNode         v_C      = new InternalNode(3 ,"n3" ,Arrays.asList("Group")         ,Map.of("name" ,Values.value("C")));
+        InternalRelationship v_AB     = new InternalRelationship(11 ,"r11" ,1 ,"n1" ,2 ,"n2" ,"KNOWS"  ,Map.of("since" ,Values.value(2020)));
+        InternalRelationship v_BC     = new InternalRelationship(12 ,"r12" ,2 ,"n2" ,3 ,"n3" ,"MEMBER" ,Map.of());
+        InternalRelationship v_DA     = new InternalRelationship(13 ,"r13" ,4 ,"n4" ,1 ,"n1" ,"KNOWS"  ,Map.of());
+        List<Record>         v_Records = new ArrayList<Record>();
+        
+        // 同一路径返回两次，验证去重。关系 r13 的起始节点 n4 未返回
+        v_Records.add(new InternalRecord(Arrays.asList("p" ,"x") ,new Value[] {new InternalPath(v_A ,v_AB ,v_B ,v_BC ,v_C).asValue() ,Values.value(1)}));
+        v_Records.add(new InternalRecord(Arrays.asList("p" ,"x") ,new Value[] {new InternalPath(v_A ,v_AB ,v_B ,v_BC ,v_C).asValue() ,Values.value(2)}));
+        v_Records.add(new InternalRecord(Arrays.asList("p" ,"x") ,new Value[] {Values.value(Arrays.asList(v_DA.asValue())) ,Values.value(3)}));
+        
+        v_Result.setTable(XCQLGraph.class.getName());
+        
+        XCQLData  v_Data  = v_Result.getDatas(v_Records.iterator() ,0 ,0);
+        XCQLGraph v_Graph = (XCQLGraph) v_Data.getDatas();
+        
+        Assert.assertEquals(3 ,v_Data.getRowCount());
+        Assert.assertEquals(4 ,v_Graph.getNodeCount());
+        Assert.assertEquals(3 ,v_Graph.getRelationshipCount());
+        Assert.assertEquals(3 ,v_Data.getRelCount());
+        
+        int v_NA = v_Graph.indexOfNode("n1");
+        int v_NB = v_Graph.indexOfNode("n2");
+        int v_NC = v_Graph.indexOfNode("n3");
+        int v_ND = v_Graph.indexOfNode("n4");
+        
+        Assert.assertTrue (v_Graph.hasLabel(v_NB ,"Admin"));
+        Assert.assertFalse(v_Graph.hasLabel(v_NA ,"Admin"));
+        Assert.assertEquals(0 ,v_Graph.getNodeLabels(v_ND).length);
+        Assert.assertEquals("KNOWS" ,v_Graph.getRelationshipType(v_Graph.getOutRelationships()[v_Graph.getOutOffsets()[v_NA]]));
+        
+        Assert.assertArrayEquals(new int[] {v_NB}       ,v_Graph.getNeighbors(v_NA ,XCQLGraph.$Direction_Out));
+        Assert.assertArrayEquals(new int[] {v_NB ,v_ND} ,v_Graph.getNeighbors(v_NA ,XCQLGraph.$Direction_Both));
+        Assert.assertArrayEquals(new int[] {v_NA ,v_NB} ,v_Graph.bfs(v_NA ,1  ,XCQLGraph.$Direction_Out));
+        Assert.assertArrayEquals(new int[] {v_ND ,v_NA ,v_NB ,v_NC} ,v_Graph.bfs(v_ND ,-1 ,XCQLGraph.$Direction_Out));
+        Assert.assertArrayEquals(new int[] {v_NC ,v_NB ,v_NA ,v_ND} ,v_Graph.bfs(v_NC ,-1 ,XCQLGraph.$Direction_In));
+        
+        Assert.assertEquals("A"  ,v_Graph.getNodeProperties().getColumn("name").getString(v_NA));
+        Assert.assertEquals(18   ,v_Graph.getNodeProperties().getColumn("age").getLong(v_NA));
+        Assert.assertTrue  (v_Graph.getNodeProperties().getColumn("age").isNull(v_NB));
+        Assert.assertTrue  (v_Graph.getNodeProperties().getColumn("name").isNull(v_ND));
+        Assert.assertEquals(2020 ,v_Graph.getRelationshipProperties().getColumn("since").getLong(0));
+    }
+    
+    
+    
+    @SuppressWarnings("unchecked")
+    private long contention(XCQLResult i_Result ,List<Record> i_Records ,int i_Threads ,int i_Count) throws Exception
+    {
+        ExecutorService            v_Executor = Executors.newFixedThreadPool(i_Threads);
+        CountDownLatch             v_Begin    = new CountDownLatch(1);
+        CountDownLatch             v_End      = new CountDownLatch(i_Threads);
+        AtomicLong                 v_Rows     = new AtomicLong(0);
+        AtomicReference<Throwable> v_Error    = new AtomicReference<Throwable>();
+        
+        for (int t=0; t<i_Threads; t++)
+        {
+            v_Executor.execute(() ->
+            {
+                try
+                {
+                    v_Begin.await();
+                    for (int i=0; i<i_Count; i++)
+                    {
+                        XCQLData               v_Data = i_Result.getDatas(i_Records.iterator() ,0 ,0);
+                        List<DataSourceConfig> v_List = (List<DataSourceConfig>) v_Data.getDatas();
+                        
+                        Assert.assertEquals(i_Records.size() ,v_List.size());
+                        Assert.assertEquals("DS_1" ,v_List.get(1).getXid());
+                        Assert.assertEquals(Integer.valueOf(3307) ,v_List.get(1).getPort());
+                        v_Rows.addAndGet(v_List.size());
+                    }
+                }
+                catch (Throwable exce)
+                {
+                    v_Error.compareAndSet(null ,exce);
+                }
+                finally
+                {
+                    v_End.countDown();
+                }
+            });
+        }
+        
+        long v_BeginTime = System.nanoTime();
+        v_Begin.countDown();
+        v_End.await();
+        long v_TimeLen = System.nanoTime() - v_BeginTime;
+        
+        v_Executor.shutdown();
+        v_Executor.awaitTermination(1 ,TimeUnit.MINUTES);
+        
+        if ( v_Error.get() != null )
+        {
+            throw new RuntimeException(v_Error.get());
+        }
+        Assert.assertEquals((long) i_Threads * i_Count * i_Records.size() ,v_Rows.get());
+        
+        return v_TimeLen;
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,246 @@
+package org.hy.common.xcql.junit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hy.common.xcql.XCQL;
+import org.hy.common.xcql.XCQLResult;
+import org.hy.common.xcql.XCQLResultIterator;
+import org.hy.common.xcql.XCQLTrigger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.internal.InternalRecord;
+
+
+
+
+
+/**
+ * 测试单元：流式读取的迭代器（XCQLResultIterator）
+ * 
+ * 注：不连接数据库。内存中的数据库连接池组（MemoryDataSourceCQL）每次执行CQL时返回相同的记录
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  添加：迭代器及Java流的关闭、释放连接及触发器的测试
+ */
+public class JU_XCQLResultIterator
+{
+    
+    private static List<Record> newRecords(Query i_Query)
+    {
+        List<String> v_Keys    = Arrays.asList("n.xid" ,"n.port");
+        List<Record> v_Records = new ArrayList<Record>();
+        
+        for (int i=0; i<3; i++)
+        {
+            v_Records.add(new InternalRecord(v_Keys ,new Value[] {Values.value("DS_" + i) ,Values.value(3306 + i)}));
+        }
+        
+        return v_Records;
+    }
+    
+    
+    
+    private XCQL newXCQL(MemoryDataSourceCQL i_DSCQL)
+    {
+        XCQL       v_XCQL   = new XCQL();
+        XCQLResult v_Result = new XCQLResult();
+        
+        v_Result.setTable("java.util.ArrayList");
+        v_Result.setRow("java.util.HashMap");
+        v_Result.setFill("add(row)");
+        v_Result.setCfill("put(colName ,colValue)");
+        
+        v_XCQL.setDataSourceCQL(i_DSCQL);
+        v_XCQL.setContent("MATCH (n:`数据源`) RETURN n.xid ,n.port");
+        v_XCQL.setResult(v_Result);
+        
+        return v_XCQL;
+    }
+    
+    
+    
+    /**
+     * 流式读取的会话的用时取决于调用者的消费速度，不计入数据库的会话用时
+     */
+    @Test
+    public void test_Latency() throws InterruptedException
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLResultIterator::newRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL);
+        
+        try (XCQLResultIterator<Map<String ,Object>> v_Iter = v_XCQL.queryIterator())
+        {
+            Assert.assertEquals(1L ,v_DSCQL.getConnActiveCount());
+            
+            // 调用者缓慢地消费
+            while ( v_Iter.hasNext() )
+            {
+                Thread.sleep(50L);
+                v_Iter.next();
+            }
+        }
+        
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        Assert.assertEquals(0D ,v_DSCQL.getLatencyEWMA() ,0D);
+        
+        // 一次性的查询记录会话的用时
+        v_XCQL.queryXCQLData();
+        Assert.assertTrue(v_DSCQL.getLatencyEWMA() > 0D);
+        Assert.assertTrue(v_DSCQL.getLatencyEWMA() < 50D);
+    }
+    
+    
+    
+    /**
+     * 触发器：携带公共参数，记录触发源已读取的行数及是否异常
+     */
+    private MemoryDataSourceCQL newTrigger(XCQL io_XCQL)
+    {
+        MemoryDataSourceCQL v_DSCQL   = new MemoryDataSourceCQL(i_Query -> new ArrayList<Record>());
+        XCQL                v_Log     = new XCQL();
+        XCQLTrigger         v_Trigger = new XCQLTrigger();
+        
+        v_Log.setDataSourceCQL(v_DSCQL);
+        v_Log.setContent("CREATE (n:`日志` {rows: #XT_IORowCount ,isError: #XT_IsError})");
+        v_Trigger.setCreateUpdate(v_Log);
+        
+        io_XCQL.setTrigger(v_Trigger);
+        io_XCQL.setTriggerParams(true);
+        
+        return v_DSCQL;
+    }
+    
+    
+    
+    /**
+     * 未读完就关闭：释放连接，并按已读取的行数触发一次。关闭前不触发
+     */
+    @Test
+    public void test_CloseEarly()
+    {
+        MemoryDataSourceCQL v_DSCQL   = new MemoryDataSourceCQL(JU_XCQLResultIterator::newRecords);
+        XCQL                v_XCQL    = this.newXCQL(v_DSCQL);
+        MemoryDataSourceCQL v_Trigger = this.newTrigger(v_XCQL);
+        
+        XCQLResultIterator<Map<String ,Object>> v_Iter = v_XCQL.queryIterator();
+        
+        Assert.assertTrue  (v_Iter.hasNext());
+        Assert.assertEquals("DS_0" ,v_Iter.next().get("xid"));
+        Assert.assertEquals(1L ,v_DSCQL.getConnActiveCount());
+        Assert.assertEquals(0  ,v_Trigger.getRunCount());
+        
+        v_Iter.close();
+        v_Iter.close();
+        
+        Assert.assertTrue  (v_Iter.isClosed());
+        Assert.assertFalse (v_Iter.hasNext());
+        Assert.assertEquals(1L ,v_Iter.getRowCount());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        Assert.assertEquals(1  ,v_Trigger.getRunCount());
+        Assert.assertTrue  (v_Trigger.getQueries().get(0).text() ,v_Trigger.getQueries().get(0).text().contains("rows: 1 ,isError: 0"));
+    }
+    
+    
+    
+    /**
+     * 读完时自动关闭，之后再关闭（如 try-with-resources）不重复触发
+     */
+    @Test
+    public void test_Exhausted()
+    {
+        MemoryDataSourceCQL v_DSCQL   = new MemoryDataSourceCQL(JU_XCQLResultIterator::newRecords);
+        XCQL                v_XCQL    = this.newXCQL(v_DSCQL);
+        MemoryDataSourceCQL v_Trigger = this.newTrigger(v_XCQL);
+        int                 v_Count   = 0;
+        
+        try (XCQLResultIterator<Map<String ,Object>> v_Iter = v_XCQL.queryIterator())
+        {
+            while ( v_Iter.hasNext() )
+            {
+                v_Iter.next();
+                v_Count++;
+            }
+            
+            Assert.assertTrue  (v_Iter.isClosed());
+            Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        }
+        
+        Assert.assertEquals(3 ,v_Count);
+        Assert.assertEquals(1 ,v_Trigger.getRunCount());
+        Assert.assertTrue  (v_Trigger.getQueries().get(0).text().contains("rows: 3 ,isError: 0"));
+    }
+    
+    
+    
+    /**
+     * Java流：关闭流时关闭迭代器、释放连接并触发
+     */
+    @Test
+    public void test_Stream()
+    {
+        MemoryDataSourceCQL v_DSCQL   = new MemoryDataSourceCQL(JU_XCQLResultIterator::newRecords);
+        XCQL                v_XCQL    = this.newXCQL(v_DSCQL);
+        MemoryDataSourceCQL v_Trigger = this.newTrigger(v_XCQL);
+        
+        try (Stream<Map<String ,Object>> v_Stream = v_XCQL.queryStream())
+        {
+            Assert.assertEquals(2L ,v_Stream.filter(v_Row -> !"DS_1".equals(v_Row.get("xid"))).count());
+        }
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        Assert.assertEquals(1  ,v_Trigger.getRunCount());
+        
+        // 未读取就关闭
+        try (Stream<Map<String ,Object>> v_Stream = v_XCQL.queryStream())
+        {
+            Assert.assertEquals(1L ,v_DSCQL.getConnActiveCount());
+        }
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        Assert.assertEquals(2  ,v_Trigger.getRunCount());
+        Assert.assertTrue  (v_Trigger.getQueries().get(1).text().contains("rows: 0 ,isError: 0"));
+    }
+    
+    
+    
+    /**
+     * 读取时异常：迭代器关闭、释放连接，并按异常触发
+     */
+    @Test
+    public void test_Error()
+    {
+        MemoryDataSourceCQL v_DSCQL   = new MemoryDataSourceCQL(JU_XCQLResultIterator::newRecords);
+        XCQL                v_XCQL    = this.newXCQL(v_DSCQL);
+        MemoryDataSourceCQL v_Trigger = this.newTrigger(v_XCQL);
+        
+        XCQLResultIterator<Map<String ,Object>> v_Iter = v_XCQL.queryIterator();
+        v_Iter.next();
+        
+        v_DSCQL.setOnNext(() -> { throw new ServiceUnavailableException("Connection lost"); });
+        try
+        {
+            v_Iter.next();
+            Assert.fail();
+        }
+        catch (ServiceUnavailableException exce)
+        {
+            // 预期的异常
+        }
+        
+        Assert.assertTrue  (v_Iter.isClosed());
+        Assert.assertEquals("Connection lost" ,v_Iter.getErrorInfo());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        Assert.assertEquals(1  ,v_Trigger.getRunCount());
+        Assert.assertTrue  (v_Trigger.getQueries().get(0).text().contains("rows: 1 ,isError: 1"));
+    }
+    
+}
@@ -0,0 +1,316 @@
+package org.hy.common.xcql.junit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import org.hy.common.xcql.XCQL;
+import org.hy.common.xcql.XCQLResult;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+
+
+
+
+/**
+ * 测试单元：响应式读取的发布者（XCQLResultPublisher）的背压及非法的请求数量
+ * 
+ * 注：不连接数据库。内存中的数据库连接池组（MemoryDataSourceCQL）的响应式会话按请求的数量，在请求者的线程上同步发布记录
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_XCQLResultPublisher
+{
+    
+    private static List<Record> newRecords(Query i_Query)
+    {
+        List<String> v_Keys    = Arrays.asList("n.xid" ,"n.port");
+        List<Record> v_Records = new ArrayList<Record>();
+        
+        for (int i=0; i<10; i++)
+        {
+            v_Records.add(new InternalRecord(v_Keys ,new Value[] {Values.value("DS_" + i) ,Values.value(3306 + i)}));
+        }
+        
+        return v_Records;
+    }
+    
+    
+    
+    private XCQL newXCQL(MemoryDataSourceCQL i_DSCQL)
+    {
+        XCQL       v_XCQL   = new XCQL();
+        XCQLResult v_Result = new XCQLResult();
+        
+        v_Result.setTable("java.util.ArrayList");
+        v_Result.setRow("java.util.HashMap");
+        v_Result.setFill("add(row)");
+        v_Result.setCfill("put(colName ,colValue)");
+        
+        v_XCQL.setDataSourceCQL(i_DSCQL);
+        v_XCQL.setContent("MATCH (n:`数据源`) RETURN n.xid ,n.port");
+        v_XCQL.setResult(v_Result);
+        
+        return v_XCQL;
+    }
+    
+    
+    
+    /**
+     * 背压：只发布下游请求的数量，驱动收到的请求数量与下游一致。全部发布后完成并释放连接
+     */
+    @Test
+    public void test_BackPressure()
+    {
+        MemoryDataSourceCQL v_DSCQL      = new MemoryDataSourceCQL(JU_XCQLResultPublisher::newRecords);
+        XCQL                v_XCQL       = this.newXCQL(v_DSCQL);
+        RowSubscriber       v_Subscriber = new RowSubscriber(2L);
+        
+        v_XCQL.<Map<String ,Object>>queryPublisher().subscribe(v_Subscriber);
+        
+        Assert.assertEquals(2      ,v_Subscriber.rows.size());
+        Assert.assertEquals("DS_0" ,v_Subscriber.rows.get(0).get("xid"));
+        Assert.assertEquals(2L     ,v_DSCQL.getRequestCount());
+        Assert.assertFalse (v_Subscriber.isComplete);
+        Assert.assertEquals(1L     ,v_DSCQL.getConnActiveCount());
+        
+        v_Subscriber.subscription.request(3L);
+        Assert.assertEquals(5      ,v_Subscriber.rows.size());
+        Assert.assertEquals("DS_4" ,v_Subscriber.rows.get(4).get("xid"));
+        Assert.assertEquals(5L     ,v_DSCQL.getRequestCount());
+        Assert.assertFalse (v_Subscriber.isComplete);
+        
+        v_Subscriber.subscription.request(Long.MAX_VALUE);
+        Assert.assertEquals(10     ,v_Subscriber.rows.size());
+        Assert.assertTrue  (v_Subscriber.isComplete);
+        Assert.assertNull  (v_Subscriber.error);
+        Assert.assertEquals(0L     ,v_DSCQL.getConnActiveCount());
+    }
+    
+    
+    
+    /**
+     * 订阅前请求的数量：在驱动的记录订阅建立后一次性传递
+     */
+    @Test
+    public void test_PendingRequest()
+    {
+        MemoryDataSourceCQL v_DSCQL      = new MemoryDataSourceCQL(JU_XCQLResultPublisher::newRecords);
+        XCQL                v_XCQL       = this.newXCQL(v_DSCQL);
+        RowSubscriber       v_Subscriber = new RowSubscriber(4L);
+        
+        // 在 onSubscribe() 中多次请求
+        v_Subscriber.onSubscribe = i_Subscription -> i_Subscription.request(3L);
+        v_XCQL.<Map<String ,Object>>queryPublisher().subscribe(v_Subscriber);
+        
+        Assert.assertEquals(7  ,v_Subscriber.rows.size());
+        Assert.assertEquals(7L ,v_DSCQL.getRequestCount());
+    }
+    
+    
+    
+    /**
+     * 取消：驱动的记录订阅被取消，释放连接，之后不再发布
+     */
+    @Test
+    public void test_Cancel()
+    {
+        MemoryDataSourceCQL v_DSCQL      = new MemoryDataSourceCQL(JU_XCQLResultPublisher::newRecords);
+        XCQL                v_XCQL       = this.newXCQL(v_DSCQL);
+        RowSubscriber       v_Subscriber = new RowSubscriber(3L);
+        
+        v_XCQL.<Map<String ,Object>>queryPublisher().subscribe(v_Subscriber);
+        v_Subscriber.subscription.cancel();
+        v_Subscriber.subscription.request(5L);
+        
+        Assert.assertEquals(3  ,v_Subscriber.rows.size());
+        Assert.assertEquals(1  ,v_DSCQL.getCancelCount());
+        Assert.assertEquals(3L ,v_DSCQL.getRequestCount());
+        Assert.assertFalse (v_Subscriber.isComplete);
+        Assert.assertNull  (v_Subscriber.error);
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+    }
+    
+    
+    
+    /**
+     * request(n<=0)：在调用者的线程上通知 onError() ，取消驱动的记录订阅并释放连接
+     */
+    @Test
+    public void test_RequestIllegal()
+    {
+        MemoryDataSourceCQL v_DSCQL      = new MemoryDataSourceCQL(JU_XCQLResultPublisher::newRecords);
+        XCQL                v_XCQL       = this.newXCQL(v_DSCQL);
+        RowSubscriber       v_Subscriber = new RowSubscriber(2L);
+        
+        v_XCQL.<Map<String ,Object>>queryPublisher().subscribe(v_Subscriber);
+        v_Subscriber.subscription.request(-1L);
+        
+        Assert.assertTrue  (v_Subscriber.error instanceof IllegalArgumentException);
+        Assert.assertEquals(1  ,v_Subscriber.errorCount);
+        Assert.assertEquals(2  ,v_Subscriber.rows.size());
+        Assert.assertEquals(1  ,v_DSCQL.getCancelCount());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+        
+        // 已结束后再请求，无数据、不再通知
+        v_Subscriber.subscription.request(0L);
+        v_Subscriber.subscription.request(5L);
+        Assert.assertEquals(1 ,v_Subscriber.errorCount);
+        Assert.assertEquals(2 ,v_Subscriber.rows.size());
+    }
+    
+    
+    
+    /**
+     * 在 onNext() 中 request(0)：待本次 onNext() 结束后才通知 onError() ，之后不再发布
+     */
+    @Test
+    public void test_RequestIllegalInOnNext()
+    {
+        MemoryDataSourceCQL v_DSCQL      = new MemoryDataSourceCQL(JU_XCQLResultPublisher::newRecords);
+        XCQL                v_XCQL       = this.newXCQL(v_DSCQL);
+        RowSubscriber       v_Subscriber = new RowSubscriber(5L);
+        
+        v_Subscriber.onNext = i_Subscriber ->
+        {
+            if ( i_Subscriber.rows.size() == 2 )
+            {
+                i_Subscriber.subscription.request(0L);
+                
+                // 本次 onNext() 未结束前，不通知 onError()
+                Assert.assertNull(i_Subscriber.error);
+            }
+        };
+        v_XCQL.<Map<String ,Object>>queryPublisher().subscribe(v_Subscriber);
+        
+        Assert.assertTrue  (v_Subscriber.error instanceof IllegalArgumentException);
+        Assert.assertEquals(1  ,v_Subscriber.errorCount);
+        Assert.assertEquals(2  ,v_Subscriber.rows.size());
+        Assert.assertFalse (v_Subscriber.isComplete);
+        Assert.assertEquals(1  ,v_DSCQL.getCancelCount());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+    }
+    
+    
+    
+    /**
+     * 只允许被订阅一次
+     */
+    @Test
+    public void test_SingleSubscriber()
+    {
+        MemoryDataSourceCQL                 v_DSCQL     = new MemoryDataSourceCQL(JU_XCQLResultPublisher::newRecords);
+        Flow.Publisher<Map<String ,Object>> v_Publisher = this.newXCQL(v_DSCQL).<Map<String ,Object>>queryPublisher();
+        RowSubscriber                       v_First     = new RowSubscriber(Long.MAX_VALUE);
+        RowSubscriber                       v_Second    = new RowSubscriber(Long.MAX_VALUE);
+        
+        v_Publisher.subscribe(v_First);
+        v_Publisher.subscribe(v_Second);
+        
+        Assert.assertEquals(10 ,v_First.rows.size());
+        Assert.assertTrue  (v_First.isComplete);
+        Assert.assertTrue  (v_Second.error instanceof IllegalStateException);
+        Assert.assertEquals(0  ,v_Second.rows.size());
+        Assert.assertEquals(1  ,v_DSCQL.getRunCount());
+    }
+    
+    
+    
+    
+    
+    /**
+     * 记录收到的行、异常及完成的订阅者
+     */
+    private static class RowSubscriber implements Flow.Subscriber<Map<String ,Object>>
+    {
+        
+        /** 订阅时请求的数量 */
+        private final long                        initRequest;
+        
+        /** 收到的行 */
+        private final List<Map<String ,Object>>   rows;
+        
+        /** 订阅时的额外动作。可为空 */
+        private Consumer<Flow.Subscription>       onSubscribe;
+        
+        /** 收到每行后的动作。可为空 */
+        private Consumer<RowSubscriber>           onNext;
+        
+        /** 发布者的订阅 */
+        private Flow.Subscription                 subscription;
+        
+        /** 收到的异常 */
+        private Throwable                         error;
+        
+        /** 收到异常的次数 */
+        private int                               errorCount;
+        
+        /** 是否已完成 */
+        private boolean                           isComplete;
+        
+        
+        
+        public RowSubscriber(long i_InitRequest)
+        {
+            this.initRequest = i_InitRequest;
+            this.rows        = new ArrayList<Map<String ,Object>>();
+        }
+        
+        
+        
+        @Override
+        public void onSubscribe(Flow.Subscription i_Subscription)
+        {
+            this.subscription = i_Subscription;
+            i_Subscription.request(this.initRequest);
+            
+            if ( this.onSubscribe != null )
+            {
+                this.onSubscribe.accept(i_Subscription);
+            }
+        }
+        
+        
+        
+        @Override
+        public void onNext(Map<String ,Object> i_Row)
+        {
+            this.rows.add(i_Row);
+            
+            if ( this.onNext != null )
+            {
+                this.onNext.accept(this);
+            }
+        }
+        
+        
+        
+        @Override
+        public void onError(Throwable i_Error)
+        {
+            this.error = i_Error;
+            this.errorCount++;
+        }
+        
+        
+        
+        @Override
+        public void onComplete()
+        {
+            this.isComplete = true;
+        }
+        
+    }
+    
+}
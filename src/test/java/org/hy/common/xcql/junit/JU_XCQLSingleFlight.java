@@ -0,0 +1,200 @@
+package org.hy.common.xcql.junit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.hy.common.xcql.XCQLData;
+import org.hy.common.xcql.XCQLSingleFlight;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：相同查询的并发合并（XCQLSingleFlight）
+ * 
+ * 首个线程的查询被闩锁挡住，直到所有合并的线程都已等待后才放行，所以合并的次数是确定的。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_XCQLSingleFlight
+{
+    
+    /** 合并的线程数 */
+    private static final int $Waiters = 8;
+    
+    
+    
+    /**
+     * 并发执行：首个线程执行 i_Query 时被挡住，等 $Waiters 个线程都合并后再放行
+     * 
+     * @param i_Flights  并发合并
+     * @param i_Release  放行首个线程的闩锁
+     * @param i_Query    真正执行查询的方法。须先通知 i_Started ，再等待 i_Release
+     * @param i_Started  首个线程已开始执行的闩锁
+     * @return           首个线程及合并的线程的执行结果。下标0为首个线程
+     */
+    private List<Future<XCQLData>> concurrent(XCQLSingleFlight i_Flights ,CountDownLatch i_Release ,Supplier<XCQLData> i_Query ,CountDownLatch i_Started) throws Exception
+    {
+        ExecutorService        v_Pool    = Executors.newFixedThreadPool($Waiters + 1);
+        List<Future<XCQLData>> v_Futures = new ArrayList<Future<XCQLData>>();
+        
+        try
+        {
+            v_Futures.add(v_Pool.submit(() -> i_Flights.execute("key" ,i_Query)));
+            Assert.assertTrue(i_Started.await(10 ,TimeUnit.SECONDS));
+            
+            for (int i=0; i<$Waiters; i++)
+            {
+                v_Futures.add(v_Pool.submit(() -> i_Flights.execute("key" ,() -> { throw new IllegalStateException("Waiter must not execute."); })));
+            }
+            
+            // 合并的次数在等待之前计数，全部计数后再放行首个线程
+            long v_Deadline = System.currentTimeMillis() + 10000L;
+            while ( i_Flights.getShareCount() < $Waiters && System.currentTimeMillis() < v_Deadline )
+            {
+                Thread.sleep(5L);
+            }
+            Assert.assertEquals($Waiters ,i_Flights.getShareCount());
+            
+            i_Release.countDown();
+            
+            for (Future<XCQLData> v_Future : v_Futures)
+            {
+                try
+                {
+                    v_Future.get(10 ,TimeUnit.SECONDS);
+                }
+                catch (ExecutionException exce)
+                {
+                    // 由调用者判定
+                }
+            }
+        }
+        finally
+        {
+            v_Pool.shutdownNow();
+        }
+        
+        return v_Futures;
+    }
+    
+    
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_Share() throws Exception
+    {
+        XCQLSingleFlight v_Flights  = new XCQLSingleFlight();
+        CountDownLatch   v_Started  = new CountDownLatch(1);
+        CountDownLatch   v_Release  = new CountDownLatch(1);
+        AtomicInteger    v_Executes = new AtomicInteger(0);
+        
+        List<Future<XCQLData>> v_Futures = this.concurrent(v_Flights ,v_Release ,() ->
+        {
+            v_Executes.incrementAndGet();
+            v_Started.countDown();
+            try
+            {
+                v_Release.await();
+            }
+            catch (InterruptedException exce)
+            {
+                throw new RuntimeException(exce);
+            }
+            return new XCQLData(new ArrayList<String>(Arrays.asList("A" ,"B")) ,2L ,1 ,0L ,1L ,null);
+        } ,v_Started);
+        
+        Assert.assertEquals(1            ,v_Executes.get());
+        Assert.assertEquals(1L           ,v_Flights.getExecuteCount());
+        Assert.assertEquals($Waiters     ,v_Flights.getShareCount());
+        Assert.assertEquals((double) $Waiters / ($Waiters + 1) ,v_Flights.getShareRatio() ,0.000001D);
+        Assert.assertEquals(0            ,v_Flights.getFlightCount());
+        
+        // 每个线程获得各自的浅拷贝，修改表级对象时互不影响
+        List<XCQLData> v_Datas = new ArrayList<XCQLData>();
+        for (Future<XCQLData> v_Future : v_Futures)
+        {
+            XCQLData v_Data = v_Future.get();
+            
+            Assert.assertEquals(2L                      ,v_Data.getRowCount());
+            Assert.assertEquals(ArrayList.class         ,v_Data.getDatas().getClass());
+            Assert.assertEquals(Arrays.asList("A" ,"B") ,v_Data.getDatas());
+            for (XCQLData v_Other : v_Datas)
+            {
+                Assert.assertNotSame(v_Other            ,v_Data);
+                Assert.assertNotSame(v_Other.getDatas() ,v_Data.getDatas());
+            }
+            v_Datas.add(v_Data);
+        }
+        
+        ((List<String>) v_Datas.get(0).getDatas()).clear();
+        ((List<String>) v_Datas.get(1).getDatas()).add("C");
+        Assert.assertEquals(Arrays.asList("A" ,"B") ,v_Datas.get(2).getDatas());
+        
+        // 执行完成后即移除，不缓存
+        v_Flights.reset();
+        v_Flights.execute("key" ,() -> { v_Executes.incrementAndGet(); return null; });
+        Assert.assertEquals(2  ,v_Executes.get());
+        Assert.assertEquals(1L ,v_Flights.getExecuteCount());
+        Assert.assertEquals(0L ,v_Flights.getShareCount());
+    }
+    
+    
+    
+    @Test
+    public void test_Exception() throws Exception
+    {
+        XCQLSingleFlight      v_Flights = new XCQLSingleFlight();
+        CountDownLatch        v_Started = new CountDownLatch(1);
+        CountDownLatch        v_Release = new CountDownLatch(1);
+        IllegalStateException v_Error   = new IllegalStateException("Query failed.");
+        
+        List<Future<XCQLData>> v_Futures = this.concurrent(v_Flights ,v_Release ,() ->
+        {
+            v_Started.countDown();
+            try
+            {
+                v_Release.await();
+            }
+            catch (InterruptedException exce)
+            {
+                throw new RuntimeException(exce);
+            }
+            throw v_Error;
+        } ,v_Started);
+        
+        // 首个线程执行异常时，合并的线程抛出相同的异常
+        for (Future<XCQLData> v_Future : v_Futures)
+        {
+            try
+            {
+                v_Future.get();
+                Assert.fail("Should throw the leader's exception.");
+            }
+            catch (ExecutionException exce)
+            {
+                Assert.assertSame(v_Error ,exce.getCause());
+            }
+        }
+        
+        Assert.assertEquals(1L       ,v_Flights.getExecuteCount());
+        Assert.assertEquals($Waiters ,v_Flights.getShareCount());
+        Assert.assertEquals(0        ,v_Flights.getFlightCount());
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,203 @@
+package org.hy.common.xcql.junit;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hy.common.xcql.XCQLTriggerExecutor;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：XCQL触发器异步模式的执行线程池
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  添加：关闭时等待队列中的触发执行完成、多线程首次执行只创建一个线程池的测试
+ */
+public class JU_XCQLTriggerExecutor
+{
+    
+    /**
+     * 在线程池中执行一次，返回执行的线程
+     */
+    private Thread runOn(XCQLTriggerExecutor i_Executor) throws InterruptedException
+    {
+        final CountDownLatch          v_Done   = new CountDownLatch(1);
+        final AtomicReference<Thread> v_Thread = new AtomicReference<Thread>();
+        
+        try
+        {
+            i_Executor.execute(() ->
+            {
+                v_Thread.set(Thread.currentThread());
+                v_Done.countDown();
+            });
+            
+            Assert.assertTrue(v_Done.await(10 ,TimeUnit.SECONDS));
+        }
+        finally
+        {
+            i_Executor.shutdown();
+        }
+        
+        return v_Thread.get();
+    }
+    
+    
+    
+    private boolean isVirtual(Thread i_Thread) throws Exception
+    {
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(i_Thread);
+    }
+    
+    
+    
+    @Test
+    public void test_VirtualThread() throws Exception
+    {
+        Assume.assumeTrue("Virtual threads need Java 21+" ,Runtime.version().feature() >= 21);
+        
+        XCQLTriggerExecutor v_Executor = new XCQLTriggerExecutor();
+        v_Executor.setVirtualThread(true);
+        
+        Thread v_Thread = this.runOn(v_Executor);
+        
+        Assert.assertTrue(this.isVirtual(v_Thread));
+        Assert.assertTrue(v_Thread.getName() ,v_Thread.getName().startsWith("XCQLTrigger-"));
+    }
+    
+    
+    
+    @Test
+    public void test_VirtualThreadFallback() throws Exception
+    {
+        Assume.assumeTrue(Runtime.version().feature() < 21);
+        
+        XCQLTriggerExecutor v_Executor = new XCQLTriggerExecutor();
+        v_Executor.setVirtualThread(true);
+        
+        Thread v_Thread = this.runOn(v_Executor);
+        
+        // 不支持虚拟线程时，回退为平台线程
+        Assert.assertTrue(v_Thread.isDaemon());
+        Assert.assertTrue(v_Thread.getName() ,v_Thread.getName().startsWith("XCQLTrigger-"));
+    }
+    
+    
+    
+    @Test
+    public void test_PlatformThread() throws Exception
+    {
+        XCQLTriggerExecutor v_Executor = new XCQLTriggerExecutor();
+        
+        Thread v_Thread = this.runOn(v_Executor);
+        
+        Assert.assertTrue(v_Thread.isDaemon());
+        Assert.assertEquals("XCQLTrigger-1" ,v_Thread.getName());
+        if ( Runtime.version().feature() >= 21 )
+        {
+            Assert.assertFalse(this.isVirtual(v_Thread));
+        }
+    }
+    
+    
+    
+    /**
+     * 关闭时，等待队列中的触发执行完成（JVM退出时的关闭钩子也按此执行）
+     */
+    @Test
+    public void test_ShutdownDrain() throws Exception
+    {
+        XCQLTriggerExecutor v_Executor = new XCQLTriggerExecutor();
+        AtomicInteger       v_Done     = new AtomicInteger(0);
+        
+        v_Executor.setCorePoolSize(1);
+        v_Executor.setMaxPoolSize(1);
+        
+        for (int i=0; i<50; i++)
+        {
+            v_Executor.execute(() ->
+            {
+                try
+                {
+                    Thread.sleep(2L);
+                }
+                catch (InterruptedException exce)
+                {
+                    // Nothing.
+                }
+                v_Done.incrementAndGet();
+            });
+        }
+        Assert.assertTrue(v_Executor.getQueueSize() > 0);
+        
+        Assert.assertTrue (v_Executor.shutdown(10L));
+        Assert.assertEquals(50 ,v_Done.get());
+        Assert.assertEquals(0  ,v_Executor.getQueueSize());
+        Assert.assertEquals(0L ,v_Executor.getDroppedCount());
+        
+        // 已关闭时，再关闭无影响
+        Assert.assertTrue(v_Executor.shutdown(1L));
+    }
+    
+    
+    
+    /**
+     * 多个线程同时首次执行时，只创建一个线程池。创建多个时，执行的线程数将超过最大线程数
+     */
+    @Test
+    public void test_GetPoolConcurrent() throws Exception
+    {
+        XCQLTriggerExecutor v_Executor = new XCQLTriggerExecutor();
+        int                 v_Threads  = 16;
+        CountDownLatch      v_Begin    = new CountDownLatch(1);
+        CountDownLatch      v_Done     = new CountDownLatch(v_Threads);
+        Set<Thread>         v_Runs     = ConcurrentHashMap.newKeySet();
+        
+        v_Executor.setCorePoolSize(2);
+        v_Executor.setMaxPoolSize(2);
+        
+        for (int t=0; t<v_Threads; t++)
+        {
+            new Thread(() ->
+            {
+                try
+                {
+                    v_Begin.await();
+                    v_Executor.execute(() ->
+                    {
+                        v_Runs.add(Thread.currentThread());
+                        v_Done.countDown();
+                    });
+                }
+                catch (InterruptedException exce)
+                {
+                    // Nothing.
+                }
+            }).start();
+        }
+        
+        v_Begin.countDown();
+        try
+        {
+            Assert.assertTrue(v_Done.await(10 ,TimeUnit.SECONDS));
+            Assert.assertTrue(String.valueOf(v_Runs.size()) ,v_Runs.size() <= 2);
+            Assert.assertEquals(0L ,v_Executor.getCallerRunsCount());
+        }
+        finally
+        {
+            v_Executor.shutdown();
+        }
+    }
+    
+}
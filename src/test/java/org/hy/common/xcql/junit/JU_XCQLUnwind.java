@@ -0,0 +1,203 @@
+package org.hy.common.xcql.junit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hy.common.xcql.DBCQL;
+import org.hy.common.xcql.XCQL;
+import org.hy.common.xcql.XCQLData;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+
+
+
+
+
+/**
+ * 测试单元：批量执行的 UNWIND 模式
+ * 
+ * 注：不连接数据库。内存中的数据库连接池组（MemoryDataSourceCQL）执行的统计中，创建的节点数为 UNWIND 的批量行数
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_XCQLUnwind
+{
+    
+    private static List<Record> noRecords(Query i_Query)
+    {
+        return Collections.emptyList();
+    }
+    
+    
+    
+    private XCQL newXCQL(MemoryDataSourceCQL i_DSCQL ,String i_CQL ,int i_BatchCommit)
+    {
+        XCQL v_XCQL = new XCQL();
+        
+        v_XCQL.setDataSourceCQL(i_DSCQL);
+        v_XCQL.setContent(i_CQL);
+        v_XCQL.setBatchUnwind(true);
+        v_XCQL.setBatchCommit(i_BatchCommit);
+        
+        return v_XCQL;
+    }
+    
+    
+    
+    private List<Map<String ,Object>> newRows(List<String> i_Labels)
+    {
+        List<Map<String ,Object>> v_Rows = new ArrayList<Map<String ,Object>>();
+        
+        for (int i=0; i<i_Labels.size(); i++)
+        {
+            Map<String ,Object> v_Row = new HashMap<String ,Object>();
+            v_Row.put("xid"   ,"DS_" + i);
+            v_Row.put("port"  ,3306 + i);
+            v_Row.put("label" ,i_Labels.get(i));
+            v_Rows.add(v_Row);
+        }
+        
+        return v_Rows;
+    }
+    
+    
+    
+    private List<String> newLabels(int i_Size)
+    {
+        return Collections.nCopies(i_Size ,"数据源");
+    }
+    
+    
+    
+    private static int unwindRows(Query i_Query)
+    {
+        return i_Query.parameters().get("XCQL_Rows").size();
+    }
+    
+    
+    
+    @Test
+    public void test_IsUnwindable()
+    {
+        Assert.assertTrue (DBCQL.isUnwindable("CREATE (n:`数据源` {xid: $xid ,port: $port})"));
+        Assert.assertTrue (DBCQL.isUnwindable("MATCH (n {xid: '#xid'}) SET n.count = #count ,n.limit = #limit"));
+        Assert.assertTrue (DBCQL.isUnwindable("CREATE (n:`LIMIT` {remark: 'RETURN n ORDER BY n'})  // RETURN n"));
+        Assert.assertTrue (DBCQL.isUnwindable("MERGE (n {xid: $xid}) ON CREATE SET n.sum = 1 /* count(n) */"));
+        
+        Assert.assertFalse(DBCQL.isUnwindable("CREATE (n:`数据源` {xid: $xid}) RETURN n"));
+        Assert.assertFalse(DBCQL.isUnwindable("MATCH (n {xid: $xid}) WITH n LIMIT 1 SET n.port = $port"));
+        Assert.assertFalse(DBCQL.isUnwindable("MATCH (n {xid: $xid}) WITH n ORDER BY n.port SKIP 1 DELETE n"));
+        Assert.assertFalse(DBCQL.isUnwindable("MATCH (n) WITH count (n) AS c CREATE (m {total: c})"));
+        Assert.assertFalse(DBCQL.isUnwindable("MATCH (n) WITH collect(n) AS ns CREATE (m {size: size(ns)})"));
+        Assert.assertFalse(DBCQL.isUnwindable(null));
+        
+        Assert.assertNull(DBCQL.toUnwindCQL("CREATE (n {xid: $xid}) RETURN n" ,"XCQL_Rows" ,"XCQL_Row"));
+    }
+    
+    
+    
+    /**
+     * 按分批提交的提交点分批，每批一条 UNWIND 语句、提交一次。影响的数量为所有批次的累计值
+     */
+    @Test
+    public void test_BatchCommit()
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLUnwind::noRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,"CREATE (n:`数据源` {xid: '#xid' ,port: #port})" ,4);
+        
+        XCQLData v_Ret = v_XCQL.executeInserts(this.newRows(this.newLabels(10)));
+        
+        Assert.assertEquals(3  ,v_DSCQL.getRunCount());
+        Assert.assertEquals(4  ,unwindRows(v_DSCQL.getQueries().get(0)));
+        Assert.assertEquals(4  ,unwindRows(v_DSCQL.getQueries().get(1)));
+        Assert.assertEquals(2  ,unwindRows(v_DSCQL.getQueries().get(2)));
+        Assert.assertTrue(v_DSCQL.getQueries().get(0).text().startsWith("UNWIND $XCQL_Rows AS XCQL_Row"));
+        
+        Assert.assertEquals(3  ,v_DSCQL.getCommitCount());
+        Assert.assertEquals(0  ,v_DSCQL.getRollbackCount());
+        Assert.assertEquals(10 ,v_Ret.getRowCount());
+        Assert.assertEquals(0L ,v_DSCQL.getConnActiveCount());
+    }
+    
+    
+    
+    /**
+     * 未分批提交时，每1000组一批，所有批次在一个事务中提交
+     */
+    @Test
+    public void test_OneTransaction()
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLUnwind::noRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,"CREATE (n:`数据源` {xid: '#xid' ,port: #port})" ,0);
+        
+        XCQLData v_Ret = v_XCQL.executeInserts(this.newRows(this.newLabels(2500)));
+        
+        Assert.assertEquals(3    ,v_DSCQL.getRunCount());
+        Assert.assertEquals(1000 ,unwindRows(v_DSCQL.getQueries().get(0)));
+        Assert.assertEquals(500  ,unwindRows(v_DSCQL.getQueries().get(2)));
+        Assert.assertEquals(1    ,v_DSCQL.getCommitCount());
+        Assert.assertEquals(2500 ,v_Ret.getRowCount());
+    }
+    
+    
+    
+    /**
+     * 标签的占位符取值不同时CQL文本不同，批次被拆小（记录警告日志），影响的数量仍为累计值
+     */
+    @Test
+    public void test_FragmentedBatch()
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLUnwind::noRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,"CREATE (n:#label {xid: '#xid' ,port: #port})" ,10);
+        
+        XCQLData v_Ret = v_XCQL.executeInserts(this.newRows(Arrays.asList("A" ,"A" ,"B" ,"A" ,"A" ,"A")));
+        
+        Assert.assertEquals(3 ,v_DSCQL.getRunCount());
+        Assert.assertEquals(2 ,unwindRows(v_DSCQL.getQueries().get(0)));
+        Assert.assertEquals(1 ,unwindRows(v_DSCQL.getQueries().get(1)));
+        Assert.assertEquals(3 ,unwindRows(v_DSCQL.getQueries().get(2)));
+        Assert.assertTrue(v_DSCQL.getQueries().get(0).text().contains(":A "));
+        Assert.assertTrue(v_DSCQL.getQueries().get(1).text().contains(":B "));
+        
+        Assert.assertEquals(3 ,v_DSCQL.getCommitCount());
+        Assert.assertEquals(6 ,v_Ret.getRowCount());
+    }
+    
+    
+    
+    /**
+     * 含有 RETURN 、 LIMIT 、聚合函数的CQL模板，不使用 UNWIND 模式，仍逐条执行
+     */
+    @Test
+    public void test_RowSpanningFallback()
+    {
+        MemoryDataSourceCQL v_DSCQL = new MemoryDataSourceCQL(JU_XCQLUnwind::noRecords);
+        XCQL                v_XCQL  = this.newXCQL(v_DSCQL ,"CREATE (n:`数据源` {xid: '#xid' ,port: #port}) RETURN n" ,0);
+        
+        XCQLData v_Ret = v_XCQL.executeInserts(this.newRows(this.newLabels(5)));
+        
+        Assert.assertEquals(5 ,v_DSCQL.getRunCount());
+        Assert.assertEquals(5 ,v_Ret.getRowCount());
+        for (Query v_Query : v_DSCQL.getQueries())
+        {
+            Assert.assertFalse(v_Query.text().contains("UNWIND"));
+        }
+        
+        v_DSCQL = new MemoryDataSourceCQL(JU_XCQLUnwind::noRecords);
+        v_XCQL  = this.newXCQL(v_DSCQL ,"MATCH (n:`数据源` {xid: '#xid'}) WITH n LIMIT 1 SET n.port = #port" ,0);
+        
+        v_XCQL.executeUpdates(this.newRows(this.newLabels(5)));
+        
+        Assert.assertEquals(5 ,v_DSCQL.getRunCount());
+        Assert.assertFalse(v_DSCQL.getQueries().get(0).text().contains("UNWIND"));
+    }
+    
+}
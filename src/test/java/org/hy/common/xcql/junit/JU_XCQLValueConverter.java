@@ -0,0 +1,177 @@
+package org.hy.common.xcql.junit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.hy.common.xcql.XCQLMethod;
+import org.hy.common.xcql.XCQLValueConverter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.types.Node;
+import org.neo4j.driver.types.Type;
+
+
+
+
+
+/**
+ * 测试单元：图数据库的值直接转为Java类型的转换矩阵（XCQLValueConverter），及按值类型取值 XCQLMethod.getValue(Value)
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ */
+public class JU_XCQLValueConverter
+{
+    
+    private Object convert(Value i_Value ,Class<?> i_JavaType)
+    {
+        Function<Value ,Object> v_Converter = XCQLValueConverter.getConverter(i_Value.type() ,i_JavaType);
+        
+        Assert.assertNotNull(i_Value.type().name() + " -> " + i_JavaType.getName() ,v_Converter);
+        return v_Converter.apply(i_Value);
+    }
+    
+    
+    
+    @Test
+    public void test_Number()
+    {
+        Value v_Long = Values.value(Long.MAX_VALUE);
+        
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE)                ,this.convert(v_Long ,long.class));
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE)                ,this.convert(v_Long ,Long.class));
+        Assert.assertEquals(BigDecimal.valueOf(Long.MAX_VALUE)          ,this.convert(v_Long ,BigDecimal.class));
+        Assert.assertEquals(Float.valueOf(1.5F)                         ,this.convert(Values.value(1.5D) ,float.class));
+        Assert.assertEquals(Float.valueOf(1.5F)                         ,this.convert(Values.value(1.5D) ,Float.class));
+    }
+    
+    
+    
+    @Test
+    public void test_DateTime()
+    {
+        ZonedDateTime v_DateTime = ZonedDateTime.of(2026 ,10 ,18 ,8 ,30 ,15 ,0 ,ZoneOffset.ofHours(8));
+        Value         v_Value    = Values.value(v_DateTime);
+        Instant       v_Instant  = v_DateTime.toInstant();
+        
+        Assert.assertEquals(java.util.Date.from(v_Instant)              ,this.convert(v_Value ,java.util.Date.class));
+        Assert.assertEquals(v_Instant.toEpochMilli()                    ,((java.util.Date) this.convert(v_Value ,org.hy.common.Date.class)).getTime());
+        Assert.assertEquals(java.sql.Timestamp.from(v_Instant)          ,this.convert(v_Value ,java.sql.Timestamp.class));
+        Assert.assertEquals(v_Instant                                   ,this.convert(v_Value ,Instant.class));
+        Assert.assertEquals(v_DateTime                                  ,this.convert(v_Value ,ZonedDateTime.class));
+        Assert.assertEquals(v_DateTime.toLocalDateTime()                ,this.convert(v_Value ,LocalDateTime.class));
+        Assert.assertEquals(v_DateTime.toLocalDate()                    ,this.convert(v_Value ,LocalDate.class));
+        Assert.assertEquals(Long.valueOf(v_Instant.toEpochMilli())      ,this.convert(v_Value ,long.class));
+    }
+    
+    
+    
+    @Test
+    public void test_LocalDateTime()
+    {
+        LocalDateTime v_Local   = LocalDateTime.of(2026 ,10 ,18 ,8 ,30 ,15);
+        Value         v_Value   = Values.value(v_Local);
+        Instant       v_Instant = v_Local.atZone(ZoneId.systemDefault()).toInstant();
+        
+        // 没有时区的，按系统默认时区转换
+        Assert.assertEquals(java.util.Date.from(v_Instant)              ,this.convert(v_Value ,java.util.Date.class));
+        Assert.assertEquals(java.sql.Timestamp.valueOf(v_Local)         ,this.convert(v_Value ,java.sql.Timestamp.class));
+        Assert.assertEquals(v_Local                                     ,this.convert(v_Value ,LocalDateTime.class));
+        Assert.assertEquals(v_Local.toLocalDate()                       ,this.convert(v_Value ,LocalDate.class));
+        
+        LocalDate v_Date = LocalDate.of(2026 ,10 ,18);
+        v_Value = Values.value(v_Date);
+        
+        Assert.assertEquals(java.sql.Date.valueOf(v_Date)               ,this.convert(v_Value ,java.sql.Date.class));
+        Assert.assertEquals(v_Date                                      ,this.convert(v_Value ,LocalDate.class));
+        Assert.assertEquals(v_Date.atStartOfDay()                       ,this.convert(v_Value ,LocalDateTime.class));
+        Assert.assertEquals(java.util.Date.from(v_Date.atStartOfDay(ZoneId.systemDefault()).toInstant()) ,this.convert(v_Value ,java.util.Date.class));
+        
+        LocalTime  v_LocalTime  = LocalTime.of(8 ,30 ,15);
+        OffsetTime v_OffsetTime = OffsetTime.of(v_LocalTime ,ZoneOffset.UTC);
+        
+        Assert.assertEquals(v_LocalTime                                 ,this.convert(Values.value(v_LocalTime)  ,LocalTime.class));
+        Assert.assertEquals(v_OffsetTime                                ,this.convert(Values.value(v_OffsetTime) ,OffsetTime.class));
+        Assert.assertEquals(v_LocalTime                                 ,this.convert(Values.value(v_OffsetTime) ,LocalTime.class));
+    }
+    
+    
+    
+    @Test
+    public void test_Collection()
+    {
+        Value v_List = Values.value(Arrays.asList("a" ,"b" ,"a"));
+        
+        Assert.assertEquals(Arrays.asList("a" ,"b" ,"a")                ,this.convert(v_List ,List.class));
+        Assert.assertEquals(new LinkedHashSet<String>(Arrays.asList("a" ,"b")) ,this.convert(v_List ,Set.class));
+        Assert.assertArrayEquals(new String [] {"a" ,"b" ,"a"}          ,(String []) this.convert(v_List ,String[].class));
+        Assert.assertArrayEquals(new Object [] {"a" ,"b" ,"a"}          ,(Object []) this.convert(v_List ,Object[].class));
+        
+        Assert.assertEquals(Map.of("k" ,1L)                             ,this.convert(Values.value(Map.of("k" ,1)) ,Map.class));
+        Assert.assertArrayEquals(new byte [] {1 ,2 ,3}                  ,(byte []) this.convert(Values.value(new byte [] {1 ,2 ,3}) ,byte[].class));
+        
+        InternalNode v_Node = new InternalNode(1 ,"n1" ,Arrays.asList("User") ,Map.of("name" ,Values.value("ZhengWei")));
+        
+        Assert.assertEquals(Map.of("name" ,"ZhengWei")                  ,this.convert(v_Node.asValue() ,Map.class));
+        Assert.assertSame  (v_Node                                      ,(Node) this.convert(v_Node.asValue() ,Node.class));
+    }
+    
+    
+    
+    @Test
+    public void test_NotInMatrix()
+    {
+        Type v_Integer = InternalTypeSystem.TYPE_SYSTEM.INTEGER();
+        
+        // 矩阵中没有的组合，由调用者继续使用原有的取值方法及加工类
+        Assert.assertNull(XCQLValueConverter.getConverter(v_Integer ,String.class));
+        Assert.assertNull(XCQLValueConverter.getConverter(v_Integer ,int.class));
+        Assert.assertNull(XCQLValueConverter.getConverter(InternalTypeSystem.TYPE_SYSTEM.STRING() ,String.class));
+        Assert.assertNull(XCQLValueConverter.getConverter(null      ,Long.class));
+        Assert.assertNull(XCQLValueConverter.getConverter(v_Integer ,null));
+        
+        // 值为NULL时，转换结果为NULL
+        Assert.assertNull(XCQLValueConverter.getConverter(v_Integer ,Long.class).apply(Values.NULL));
+    }
+    
+    
+    
+    @Test
+    public void test_GetValue()
+    {
+        // 整数在int范围内的，转为Integer，否则为Long
+        Assert.assertEquals(Integer.valueOf(1)                          ,XCQLMethod.getValue(Values.value(1L)));
+        Assert.assertEquals(Integer.valueOf(Integer.MAX_VALUE)          ,XCQLMethod.getValue(Values.value((long) Integer.MAX_VALUE)));
+        Assert.assertEquals(Integer.valueOf(Integer.MIN_VALUE)          ,XCQLMethod.getValue(Values.value((long) Integer.MIN_VALUE)));
+        Assert.assertEquals(Long.valueOf(Integer.MAX_VALUE + 1L)        ,XCQLMethod.getValue(Values.value(Integer.MAX_VALUE + 1L)));
+        Assert.assertEquals(Long.valueOf(Integer.MIN_VALUE - 1L)        ,XCQLMethod.getValue(Values.value(Integer.MIN_VALUE - 1L)));
+        
+        Assert.assertEquals("ZhengWei"                                  ,XCQLMethod.getValue(Values.value("ZhengWei")));
+        Assert.assertEquals(Float.valueOf(1.5F)                         ,XCQLMethod.getValue(Values.value(1.5D)));
+        Assert.assertEquals(Boolean.TRUE                                ,XCQLMethod.getValue(Values.value(true)));
+        
+        // 其它类型转为字符串
+        Value v_Date = Values.value(LocalDate.of(2026 ,10 ,18));
+        Assert.assertEquals(v_Date.toString()                           ,XCQLMethod.getValue(v_Date));
+    }
+    
+}
+    
\ No newline at end of file
@@ -0,0 +1,701 @@
+package org.hy.common.xcql.junit;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.hy.common.xcql.DataSourceCQL;
+import org.neo4j.driver.BaseSession;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
+import org.neo4j.driver.reactive.ReactiveResult;
+import org.neo4j.driver.reactive.ReactiveSession;
+import org.neo4j.driver.summary.ResultSummary;
+import org.neo4j.driver.summary.SummaryCounters;
+
+
+
+
+
+/**
+ * 内存中的数据库连接池组。不连接数据库，用于测试XCQL的执行过程
+ * 
+ * 执行CQL时，记录执行的CQL及参数，并按 records 生成的记录返回结果集。
+ * 执行CQL时的动作（onRun）抛出异常时，模拟执行失败。
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-18
+ * @version     v1.0
+ *              v2.0  2026-10-18  修改：只重写打开会话的 openSession() 方法，会话的用时、熔断器等按 DataSourceCQL 执行
+ *              v3.0  2026-10-18  添加：显式事务，及提交、回滚的计数；执行的统计；读取每行记录时的动作
+ *              v4.0  2026-10-18  添加：异步会话。在公共线程池中执行CQL，模拟不占用调用者的线程
+ *              v5.0  2026-10-18  添加：响应式会话。按订阅者请求的数量逐条发布记录，并记录请求的数量及取消的次数
+ */
+public class MemoryDataSourceCQL extends DataSourceCQL
+{
+    private static final long serialVersionUID = 4406528271373524151L;
+    
+    
+    
+    /** 执行CQL的次数 */
+    private final AtomicInteger                          runCount;
+    
+    /** 显式事务提交的次数 */
+    private final AtomicInteger                          commitCount;
+    
+    /** 显式事务回滚的次数（含未提交就关闭的） */
+    private final AtomicInteger                          rollbackCount;
+    
+    /** 执行过的CQL及参数 */
+    private final List<Query>                            queries;
+    
+    /** 按执行的CQL及参数生成返回的记录 */
+    private transient Function<Query ,List<Record>>      records;
+    
+    /** 执行CQL时的动作。可为空 */
+    private transient Runnable                           onRun;
+    
+    /** 读取结果集中每行记录时的动作。可为空 */
+    private transient Runnable                           onNext;
+    
+    /** 响应式读取时，向记录发布者请求的数量 */
+    private final AtomicLong                             requestCount;
+    
+    /** 响应式读取时，记录发布者被取消的次数 */
+    private final AtomicInteger                          cancelCount;
+    
+    
+    
+    public MemoryDataSourceCQL(Function<Query ,List<Record>> i_Records)
+    {
+        this.runCount      = new AtomicInteger(0);
+        this.commitCount   = new AtomicInteger(0);
+        this.rollbackCount = new AtomicInteger(0);
+        this.queries       = Collections.synchronizedList(new ArrayList<Query>());
+        this.records       = i_Records;
+        this.requestCount  = new AtomicLong(0L);
+        this.cancelCount   = new AtomicInteger(0);
+    }
+    
+    
+    
+    /**
+     * 只替换打开会话的过程。熔断器、活动连接的计数及会话关闭时的处理仍按 DataSourceCQL 执行
+     */
+    @Override
+    protected Session openSession()
+    {
+        return (Session) Proxy.newProxyInstance(Session.class.getClassLoader() ,new Class<?>[] {Session.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "run":
+                    return this.run(i_Args);
+                case "beginTransaction":
+                    return this.newTransaction();
+                case "isOpen":
+                    return Boolean.TRUE;
+                case "close":
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(i_Method.getName());
+            }
+        });
+    }
+    
+    
+    
+    /**
+     * 只替换打开异步、响应式会话的过程。熔断器、活动连接的计数仍按 DataSourceCQL 执行
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T extends BaseSession> T openSession(Class<T> i_SessionClass)
+    {
+        if ( i_SessionClass == ReactiveSession.class )
+        {
+            return (T) this.newReactiveSession();
+        }
+        else if ( i_SessionClass != AsyncSession.class )
+        {
+            throw new UnsupportedOperationException(i_SessionClass.getName());
+        }
+        
+        return (T) Proxy.newProxyInstance(AsyncSession.class.getClassLoader() ,new Class<?>[] {AsyncSession.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "runAsync":
+                    return CompletableFuture.supplyAsync(() ->
+                    {
+                        Query v_Query = this.toQuery(i_Args);
+                        return this.newResultCursor(v_Query ,this.records.apply(v_Query));
+                    });
+                case "closeAsync":
+                    return CompletableFuture.completedFuture(null);
+                default:
+                    throw new UnsupportedOperationException(i_Method.getName());
+            }
+        });
+    }
+    
+    
+    
+    /**
+     * 响应式会话。执行CQL及读取记录均在订阅者请求时，在请求者的线程上同步发布
+     * 
+     * @return
+     */
+    private ReactiveSession newReactiveSession()
+    {
+        return (ReactiveSession) Proxy.newProxyInstance(ReactiveSession.class.getClassLoader() ,new Class<?>[] {ReactiveSession.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "run":
+                    return new MemoryPublisher<ReactiveResult>(() ->
+                    {
+                        Query v_Query = this.toQuery(i_Args);
+                        return Collections.singletonList(this.newReactiveResult(v_Query ,this.records.apply(v_Query))).iterator();
+                    } ,false);
+                case "close":
+                    return new MemoryPublisher<Object>(Collections::emptyIterator ,false);
+                default:
+                    throw new UnsupportedOperationException(i_Method.getName());
+            }
+        });
+    }
+    
+    
+    
+    /**
+     * 将内存中的记录包装为响应式的结果集
+     * 
+     * @param i_Query    执行的CQL及参数
+     * @param i_Records  记录
+     * @return
+     */
+    private ReactiveResult newReactiveResult(Query i_Query ,List<Record> i_Records)
+    {
+        Result v_Result = this.newResult(i_Query ,i_Records);
+        
+        return (ReactiveResult) Proxy.newProxyInstance(ReactiveResult.class.getClassLoader() ,new Class<?>[] {ReactiveResult.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "records":
+                    return new MemoryPublisher<Record>(() -> v_Result ,true);
+                case "keys":
+                    return v_Result.keys();
+                default:
+                    throw new UnsupportedOperationException(i_Method.getName());
+            }
+        });
+    }
+    
+    
+    
+    /**
+     * 显式事务。提交、回滚时计数
+     * 
+     * @return
+     */
+    private Transaction newTransaction()
+    {
+        boolean [] v_IsOpen = {true};
+        
+        return (Transaction) Proxy.newProxyInstance(Transaction.class.getClassLoader() ,new Class<?>[] {Transaction.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "run":
+                    return this.run(i_Args);
+                case "commit":
+                    v_IsOpen[0] = false;
+                    this.commitCount.incrementAndGet();
+                    return null;
+                case "rollback":
+                    v_IsOpen[0] = false;
+                    this.rollbackCount.incrementAndGet();
+                    return null;
+                case "isOpen":
+                    return v_IsOpen[0];
+                case "close":
+                    if ( v_IsOpen[0] )
+                    {
+                        v_IsOpen[0] = false;
+                        this.rollbackCount.incrementAndGet();
+                    }
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(i_Method.getName());
+            }
+        });
+    }
+    
+    
+    
+    /**
+     * 执行CQL
+     * 
+     * @param i_Args  会话或事务的 run() 方法的入参
+     * @return
+     */
+    private Result run(Object [] i_Args)
+    {
+        Query v_Query = this.toQuery(i_Args);
+        return this.newResult(v_Query ,this.records.apply(v_Query));
+    }
+    
+    
+    
+    /**
+     * 记录执行的CQL及参数，并执行 onRun 动作（可抛出异常模拟执行失败）
+     * 
+     * @param i_Args  会话或事务的 run() 、 runAsync() 方法的入参
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private Query toQuery(Object [] i_Args)
+    {
+        Query v_Query = null;
+        if ( i_Args[0] instanceof Query )
+        {
+            v_Query = (Query) i_Args[0];
+        }
+        else if ( i_Args.length >= 2 && i_Args[1] instanceof Map )
+        {
+            v_Query = new Query((String) i_Args[0] ,(Map<String ,Object>) i_Args[1]);
+        }
+        else
+        {
+            v_Query = new Query((String) i_Args[0]);
+        }
+        
+        this.runCount.incrementAndGet();
+        this.queries.add(v_Query);
+        if ( this.onRun != null )
+        {
+            this.onRun.run();
+        }
+        return v_Query;
+    }
+    
+    
+    
+    /**
+     * 将内存中的记录包装为结果集。
+     * 
+     * 执行统计中，创建的节点数为参数中列表的元素个数（如UNWIND的批量行），无列表参数时为1
+     * 
+     * @param i_Query    执行的CQL及参数
+     * @param i_Records  记录
+     * @return
+     */
+    private Result newResult(Query i_Query ,List<Record> i_Records)
+    {
+        Iterator<Record> v_Iter = i_Records.iterator();
+        
+        return (Result) Proxy.newProxyInstance(Result.class.getClassLoader() ,new Class<?>[] {Result.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "hasNext":
+                    return v_Iter.hasNext();
+                case "next":
+                    if ( this.onNext != null )
+                    {
+                        this.onNext.run();
+                    }
+                    return v_Iter.next();
+                case "list":
+                    List<Record> v_Rest = new ArrayList<Record>();
+                    v_Iter.forEachRemaining(v_Rest::add);
+                    return v_Rest;
+                case "keys":
+                    return i_Records.isEmpty() ? Collections.emptyList() : i_Records.get(0).keys();
+                case "isOpen":
+                    return v_Iter.hasNext();
+                case "consume":
+                    return newSummary(i_Query);
+                default:
+                    throw new UnsupportedOperationException(i_Method.getName());
+            }
+        });
+    }
+    
+    
+    
+    /**
+     * 将内存中的记录包装为异步的结果集
+     * 
+     * @param i_Query    执行的CQL及参数
+     * @param i_Records  记录
+     * @return
+     */
+    private ResultCursor newResultCursor(Query i_Query ,List<Record> i_Records)
+    {
+        Result v_Result = this.newResult(i_Query ,i_Records);
+        
+        return (ResultCursor) Proxy.newProxyInstance(ResultCursor.class.getClassLoader() ,new Class<?>[] {ResultCursor.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "listAsync":
+                    return CompletableFuture.supplyAsync(v_Result::list);
+                case "nextAsync":
+                    return CompletableFuture.supplyAsync(() -> v_Result.hasNext() ? v_Result.next() : null);
+                case "consumeAsync":
+                    return CompletableFuture.completedFuture(newSummary(i_Query));
+                case "keys":
+                    return v_Result.keys();
+                default:
+                    throw new UnsupportedOperationException(i_Method.getName());
+            }
+        });
+    }
+    
+    
+    
+    /**
+     * 执行的统计
+     * 
+     * @param i_Query  执行的CQL及参数
+     * @return
+     */
+    private static ResultSummary newSummary(Query i_Query)
+    {
+        int v_Rows = 1;
+        for (Value v_Param : i_Query.parameters().values())
+        {
+            if ( v_Param.asObject() instanceof List )
+            {
+                v_Rows = v_Param.size();
+                break;
+            }
+        }
+        
+        final int       v_NodesCreated = v_Rows;
+        SummaryCounters v_Counters     = (SummaryCounters) Proxy.newProxyInstance(SummaryCounters.class.getClassLoader() ,new Class<?>[] {SummaryCounters.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "nodesCreated":
+                    return v_NodesCreated;
+                case "containsUpdates":
+                    return v_NodesCreated > 0;
+                default:
+                    return defaultValue(i_Method.getReturnType());
+            }
+        });
+        
+        return (ResultSummary) Proxy.newProxyInstance(ResultSummary.class.getClassLoader() ,new Class<?>[] {ResultSummary.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "counters":
+                    return v_Counters;
+                case "query":
+                    return i_Query;
+                default:
+                    return defaultValue(i_Method.getReturnType());
+            }
+        });
+    }
+    
+    
+    
+    private static Object defaultValue(Class<?> i_Type)
+    {
+        if ( i_Type == int.class )
+        {
+            return 0;
+        }
+        else if ( i_Type == long.class )
+        {
+            return 0L;
+        }
+        else if ( i_Type == boolean.class )
+        {
+            return false;
+        }
+        return null;
+    }
+    
+    
+    
+    /**
+     * 获取：执行CQL的次数
+     */
+    public int getRunCount()
+    {
+        return runCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：显式事务提交的次数
+     */
+    public int getCommitCount()
+    {
+        return commitCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：显式事务回滚的次数（含未提交就关闭的）
+     */
+    public int getRollbackCount()
+    {
+        return rollbackCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：执行过的CQL及参数
+     */
+    public List<Query> getQueries()
+    {
+        return queries;
+    }
+    
+    
+    
+    /**
+     * 设置：执行CQL时的动作。可为空
+     * 
+     * @param i_OnRun
+     */
+    public void setOnRun(Runnable i_OnRun)
+    {
+        this.onRun = i_OnRun;
+    }
+    
+    
+    
+    /**
+     * 设置：读取结果集中每行记录时的动作。可为空。抛出异常时模拟读取失败
+     * 
+     * @param i_OnNext
+     */
+    public void setOnNext(Runnable i_OnNext)
+    {
+        this.onNext = i_OnNext;
+    }
+    
+    
+    
+    /**
+     * 获取：响应式读取时，向记录发布者请求的数量
+     */
+    public long getRequestCount()
+    {
+        return requestCount.get();
+    }
+    
+    
+    
+    /**
+     * 获取：响应式读取时，记录发布者被取消的次数
+     */
+    public int getCancelCount()
+    {
+        return cancelCount.get();
+    }
+    
+    
+    
+    
+    
+    /**
+     * 内存中的发布者。订阅时才生成待发布的数据，生成时的异常通知 onError()。
+     * 
+     * 按订阅者请求的数量，在请求者的线程上逐条发布，发布中再次请求时不递归发布。
+     * 
+     * @param <T>  发布数据的类型
+     */
+    private class MemoryPublisher<T> implements Flow.Publisher<T>
+    {
+        
+        /** 待发布的数据 */
+        private final Supplier<Iterator<T>> items;
+        
+        /** 是否记录请求的数量及取消的次数 */
+        private final boolean               isCount;
+        
+        
+        
+        public MemoryPublisher(Supplier<Iterator<T>> i_Items ,boolean i_IsCount)
+        {
+            this.items   = i_Items;
+            this.isCount = i_IsCount;
+        }
+        
+        
+        
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> i_Subscriber)
+        {
+            Iterator<T> v_Items = null;
+            try
+            {
+                v_Items = this.items.get();
+            }
+            catch (RuntimeException exce)
+            {
+                i_Subscriber.onSubscribe(new MemorySubscription<T>(i_Subscriber ,Collections.emptyIterator() ,false));
+                i_Subscriber.onError(exce);
+                return;
+            }
+            
+            i_Subscriber.onSubscribe(new MemorySubscription<T>(i_Subscriber ,v_Items ,this.isCount));
+        }
+        
+    }
+    
+    
+    
+    
+    
+    /**
+     * 内存中的发布者的一次订阅
+     * 
+     * @param <T>  发布数据的类型
+     */
+    private class MemorySubscription<T> implements Flow.Subscription
+    {
+        
+        /** 订阅者 */
+        private final Flow.Subscriber<? super T> subscriber;
+        
+        /** 待发布的数据 */
+        private final Iterator<T>                items;
+        
+        /** 是否记录请求的数量及取消的次数 */
+        private final boolean                    isCount;
+        
+        /** 未满足的请求数量 */
+        private final AtomicLong                 demand;
+        
+        /** 正在发布的次数。大于0时，再次请求只累加请求数量 */
+        private final AtomicInteger              wip;
+        
+        /** 是否已结束（完成、异常或被取消） */
+        private volatile boolean                 done;
+        
+        
+        
+        public MemorySubscription(Flow.Subscriber<? super T> i_Subscriber ,Iterator<T> i_Items ,boolean i_IsCount)
+        {
+            this.subscriber = i_Subscriber;
+            this.items      = i_Items;
+            this.isCount    = i_IsCount;
+            this.demand     = new AtomicLong(0L);
+            this.wip        = new AtomicInteger(0);
+            this.done       = false;
+        }
+        
+        
+        
+        @Override
+        public void request(long i_Count)
+        {
+            if ( this.done )
+            {
+                return;
+            }
+            
+            if ( i_Count <= 0 )
+            {
+                this.done = true;
+                this.subscriber.onError(new IllegalArgumentException("Request count[" + i_Count + "] must be greater than 0."));
+                return;
+            }
+            
+            if ( this.isCount )
+            {
+                requestCount.getAndUpdate(v_Count -> v_Count + i_Count < 0 ? Long.MAX_VALUE : v_Count + i_Count);
+            }
+            this.demand.getAndUpdate(v_Demand -> v_Demand + i_Count < 0 ? Long.MAX_VALUE : v_Demand + i_Count);
+            this.drain();
+        }
+        
+        
+        
+        @Override
+        public void cancel()
+        {
+            if ( this.done )
+            {
+                return;
+            }
+            
+            this.done = true;
+            if ( this.isCount )
+            {
+                cancelCount.incrementAndGet();
+            }
+        }
+        
+        
+        
+        /**
+         * 按未满足的请求数量发布数据，数据发布完时通知 onComplete()
+         */
+        private void drain()
+        {
+            if ( this.wip.getAndIncrement() != 0 )
+            {
+                return;
+            }
+            
+            do
+            {
+                while ( !this.done && this.demand.get() > 0L && this.items.hasNext() )
+                {
+                    T v_Item = null;
+                    try
+                    {
+                        v_Item = this.items.next();
+                    }
+                    catch (RuntimeException exce)
+                    {
+                        this.done = true;
+                        this.subscriber.onError(exce);
+                        return;
+                    }
+                    
+                    this.demand.decrementAndGet();
+                    this.subscriber.onNext(v_Item);
+                }
+                
+                if ( !this.done && !this.items.hasNext() )
+                {
+                    this.done = true;
+                    this.subscriber.onComplete();
+                }
+            }
+            while ( this.wip.decrementAndGet() != 0 );
+        }
+        
+    }
+    
+}